@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.linecorp.centraldogma.common.Query;
+
+/**
+ * Measures the evaluation of the common shapes of JSON path expressions:
+ * <ul>
+ *   <li>{@code extractTree} - evaluates an expression string, as merge queries do.</li>
+ *   <li>{@code newQuery} - creates a new {@link Query} for every evaluation, as the server does for every
+ *       request with {@code jsonpath} parameters.</li>
+ *   <li>{@code precompiledQuery} - reuses a {@link Query} which carries the compiled expression, as the
+ *       watchers do.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonPathBenchmark {
+
+    private static final int NUM_ITEMS = 100;
+
+    @Param({ "$.name", "$.a.b.c", "$.items[0].id", "$.items[*].id", "$..id", "$.items[?(@.id > 50)]" })
+    private String expression;
+
+    private JsonNode document;
+    private Query<JsonNode> query;
+
+    @Setup
+    public void init() {
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+        final ObjectNode root = factory.objectNode();
+        root.put("name", "benchmark");
+        root.putObject("a").putObject("b").put("c", "d");
+        final ArrayNode items = root.putArray("items");
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            items.addObject().put("id", i).put("value", "value-" + i);
+        }
+        document = root;
+        query = Query.ofJsonPath("/a.json", expression);
+    }
+
+    @Benchmark
+    public JsonNode extractTree() {
+        return Jackson.extractTree(document, expression);
+    }
+
+    @Benchmark
+    public JsonNode newQuery() {
+        return Query.ofJsonPath("/a.json", expression).apply(document);
+    }
+
+    @Benchmark
+    public JsonNode precompiledQuery() {
+        return query.apply(document);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.internal.client.armeria;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+
+/**
+ * Compares the tree-based decoding of a {@code getFiles()} response with the streaming decoding used by
+ * {@link ArmeriaCentralDogma}. Run with {@code -Pjmh.profilers=gc} to see the allocation difference.
+ */
+@State(Scope.Benchmark)
+public class ResponseDecodingBenchmark {
+
+    private static final Revision REVISION = new Revision(1);
+
+    @Param({ "100", "1000", "10000" })
+    private int numEntries;
+
+    private AggregatedHttpResponse response;
+
+    @Setup
+    public void init() throws Exception {
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+        final ArrayNode entries = factory.arrayNode();
+        for (int i = 0; i < numEntries; i++) {
+            final ObjectNode content = factory.objectNode();
+            for (int j = 0; j < 16; j++) {
+                content.put("key" + j, "value-" + i + '-' + j);
+            }
+            entries.addObject()
+                   .put("path", "/dir/file" + i + ".json")
+                   .put("type", "JSON")
+                   .put("url", "/api/v1/projects/foo/repos/bar/contents/dir/file" + i + ".json")
+                   .set("content", content);
+        }
+        response = AggregatedHttpResponse.of(HttpStatus.OK, MediaType.JSON_UTF_8,
+                                             Jackson.writeValueAsBytes(entries));
+    }
+
+    @Benchmark
+    public void treeBased(Blackhole bh) throws Exception {
+        final JsonNode node = Jackson.readTree(response.contentUtf8());
+        final ImmutableMap.Builder<String, Entry<?>> builder = ImmutableMap.builder();
+        node.forEach(e -> {
+            final String path = e.get("path").asText();
+            builder.put(path, Entry.ofJson(REVISION, path, e.get("content")));
+        });
+        bh.consume(builder.build());
+    }
+
+    @Benchmark
+    public void streaming(Blackhole bh) {
+        final Map<String, Entry<?>> entries = ArmeriaCentralDogma.getFiles(REVISION, response);
+        bh.consume(entries);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.linecorp.centraldogma.server.internal.storage.repository.git.GitRepositoryManager.createFileRepository;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Markup;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Util;
+import com.linecorp.centraldogma.server.internal.VirtualThreads;
+import com.linecorp.centraldogma.server.storage.project.Project;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Compares the latency of the concurrent repository reads handled by the fixed-size pool of platform
+ * threads with that of the reads handled by a virtual thread per read. The {@code virtual} workers require
+ * Java 21 or above.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(64)
+public class RepositoryWorkerBenchmark {
+
+    private static final Author AUTHOR = Author.ofEmail("user@example.com");
+    private static final int NUM_FILES = 100;
+
+    @Param({ "platform", "virtual" })
+    private String workers;
+
+    @Param("16")
+    private int numRepositoryWorkers;
+
+    private ExecutorService repositoryWorker;
+    private File repoDir;
+    private GitRepository repo;
+
+    @Setup
+    public void init() throws Exception {
+        if ("virtual".equals(workers)) {
+            repositoryWorker = VirtualThreads.newThreadPerTaskExecutor("repository-worker-");
+        } else {
+            repositoryWorker = new ThreadPoolExecutor(
+                    numRepositoryWorkers, numRepositoryWorkers, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new DefaultThreadFactory("repository-worker", true));
+        }
+
+        repoDir = Files.createTempDirectory("jmh-repositoryworker.").toFile();
+        // Disable the cache so that every read reaches the repository workers.
+        repo = createFileRepository(mock(Project.class), repoDir, AUTHOR,
+                                    System.currentTimeMillis(), repositoryWorker, null);
+        for (int i = 0; i < NUM_FILES; i++) {
+            repo.commit(new Revision(i + 1), (i + 1) * 1000L, AUTHOR, "Summary", "Detail", Markup.PLAINTEXT,
+                        Change.ofTextUpsert("/file_" + i + ".txt", String.valueOf(i))).join();
+        }
+    }
+
+    @TearDown
+    public void destroy() throws Exception {
+        repo.internalClose();
+        repositoryWorker.shutdown();
+        repositoryWorker.awaitTermination(1, TimeUnit.MINUTES);
+        Util.deleteFileTree(repoDir);
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        bh.consume(repo.get(Revision.HEAD, "/file_" + rnd() + ".txt").join());
+    }
+
+    @Benchmark
+    public void history(Blackhole bh) {
+        final Revision from = new Revision(1 + rnd());
+        bh.consume(repo.history(from, Revision.HEAD, "/**", 10).join());
+    }
+
+    private static int rnd() {
+        return ThreadLocalRandom.current().nextInt(NUM_FILES);
+    }
+}
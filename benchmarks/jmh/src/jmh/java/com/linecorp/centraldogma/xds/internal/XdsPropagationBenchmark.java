@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.xds.internal;
+
+import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.JSON_MESSAGE_MARSHALLER;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.google.protobuf.util.Durations;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.xds.ClusterRoot;
+import com.linecorp.armeria.xds.ClusterSnapshot;
+import com.linecorp.armeria.xds.XdsBootstrap;
+import com.linecorp.centraldogma.internal.Util;
+import com.linecorp.centraldogma.server.CentralDogma;
+import com.linecorp.centraldogma.server.CentralDogmaBuilder;
+
+import io.envoyproxy.envoy.config.bootstrap.v3.Bootstrap;
+import io.envoyproxy.envoy.config.bootstrap.v3.Bootstrap.DynamicResources;
+import io.envoyproxy.envoy.config.bootstrap.v3.Bootstrap.StaticResources;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.DiscoveryType;
+import io.envoyproxy.envoy.config.core.v3.Address;
+import io.envoyproxy.envoy.config.core.v3.ApiConfigSource;
+import io.envoyproxy.envoy.config.core.v3.ApiConfigSource.ApiType;
+import io.envoyproxy.envoy.config.core.v3.ConfigSource;
+import io.envoyproxy.envoy.config.core.v3.GrpcService;
+import io.envoyproxy.envoy.config.core.v3.GrpcService.EnvoyGrpc;
+import io.envoyproxy.envoy.config.core.v3.SocketAddress;
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+import io.envoyproxy.envoy.config.endpoint.v3.Endpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LbEndpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LocalityLbEndpoints;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures the latency from when a cluster is updated via the xDS API to when the update is delivered to all
+ * discovery stream subscribers. Each invocation updates the probe cluster of a random group, which is then
+ * committed, watched, built into a new snapshot and pushed to the {@code numClients} {@link XdsBootstrap}s
+ * subscribing to the probe clusters of all groups. The other clusters of the groups only add to the size of
+ * the snapshots.
+ *
+ * <p>The snapshot build and publish times and the heap usage are printed when a trial ends.
+ * Run with {@code -Pjmh.profilers=gc} to see the allocation rate as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class XdsPropagationBenchmark {
+
+    private static final String CONFIG_SOURCE_CLUSTER_NAME = "dogma/cluster";
+    private static final String PROBE_CLUSTER_ID = "cluster-0";
+    private static final long DELIVERY_TIMEOUT_SECONDS = 30;
+
+    @Param({ "1", "10" })
+    private int numGroups;
+
+    @Param({ "10", "100" })
+    private int numResourcesPerGroup;
+
+    @Param({ "1", "10" })
+    private int numClients;
+
+    @Param("100")
+    private long minSnapshotPublishIntervalMillis;
+
+    private final Map<Long, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+    // The connect timeout of a probe cluster in milliseconds is used as the version of the update.
+    private final AtomicLong versions = new AtomicLong();
+
+    private File dataDir;
+    private MeterRegistry meterRegistry;
+    private CentralDogma dogma;
+    private WebClient webClient;
+    private List<XdsBootstrap> xdsBootstraps;
+
+    @Setup
+    public void init() throws Exception {
+        dataDir = Files.createTempDirectory("jmh-xdspropagation.").toFile();
+        meterRegistry = new SimpleMeterRegistry();
+        dogma = new CentralDogmaBuilder(dataDir)
+                .port(0, SessionProtocol.HTTP)
+                .webAppEnabled(false)
+                .meterRegistry(meterRegistry)
+                .pluginConfigs(new ControlPlanePluginConfig(true, minSnapshotPublishIntervalMillis))
+                .build();
+        dogma.start().join();
+        final int port = dogma.activePort().localAddress().getPort();
+        webClient = WebClient.of("http://127.0.0.1:" + port);
+
+        for (int i = 0; i < numGroups; i++) {
+            execute(HttpMethod.POST, "/api/v1/xds/groups?group_id=" + groupId(i),
+                    "{\"name\":\"groups/" + groupId(i) + "\"}");
+            for (int j = 0; j < numResourcesPerGroup; j++) {
+                final String clusterId = "cluster-" + j;
+                execute(HttpMethod.POST, "/api/v1/xds/groups/" + groupId(i) + "/clusters?cluster_id=" +
+                                         clusterId,
+                        JSON_MESSAGE_MARSHALLER.writeValueAsString(cluster(clusterName(i, clusterId), 0)));
+            }
+        }
+
+        // Wait until all clients receive the initial probe clusters.
+        final PendingUpdate initialUpdate = new PendingUpdate(numClients * numGroups);
+        pendingUpdates.put(0L, initialUpdate);
+        final Bootstrap bootstrap = bootstrap(port);
+        xdsBootstraps = new ArrayList<>(numClients);
+        for (int i = 0; i < numClients; i++) {
+            final XdsBootstrap xdsBootstrap = XdsBootstrap.of(bootstrap);
+            xdsBootstraps.add(xdsBootstrap);
+            for (int j = 0; j < numGroups; j++) {
+                final ClusterRoot clusterRoot = xdsBootstrap.clusterRoot(clusterName(j, PROBE_CLUSTER_ID));
+                final String subscriber = i + ":" + j;
+                clusterRoot.addSnapshotWatcher(snapshot -> onSnapshot(subscriber, snapshot));
+            }
+        }
+        initialUpdate.await();
+        pendingUpdates.remove(0L);
+    }
+
+    @TearDown
+    public void destroy() throws Exception {
+        printTimer("xds.control.plane.service.snapshot.build.duration");
+        printTimer("xds.control.plane.service.snapshot.publish.duration");
+        System.gc();
+        final Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%nHeap used after GC: %d MiB%n",
+                          (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+
+        for (XdsBootstrap xdsBootstrap : xdsBootstraps) {
+            xdsBootstrap.close();
+        }
+        dogma.stop().join();
+        Util.deleteFileTree(dataDir);
+    }
+
+    @Benchmark
+    public void updateCluster() throws Exception {
+        final int groupIndex = ThreadLocalRandom.current().nextInt(numGroups);
+        final long version = versions.incrementAndGet();
+        final PendingUpdate update = new PendingUpdate(numClients);
+        pendingUpdates.put(version, update);
+        try {
+            execute(HttpMethod.PATCH, "/api/v1/xds/groups/" + groupId(groupIndex) + "/clusters/" +
+                                      PROBE_CLUSTER_ID,
+                    JSON_MESSAGE_MARSHALLER.writeValueAsString(
+                            cluster(clusterName(groupIndex, PROBE_CLUSTER_ID), version)));
+            update.await();
+        } finally {
+            pendingUpdates.remove(version);
+        }
+    }
+
+    private void onSnapshot(String subscriber, ClusterSnapshot snapshot) {
+        final Cluster cluster = snapshot.xdsResource().resource();
+        final PendingUpdate update = pendingUpdates.get(Durations.toMillis(cluster.getConnectTimeout()));
+        if (update != null) {
+            update.delivered(subscriber);
+        }
+    }
+
+    private void execute(HttpMethod method, String path, String content) {
+        final RequestHeaders headers = RequestHeaders.builder(method, path)
+                                                     .set(HttpHeaderNames.AUTHORIZATION, "Bearer anonymous")
+                                                     .contentType(MediaType.JSON_UTF_8).build();
+        final AggregatedHttpResponse res = webClient.execute(headers, content).aggregate().join();
+        if (!res.status().isSuccess()) {
+            throw new IllegalStateException("Unexpected response: " + res.headers() + ", " +
+                                            res.contentUtf8());
+        }
+    }
+
+    private void printTimer(String name) {
+        final Timer timer = meterRegistry.find(name).timer();
+        if (timer == null) {
+            return;
+        }
+        System.out.printf("%n%s: count=%d, mean=%.3f ms, max=%.3f ms%n", name, timer.count(),
+                          timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+    }
+
+    private static String groupId(int groupIndex) {
+        return "group-" + groupIndex;
+    }
+
+    private static String clusterName(int groupIndex, String clusterId) {
+        return "groups/" + groupId(groupIndex) + "/clusters/" + clusterId;
+    }
+
+    private static Cluster cluster(String clusterName, long version) {
+        // A static cluster is delivered without waiting for the endpoints.
+        return Cluster.newBuilder()
+                      .setName(clusterName)
+                      .setConnectTimeout(Durations.fromMillis(version))
+                      .setLoadAssignment(loadAssignment(clusterName, "127.0.0.1", 8080))
+                      .setType(DiscoveryType.STATIC)
+                      .build();
+    }
+
+    private static ClusterLoadAssignment loadAssignment(String clusterName, String address, int port) {
+        final SocketAddress socketAddress = SocketAddress.newBuilder()
+                                                         .setAddress(address)
+                                                         .setPortValue(port)
+                                                         .build();
+        final LbEndpoint lbEndpoint =
+                LbEndpoint.newBuilder()
+                          .setEndpoint(Endpoint.newBuilder()
+                                               .setAddress(Address.newBuilder()
+                                                                  .setSocketAddress(socketAddress)))
+                          .build();
+        return ClusterLoadAssignment.newBuilder()
+                                    .setClusterName(clusterName)
+                                    .addEndpoints(LocalityLbEndpoints.newBuilder().addLbEndpoints(lbEndpoint))
+                                    .build();
+    }
+
+    private static Bootstrap bootstrap(int port) {
+        final Cluster configSourceCluster =
+                Cluster.newBuilder()
+                       .setName(CONFIG_SOURCE_CLUSTER_NAME)
+                       .setLoadAssignment(loadAssignment(CONFIG_SOURCE_CLUSTER_NAME, "127.0.0.1", port))
+                       .setType(DiscoveryType.STATIC)
+                       .build();
+        final ConfigSource configSource =
+                ConfigSource.newBuilder()
+                            .setApiConfigSource(
+                                    ApiConfigSource.newBuilder()
+                                                   .addGrpcServices(
+                                                           GrpcService.newBuilder().setEnvoyGrpc(
+                                                                   EnvoyGrpc.newBuilder().setClusterName(
+                                                                           CONFIG_SOURCE_CLUSTER_NAME)))
+                                                   .setApiType(ApiType.GRPC))
+                            .build();
+        return Bootstrap.newBuilder()
+                        .setStaticResources(StaticResources.newBuilder().addClusters(configSourceCluster))
+                        .setDynamicResources(DynamicResources.newBuilder()
+                                                             .setLdsConfig(configSource)
+                                                             .setCdsConfig(configSource))
+                        .build();
+    }
+
+    private static final class PendingUpdate {
+
+        private final Set<String> subscribers = ConcurrentHashMap.newKeySet();
+        private final CountDownLatch latch;
+
+        PendingUpdate(int numSubscribers) {
+            latch = new CountDownLatch(numSubscribers);
+        }
+
+        void delivered(String subscriber) {
+            // A subscriber may receive the same cluster more than once.
+            if (subscribers.add(subscriber)) {
+                latch.countDown();
+            }
+        }
+
+        void await() throws InterruptedException, TimeoutException {
+            if (!latch.await(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new TimeoutException(latch.getCount() + " subscribers did not receive the update in " +
+                                           DELIVERY_TIMEOUT_SECONDS + " seconds.");
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@ import static com.linecorp.centraldogma.internal.Util.validateRepositoryName;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -101,7 +102,13 @@ final class LegacyCentralDogma extends AbstractCentralDogma {
 
     LegacyCentralDogma(ScheduledExecutorService blockingTaskExecutor, CentralDogmaService.AsyncIface client,
                        EndpointGroup endpointGroup, @Nullable MeterRegistry meterRegistry) {
-        super(blockingTaskExecutor, meterRegistry);
+        this(blockingTaskExecutor, client, endpointGroup, meterRegistry, null);
+    }
+
+    LegacyCentralDogma(ScheduledExecutorService blockingTaskExecutor, CentralDogmaService.AsyncIface client,
+                       EndpointGroup endpointGroup, @Nullable MeterRegistry meterRegistry,
+                       @Nullable Path watcherSnapshotDir) {
+        super(blockingTaskExecutor, meterRegistry, watcherSnapshotDir);
         this.client = requireNonNull(client, "client");
         this.endpointGroup = endpointGroup;
     }
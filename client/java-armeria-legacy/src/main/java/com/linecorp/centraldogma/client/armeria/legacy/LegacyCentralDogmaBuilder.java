@@ -68,7 +68,8 @@ public class LegacyCentralDogmaBuilder extends AbstractArmeriaCentralDogmaBuilde
 
         final int maxRetriesOnReplicationLag = maxNumRetriesOnReplicationLag();
         final CentralDogma dogma = new LegacyCentralDogma(blockingTaskExecutor, builder.build(AsyncIface.class),
-                                                          endpointGroup, meterRegistry());
+                                                          endpointGroup, meterRegistry(),
+                                                          watcherSnapshotDir());
         if (maxRetriesOnReplicationLag <= 0) {
             return dogma;
         } else {
@@ -81,7 +82,7 @@ public class LegacyCentralDogmaBuilder extends AbstractArmeriaCentralDogmaBuilde
                         final ClientRequestContext ctx = ClientRequestContext.currentOrNull();
                         return ctx != null ? ctx.remoteAddress() : null;
                     },
-                    meterRegistry());
+                    meterRegistry(), watcherSnapshotDir());
         }
     }
 }
@@ -217,7 +217,7 @@ public final class XdsCentralDogmaBuilder extends AbstractCentralDogmaBuilder<Xd
                 new ArmeriaCentralDogma(blockingTaskExecutor, client, accessToken(), () -> {
                     xdsPreprocessor.close();
                     xdsBootstrap.close();
-                }, meterRegistry(), UnmodifiableFuture.completedFuture(null));
+                }, meterRegistry(), UnmodifiableFuture.completedFuture(null), watcherSnapshotDir());
         if (maxRetriesOnReplicationLag <= 0) {
             return dogma;
         } else {
@@ -230,7 +230,7 @@ public final class XdsCentralDogmaBuilder extends AbstractCentralDogmaBuilder<Xd
                         final ClientRequestContext ctx = ClientRequestContext.currentOrNull();
                         return ctx != null ? ctx.remoteAddress() : null;
                     },
-                    meterRegistry());
+                    meterRegistry(), watcherSnapshotDir());
         }
     }
 
@@ -45,6 +45,7 @@ import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.centraldogma.client.AbstractCentralDogmaBuilder;
 import com.linecorp.centraldogma.client.CentralDogma;
+import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.internal.api.v1.HttpApiV1Constants;
 
 /**
@@ -59,6 +60,7 @@ public class AbstractArmeriaCentralDogmaBuilder<B extends AbstractArmeriaCentral
     private Duration healthCheckInterval;
     private DnsAddressEndpointGroupConfigurator dnsAddressEndpointGroupConfigurator = b -> {};
     private ScheduledExecutorService blockingTaskExecutor = CommonPools.blockingTaskExecutor();
+    private long httpCacheMaxBytes;
 
     /**
      * Returns the {@link ClientFactory} that will create an underlying
@@ -204,6 +206,27 @@ public class AbstractArmeriaCentralDogmaBuilder<B extends AbstractArmeriaCentral
         return self();
     }
 
+    /**
+     * Returns the maximum size of the client-side HTTP cache in bytes. {@code 0} if disabled.
+     */
+    protected final long httpCacheMaxBytes() {
+        return httpCacheMaxBytes;
+    }
+
+    /**
+     * Sets the maximum size of the client-side HTTP cache in bytes. When enabled, the responses of
+     * the file, history and diff reads are cached with their entity tags, so that the server does not
+     * send the same content again. The reads at an absolute {@link Revision} are served from the cache
+     * without sending a request because their results never change. {@code 0}, the default, disables
+     * the cache.
+     */
+    public final B httpCacheMaxBytes(long httpCacheMaxBytes) {
+        checkArgument(httpCacheMaxBytes >= 0,
+                      "httpCacheMaxBytes: %s (expected: >= 0)", httpCacheMaxBytes);
+        this.httpCacheMaxBytes = httpCacheMaxBytes;
+        return self();
+    }
+
     /**
      * Returns a newly created {@link ClientBuilder} configured with the specified {@code customizer}
      * and then with the {@link ArmeriaClientConfigurator} specified with
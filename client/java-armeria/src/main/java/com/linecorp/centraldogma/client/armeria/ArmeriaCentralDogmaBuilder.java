@@ -26,6 +26,7 @@ import com.linecorp.armeria.client.endpoint.EndpointGroup;
 import com.linecorp.centraldogma.client.CentralDogma;
 import com.linecorp.centraldogma.internal.client.ReplicationLagTolerantCentralDogma;
 import com.linecorp.centraldogma.internal.client.armeria.ArmeriaCentralDogma;
+import com.linecorp.centraldogma.internal.client.armeria.HttpCacheClient;
 
 /**
  * Builds a {@link CentralDogma} client based on an <a href="https://line.github.io/armeria/">Armeria</a>
@@ -41,8 +42,14 @@ public final class ArmeriaCentralDogmaBuilder
     public CentralDogma build() throws UnknownHostException {
         final EndpointGroup endpointGroup = endpointGroup();
         final String scheme = "none+" + (isUseTls() ? "https" : "http");
-        final ClientBuilder builder =
-                newClientBuilder(scheme, endpointGroup, cb -> cb.decorator(DecodingClient.newDecorator()), "/");
+        final long httpCacheMaxBytes = httpCacheMaxBytes();
+        final ClientBuilder builder = newClientBuilder(scheme, endpointGroup, cb -> {
+            cb.decorator(DecodingClient.newDecorator());
+            if (httpCacheMaxBytes > 0) {
+                // Cache the decoded responses.
+                cb.decorator(HttpCacheClient.newDecorator(httpCacheMaxBytes));
+            }
+        }, "/");
         final int maxRetriesOnReplicationLag = maxNumRetriesOnReplicationLag();
 
         // TODO(ikhoon): Apply ExecutorServiceMetrics for the 'blockingTaskExecutor' once
@@ -54,7 +61,8 @@ public final class ArmeriaCentralDogmaBuilder
                                                            accessToken(),
                                                            endpointGroup::close,
                                                            meterRegistry(),
-                                                           null);
+                                                           null,
+                                                           watcherSnapshotDir());
         if (maxRetriesOnReplicationLag <= 0) {
             return dogma;
         } else {
@@ -67,7 +75,7 @@ public final class ArmeriaCentralDogmaBuilder
                         final ClientRequestContext ctx = ClientRequestContext.currentOrNull();
                         return ctx != null ? ctx.remoteAddress() : null;
                     },
-                    meterRegistry());
+                    meterRegistry(), watcherSnapshotDir());
         }
     }
 }
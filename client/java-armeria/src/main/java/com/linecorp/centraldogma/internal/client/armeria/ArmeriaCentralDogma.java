@@ -18,7 +18,6 @@ package com.linecorp.centraldogma.internal.client.armeria;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.linecorp.centraldogma.internal.Util.unsafeCast;
@@ -28,10 +27,12 @@ import static com.linecorp.centraldogma.internal.api.v1.HttpApiV1Constants.REPOS
 import static com.spotify.futures.CompletableFutures.exceptionallyCompletedFuture;
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -40,17 +41,21 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -75,6 +80,7 @@ import com.linecorp.armeria.common.util.SafeCloseable;
 import com.linecorp.armeria.common.util.TimeoutMode;
 import com.linecorp.centraldogma.client.AbstractCentralDogma;
 import com.linecorp.centraldogma.client.CentralDogmaRepository;
+import com.linecorp.centraldogma.client.FileBatchResult;
 import com.linecorp.centraldogma.client.RepositoryInfo;
 import com.linecorp.centraldogma.common.ApiRequestTimeoutException;
 import com.linecorp.centraldogma.common.Author;
@@ -160,8 +166,9 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
     public ArmeriaCentralDogma(ScheduledExecutorService blockingTaskExecutor,
                                WebClient client, String accessToken, SafeCloseable safeCloseable,
                                @Nullable MeterRegistry meterRegistry,
-                               @Nullable CompletableFuture<Void> whenReady) {
-        super(blockingTaskExecutor, meterRegistry);
+                               @Nullable CompletableFuture<Void> whenReady,
+                               @Nullable Path watcherSnapshotDir) {
+        super(blockingTaskExecutor, meterRegistry, watcherSnapshotDir);
         this.client = requireNonNull(client, "client");
         authorization = "Bearer " + requireNonNull(accessToken, "accessToken");
         this.safeCloseable = safeCloseable;
@@ -448,8 +455,7 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
         switch (res.status().code()) {
             case 200:
                 final ImmutableMap.Builder<String, EntryType> builder = ImmutableMap.builder();
-                final JsonNode node = toJson(res, JsonNodeType.ARRAY);
-                node.forEach(e -> builder.put(
+                forEachObject(res, true, e -> builder.put(
                         getField(e, "path").asText(),
                         EntryType.valueOf(getField(e, "type").asText())));
                 return builder.build();
@@ -516,22 +522,16 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
         }
     }
 
-    private static Map<String, Entry<?>> getFiles(Revision normRev, AggregatedHttpResponse res) {
+    @VisibleForTesting
+    static Map<String, Entry<?>> getFiles(Revision normRev, AggregatedHttpResponse res) {
         switch (res.status().code()) {
             case 200:
-                final JsonNode node = toJson(res, null);
                 final ImmutableMap.Builder<String, Entry<?>> builder = ImmutableMap.builder();
-                if (node.isObject()) { // Single entry
-                    final Entry<?> entry = toEntry(normRev, node, QueryType.IDENTITY);
+                // A single entry or multiple entries
+                forEachObject(res, false, e -> {
+                    final Entry<?> entry = toEntry(normRev, e, QueryType.IDENTITY);
                     builder.put(entry.path(), entry);
-                } else if (node.isArray()) { // Multiple entries
-                    node.forEach(e -> {
-                        final Entry<?> entry = toEntry(normRev, e, QueryType.IDENTITY);
-                        builder.put(entry.path(), entry);
-                    });
-                } else {
-                    return rejectNeitherArrayNorObject(res);
-                }
+                });
                 return builder.build();
             case 204:
                 return ImmutableMap.of();
@@ -540,6 +540,81 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
         return handleErrorResponse(res);
     }
 
+    @Override
+    public CompletableFuture<FileBatchResult> getFileBatch(String projectName, String repositoryName,
+                                                           Revision revision,
+                                                           Iterable<? extends Query<?>> queries) {
+        validateProjectAndRepositoryName(projectName, repositoryName);
+        requireNonNull(revision, "revision");
+        requireNonNull(queries, "queries");
+        try {
+            final List<Query<?>> queryList = ImmutableList.copyOf(queries);
+            checkArgument(!queryList.isEmpty(), "queries is empty.");
+            final String path = pathBuilder(projectName, repositoryName)
+                    .append("/contents/batch?revision=")
+                    .append(revision.text())
+                    .toString();
+
+            final ObjectNode body = JsonNodeFactory.instance.objectNode();
+            final ArrayNode queriesNode = body.putArray("queries");
+            for (Query<?> query : queryList) {
+                final ObjectNode queryNode = queriesNode.addObject();
+                queryNode.put("path", query.path());
+                queryNode.put("type", query.type().name());
+                if (query.type() == QueryType.JSON_PATH) {
+                    final ArrayNode expressionsNode = queryNode.putArray("expressions");
+                    query.expressions().forEach(expressionsNode::add);
+                }
+            }
+
+            return client.execute(headers(HttpMethod.POST, path), toBytes(body))
+                         .aggregate()
+                         .thenApply(res -> getFileBatch(queryList, res));
+        } catch (Exception e) {
+            return exceptionallyCompletedFuture(e);
+        }
+    }
+
+    @VisibleForTesting
+    static FileBatchResult getFileBatch(List<Query<?>> queries, AggregatedHttpResponse res) {
+        if (res.status().code() != 200) {
+            return handleErrorResponse(res);
+        }
+
+        final JsonNode node = toJson(res, JsonNodeType.OBJECT);
+        final Revision revision = new Revision(getField(node, "revision").asInt());
+        final JsonNode entriesNode = getField(node, "entries");
+        if (!entriesNode.isArray() || entriesNode.size() != queries.size()) {
+            throw new CentralDogmaException(
+                    "invalid server response; expected: " + queries.size() + " entries, content: " +
+                    entriesNode);
+        }
+
+        final ImmutableMap.Builder<Integer, Entry<?>> entries = ImmutableMap.builder();
+        final ImmutableMap.Builder<Integer, CentralDogmaException> failures = ImmutableMap.builder();
+        for (int i = 0; i < queries.size(); i++) {
+            final Query<?> query = queries.get(i);
+            final JsonNode resultNode = entriesNode.get(i);
+            final JsonNode entryNode = resultNode.get("entry");
+            if (entryNode != null) {
+                try {
+                    entries.put(i, toEntry(revision, entryNode, query.type()));
+                } catch (CentralDogmaException e) {
+                    // e.g. The entry type does not match the query type.
+                    failures.put(i, e);
+                }
+                continue;
+            }
+
+            final String message = Jackson.textValue(resultNode.get("message"), "");
+            final Function<String, CentralDogmaException> exceptionFactory =
+                    EXCEPTION_FACTORIES.get(Jackson.textValue(getField(resultNode, "exception"), ""));
+            failures.put(i, exceptionFactory != null ? exceptionFactory.apply(message)
+                                                     : new CentralDogmaException(message));
+        }
+        return new FileBatchResult(revision, queries, entries.build(), failures.build());
+    }
+
     @Override
     public <T> CompletableFuture<MergedEntry<T>> mergeFiles(String projectName, String repositoryName,
                                                             Revision revision, MergeQuery<T> mergeQuery) {
@@ -637,19 +712,13 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
         }
     }
 
-    private static List<Commit> getHistory(AggregatedHttpResponse res) {
+    @VisibleForTesting
+    static List<Commit> getHistory(AggregatedHttpResponse res) {
         switch (res.status().code()) {
             case 200:
-                final JsonNode node = toJson(res, null);
-                if (node.isObject()) {
-                    return ImmutableList.of(toCommit(node));
-                } else if (node.isArray()) {
-                    return Streams.stream(node)
-                                  .map(ArmeriaCentralDogma::toCommit)
-                                  .collect(toImmutableList());
-                } else {
-                    return rejectNeitherArrayNorObject(res);
-                }
+                final ImmutableList.Builder<Commit> builder = ImmutableList.builder();
+                forEachObject(res, false, e -> builder.add(toCommit(e)));
+                return builder.build();
             case 204:
                 return ImmutableList.of();
         }
@@ -709,16 +778,9 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
                          .aggregate()
                          .thenApply(res -> {
                              if (res.status().code() == 200) {
-                                 final JsonNode node = toJson(res, null);
-                                 if (node.isObject()) {
-                                     return ImmutableList.of(toChange(node));
-                                 } else if (node.isArray()) {
-                                     return Streams.stream(node)
-                                                   .map(ArmeriaCentralDogma::toChange)
-                                                   .collect(toImmutableList());
-                                 } else {
-                                     return rejectNeitherArrayNorObject(res);
-                                 }
+                                 final ImmutableList.Builder<Change<?>> builder = ImmutableList.builder();
+                                 forEachObject(res, false, e -> builder.add(toChange(e)));
+                                 return builder.build();
                              }
 
                              return handleErrorResponse(res);
@@ -753,9 +815,8 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
     private static List<Change<?>> getPreviewDiffs(AggregatedHttpResponse res) {
         switch (res.status().code()) {
             case 200:
-                final JsonNode node = toJson(res, JsonNodeType.ARRAY);
                 final ImmutableList.Builder<Change<?>> builder = ImmutableList.builder();
-                node.forEach(e -> builder.add(toChange(e)));
+                forEachObject(res, true, e -> builder.add(toChange(e)));
                 return builder.build();
             case 204:
                 return ImmutableList.of();
@@ -1036,6 +1097,45 @@ public final class ArmeriaCentralDogma extends AbstractCentralDogma {
         return node;
     }
 
+    /**
+     * Parses the content of the specified {@link AggregatedHttpResponse}, which is a JSON object or
+     * a JSON array of objects, and invokes the specified {@code action} for each object as soon as
+     * it is parsed.
+     * Unlike {@link #toJson(AggregatedHttpResponse, JsonNodeType)}, this method neither decodes the whole
+     * content into a {@link String} nor builds the tree of the whole content. Only the tree of the object
+     * being handled is kept in memory, which reduces the memory footprint of a large response.
+     *
+     * @param arrayOnly whether the content must be a JSON array
+     */
+    private static void forEachObject(AggregatedHttpResponse res, boolean arrayOnly,
+                                      Consumer<JsonNode> action) {
+        try (JsonParser parser = Jackson.createParser(res.content().toInputStream())) {
+            final JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT && !arrayOnly) {
+                action.accept(parser.readValueAsTree());
+                return;
+            }
+            if (token == JsonToken.START_ARRAY) {
+                JsonToken elementToken;
+                while ((elementToken = parser.nextToken()) == JsonToken.START_OBJECT) {
+                    action.accept(parser.readValueAsTree());
+                }
+                if (elementToken == JsonToken.END_ARRAY) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new CentralDogmaException("failed to parse the response JSON", e);
+        }
+
+        if (arrayOnly) {
+            throw new CentralDogmaException(
+                    "invalid server response; expected: an array of " + JsonNodeType.OBJECT +
+                    ", content: " + toString(res));
+        }
+        rejectNeitherArrayNorObject(res);
+    }
+
     private static <T> T rejectNeitherArrayNorObject(AggregatedHttpResponse res) {
         throw new CentralDogmaException(
                 "invalid server response; expected: " + JsonNodeType.OBJECT + " or " + JsonNodeType.ARRAY +
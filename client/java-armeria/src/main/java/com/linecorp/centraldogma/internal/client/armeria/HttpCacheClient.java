@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.centraldogma.internal.client.armeria;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.function.Function;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.HttpClient;
+import com.linecorp.armeria.client.SimpleDecoratingHttpClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.RequestHeaders;
+
+/**
+ * A decorator that caches the responses of the {@link HttpMethod#GET} requests which have an entity tag,
+ * i.e. the file, history and diff reads.
+ * <ul>
+ *   <li>A response whose {@link HttpHeaderNames#CACHE_CONTROL} is {@code immutable}, which is the case of
+ *       a read at an absolute revision, is served from the cache without sending a request.</li>
+ *   <li>Otherwise, the request is sent with the {@link HttpHeaderNames#IF_NONE_MATCH} header, and the cached
+ *       response is served if the server responds with {@link HttpStatus#NOT_MODIFIED}.</li>
+ * </ul>
+ * A request which already has the {@link HttpHeaderNames#IF_NONE_MATCH} header, such as a watch request,
+ * bypasses the cache.
+ */
+public final class HttpCacheClient extends SimpleDecoratingHttpClient {
+
+    /**
+     * Returns a new {@link HttpClient} decorator which caches the responses up to the specified
+     * {@code maxBytes}.
+     */
+    public static Function<? super HttpClient, HttpCacheClient> newDecorator(long maxBytes) {
+        checkArgument(maxBytes > 0, "maxBytes: %s (expected: > 0)", maxBytes);
+        return delegate -> new HttpCacheClient(delegate, maxBytes);
+    }
+
+    private final Cache<String, AggregatedHttpResponse> cache;
+
+    @VisibleForTesting
+    HttpCacheClient(HttpClient delegate, long maxBytes) {
+        super(delegate);
+        cache = CacheBuilder.newBuilder()
+                            .maximumWeight(maxBytes)
+                            .weigher((String path, AggregatedHttpResponse res) ->
+                                             path.length() + res.content().length())
+                            .build();
+    }
+
+    @Override
+    public HttpResponse execute(ClientRequestContext ctx, HttpRequest req) throws Exception {
+        final RequestHeaders headers = req.headers();
+        if (headers.method() != HttpMethod.GET || headers.contains(HttpHeaderNames.IF_NONE_MATCH)) {
+            return unwrap().execute(ctx, req);
+        }
+
+        final String path = headers.path();
+        final AggregatedHttpResponse cached = cache.getIfPresent(path);
+        final HttpRequest newReq;
+        if (cached != null) {
+            if (isImmutable(cached)) {
+                ctx.logBuilder().endRequest();
+                ctx.logBuilder().endResponse();
+                return cached.toHttpResponse();
+            }
+            newReq = req.withHeaders(headers.toBuilder()
+                                            .set(HttpHeaderNames.IF_NONE_MATCH,
+                                                 cached.headers().get(HttpHeaderNames.ETAG)));
+            ctx.updateRequest(newReq);
+        } else {
+            newReq = req;
+        }
+
+        return HttpResponse.of(unwrap().execute(ctx, newReq).aggregate().thenApply(res -> {
+            if (cached != null && res.status() == HttpStatus.NOT_MODIFIED) {
+                return cached.toHttpResponse();
+            }
+            final HttpStatus status = res.status();
+            if ((status == HttpStatus.OK || status == HttpStatus.NO_CONTENT) &&
+                res.headers().contains(HttpHeaderNames.ETAG)) {
+                cache.put(path, res);
+            } else if (cached != null) {
+                cache.invalidate(path);
+            }
+            return res.toHttpResponse();
+        }));
+    }
+
+    private static boolean isImmutable(AggregatedHttpResponse res) {
+        final String cacheControl = res.headers().get(HttpHeaderNames.CACHE_CONTROL);
+        return cacheControl != null && cacheControl.contains("immutable");
+    }
+
+    @VisibleForTesting
+    long size() {
+        return cache.size();
+    }
+}
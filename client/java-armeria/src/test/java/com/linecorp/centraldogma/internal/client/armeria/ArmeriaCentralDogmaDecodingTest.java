@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.internal.client.armeria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.centraldogma.common.CentralDogmaException;
+import com.linecorp.centraldogma.common.Commit;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Markup;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+
+class ArmeriaCentralDogmaDecodingTest {
+
+    @Test
+    void getFilesFromArray() throws Exception {
+        final AggregatedHttpResponse res = AggregatedHttpResponse.of(
+                HttpStatus.OK, MediaType.JSON_UTF_8,
+                "[{\"path\":\"/a.json\",\"type\":\"JSON\",\"content\":{\"a\":[1,2]},\"url\":\"/a\"}," +
+                " {\"path\":\"/b.txt\",\"type\":\"TEXT\",\"content\":\"hello\\n\"}," +
+                " {\"path\":\"/c\",\"type\":\"DIRECTORY\"}]");
+        final Map<String, Entry<?>> entries = ArmeriaCentralDogma.getFiles(new Revision(3), res);
+        assertThat(entries).containsOnlyKeys("/a.json", "/b.txt", "/c");
+        assertThat(entries.get("/a.json")).isEqualTo(
+                Entry.ofJson(new Revision(3), "/a.json", Jackson.readTree("{\"a\":[1,2]}")));
+        assertThat(entries.get("/b.txt")).isEqualTo(Entry.ofText(new Revision(3), "/b.txt", "hello\n"));
+        assertThat(entries.get("/c")).isEqualTo(Entry.ofDirectory(new Revision(3), "/c"));
+    }
+
+    @Test
+    void getFilesFromObject() {
+        final AggregatedHttpResponse res = AggregatedHttpResponse.of(
+                HttpStatus.OK, MediaType.JSON_UTF_8,
+                "{\"path\":\"/b.txt\",\"type\":\"TEXT\",\"content\":\"b\"}");
+        final Map<String, Entry<?>> entries = ArmeriaCentralDogma.getFiles(new Revision(1), res);
+        assertThat(entries).containsOnlyKeys("/b.txt");
+        assertThat(entries.get("/b.txt")).isEqualTo(Entry.ofText(new Revision(1), "/b.txt", "b"));
+    }
+
+    @Test
+    void getHistory() {
+        final String commit =
+                "{\"revision\":%d,\"author\":{\"name\":\"a\",\"email\":\"a@b.com\"}," +
+                "\"pushedAt\":\"2026-01-01T00:00:00Z\"," +
+                "\"commitMessage\":{\"summary\":\"s\",\"detail\":\"d\",\"markup\":\"PLAINTEXT\"}}";
+        final AggregatedHttpResponse res = AggregatedHttpResponse.of(
+                HttpStatus.OK, MediaType.JSON_UTF_8,
+                '[' + String.format(commit, 2) + ',' + String.format(commit, 1) + ']');
+        final List<Commit> commits = ArmeriaCentralDogma.getHistory(res);
+        assertThat(commits).hasSize(2);
+        assertThat(commits.get(0).revision()).isEqualTo(new Revision(2));
+        assertThat(commits.get(1).revision()).isEqualTo(new Revision(1));
+        assertThat(commits.get(1).markup()).isEqualTo(Markup.PLAINTEXT);
+    }
+
+    @Test
+    void rejectInvalidContent() {
+        assertThatThrownBy(() -> ArmeriaCentralDogma.getHistory(
+                AggregatedHttpResponse.of(HttpStatus.OK, MediaType.JSON_UTF_8, "\"foo\"")))
+                .isInstanceOf(CentralDogmaException.class)
+                .hasMessageContaining("invalid server response");
+        assertThatThrownBy(() -> ArmeriaCentralDogma.getHistory(
+                AggregatedHttpResponse.of(HttpStatus.OK, MediaType.JSON_UTF_8, "[1, 2]")))
+                .isInstanceOf(CentralDogmaException.class)
+                .hasMessageContaining("invalid server response");
+        assertThatThrownBy(() -> ArmeriaCentralDogma.getHistory(
+                AggregatedHttpResponse.of(HttpStatus.OK, MediaType.JSON_UTF_8, "[{")))
+                .isInstanceOf(CentralDogmaException.class)
+                .hasMessageContaining("failed to parse");
+    }
+}
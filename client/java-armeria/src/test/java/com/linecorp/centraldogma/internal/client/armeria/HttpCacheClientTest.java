@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.internal.client.armeria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.HttpClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.ResponseHeaders;
+
+class HttpCacheClientTest {
+
+    private static final String ETAG = "\"2-0123456789abcdef\"";
+
+    @Test
+    void revalidateMutableResponse() throws Exception {
+        final Queue<String> ifNoneMatches = new ArrayDeque<>();
+        final HttpClient delegate = (ctx, req) -> {
+            final String ifNoneMatch = req.headers().get(HttpHeaderNames.IF_NONE_MATCH);
+            ifNoneMatches.add(String.valueOf(ifNoneMatch));
+            if (ETAG.equals(ifNoneMatch)) {
+                return HttpResponse.of(ResponseHeaders.of(HttpStatus.NOT_MODIFIED,
+                                                          HttpHeaderNames.ETAG, ETAG));
+            }
+            return HttpResponse.of(ResponseHeaders.of(HttpStatus.OK,
+                                                      HttpHeaderNames.ETAG, ETAG,
+                                                      HttpHeaderNames.CACHE_CONTROL, "private, no-cache"),
+                                   HttpData.ofUtf8("{\"a\":1}"));
+        };
+        final HttpCacheClient client = new HttpCacheClient(delegate, 1024);
+
+        assertThat(execute(client, "/foo").contentUtf8()).isEqualTo("{\"a\":1}");
+        assertThat(client.size()).isOne();
+
+        final AggregatedHttpResponse res = execute(client, "/foo");
+        assertThat(res.status()).isSameAs(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo("{\"a\":1}");
+        assertThat(ifNoneMatches).containsExactly("null", ETAG);
+    }
+
+    @Test
+    void serveImmutableResponseWithoutRequest() throws Exception {
+        final AtomicInteger numRequests = new AtomicInteger();
+        final HttpClient delegate = (ctx, req) -> {
+            numRequests.incrementAndGet();
+            return HttpResponse.of(ResponseHeaders.of(HttpStatus.OK,
+                                                      HttpHeaderNames.ETAG, ETAG,
+                                                      HttpHeaderNames.CACHE_CONTROL,
+                                                      "private, max-age=31536000, immutable"),
+                                   HttpData.ofUtf8("hello"));
+        };
+        final HttpCacheClient client = new HttpCacheClient(delegate, 1024);
+
+        assertThat(execute(client, "/foo?revision=2").contentUtf8()).isEqualTo("hello");
+        assertThat(execute(client, "/foo?revision=2").contentUtf8()).isEqualTo("hello");
+        assertThat(numRequests).hasValue(1);
+
+        // A different path is not served from the cache.
+        execute(client, "/foo?revision=3");
+        assertThat(numRequests).hasValue(2);
+    }
+
+    @Test
+    void watchRequestBypassesCache() throws Exception {
+        final AtomicInteger numRequests = new AtomicInteger();
+        final HttpClient delegate = (ctx, req) -> {
+            numRequests.incrementAndGet();
+            return HttpResponse.of(ResponseHeaders.of(HttpStatus.OK,
+                                                      HttpHeaderNames.ETAG, ETAG,
+                                                      HttpHeaderNames.CONTENT_TYPE, MediaType.JSON),
+                                   HttpData.ofUtf8("{}"));
+        };
+        final HttpCacheClient client = new HttpCacheClient(delegate, 1024);
+
+        final HttpRequest watchRequest = HttpRequest.of(
+                RequestHeaders.of(HttpMethod.GET, "/foo", HttpHeaderNames.IF_NONE_MATCH, "-1"));
+        final ClientRequestContext ctx = ClientRequestContext.of(watchRequest);
+        client.execute(ctx, watchRequest).aggregate().join();
+        assertThat(client.size()).isZero();
+        assertThat(numRequests).hasValue(1);
+    }
+
+    private static AggregatedHttpResponse execute(HttpCacheClient client, String path) throws Exception {
+        final HttpRequest req = HttpRequest.of(HttpMethod.GET, path);
+        final ClientRequestContext ctx = ClientRequestContext.of(req);
+        return client.execute(ctx, req).aggregate().join();
+    }
+}
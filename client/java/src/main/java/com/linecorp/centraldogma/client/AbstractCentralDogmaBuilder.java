@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -43,6 +44,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.net.InetAddresses;
 
+import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.common.RevisionNotFoundException;
 import com.linecorp.centraldogma.internal.CsrfToken;
 
@@ -74,6 +76,8 @@ public abstract class AbstractCentralDogmaBuilder<B extends AbstractCentralDogma
             TimeUnit.SECONDS.toMillis(DEFAULT_RETRY_INTERVAL_ON_REPLICATION_LAG_SECONDS);
     @Nullable
     private MeterRegistry meterRegistry;
+    @Nullable
+    private Path watcherSnapshotDir;
 
     /**
      * Returns {@code this}.
@@ -436,4 +440,27 @@ public abstract class AbstractCentralDogmaBuilder<B extends AbstractCentralDogma
     protected final MeterRegistry meterRegistry() {
         return meterRegistry;
     }
+
+    /**
+     * Sets the directory where the latest values received by {@link Watcher}s are persisted.
+     * When set, a {@link Watcher} restores the persisted value on start, completing
+     * {@link Watcher#initialValueFuture()} immediately, and then resumes watching from the persisted
+     * {@link Revision}. This helps an application start up even if the Central Dogma servers are slow or
+     * unreachable, and reduces the load on the servers when many clients restart at the same time.
+     * The persistence is disabled by default.
+     */
+    public final B watcherSnapshotDir(Path watcherSnapshotDir) {
+        this.watcherSnapshotDir = requireNonNull(watcherSnapshotDir, "watcherSnapshotDir");
+        return self();
+    }
+
+    /**
+     * Returns the directory where the latest values received by {@link Watcher}s are persisted.
+     *
+     * @return the directory, or {@code null} if the persistence is disabled
+     */
+    @Nullable
+    protected final Path watcherSnapshotDir() {
+        return watcherSnapshotDir;
+    }
 }
@@ -156,7 +156,15 @@ abstract class AbstractWatcher<T> implements Watcher<T> {
      */
     void start() {
         if (state.compareAndSet(State.INIT, State.STARTED)) {
-            scheduleWatch(0);
+            if (restoreSnapshot()) {
+                // Resume watching from the restored revision right away.
+                currentScheduleFuture = watchScheduler.schedule(() -> {
+                    currentScheduleFuture = null;
+                    doWatch(0);
+                }, 0, TimeUnit.MILLISECONDS);
+            } else {
+                scheduleWatch(0);
+            }
         }
         if (meterRegistry != null) {
             meterRegistry.gauge(LATEST_REVISION_METER_NAME, tags, this,
@@ -199,7 +207,33 @@ abstract class AbstractWatcher<T> implements Watcher<T> {
         }
     }
 
-    private boolean isStopped() {
+    /**
+     * Restores the value persisted by the previous process, if any, so that {@link #initialValueFuture()}
+     * completes without waiting for the server.
+     *
+     * @return {@code true} if the value has been restored
+     */
+    private boolean restoreSnapshot() {
+        final Latest<T> restored;
+        try {
+            restored = loadSnapshot();
+        } catch (Exception e) {
+            logger.warn("Failed to restore the snapshot of a watcher ({}/{}{}); ignoring",
+                        projectName, repositoryName, pathPattern, e);
+            return false;
+        }
+        if (restored == null) {
+            return false;
+        }
+
+        latest = restored;
+        logger.debug("watcher restored a snapshot of {}/{}{}: rev={}",
+                     projectName, repositoryName, pathPattern, restored.revision());
+        initialValueFuture.complete(restored);
+        return true;
+    }
+
+    boolean isStopped() {
         return state.get() == State.STOPPED;
     }
 
@@ -362,6 +396,15 @@ abstract class AbstractWatcher<T> implements Watcher<T> {
 
     abstract CompletableFuture<Latest<T>> doWatch(Revision lastKnownRevision);
 
+    /**
+     * Returns the value persisted by the previous process, or {@code null} if there is no such value or
+     * persistence is disabled.
+     */
+    @Nullable
+    Latest<T> loadSnapshot() {
+        return null;
+    }
+
     private void notifyListeners(Latest<T> latest) {
         if (isStopped()) {
             // Do not notify after stopped.
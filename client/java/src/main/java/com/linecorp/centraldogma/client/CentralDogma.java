@@ -18,17 +18,21 @@ package com.linecorp.centraldogma.client;
 import static com.linecorp.centraldogma.internal.PathPatternUtil.toPathPattern;
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.CentralDogmaException;
 import com.linecorp.centraldogma.common.Change;
 import com.linecorp.centraldogma.common.Commit;
 import com.linecorp.centraldogma.common.Entry;
@@ -223,6 +227,62 @@ public interface CentralDogma extends AutoCloseable {
     CompletableFuture<Map<String, Entry<?>>> getFiles(String projectName, String repositoryName,
                                                       Revision revision, PathPattern pathPattern);
 
+    /**
+     * Queries the files specified by the {@link Query}s at the specified revision.
+     * This method is equivalent to calling:
+     * <pre>{@code
+     * CentralDogma dogma = ...
+     * dogma.forRepo(projectName, repositoryName)
+     *      .files(queries)
+     *      .get(revision);
+     * }</pre>
+     *
+     * <p>All {@link Query}s are performed at the same revision. A {@link Query} which failed, e.g. due to
+     * a missing file, does not fail the others, and its cause is reported via
+     * {@link FileBatchResult#failures()}. The default implementation sends a request for each
+     * {@link Query}. Override it if the client can send all {@link Query}s with a single request.
+     *
+     * @return the {@link FileBatchResult} which contains the result of each {@link Query}
+     */
+    default CompletableFuture<FileBatchResult> getFileBatch(String projectName, String repositoryName,
+                                                            Revision revision,
+                                                            Iterable<? extends Query<?>> queries) {
+        requireNonNull(revision, "revision");
+        requireNonNull(queries, "queries");
+        final List<Query<?>> queryList = ImmutableList.copyOf(queries);
+        return normalizeRevision(projectName, repositoryName, revision).thenCompose(normRev -> {
+            final List<CompletableFuture<? extends Entry<?>>> futures = new ArrayList<>(queryList.size());
+            for (Query<?> query : queryList) {
+                futures.add(getFile(projectName, repositoryName, normRev, query));
+            }
+
+            final CompletableFuture<FileBatchResult> result = new CompletableFuture<>();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).handle((unused1, unused2) -> {
+                final ImmutableMap.Builder<Integer, Entry<?>> entries = ImmutableMap.builder();
+                final ImmutableMap.Builder<Integer, CentralDogmaException> failures = ImmutableMap.builder();
+                for (int i = 0; i < queryList.size(); i++) {
+                    try {
+                        entries.put(i, futures.get(i).join());
+                    } catch (CompletionException e) {
+                        final Throwable cause = e.getCause();
+                        if (!(cause instanceof CentralDogmaException)) {
+                            // Not a failure of the query itself, e.g. a connection failure.
+                            result.completeExceptionally(cause);
+                            return null;
+                        }
+                        failures.put(i, (CentralDogmaException) cause);
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                        return null;
+                    }
+                }
+                result.complete(new FileBatchResult(normRev, queryList, entries.build(), failures.build()));
+                return null;
+            });
+            return result;
+        });
+    }
+
     /**
      * Retrieves the merged entry of the specified {@link MergeSource}s at the specified revision.
      * Only JSON entry merge is currently supported. The JSON files are merged sequentially as specified in
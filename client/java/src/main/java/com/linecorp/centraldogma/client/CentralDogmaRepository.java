@@ -15,8 +15,10 @@
  */
 package com.linecorp.centraldogma.client;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
@@ -48,15 +50,22 @@ public final class CentralDogmaRepository {
     private final ScheduledExecutorService blockingTaskExecutor;
     @Nullable
     private final MeterRegistry meterRegistry;
+    @Nullable
+    private final WatcherSnapshotStore watcherSnapshotStore;
+    private final SharedWatcherRegistry watcherRegistry;
 
     CentralDogmaRepository(CentralDogma centralDogma, String projectName, String repositoryName,
                            ScheduledExecutorService blockingTaskExecutor,
-                           @Nullable MeterRegistry meterRegistry) {
+                           @Nullable MeterRegistry meterRegistry,
+                           @Nullable WatcherSnapshotStore watcherSnapshotStore,
+                           SharedWatcherRegistry watcherRegistry) {
         this.centralDogma = centralDogma;
         this.projectName = projectName;
         this.repositoryName = repositoryName;
         this.blockingTaskExecutor = blockingTaskExecutor;
         this.meterRegistry = meterRegistry;
+        this.watcherSnapshotStore = watcherSnapshotStore;
+        this.watcherRegistry = watcherRegistry;
     }
 
     CentralDogma centralDogma() {
@@ -117,6 +126,45 @@ public final class CentralDogmaRepository {
         return new FilesRequest(this, pathPattern);
     }
 
+    /**
+     * Returns a new {@link FileBatchRequest} that is used to retrieve the files at the specified
+     * {@code paths} in the Central Dogma repository with a single request.
+     * Call {@link FileBatchRequest#get(Revision)} to perform the same operation as
+     * {@link CentralDogma#getFileBatch(String, String, Revision, Iterable)}.
+     */
+    public FileBatchRequest files(String... paths) {
+        requireNonNull(paths, "paths");
+        final ImmutableList.Builder<Query<?>> queries = ImmutableList.builder();
+        for (String path : paths) {
+            queries.add(Query.of(QueryType.IDENTITY, requireNonNull(path, "paths contains null.")));
+        }
+        return files(queries.build());
+    }
+
+    /**
+     * Returns a new {@link FileBatchRequest} that is used to retrieve the files specified by the
+     * {@link Query}s in the Central Dogma repository with a single request.
+     * Call {@link FileBatchRequest#get(Revision)} to perform the same operation as
+     * {@link CentralDogma#getFileBatch(String, String, Revision, Iterable)}.
+     */
+    public FileBatchRequest files(Query<?>... queries) {
+        requireNonNull(queries, "queries");
+        return files(ImmutableList.copyOf(queries));
+    }
+
+    /**
+     * Returns a new {@link FileBatchRequest} that is used to retrieve the files specified by the
+     * {@link Query}s in the Central Dogma repository with a single request.
+     * Call {@link FileBatchRequest#get(Revision)} to perform the same operation as
+     * {@link CentralDogma#getFileBatch(String, String, Revision, Iterable)}.
+     */
+    public FileBatchRequest files(Iterable<? extends Query<?>> queries) {
+        requireNonNull(queries, "queries");
+        final List<Query<?>> queryList = ImmutableList.copyOf(queries);
+        checkArgument(!queryList.isEmpty(), "queries is empty.");
+        return new FileBatchRequest(this, queryList);
+    }
+
     /**
      * Returns a new {@link MergeRequest} that is used to retrieve the merged file in the
      * Central Dogma repository.
@@ -287,7 +335,8 @@ public final class CentralDogmaRepository {
      */
     public <T> WatcherRequest<T> watcher(Query<T> query) {
         requireNonNull(query, "query");
-        return new WatcherRequest<>(this, query, blockingTaskExecutor, meterRegistry);
+        return new WatcherRequest<>(this, query, blockingTaskExecutor, meterRegistry,
+                                    watcherSnapshotStore, watcherRegistry);
     }
 
     /**
@@ -295,7 +344,8 @@ public final class CentralDogmaRepository {
      */
     public WatcherRequest<Revision> watcher(PathPattern pathPattern) {
         requireNonNull(pathPattern, "pathPattern");
-        return new WatcherRequest<>(this, pathPattern, blockingTaskExecutor, meterRegistry);
+        return new WatcherRequest<>(this, pathPattern, blockingTaskExecutor, meterRegistry,
+                                    watcherSnapshotStore, watcherRegistry);
     }
 
     @Override
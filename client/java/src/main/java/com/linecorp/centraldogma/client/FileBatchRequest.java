@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.centraldogma.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+
+/**
+ * Prepares to send a {@link CentralDogma#getFileBatch(String, String, Revision, Iterable)} request to the
+ * Central Dogma repository.
+ */
+public final class FileBatchRequest {
+
+    private final CentralDogmaRepository centralDogmaRepo;
+    private final List<Query<?>> queries;
+
+    FileBatchRequest(CentralDogmaRepository centralDogmaRepo, List<Query<?>> queries) {
+        this.centralDogmaRepo = centralDogmaRepo;
+        this.queries = queries;
+    }
+
+    /**
+     * Retrieves the files specified by the {@link Query}s at the {@link Revision#HEAD}.
+     *
+     * @return the {@link FileBatchResult} which contains the result of each {@link Query}
+     */
+    public CompletableFuture<FileBatchResult> get() {
+        return get(Revision.HEAD);
+    }
+
+    /**
+     * Retrieves the files specified by the {@link Query}s at the {@link Revision}.
+     *
+     * @return the {@link FileBatchResult} which contains the result of each {@link Query}
+     */
+    public CompletableFuture<FileBatchResult> get(Revision revision) {
+        requireNonNull(revision, "revision");
+        return centralDogmaRepo.centralDogma().getFileBatch(centralDogmaRepo.projectName(),
+                                                            centralDogmaRepo.repositoryName(),
+                                                            revision, queries);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.centraldogma.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.centraldogma.common.CentralDogmaException;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+
+/**
+ * The result of {@link CentralDogma#getFileBatch(String, String, Revision, Iterable)}, which contains
+ * the {@link Entry} of each successful {@link Query} and the cause of each failed {@link Query}, e.g.
+ * an {@link com.linecorp.centraldogma.common.EntryNotFoundException} for a missing file.
+ * The results are keyed by the index of their {@link Query} in {@link #queries()}, because
+ * {@link Query#equals(Object)} does not tell apart some {@link Query}s on the same path, e.g.
+ * {@link Query#ofText(String)} and {@link Query#ofJson(String)}.
+ * All {@link Entry}s are retrieved at the same {@link #revision()}.
+ */
+public final class FileBatchResult {
+
+    private final Revision revision;
+    private final List<Query<?>> queries;
+    private final Map<Integer, Entry<?>> entries;
+    private final Map<Integer, CentralDogmaException> failures;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param revision the {@link Revision} where the {@link Query}s were performed
+     * @param queries the performed {@link Query}s
+     * @param entries the {@link Entry}s of the successful {@link Query}s, keyed by the index of the
+     *                {@link Query} in {@code queries}
+     * @param failures the causes of the failed {@link Query}s, keyed by the index of the {@link Query} in
+     *                 {@code queries}
+     */
+    public FileBatchResult(Revision revision, List<? extends Query<?>> queries,
+                           Map<Integer, Entry<?>> entries, Map<Integer, CentralDogmaException> failures) {
+        this.revision = requireNonNull(revision, "revision");
+        this.queries = ImmutableList.copyOf(requireNonNull(queries, "queries"));
+        this.entries = ImmutableMap.copyOf(requireNonNull(entries, "entries"));
+        this.failures = ImmutableMap.copyOf(requireNonNull(failures, "failures"));
+        for (int i = 0; i < this.queries.size(); i++) {
+            checkArgument(this.entries.containsKey(i) != this.failures.containsKey(i),
+                          "index: %s (expected: either in entries or failures)", i);
+        }
+        checkArgument(this.entries.size() + this.failures.size() == this.queries.size(),
+                      "entries and failures must have only the indexes of queries (expected: < %s)",
+                      this.queries.size());
+    }
+
+    /**
+     * Returns the {@link Revision} where the {@link Query}s were performed.
+     */
+    public Revision revision() {
+        return revision;
+    }
+
+    /**
+     * Returns the performed {@link Query}s in the order of the request.
+     */
+    public List<Query<?>> queries() {
+        return queries;
+    }
+
+    /**
+     * Returns the {@link Map} of the indexes of the successful {@link Query}s in {@link #queries()} and
+     * their {@link Entry}s.
+     */
+    public Map<Integer, Entry<?>> entries() {
+        return entries;
+    }
+
+    /**
+     * Returns the {@link Map} of the indexes of the failed {@link Query}s in {@link #queries()} and
+     * their causes.
+     */
+    public Map<Integer, CentralDogmaException> failures() {
+        return failures;
+    }
+
+    /**
+     * Returns the {@link Entry} of the {@link Query} at the specified index of {@link #queries()}.
+     *
+     * @return the {@link Entry}, or {@code null} if the {@link Query} failed
+     */
+    @Nullable
+    public Entry<?> entry(int index) {
+        checkElementIndex(index, queries.size(), "index");
+        return entries.get(index);
+    }
+
+    /**
+     * Returns the {@link Entry} of the specified {@link Query}. If the same {@link Query} was requested
+     * more than once, the {@link Entry} of the first one is returned.
+     *
+     * @return the {@link Entry}, or {@code null} if the {@link Query} failed or was not requested
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> Entry<T> entry(Query<T> query) {
+        final int index = indexOf(query);
+        return index >= 0 ? (Entry<T>) entries.get(index) : null;
+    }
+
+    /**
+     * Returns the cause of the failure of the {@link Query} at the specified index of {@link #queries()}.
+     *
+     * @return the cause, or {@code null} if the {@link Query} succeeded
+     */
+    @Nullable
+    public CentralDogmaException failure(int index) {
+        checkElementIndex(index, queries.size(), "index");
+        return failures.get(index);
+    }
+
+    /**
+     * Returns the cause of the failure of the specified {@link Query}. If the same {@link Query} was
+     * requested more than once, the cause of the first one is returned.
+     *
+     * @return the cause, or {@code null} if the {@link Query} succeeded or was not requested
+     */
+    @Nullable
+    public CentralDogmaException failure(Query<?> query) {
+        final int index = indexOf(query);
+        return index >= 0 ? failures.get(index) : null;
+    }
+
+    /**
+     * Returns whether any of the {@link Query}s failed.
+     */
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    private int indexOf(Query<?> query) {
+        requireNonNull(query, "query");
+        for (int i = 0; i < queries.size(); i++) {
+            final Query<?> q = queries.get(i);
+            // Compare the type and the expressions as well because Query.equals() may not.
+            if (q.type() == query.type() && q.path().equals(query.path()) &&
+                q.expressions().equals(query.expressions())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FileBatchResult)) {
+            return false;
+        }
+        final FileBatchResult that = (FileBatchResult) o;
+        return revision.equals(that.revision) &&
+               queries.equals(that.queries) &&
+               entries.equals(that.entries) &&
+               failures.equals(that.failures);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(revision, queries, entries, failures);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("revision", revision)
+                          .add("queries", queries)
+                          .add("entries", entries)
+                          .add("failures", failures)
+                          .toString();
+    }
+}
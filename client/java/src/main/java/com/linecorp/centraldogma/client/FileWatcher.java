@@ -16,9 +16,7 @@
 package com.linecorp.centraldogma.client;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
@@ -37,15 +35,15 @@ final class FileWatcher<T> extends AbstractWatcher<T> {
     private final long timeoutMillis;
     private final boolean errorOnEntryNotFound;
     @Nullable
-    private final Function<Object, ? extends T> mapper;
+    private final WatcherSnapshotStore snapshotStore;
     @Nullable
-    private final Executor mapperExecutor;
+    private final String snapshotKey;
 
     FileWatcher(CentralDogma centralDogma, ScheduledExecutorService watchScheduler, String projectName,
                 String repositoryName, Query<T> query, long timeoutMillis, boolean errorOnEntryNotFound,
-                @Nullable Function<Object, ? extends T> mapper, Executor mapperExecutor,
                 long delayOnSuccessMillis, long initialDelayMillis, long maxDelayMillis, double multiplier,
-                double jitterRate, @Nullable MeterRegistry meterRegistry) {
+                double jitterRate, @Nullable MeterRegistry meterRegistry,
+                @Nullable WatcherSnapshotStore snapshotStore) {
         super(watchScheduler, projectName, repositoryName, query.path(), errorOnEntryNotFound,
               delayOnSuccessMillis, initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry);
         this.centralDogma = centralDogma;
@@ -54,28 +52,47 @@ final class FileWatcher<T> extends AbstractWatcher<T> {
         this.query = query;
         this.timeoutMillis = timeoutMillis;
         this.errorOnEntryNotFound = errorOnEntryNotFound;
-        this.mapper = mapper;
-        this.mapperExecutor = mapperExecutor;
+        this.snapshotStore = snapshotStore;
+        snapshotKey = snapshotStore != null ? WatcherSnapshotStore.key(projectName, repositoryName, query)
+                                            : null;
+    }
+
+    @Nullable
+    @Override
+    Latest<T> loadSnapshot() {
+        if (snapshotStore == null) {
+            return null;
+        }
+        assert snapshotKey != null;
+        final WatcherSnapshotStore.Snapshot snapshot = snapshotStore.load(snapshotKey);
+        if (snapshot == null || snapshot.type() == null) {
+            return null;
+        }
+
+        //noinspection unchecked
+        return new Latest<>(snapshot.revision(), (T) snapshot.content());
     }
 
     @Override
     CompletableFuture<Latest<T>> doWatch(Revision lastKnownRevision) {
-        final CompletableFuture<Entry<T>> future = centralDogma.watchFile(projectName, repositoryName,
-                                                                          lastKnownRevision, query,
-                                                                          timeoutMillis, errorOnEntryNotFound);
-        if (mapper == null) {
-            return future.thenApply(entry -> {
-                if (entry == null) {
-                    return null;
+        CompletableFuture<Entry<T>> future = centralDogma.watchFile(projectName, repositoryName,
+                                                                    lastKnownRevision, query,
+                                                                    timeoutMillis, errorOnEntryNotFound);
+        if (snapshotStore != null) {
+            assert snapshotKey != null;
+            future = future.thenApply(entry -> {
+                if (entry != null && entry.hasContent()) {
+                    snapshotStore.save(snapshotKey, entry.revision(), entry.type(), entry.content(),
+                                       watchScheduler());
                 }
-                return new Latest<>(entry.revision(), entry.content());
+                return entry;
             });
         }
-        return future.thenApplyAsync(entry -> {
+        return future.thenApply(entry -> {
             if (entry == null) {
                 return null;
             }
-            return new Latest<>(entry.revision(), mapper.apply(entry.content()));
-        }, mapperExecutor);
+            return new Latest<>(entry.revision(), entry.content());
+        });
     }
 }
@@ -15,12 +15,8 @@
  */
 package com.linecorp.centraldogma.client;
 
-import static com.linecorp.centraldogma.internal.Util.unsafeCast;
-
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
@@ -29,7 +25,7 @@ import com.linecorp.centraldogma.common.Revision;
 
 import io.micrometer.core.instrument.MeterRegistry;
 
-final class FilesWatcher<T> extends AbstractWatcher<T> {
+final class FilesWatcher extends AbstractWatcher<Revision> {
 
     private final CentralDogma centralDogma;
     private final String projectName;
@@ -38,16 +34,16 @@ final class FilesWatcher<T> extends AbstractWatcher<T> {
     private final long timeoutMillis;
     private final boolean errorOnEntryNotFound;
     @Nullable
-    private final Function<Revision, ? extends T> mapper;
+    private final WatcherSnapshotStore snapshotStore;
     @Nullable
-    private final Executor mapperExecutor;
+    private final String snapshotKey;
 
     FilesWatcher(CentralDogma centralDogma, ScheduledExecutorService watchScheduler,
                  String projectName, String repositoryName, PathPattern pathPattern,
                  long timeoutMillis, boolean errorOnEntryNotFound,
-                 @Nullable Function<Object, ? extends T> mapper, Executor mapperExecutor,
                  long delayOnSuccessMillis, long initialDelayMillis, long maxDelayMillis,
-                 double multiplier, double jitterRate, @Nullable MeterRegistry meterRegistry) {
+                 double multiplier, double jitterRate, @Nullable MeterRegistry meterRegistry,
+                 @Nullable WatcherSnapshotStore snapshotStore) {
         super(watchScheduler, projectName, repositoryName, pathPattern.patternString(), errorOnEntryNotFound,
               delayOnSuccessMillis, initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry);
         this.centralDogma = centralDogma;
@@ -56,29 +52,45 @@ final class FilesWatcher<T> extends AbstractWatcher<T> {
         this.pathPattern = pathPattern;
         this.timeoutMillis = timeoutMillis;
         this.errorOnEntryNotFound = errorOnEntryNotFound;
-        this.mapper = mapper != null ? unsafeCast(mapper) : null;
-        this.mapperExecutor = mapperExecutor;
+        this.snapshotStore = snapshotStore;
+        snapshotKey = snapshotStore != null ? WatcherSnapshotStore.key(projectName, repositoryName,
+                                                                       pathPattern)
+                                            : null;
+    }
+
+    @Nullable
+    @Override
+    Latest<Revision> loadSnapshot() {
+        if (snapshotStore == null) {
+            return null;
+        }
+        assert snapshotKey != null;
+        final WatcherSnapshotStore.Snapshot snapshot = snapshotStore.load(snapshotKey);
+        if (snapshot == null) {
+            return null;
+        }
+        return new Latest<>(snapshot.revision(), snapshot.revision());
     }
 
     @Override
-    CompletableFuture<Latest<T>> doWatch(Revision lastKnownRevision) {
-        final CompletableFuture<Revision> future = centralDogma.watchRepository(
+    CompletableFuture<Latest<Revision>> doWatch(Revision lastKnownRevision) {
+        CompletableFuture<Revision> future = centralDogma.watchRepository(
                 projectName, repositoryName, lastKnownRevision,
                 pathPattern, timeoutMillis, errorOnEntryNotFound);
-        if (mapper == null) {
-            return future.thenApply(revision -> {
-                if (revision == null) {
-                    return null;
+        if (snapshotStore != null) {
+            assert snapshotKey != null;
+            future = future.thenApply(revision -> {
+                if (revision != null) {
+                    snapshotStore.save(snapshotKey, revision, null, null, watchScheduler());
                 }
-                //noinspection unchecked
-                return new Latest<>(revision, (T) revision);
+                return revision;
             });
         }
-        return future.thenApplyAsync(revision -> {
+        return future.thenApply(revision -> {
             if (revision == null) {
                 return null;
             }
-            return new Latest<>(revision, mapper.apply(revision));
-        }, mapperExecutor);
+            return new Latest<>(revision, revision);
+        });
     }
 }
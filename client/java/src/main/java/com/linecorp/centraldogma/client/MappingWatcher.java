@@ -48,13 +48,34 @@ final class MappingWatcher<T, U> implements Watcher<U> {
         requireNonNull(mapper, "mapper");
         requireNonNull(executor, "executor");
         // TODO(minwoo): extract mapper function and combine it with the new mapper.
-        return new MappingWatcher<>(parent, mapper, executor, closeParentWhenClosing);
+        return new MappingWatcher<>(parent, mapper, executor, closeParentWhenClosing, true, null);
+    }
+
+    /**
+     * Returns a new {@link MappingWatcher} derived from a {@link Watcher} shared by many
+     * {@link MappingWatcher}s. The specified {@code onClose} is invoked instead of closing the parent
+     * when the returned {@link MappingWatcher} is closed.
+     *
+     * <p>Unlike {@link #of(Watcher, Function, Executor, boolean)}, the returned {@link MappingWatcher}
+     * notifies its listeners of every new {@link Revision} even if the mapped value is unchanged, just like
+     * a {@link Watcher} that does not share its parent.
+     */
+    static <T, U> MappingWatcher<T, U> ofShared(Watcher<T> parent, Function<? super T, ? extends U> mapper,
+                                                Executor executor, Runnable onClose) {
+        requireNonNull(parent, "parent");
+        requireNonNull(mapper, "mapper");
+        requireNonNull(executor, "executor");
+        requireNonNull(onClose, "onClose");
+        return new MappingWatcher<>(parent, mapper, executor, false, false, onClose);
     }
 
     private final Watcher<T> parent;
     private final Function<? super T, ? extends U> mapper;
     private final Executor mapperExecutor;
     private final boolean closeParentWhenClosing;
+    private final boolean notifyOnlyIfChanged;
+    @Nullable
+    private final Runnable onClose;
     private final CompletableFuture<Latest<U>> initialValueFuture = new CompletableFuture<>();
     private final List<Entry<BiConsumer<? super Revision, ? super U>, Executor>> updateListeners =
             new CopyOnWriteArrayList<>();
@@ -64,11 +85,13 @@ final class MappingWatcher<T, U> implements Watcher<U> {
     private volatile boolean closed;
 
     MappingWatcher(Watcher<T> parent, Function<? super T, ? extends U> mapper, Executor mapperExecutor,
-                   boolean closeParentWhenClosing) {
+                   boolean closeParentWhenClosing, boolean notifyOnlyIfChanged, @Nullable Runnable onClose) {
         this.parent = parent;
         this.mapper = mapper;
         this.mapperExecutor = mapperExecutor;
         this.closeParentWhenClosing = closeParentWhenClosing;
+        this.notifyOnlyIfChanged = notifyOnlyIfChanged;
+        this.onClose = onClose;
         parent.initialValueFuture().exceptionally(cause -> {
             initialValueFuture.completeExceptionally(cause);
             return null;
@@ -89,7 +112,7 @@ final class MappingWatcher<T, U> implements Watcher<U> {
                 return;
             }
             final Latest<U> oldLatest = mappedLatest;
-            if (oldLatest != null && Objects.equals(oldLatest.value(), mappedValue)) {
+            if (notifyOnlyIfChanged && oldLatest != null && Objects.equals(oldLatest.value(), mappedValue)) {
                 return;
             }
 
@@ -156,6 +179,9 @@ final class MappingWatcher<T, U> implements Watcher<U> {
         if (closeParentWhenClosing) {
             parent.close();
         }
+        if (onClose != null) {
+            onClose.run();
+        }
     }
 
     @Override
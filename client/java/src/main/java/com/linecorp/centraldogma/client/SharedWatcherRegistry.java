@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.client;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import com.linecorp.centraldogma.common.Revision;
+
+/**
+ * A reference-counted registry of the {@link Watcher}s created by a {@link CentralDogma} client.
+ * The {@link Watcher}s that watch the same target with the same options share a single underlying
+ * {@link AbstractWatcher}, so that they send only one watch request at a time. Each {@link Watcher}
+ * returned by {@link #watch(List, Supplier, Function, Executor)} is a {@link MappingWatcher} derived from
+ * the shared {@link AbstractWatcher}, which is closed when all its derived {@link Watcher}s are closed.
+ * A derived {@link Watcher} notifies its listeners of every new {@link Revision} of the shared
+ * {@link AbstractWatcher}, even if its mapped value is unchanged.
+ */
+final class SharedWatcherRegistry {
+
+    private final Map<List<Object>, SharedWatcher> watchers = new HashMap<>();
+
+    /**
+     * Returns a new {@link Watcher} derived from the shared {@link AbstractWatcher} of the specified
+     * {@code key}. A new {@link AbstractWatcher} is created with the specified {@code factory} and started
+     * if there is no live {@link AbstractWatcher} for the {@code key}.
+     */
+    <T, U> Watcher<U> watch(List<Object> key, Supplier<? extends AbstractWatcher<T>> factory,
+                            Function<? super T, ? extends U> mapper, Executor mapperExecutor) {
+        final SharedWatcher shared;
+        final AbstractWatcher<T> source;
+        synchronized (this) {
+            SharedWatcher existing = watchers.get(key);
+            if (existing == null || existing.source.isStopped()) {
+                // The previous one could have been stopped due to a failure of fetching the initial value.
+                existing = new SharedWatcher(factory.get());
+                watchers.put(key, existing);
+            }
+            existing.refCnt++;
+            shared = existing;
+            //noinspection unchecked
+            source = (AbstractWatcher<T>) shared.source;
+        }
+        // Start outside the lock because it may restore a snapshot from the disk.
+        // Only the first call starts the source.
+        source.start();
+
+        final AtomicBoolean released = new AtomicBoolean();
+        return MappingWatcher.ofShared(source, mapper, mapperExecutor, () -> {
+            if (released.compareAndSet(false, true)) {
+                release(key, shared);
+            }
+        });
+    }
+
+    private void release(List<Object> key, SharedWatcher shared) {
+        synchronized (this) {
+            if (--shared.refCnt > 0) {
+                return;
+            }
+            if (watchers.get(key) == shared) {
+                watchers.remove(key);
+            }
+        }
+        shared.source.close();
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return watchers.size();
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this).add("watchers", size())
+                                   .toString();
+    }
+
+    private static final class SharedWatcher {
+
+        final AbstractWatcher<?> source;
+        int refCnt;
+
+        SharedWatcher(AbstractWatcher<?> source) {
+            this.source = source;
+        }
+    }
+}
@@ -16,9 +16,11 @@
 package com.linecorp.centraldogma.client;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.linecorp.centraldogma.internal.Util.unsafeCast;
 import static java.util.Objects.requireNonNull;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -26,6 +28,9 @@ import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
 import com.linecorp.centraldogma.common.PathPattern;
 import com.linecorp.centraldogma.common.Query;
 
@@ -54,6 +59,9 @@ public final class WatcherRequest<T> extends WatchOptions {
 
     @Nullable
     private final MeterRegistry meterRegistry;
+    @Nullable
+    private final WatcherSnapshotStore snapshotStore;
+    private final SharedWatcherRegistry watcherRegistry;
 
     private long delayOnSuccessMillis = DEFAULT_DELAY_ON_SUCCESS_MILLIS;
     private long initialDelayMillis = DEFAULT_DELAY_ON_SUCCESS_MILLIS * 2;
@@ -62,24 +70,32 @@ public final class WatcherRequest<T> extends WatchOptions {
     private double jitterRate = DEFAULT_JITTER_RATE;
 
     WatcherRequest(CentralDogmaRepository centralDogmaRepo, Query<T> query,
-                   ScheduledExecutorService blockingTaskExecutor, @Nullable MeterRegistry meterRegistry) {
-        this(centralDogmaRepo, query, null, blockingTaskExecutor, meterRegistry);
+                   ScheduledExecutorService blockingTaskExecutor, @Nullable MeterRegistry meterRegistry,
+                   @Nullable WatcherSnapshotStore snapshotStore, SharedWatcherRegistry watcherRegistry) {
+        this(centralDogmaRepo, query, null, blockingTaskExecutor, meterRegistry, snapshotStore,
+             watcherRegistry);
     }
 
     WatcherRequest(CentralDogmaRepository centralDogmaRepo, PathPattern pathPattern,
-                   ScheduledExecutorService blockingTaskExecutor, @Nullable MeterRegistry meterRegistry) {
-        this(centralDogmaRepo, null, pathPattern, blockingTaskExecutor, meterRegistry);
+                   ScheduledExecutorService blockingTaskExecutor, @Nullable MeterRegistry meterRegistry,
+                   @Nullable WatcherSnapshotStore snapshotStore, SharedWatcherRegistry watcherRegistry) {
+        this(centralDogmaRepo, null, pathPattern, blockingTaskExecutor, meterRegistry, snapshotStore,
+             watcherRegistry);
     }
 
     private WatcherRequest(CentralDogmaRepository centralDogmaRepo, @Nullable Query<T> query,
                            @Nullable PathPattern pathPattern, ScheduledExecutorService blockingTaskExecutor,
-                           @Nullable MeterRegistry meterRegistry) {
+                           @Nullable MeterRegistry meterRegistry,
+                           @Nullable WatcherSnapshotStore snapshotStore,
+                           SharedWatcherRegistry watcherRegistry) {
         this.centralDogmaRepo = centralDogmaRepo;
         this.query = query;
         this.pathPattern = pathPattern;
         this.blockingTaskExecutor = blockingTaskExecutor;
         executor = blockingTaskExecutor;
         this.meterRegistry = meterRegistry;
+        this.snapshotStore = snapshotStore;
+        this.watcherRegistry = watcherRegistry;
     }
 
     /**
@@ -171,24 +187,54 @@ public final class WatcherRequest<T> extends WatchOptions {
     /**
      * Creates a new {@link Watcher} and starts to watch the target. The {@link Watcher} must be closed via
      * {@link Watcher#close()} after use.
+     *
+     * <p>The {@link Watcher}s created by the same {@link CentralDogma} client share a single underlying
+     * watch if they watch the same target with the same options, regardless of their
+     * {@linkplain #map(Function) mappers}. The underlying watch stops when all the {@link Watcher}s sharing
+     * it are closed.
      */
     public Watcher<T> start() {
         final String proName = centralDogmaRepo.projectName();
         final String repoName = centralDogmaRepo.repositoryName();
-        final AbstractWatcher<T> watcher;
+        final Object target = sharedWatcherTarget(query, pathPattern);
+        final List<Object> key = ImmutableList.of(proName, repoName, target, timeoutMillis(),
+                                                  errorOnEntryNotFound(), delayOnSuccessMillis,
+                                                  initialDelayMillis, maxDelayMillis, multiplier, jitterRate);
+        final Function<Object, ? extends T> mapper =
+                this.mapper != null ? this.mapper : unsafeCast(Function.identity());
+        return watcherRegistry.watch(key, this::newSharedWatcher, mapper, executor);
+    }
+
+    /**
+     * Returns the part of the shared watcher key which identifies the watch target. The type and
+     * the expressions of a {@link Query} are added explicitly because {@link Query#equals(Object)} of
+     * some {@link Query}s compares only their paths, e.g. {@link Query#ofText(String)} and
+     * {@link Query#ofJson(String)}, whose values are of different types.
+     */
+    @VisibleForTesting
+    static Object sharedWatcherTarget(@Nullable Query<?> query, @Nullable PathPattern pathPattern) {
+        if (query != null) {
+            return ImmutableList.of(query.type(), query.path(), query.expressions());
+        }
+        assert pathPattern != null;
+        return pathPattern.patternString();
+    }
+
+    private AbstractWatcher<Object> newSharedWatcher() {
+        final String proName = centralDogmaRepo.projectName();
+        final String repoName = centralDogmaRepo.repositoryName();
         if (query != null) {
-            watcher = new FileWatcher<>(
-                    centralDogmaRepo.centralDogma(), blockingTaskExecutor, proName, repoName, query,
-                    timeoutMillis(), errorOnEntryNotFound(), mapper, executor, delayOnSuccessMillis,
-                    initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry);
+            return new FileWatcher<>(
+                    centralDogmaRepo.centralDogma(), blockingTaskExecutor, proName, repoName,
+                    unsafeCast(query), timeoutMillis(), errorOnEntryNotFound(), delayOnSuccessMillis,
+                    initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry, snapshotStore);
         } else {
             assert pathPattern != null;
-            watcher = new FilesWatcher<>(
+            return unsafeCast(new FilesWatcher(
                     centralDogmaRepo.centralDogma(), blockingTaskExecutor, proName, repoName, pathPattern,
-                    timeoutMillis(), errorOnEntryNotFound(), mapper, executor, delayOnSuccessMillis,
-                    initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry);
+                    timeoutMillis(), errorOnEntryNotFound(), delayOnSuccessMillis,
+                    initialDelayMillis, maxDelayMillis, multiplier, jitterRate, meterRegistry,
+                    snapshotStore));
         }
-        watcher.start();
-        return watcher;
     }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.client;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.MoreObjects;
+import com.google.common.hash.Hashing;
+
+import com.linecorp.centraldogma.common.EntryType;
+import com.linecorp.centraldogma.common.PathPattern;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+
+/**
+ * Persists the latest value received by a {@link Watcher} into a local directory, so that the
+ * {@link Watcher} can serve it immediately after the application restarts and resume watching from
+ * the persisted {@link Revision}.
+ *
+ * <p>Each snapshot is stored in its own file whose name is derived from the key of the {@link Watcher}.
+ * A snapshot is written to a temporary file first and then moved atomically, so a reader never sees a
+ * partially written snapshot.
+ */
+final class WatcherSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatcherSnapshotStore.class);
+
+    private static final String SNAPSHOT_SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    static String key(String projectName, String repositoryName, Query<?> query) {
+        return projectName + '/' + repositoryName + ':' + query.type() + ':' + query.path() + ':' +
+               String.join("\u0000", query.expressions());
+    }
+
+    static String key(String projectName, String repositoryName, PathPattern pathPattern) {
+        return projectName + '/' + repositoryName + ":PATH_PATTERN:" + pathPattern.patternString();
+    }
+
+    private final Path rootDir;
+
+    WatcherSnapshotStore(Path rootDir) {
+        this.rootDir = requireNonNull(rootDir, "rootDir");
+    }
+
+    /**
+     * Loads the snapshot of the specified {@code key}.
+     *
+     * @return the snapshot, or {@code null} if there is no valid snapshot for the {@code key}
+     */
+    @Nullable
+    Snapshot load(String key) {
+        final Path file = snapshotFile(key);
+        final JsonNode node;
+        try {
+            node = Jackson.readTree(Files.readAllBytes(file));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Failed to read a watcher snapshot: {}", file, e);
+            return null;
+        }
+
+        // Make sure the snapshot belongs to the key, just in case of a hash collision.
+        if (!key.equals(Jackson.textValue(node.get("key"), null))) {
+            return null;
+        }
+
+        final JsonNode revisionNode = node.get("revision");
+        if (revisionNode == null || !revisionNode.canConvertToInt() || revisionNode.intValue() <= 0) {
+            logger.warn("Ignoring a watcher snapshot with an invalid revision: {}", file);
+            return null;
+        }
+        final Revision revision = new Revision(revisionNode.intValue());
+
+        final String typeName = Jackson.textValue(node.get("type"), null);
+        if (typeName == null) {
+            return new Snapshot(revision, null, null);
+        }
+
+        final EntryType type;
+        try {
+            type = EntryType.valueOf(typeName);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring a watcher snapshot with an unknown entry type: {}", file);
+            return null;
+        }
+
+        final JsonNode content = node.get("content");
+        switch (type) {
+            case JSON:
+                return content != null ? new Snapshot(revision, type, content) : null;
+            case TEXT:
+                return content != null && content.isTextual() ? new Snapshot(revision, type,
+                                                                              content.textValue())
+                                                              : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Saves the snapshot of the specified {@code key} asynchronously using the specified {@link Executor}.
+     * A failure to save a snapshot is logged and does not affect the {@link Watcher}.
+     *
+     * @param type the {@link EntryType} of the {@code content}, or {@code null} if the {@link Watcher}
+     *             watches only the {@link Revision}
+     */
+    void save(String key, Revision revision, @Nullable EntryType type, @Nullable Object content,
+              Executor executor) {
+        final ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.put("key", key);
+        node.put("revision", revision.major());
+        if (type != null) {
+            node.put("type", type.name());
+            if (content instanceof JsonNode) {
+                node.set("content", (JsonNode) content);
+            } else if (content != null) {
+                node.put("content", content.toString());
+            }
+        }
+
+        executor.execute(() -> {
+            final Path file = snapshotFile(key);
+            final Path tempFile = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+            try {
+                Files.createDirectories(rootDir);
+                Files.write(tempFile, Jackson.writeValueAsBytes(node));
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (Exception e) {
+                logger.warn("Failed to save a watcher snapshot: {}", file, e);
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Ignore
+                }
+            }
+        });
+    }
+
+    private Path snapshotFile(String key) {
+        return rootDir.resolve(Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + SNAPSHOT_SUFFIX);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("rootDir", rootDir)
+                          .toString();
+    }
+
+    /**
+     * A persisted (revision, content) pair of a {@link Watcher}.
+     */
+    static final class Snapshot {
+
+        private final Revision revision;
+        @Nullable
+        private final EntryType type;
+        @Nullable
+        private final Object content;
+
+        Snapshot(Revision revision, @Nullable EntryType type, @Nullable Object content) {
+            this.revision = revision;
+            this.type = type;
+            this.content = content;
+        }
+
+        Revision revision() {
+            return revision;
+        }
+
+        @Nullable
+        EntryType type() {
+            return type;
+        }
+
+        @Nullable
+        Object content() {
+            return content;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import static com.spotify.futures.CompletableFutures.exceptionallyCompletedFutur
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +48,7 @@ import com.spotify.futures.CompletableFutures;
 import com.linecorp.centraldogma.client.AbstractCentralDogma;
 import com.linecorp.centraldogma.client.CentralDogma;
 import com.linecorp.centraldogma.client.CentralDogmaRepository;
+import com.linecorp.centraldogma.client.FileBatchResult;
 import com.linecorp.centraldogma.client.RepositoryInfo;
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.Change;
@@ -91,7 +93,16 @@ public final class ReplicationLagTolerantCentralDogma extends AbstractCentralDog
                                               CentralDogma delegate, int maxRetries, long retryIntervalMillis,
                                               Supplier<?> currentReplicaHintSupplier,
                                               @Nullable MeterRegistry meterRegistry) {
-        super(blockingTaskExecutor, meterRegistry);
+        this(blockingTaskExecutor, delegate, maxRetries, retryIntervalMillis, currentReplicaHintSupplier,
+             meterRegistry, null);
+    }
+
+    public ReplicationLagTolerantCentralDogma(ScheduledExecutorService blockingTaskExecutor,
+                                              CentralDogma delegate, int maxRetries, long retryIntervalMillis,
+                                              Supplier<?> currentReplicaHintSupplier,
+                                              @Nullable MeterRegistry meterRegistry,
+                                              @Nullable Path watcherSnapshotDir) {
+        super(blockingTaskExecutor, meterRegistry, watcherSnapshotDir);
 
         requireNonNull(delegate, "delegate");
         checkArgument(maxRetries > 0, "maxRetries: %s (expected: > 0)", maxRetries);
@@ -276,6 +287,26 @@ public final class ReplicationLagTolerantCentralDogma extends AbstractCentralDog
                 });
     }
 
+    @Override
+    public CompletableFuture<FileBatchResult> getFileBatch(
+            String projectName, String repositoryName, Revision revision,
+            Iterable<? extends Query<?>> queries) {
+        return normalizeRevisionAndExecuteWithRetries(
+                projectName, repositoryName, revision,
+                new Function<Revision, CompletableFuture<FileBatchResult>>() {
+                    @Override
+                    public CompletableFuture<FileBatchResult> apply(Revision normRev) {
+                        return delegate.getFileBatch(projectName, repositoryName, normRev, queries);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "getFileBatch(" + projectName + ", " + repositoryName + ", " +
+                               revision + ", " + queries + ')';
+                    }
+                });
+    }
+
     @Override
     public <T> CompletableFuture<MergedEntry<T>> mergeFiles(
             String projectName, String repositoryName, Revision revision,
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.QueryType;
+import com.linecorp.centraldogma.common.Revision;
+
+class SharedWatcherRegistryTest {
+
+    private static ScheduledExecutorService executor;
+
+    @BeforeAll
+    static void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void identicalWatchersShareSource() throws Exception {
+        final SharedWatcherRegistry registry = new SharedWatcherRegistry();
+        final AtomicInteger numCreated = new AtomicInteger();
+        final List<TestWatcher> sources = new CopyOnWriteArrayList<>();
+        final List<Object> key = ImmutableList.of("foo", "bar", "/a.txt");
+
+        final Watcher<String> w1 = registry.watch(key, () -> {
+            numCreated.incrementAndGet();
+            final TestWatcher source = new TestWatcher(executor);
+            sources.add(source);
+            return source;
+        }, Function.identity(), executor);
+        final Watcher<Integer> w2 = registry.watch(key, () -> {
+            numCreated.incrementAndGet();
+            return new TestWatcher(executor);
+        }, String::length, executor);
+
+        assertThat(numCreated).hasValue(1);
+        assertThat(registry.size()).isOne();
+
+        sources.get(0).valueFuture.complete(new Latest<>(new Revision(2), "hello"));
+        assertThat(w1.initialValueFuture().get(10, TimeUnit.SECONDS).value()).isEqualTo("hello");
+        assertThat(w2.initialValueFuture().get(10, TimeUnit.SECONDS).value()).isEqualTo(5);
+
+        w1.close();
+        // Closing twice must not release the shared watcher twice.
+        w1.close();
+        assertThat(registry.size()).isOne();
+        assertThat(sources.get(0).isStopped()).isFalse();
+
+        w2.close();
+        assertThat(registry.size()).isZero();
+        assertThat(sources.get(0).isStopped()).isTrue();
+    }
+
+    @Test
+    void differentKeysDoNotShareSource() {
+        final SharedWatcherRegistry registry = new SharedWatcherRegistry();
+        final Watcher<String> w1 = registry.watch(ImmutableList.of("foo", "bar", "/a.txt"),
+                                                  () -> new TestWatcher(executor), Function.identity(),
+                                                  executor);
+        final Watcher<String> w2 = registry.watch(ImmutableList.of("foo", "bar", "/b.txt"),
+                                                  () -> new TestWatcher(executor), Function.identity(),
+                                                  executor);
+        assertThat(registry.size()).isEqualTo(2);
+        w1.close();
+        w2.close();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void differentQueryTypesOnSamePathDoNotShareSource() throws Exception {
+        final SharedWatcherRegistry registry = new SharedWatcherRegistry();
+        final Object textTarget = WatcherRequest.sharedWatcherTarget(Query.ofText("/a.json"), null);
+        final Object jsonTarget = WatcherRequest.sharedWatcherTarget(Query.ofJson("/a.json"), null);
+        final Object identityTarget =
+                WatcherRequest.sharedWatcherTarget(Query.of(QueryType.IDENTITY, "/a.json"), null);
+        assertThat(ImmutableSet.of(textTarget, jsonTarget, identityTarget)).hasSize(3);
+        // Query.equals() does not tell the difference.
+        assertThat(Query.ofText("/a.json")).isEqualTo(Query.ofJson("/a.json"));
+
+        final TestWatcher textSource = new TestWatcher(executor);
+        final Watcher<String> textWatcher = registry.watch(ImmutableList.of("foo", "bar", textTarget),
+                                                           () -> textSource, Function.identity(),
+                                                           executor);
+        final TestWatcher jsonSource = new TestWatcher(executor);
+        final Watcher<Integer> jsonWatcher = registry.watch(ImmutableList.of("foo", "bar", jsonTarget),
+                                                            () -> jsonSource, String::length, executor);
+        assertThat(registry.size()).isEqualTo(2);
+
+        textSource.valueFuture.complete(new Latest<>(new Revision(2), "{\"a\":1}"));
+        jsonSource.valueFuture.complete(new Latest<>(new Revision(2), "hello"));
+        assertThat(textWatcher.initialValueFuture().get(10, TimeUnit.SECONDS).value()).isEqualTo("{\"a\":1}");
+        assertThat(jsonWatcher.initialValueFuture().get(10, TimeUnit.SECONDS).value()).isEqualTo(5);
+
+        textWatcher.close();
+        jsonWatcher.close();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void notifiesEveryRevisionEvenIfMappedValueIsUnchanged() throws Exception {
+        final SharedWatcherRegistry registry = new SharedWatcherRegistry();
+        final TestWatcher source = new TestWatcher(executor);
+        final Watcher<Integer> watcher = registry.watch(ImmutableList.of("foo", "bar", "/a.txt"),
+                                                        () -> source, String::length, executor);
+        final List<Revision> revisions = new CopyOnWriteArrayList<>();
+        watcher.watch((revision, value) -> revisions.add(revision));
+
+        source.valueFuture.complete(new Latest<>(new Revision(2), "hello"));
+        // The length of the new value is the same as the old one.
+        source.nextFutures.poll(10, TimeUnit.SECONDS).complete(new Latest<>(new Revision(3), "world"));
+
+        await().untilAsserted(() -> assertThat(revisions).containsExactly(new Revision(2), new Revision(3)));
+        assertThat(watcher.latest().revision()).isEqualTo(new Revision(3));
+        assertThat(watcher.latest().value()).isEqualTo(5);
+        watcher.close();
+    }
+
+    private static final class TestWatcher extends AbstractWatcher<String> {
+
+        final CompletableFuture<Latest<String>> valueFuture = new CompletableFuture<>();
+        final BlockingQueue<CompletableFuture<Latest<String>>> nextFutures = new LinkedBlockingQueue<>();
+
+        TestWatcher(ScheduledExecutorService executor) {
+            super(executor, "foo", "bar", "/a.txt", false, 1000, 1000, 1000, 2.0, 0.2, null);
+        }
+
+        @Override
+        CompletableFuture<Latest<String>> doWatch(Revision lastKnownRevision) {
+            if (lastKnownRevision.equals(Revision.INIT)) {
+                return valueFuture;
+            }
+            // Completed by a test if it needs a change after the initial value.
+            final CompletableFuture<Latest<String>> future = new CompletableFuture<>();
+            nextFutures.add(future);
+            return future;
+        }
+    }
+}
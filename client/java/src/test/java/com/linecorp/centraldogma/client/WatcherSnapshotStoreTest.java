@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.centraldogma.common.EntryType;
+import com.linecorp.centraldogma.common.PathPattern;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+
+class WatcherSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void jsonSnapshot() throws Exception {
+        final WatcherSnapshotStore store = new WatcherSnapshotStore(tempDir);
+        final String key = WatcherSnapshotStore.key("foo", "bar", Query.ofJsonPath("/a.json", "$.a"));
+        assertThat(store.load(key)).isNull();
+
+        store.save(key, new Revision(3), EntryType.JSON, Jackson.readTree("{\"a\":1}"), Runnable::run);
+        final WatcherSnapshotStore.Snapshot snapshot = store.load(key);
+        assertThat(snapshot).isNotNull();
+        assertThat(snapshot.revision()).isEqualTo(new Revision(3));
+        assertThat(snapshot.type()).isEqualTo(EntryType.JSON);
+        assertThat(snapshot.content()).isEqualTo(Jackson.readTree("{\"a\":1}"));
+
+        // A different query must not see the snapshot.
+        final String otherKey = WatcherSnapshotStore.key("foo", "bar", Query.ofJsonPath("/a.json", "$.b"));
+        assertThat(store.load(otherKey)).isNull();
+    }
+
+    @Test
+    void textSnapshotIsOverwritten() {
+        final WatcherSnapshotStore store = new WatcherSnapshotStore(tempDir);
+        final String key = WatcherSnapshotStore.key("foo", "bar", Query.ofText("/a.txt"));
+
+        store.save(key, new Revision(2), EntryType.TEXT, "hello", Runnable::run);
+        store.save(key, new Revision(5), EntryType.TEXT, "world", Runnable::run);
+        final WatcherSnapshotStore.Snapshot snapshot = store.load(key);
+        assertThat(snapshot).isNotNull();
+        assertThat(snapshot.revision()).isEqualTo(new Revision(5));
+        assertThat(snapshot.content()).isEqualTo("world");
+    }
+
+    @Test
+    void revisionOnlySnapshot() throws Exception {
+        final WatcherSnapshotStore store = new WatcherSnapshotStore(tempDir);
+        final String key = WatcherSnapshotStore.key("foo", "bar", PathPattern.of("/**"));
+
+        store.save(key, new Revision(7), null, null, Runnable::run);
+        final WatcherSnapshotStore.Snapshot snapshot = store.load(key);
+        assertThat(snapshot).isNotNull();
+        assertThat(snapshot.revision()).isEqualTo(new Revision(7));
+        assertThat(snapshot.type()).isNull();
+        assertThat(snapshot.content()).isNull();
+
+        // No temporary files should be left.
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).allMatch(file -> file.toString().endsWith(".json"));
+        }
+    }
+
+    @Test
+    void corruptedSnapshotIsIgnored() throws Exception {
+        final WatcherSnapshotStore store = new WatcherSnapshotStore(tempDir);
+        final String key = WatcherSnapshotStore.key("foo", "bar", Query.ofText("/a.txt"));
+        store.save(key, new Revision(2), EntryType.TEXT, "hello", Runnable::run);
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            files.forEach(file -> {
+                try {
+                    Files.write(file, "{ broken".getBytes());
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        assertThat(store.load(key)).isNull();
+    }
+}
@@ -26,6 +26,7 @@ import javax.annotation.Nullable;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Streams;
+import com.jayway.jsonpath.JsonPath;
 
 import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.internal.Util;
@@ -34,6 +35,7 @@ final class JsonPathQuery implements Query<JsonNode> {
 
     private final String path;
     private final List<String> jsonPaths;
+    private final List<JsonPath> compiledJsonPaths;
     private int hashCode;
     @Nullable
     private String strVal;
@@ -47,6 +49,10 @@ final class JsonPathQuery implements Query<JsonNode> {
         Streams.stream(requireNonNull(jsonPaths, "jsonPaths"))
                .forEach(jsonPath -> Util.validateJsonPath(jsonPath, "jsonPath"));
         this.jsonPaths = ImmutableList.copyOf(jsonPaths);
+        // Keep the compiled form so that the query is not compiled again whenever it's applied.
+        compiledJsonPaths = this.jsonPaths.stream()
+                                          .map(Jackson::compileJsonPath)
+                                          .collect(ImmutableList.toImmutableList());
     }
 
     @Override
@@ -92,7 +98,11 @@ final class JsonPathQuery implements Query<JsonNode> {
     @Override
     public JsonNode apply(JsonNode input) {
         requireNonNull(input, "input");
-        return Jackson.extractTree(input, jsonPaths);
+        JsonNode result = input;
+        for (int i = 0; i < jsonPaths.size(); i++) {
+            result = Jackson.extractTree(result, compiledJsonPaths.get(i), jsonPaths.get(i));
+        }
+        return result;
     }
 
     @Override
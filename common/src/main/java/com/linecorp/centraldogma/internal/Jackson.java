@@ -23,6 +23,7 @@ import static java.util.Objects.requireNonNull;
 import java.io.File;
 import java.io.IOError;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Writer;
 import java.time.Instant;
 import java.util.Iterator;
@@ -51,6 +52,8 @@ import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.deser.InstantDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.InstantSerializer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.jayway.jsonpath.Configuration;
@@ -84,6 +87,13 @@ public final class Jackson {
 
     private static final JsonFactory compactFactory = new JsonFactory(compactMapper);
     private static final JsonFactory prettyFactory = new JsonFactory(prettyMapper);
+    // The maximum number of the compiled JSON paths to keep. The expressions used by the watchers and
+    // the queries of the clients are evaluated repeatedly, so they do not need to be compiled every time.
+    private static final int MAX_COMPILED_JSON_PATHS = 4096;
+
+    private static final Cache<String, JsonPath> compiledJsonPaths =
+            CacheBuilder.newBuilder().maximumSize(MAX_COMPILED_JSON_PATHS).build();
+
     private static final Configuration jsonPathCfg =
             Configuration.builder()
                          .jsonProvider(new JacksonJsonNodeJsonProvider())
@@ -270,6 +280,10 @@ public final class Jackson {
         return generator;
     }
 
+    public static JsonParser createParser(InputStream in) throws IOException {
+        return compactFactory.createParser(in);
+    }
+
     public static String textValue(JsonNode node, String defaultValue) {
         return node != null && node.getNodeType() == JsonNodeType.STRING ? node.textValue() : defaultValue;
     }
@@ -284,20 +298,56 @@ public final class Jackson {
     public static JsonNode extractTree(JsonNode jsonNode, String jsonPath) {
         requireNonNull(jsonNode, "jsonNode");
         requireNonNull(jsonPath, "jsonPath");
+        return extractTree(jsonNode, compileJsonPath(jsonPath), jsonPath);
+    }
 
-        final JsonPath compiledJsonPath;
+    /**
+     * Evaluates the specified {@link JsonPath} which was compiled from the specified {@code jsonPath}
+     * with {@link #compileJsonPath(String)}.
+     */
+    public static JsonNode extractTree(JsonNode jsonNode, JsonPath compiledJsonPath, String jsonPath) {
+        requireNonNull(jsonNode, "jsonNode");
+        requireNonNull(compiledJsonPath, "compiledJsonPath");
+        requireNonNull(jsonPath, "jsonPath");
         try {
-            compiledJsonPath = JsonPath.compile(jsonPath);
+            return JsonPath.parse(jsonNode, jsonPathCfg)
+                           .read(compiledJsonPath, JsonNode.class);
         } catch (Exception e) {
-            throw new QuerySyntaxException("invalid JSON path: " + jsonPath, e);
+            throw new QueryExecutionException("JSON path evaluation failed: " + jsonPath, e);
+        }
+    }
+
+    /**
+     * Compiles the specified JSON path. The compiled JSON paths are cached, so the same expression is
+     * compiled only once as long as it's not evicted.
+     *
+     * @throws QuerySyntaxException if the specified JSON path is invalid
+     */
+    public static JsonPath compileJsonPath(String jsonPath) {
+        requireNonNull(jsonPath, "jsonPath");
+        JsonPath compiledJsonPath = compiledJsonPaths.getIfPresent(jsonPath);
+        if (compiledJsonPath != null) {
+            return compiledJsonPath;
         }
 
         try {
-            return JsonPath.parse(jsonNode, jsonPathCfg)
-                           .read(compiledJsonPath, JsonNode.class);
+            compiledJsonPath = JsonPath.compile(jsonPath);
         } catch (Exception e) {
-            throw new QueryExecutionException("JSON path evaluation failed: " + jsonPath, e);
+            throw new QuerySyntaxException("invalid JSON path: " + jsonPath, e);
         }
+        // A compiled JSON path is immutable, so it doesn't matter if other thread compiled it concurrently.
+        compiledJsonPaths.put(jsonPath, compiledJsonPath);
+        return compiledJsonPath;
+    }
+
+    /**
+     * Returns the normalized form of the specified JSON path, e.g. {@code "$['a']"} for {@code "$.a"}.
+     * The equivalent JSON paths have the same normalized form.
+     *
+     * @throws QuerySyntaxException if the specified JSON path is invalid
+     */
+    public static String normalizeJsonPath(String jsonPath) {
+        return compileJsonPath(jsonPath).getPath();
     }
 
     public static String escapeText(String text) {
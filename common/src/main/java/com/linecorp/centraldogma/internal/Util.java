@@ -29,8 +29,6 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import com.jayway.jsonpath.JsonPath;
-
 /**
  * This class borrowed some of its methods from a <a href="https://github.com/netty/netty/blob/4.1/common
  * /src/main/java/io/netty/util/NetUtil.java">NetUtil class</a> which was part of Netty project.
@@ -128,7 +126,7 @@ public final class Util {
 
     public static boolean isValidJsonPath(String jsonPath) {
         try {
-            JsonPath.compile(jsonPath);
+            Jackson.compileJsonPath(jsonPath);
             return true;
         } catch (Exception e) {
             return false;
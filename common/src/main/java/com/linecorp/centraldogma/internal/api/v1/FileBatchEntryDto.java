@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.centraldogma.internal.api.v1;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+
+/**
+ * The result of a single query in a file batch request. Either {@link #entry()} or
+ * {@link #exception()} is set.
+ */
+@JsonInclude(Include.NON_NULL)
+public class FileBatchEntryDto {
+
+    public static FileBatchEntryDto ofEntry(EntryDto<?> entry) {
+        return new FileBatchEntryDto(requireNonNull(entry, "entry"), null, null);
+    }
+
+    public static FileBatchEntryDto ofFailure(String exception, @Nullable String message) {
+        return new FileBatchEntryDto(null, requireNonNull(exception, "exception"), message);
+    }
+
+    @Nullable
+    private final EntryDto<?> entry;
+    @Nullable
+    private final String exception;
+    @Nullable
+    private final String message;
+
+    private FileBatchEntryDto(@Nullable EntryDto<?> entry, @Nullable String exception,
+                              @Nullable String message) {
+        this.entry = entry;
+        this.exception = exception;
+        this.message = message;
+    }
+
+    @Nullable
+    @JsonProperty("entry")
+    public EntryDto<?> entry() {
+        return entry;
+    }
+
+    @Nullable
+    @JsonProperty("exception")
+    public String exception() {
+        return exception;
+    }
+
+    @Nullable
+    @JsonProperty("message")
+    public String message() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .omitNullValues()
+                          .add("entry", entry)
+                          .add("exception", exception)
+                          .add("message", message)
+                          .toString();
+    }
+}
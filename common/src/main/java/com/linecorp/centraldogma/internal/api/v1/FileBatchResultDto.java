@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.centraldogma.internal.api.v1;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.centraldogma.common.Revision;
+
+/**
+ * The result of a file batch request. The {@link #entries()} are in the same order with the queries
+ * in the request.
+ */
+public class FileBatchResultDto {
+
+    private final Revision revision;
+    private final List<FileBatchEntryDto> entries;
+
+    public FileBatchResultDto(Revision revision, List<FileBatchEntryDto> entries) {
+        this.revision = requireNonNull(revision, "revision");
+        this.entries = ImmutableList.copyOf(requireNonNull(entries, "entries"));
+    }
+
+    @JsonProperty("revision")
+    public Revision revision() {
+        return revision;
+    }
+
+    @JsonProperty("entries")
+    public List<FileBatchEntryDto> entries() {
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("revision", revision)
+                          .add("entries", entries)
+                          .toString();
+    }
+}
@@ -18,6 +18,7 @@ package com.linecorp.centraldogma.internal;
 
 import static com.linecorp.centraldogma.internal.Jackson.readTree;
 import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
@@ -27,9 +28,34 @@ import org.junit.jupiter.api.Test;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import com.linecorp.centraldogma.common.QueryExecutionException;
+import com.linecorp.centraldogma.common.QuerySyntaxException;
 
 class JacksonTest {
 
+    @Test
+    void compiledJsonPathIsReused() throws IOException {
+        assertThat(Jackson.compileJsonPath("$.a.b")).isSameAs(Jackson.compileJsonPath("$.a.b"));
+
+        final JsonNode node = readTree("{\"a\": {\"b\": 1}}");
+        assertThatJson(Jackson.extractTree(node, "$.a.b")).isEqualTo(1);
+        assertThatJson(Jackson.extractTree(node, Jackson.compileJsonPath("$.a"), "$.a"))
+                .isEqualTo("{\"b\": 1}");
+    }
+
+    @Test
+    void normalizeJsonPath() {
+        assertThat(Jackson.normalizeJsonPath("$.a.b")).isEqualTo(Jackson.normalizeJsonPath("$['a']['b']"));
+        assertThat(Jackson.normalizeJsonPath("$.a")).isNotEqualTo(Jackson.normalizeJsonPath("$.b"));
+    }
+
+    @Test
+    void invalidJsonPath() {
+        assertThatThrownBy(() -> Jackson.compileJsonPath("$.a["))
+                .isExactlyInstanceOf(QuerySyntaxException.class)
+                .hasMessageContaining("invalid JSON path: $.a[");
+        assertThat(Util.isValidJsonPath("$.a[")).isFalse();
+    }
+
     @Test
     void nullCanBeAnyTypeWhileMerging() throws IOException {
         final JsonNode nullNode = readTree("{\"a\": null}");
@@ -30,12 +30,15 @@ import org.junit.jupiter.params.provider.EnumSource;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import com.linecorp.centraldogma.client.CentralDogma;
+import com.linecorp.centraldogma.client.CentralDogmaRepository;
+import com.linecorp.centraldogma.client.FileBatchResult;
 import com.linecorp.centraldogma.common.Change;
 import com.linecorp.centraldogma.common.Entry;
 import com.linecorp.centraldogma.common.EntryNotFoundException;
 import com.linecorp.centraldogma.common.ProjectNotFoundException;
 import com.linecorp.centraldogma.common.Query;
 import com.linecorp.centraldogma.common.QueryExecutionException;
+import com.linecorp.centraldogma.common.QueryType;
 import com.linecorp.centraldogma.common.RepositoryNotFoundException;
 import com.linecorp.centraldogma.common.Revision;
 
@@ -63,6 +66,41 @@ class GetFileTest {
               .push().join();
     }
 
+    @ParameterizedTest
+    @EnumSource(ClientType.class)
+    void getFileBatch(ClientType clientType) throws Exception {
+        final CentralDogma client = clientType.client(dogma);
+        final CentralDogmaRepository repo = client.forRepo(dogma.project(), dogma.repo1());
+        final Revision revision =
+                repo.commit("Add files", Change.ofJsonUpsert("/batch/a.json", "{ \"a\": \"b\" }"),
+                            Change.ofTextUpsert("/batch/b.txt", "foo"))
+                    .push().join().revision();
+
+        final Query<JsonNode> jsonPathQuery = Query.ofJsonPath("/batch/a.json", "$.a");
+        final Query<String> textQuery = Query.ofText("/batch/b.txt");
+        final Query<?> missingQuery = Query.of(QueryType.IDENTITY, "/batch/missing.json");
+        // Equal to each other, but their contents are of different types.
+        final Query<JsonNode> jsonQuery = Query.ofJson("/batch/a.json");
+        final Query<String> jsonAsTextQuery = Query.ofText("/batch/a.json");
+        final FileBatchResult result = repo.files(jsonPathQuery, textQuery, missingQuery,
+                                                  jsonQuery, jsonAsTextQuery).get().join();
+
+        assertThat(result.revision()).isEqualTo(revision);
+        assertThat(result.queries()).hasSize(5);
+        assertThat(result.entries()).containsOnlyKeys(0, 1, 3, 4);
+        assertThatJson(result.entry(jsonPathQuery).content()).isEqualTo("\"b\"");
+        assertThat(result.entry(textQuery).content()).isEqualTo("foo\n");
+        assertThat(result.failures()).containsOnlyKeys(2);
+        assertThat(result.failure(missingQuery)).isInstanceOf(EntryNotFoundException.class);
+        assertThatJson(result.entry(jsonQuery).content()).isEqualTo("{ \"a\": \"b\" }");
+        assertThat(result.entry(jsonAsTextQuery).content()).isInstanceOf(String.class);
+        assertThat(result.entry(4).content()).isInstanceOf(String.class);
+
+        client.forRepo(dogma.project(), dogma.repo1())
+              .commit("Remove files", Change.ofRemoval("/batch/a.json"), Change.ofRemoval("/batch/b.txt"))
+              .push().join();
+    }
+
     @ParameterizedTest
     @EnumSource(ClientType.class)
     void invalidJsonPath(ClientType clientType) {
@@ -248,6 +248,54 @@ class DefaultMetaRepositoryWithMirrorTest {
         assertThat(((PasswordCredential) m.credential()).username()).isEqualTo("alice");
     }
 
+    @Test
+    void mirrorsAreReusedUntilChanged() {
+        final List<Change<?>> changes =
+                ImmutableList.<Change<?>>builder()
+                             .add(Change.ofJsonUpsert(
+                                     "/repos/repo/mirrors/foo.json",
+                                     '{' +
+                                     "  \"id\": \"foo\"," +
+                                     "  \"direction\": \"LOCAL_TO_REMOTE\"," +
+                                     "  \"localRepo\": \"foo\"," +
+                                     "  \"remoteUri\": \"git+ssh://foo.com/foo.git\"," +
+                                     "  \"credentialName\": \"" +
+                                     credentialName(project.name(), "alice") + '"' +
+                                     '}'))
+                             .addAll(upsertRawCredentials(project.name()))
+                             .build();
+        metaRepo.commit(Revision.HEAD, 0, Author.SYSTEM, "", changes).join();
+        project.repos().create("foo", Author.SYSTEM);
+
+        final List<Mirror> mirrors = metaRepo.mirrors().join();
+        assertThat(mirrors).hasSize(1);
+        assertThat(metaRepo.mirrors().join()).isSameAs(mirrors);
+
+        // A change unrelated to the mirrors should not convert the mirrors again.
+        metaRepo.commit(Revision.HEAD, 0, Author.SYSTEM, "",
+                        Change.ofJsonUpsert("/unrelated.json", "{}")).join();
+        assertThat(metaRepo.mirrors().join()).isSameAs(mirrors);
+
+        // Only the changed credential should be applied.
+        final String aliceCredential = credentialName(project.name(), "alice");
+        metaRepo.commit(Revision.HEAD, 0, Author.SYSTEM, "",
+                        Change.ofJsonUpsert(credentialFile(aliceCredential),
+                                            '{' +
+                                            "  \"name\": \"" + aliceCredential + "\"," +
+                                            "  \"type\": \"PASSWORD\"," +
+                                            "  \"username\": \"alice\"," +
+                                            "  \"password\": \"new_secret\"" +
+                                            '}')).join();
+        final List<Mirror> updated = metaRepo.mirrors().join();
+        assertThat(updated).hasSize(1);
+        assertThat(((PasswordCredential) updated.get(0).credential()).password()).isEqualTo("new_secret");
+        assertThat(metaRepo.projectCredentials().join()).hasSize(2);
+
+        metaRepo.commit(Revision.HEAD, 0, Author.SYSTEM, "",
+                        Change.ofRemoval("/repos/repo/mirrors/foo.json")).join();
+        assertThat(metaRepo.mirrors().join()).isEmpty();
+    }
+
     private List<Mirror> findMirrors() {
         // Get the mirror list and sort it by localRepo name alphabetically for easier testing.
         return metaRepo.mirrors().join().stream()
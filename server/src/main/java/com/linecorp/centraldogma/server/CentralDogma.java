@@ -129,14 +129,16 @@ import com.linecorp.centraldogma.server.auth.SessionManager;
 import com.linecorp.centraldogma.server.command.Command;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
 import com.linecorp.centraldogma.server.command.StandaloneCommandExecutor;
+import com.linecorp.centraldogma.server.internal.VirtualThreads;
 import com.linecorp.centraldogma.server.internal.admin.auth.CachedSessionManager;
 import com.linecorp.centraldogma.server.internal.admin.auth.CsrfTokenAuthorizer;
 import com.linecorp.centraldogma.server.internal.admin.auth.ExpiredSessionDeletingSessionManager;
-import com.linecorp.centraldogma.server.internal.admin.auth.FileBasedSessionManager;
+import com.linecorp.centraldogma.server.internal.admin.auth.RocksDbSessionManager;
 import com.linecorp.centraldogma.server.internal.admin.auth.SessionTokenAuthorizer;
 import com.linecorp.centraldogma.server.internal.admin.service.DefaultLogoutService;
 import com.linecorp.centraldogma.server.internal.admin.service.RepositoryService;
 import com.linecorp.centraldogma.server.internal.admin.service.UserService;
+import com.linecorp.centraldogma.server.internal.api.ContentCacheHeaders;
 import com.linecorp.centraldogma.server.internal.api.ContentServiceV1;
 import com.linecorp.centraldogma.server.internal.api.CredentialServiceV1;
 import com.linecorp.centraldogma.server.internal.api.GitHttpService;
@@ -159,10 +161,12 @@ import com.linecorp.centraldogma.server.internal.mirror.DefaultMirroringServiceP
 import com.linecorp.centraldogma.server.internal.mirror.MirrorAccessControl;
 import com.linecorp.centraldogma.server.internal.mirror.MirrorRunner;
 import com.linecorp.centraldogma.server.internal.replication.ZooKeeperCommandExecutor;
+import com.linecorp.centraldogma.server.internal.storage.ephemeral.FileBasedEphemeralStore;
 import com.linecorp.centraldogma.server.internal.storage.project.DefaultProjectManager;
 import com.linecorp.centraldogma.server.internal.storage.project.ProjectApiManager;
 import com.linecorp.centraldogma.server.internal.storage.repository.CrudRepository;
 import com.linecorp.centraldogma.server.internal.storage.repository.git.GitCrudRepository;
+import com.linecorp.centraldogma.server.internal.storage.repository.git.RepositoryWorkerScheduler;
 import com.linecorp.centraldogma.server.internal.thrift.CentralDogmaExceptionTranslator;
 import com.linecorp.centraldogma.server.internal.thrift.CentralDogmaServiceImpl;
 import com.linecorp.centraldogma.server.internal.thrift.CentralDogmaTimeoutScheduler;
@@ -176,6 +180,7 @@ import com.linecorp.centraldogma.server.plugin.Plugin;
 import com.linecorp.centraldogma.server.plugin.PluginInitContext;
 import com.linecorp.centraldogma.server.plugin.PluginTarget;
 import com.linecorp.centraldogma.server.storage.encryption.EncryptionStorageManager;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
 import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.server.storage.project.ProjectManager;
@@ -282,6 +287,8 @@ public class CentralDogma implements AutoCloseable {
     @Nullable
     private SessionManager sessionManager;
     @Nullable
+    private EphemeralStore ephemeralStore;
+    @Nullable
     private ServerStatusManager statusManager;
     @Nullable
     private InternalProjectInitializer projectInitializer;
@@ -427,17 +434,21 @@ public class CentralDogma implements AutoCloseable {
         CommandExecutor executor = null;
         Server server = null;
         SessionManager sessionManager = null;
+        EphemeralStore ephemeralStore = null;
         try {
             logger.info("Starting the Central Dogma ..");
 
-            final ThreadPoolExecutor repositoryWorkerImpl = new ThreadPoolExecutor(
-                    cfg.numRepositoryWorkers(), cfg.numRepositoryWorkers(),
-                    // TODO(minwoox): Use LinkedTransferQueue when we upgrade to JDK 21.
-                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
-                    new DefaultThreadFactory("repository-worker", true));
-            repositoryWorkerImpl.allowCoreThreadTimeOut(true);
-            repositoryWorker = ExecutorServiceMetrics.monitor(meterRegistry, repositoryWorkerImpl,
+            repositoryWorker = ExecutorServiceMetrics.monitor(meterRegistry,
+                                                              newRepositoryWorker(useVirtualThreads()),
                                                               "repositoryWorker");
+            final Executor repositoryScheduler;
+            if (cfg.maxNumRepositoryWorkersPerRepository() > 0) {
+                repositoryScheduler = new RepositoryWorkerScheduler(
+                        repositoryWorker, cfg.numRepositoryWorkers(),
+                        cfg.maxNumRepositoryWorkersPerRepository(), meterRegistry);
+            } else {
+                repositoryScheduler = repositoryWorker;
+            }
 
             logger.info("Starting the project manager: {}", cfg.dataDir());
 
@@ -446,18 +457,22 @@ public class CentralDogma implements AutoCloseable {
 
             encryptionStorageManager = EncryptionStorageManager.of(cfg);
 
-            pm = new DefaultProjectManager(cfg.dataDir(), repositoryWorker, purgeWorker,
-                                           meterRegistry, cfg.repositoryCacheSpec(), encryptionStorageManager);
+            // Open the existing projects and repositories with as many threads as the repository workers.
+            pm = new DefaultProjectManager(cfg.dataDir(), repositoryScheduler, purgeWorker,
+                                           meterRegistry, cfg.repositoryCacheSpec(), encryptionStorageManager,
+                                           cfg.numRepositoryWorkers(), cfg.repositoryIdleTimeoutMillis());
 
             logger.info("Started the project manager: {}", pm);
 
             logger.info("Current settings:\n{}", cfg);
 
             sessionManager = initializeSessionManager();
+            ephemeralStore = new FileBasedEphemeralStore(new File(cfg.dataDir(), "_ephemeral").toPath());
 
             logger.info("Starting the command executor ..");
             executor = startCommandExecutor(pm, repositoryWorker, purgeWorker,
-                                            meterRegistry, sessionManager, encryptionStorageManager);
+                                            meterRegistry, sessionManager, encryptionStorageManager,
+                                            ephemeralStore);
             // The projectInitializer is set in startCommandExecutor.
             assert projectInitializer != null;
             if (executor.isWritable()) {
@@ -466,7 +481,7 @@ public class CentralDogma implements AutoCloseable {
 
             logger.info("Starting the RPC server.");
             server = startServer(pm, executor, purgeWorker, meterRegistry, sessionManager,
-                                 projectInitializer, encryptionStorageManager);
+                                 projectInitializer, encryptionStorageManager, ephemeralStore);
             logger.info("Started the RPC server at: {}", server.activePorts());
             logger.info("Started the Central Dogma successfully.");
             success = true;
@@ -479,9 +494,10 @@ public class CentralDogma implements AutoCloseable {
                 this.executor = executor;
                 this.server = server;
                 this.sessionManager = sessionManager;
+                this.ephemeralStore = ephemeralStore;
             } else {
                 doStop(server, executor, pm, repositoryWorker, purgeWorker, sessionManager, mirrorRunner,
-                       encryptionStorageManager);
+                       encryptionStorageManager, ephemeralStore);
             }
         }
         return success;
@@ -496,14 +512,15 @@ public class CentralDogma implements AutoCloseable {
     private CommandExecutor startCommandExecutor(
             ProjectManager pm, Executor repositoryWorker,
             ScheduledExecutorService purgeWorker, MeterRegistry meterRegistry,
-            @Nullable SessionManager sessionManager, EncryptionStorageManager encryptionStorageManager) {
+            @Nullable SessionManager sessionManager, EncryptionStorageManager encryptionStorageManager,
+            EphemeralStore ephemeralStore) {
 
         final Consumer<CommandExecutor> onTakeLeadership = exec -> {
             if (pluginsForLeaderOnly != null) {
                 logger.info("Starting plugins on the leader replica ..");
                 pluginsForLeaderOnly
                         .start(cfg, pm, exec, meterRegistry, purgeWorker, projectInitializer,
-                               mirrorAccessController)
+                               mirrorAccessController, ephemeralStore)
                         .handle((unused, cause) -> {
                             if (cause == null) {
                                 logger.info("Started plugins on the leader replica.");
@@ -521,7 +538,7 @@ public class CentralDogma implements AutoCloseable {
                 final CompletableFuture<?> future =
                         pluginsForLeaderOnly
                                 .stop(cfg, pm, exec, meterRegistry, purgeWorker, projectInitializer,
-                                      mirrorAccessController)
+                                      mirrorAccessController, ephemeralStore)
                                 .handle((unused, cause) -> {
                                     if (cause == null) {
                                         logger.info("Stopped plugins on the leader replica.");
@@ -548,7 +565,7 @@ public class CentralDogma implements AutoCloseable {
                 logger.info("Starting plugins on the {} zone leader replica ..", zone);
                 pluginsForZoneLeaderOnly
                         .start(cfg, pm, exec, meterRegistry, purgeWorker, projectInitializer,
-                               mirrorAccessController)
+                               mirrorAccessController, ephemeralStore)
                         .handle((unused, cause) -> {
                             if (cause == null) {
                                 logger.info("Started plugins on the {} zone leader replica.", zone);
@@ -564,7 +581,7 @@ public class CentralDogma implements AutoCloseable {
                 final CompletableFuture<?> future =
                         pluginsForZoneLeaderOnly
                                 .stop(cfg, pm, exec, meterRegistry, purgeWorker,
-                                      projectInitializer, mirrorAccessController)
+                                      projectInitializer, mirrorAccessController, ephemeralStore)
                                 .handle((unused, cause) -> {
                                     if (cause == null) {
                                         logger.info("Stopped plugins on the {} zone leader replica.", zone);
@@ -590,13 +607,17 @@ public class CentralDogma implements AutoCloseable {
             case ZOOKEEPER:
                 executor = newZooKeeperCommandExecutor(pm, repositoryWorker, statusManager, meterRegistry,
                                                        sessionManager, encryptionStorageManager,
+                                                       ephemeralStore,
                                                        onTakeLeadership, onReleaseLeadership,
-                                                       onTakeZoneLeadership, onReleaseZoneLeadership);
+                                                       onTakeZoneLeadership, onReleaseZoneLeadership,
+                                                       // A warning was logged already when starting
+                                                       // the repository workers if unsupported.
+                                                       cfg.useVirtualThreads() && VirtualThreads.isSupported());
                 break;
             case NONE:
                 logger.info("No replication mechanism specified; entering standalone");
                 executor = new StandaloneCommandExecutor(pm, repositoryWorker, statusManager, sessionManager,
-                                                         encryptionStorageManager,
+                                                         encryptionStorageManager, ephemeralStore,
                                                          onTakeLeadership, onReleaseLeadership,
                                                          onTakeZoneLeadership, onReleaseZoneLeadership);
                 break;
@@ -654,8 +675,9 @@ public class CentralDogma implements AutoCloseable {
         boolean success = false;
         SessionManager manager = null;
         try {
-            manager = new FileBasedSessionManager(new File(cfg.dataDir(), "_sessions").toPath(),
-                                                  authCfg.sessionValidationSchedule());
+            manager = new RocksDbSessionManager(new File(cfg.dataDir(), "_sessions_db").toPath(),
+                                                new File(cfg.dataDir(), "_sessions").toPath(),
+                                                authCfg.sessionValidationSchedule());
             manager = new CachedSessionManager(manager, Caffeine.from(authCfg.sessionCacheSpec()).build());
             manager = new ExpiredSessionDeletingSessionManager(manager);
             success = true;
@@ -663,7 +685,7 @@ public class CentralDogma implements AutoCloseable {
         } finally {
             if (!success && manager != null) {
                 try {
-                    // It will eventually close FileBasedSessionManager because the other managers just forward
+                    // It will eventually close RocksDbSessionManager because the other managers just forward
                     // the close method call to their delegate.
                     manager.close();
                 } catch (Exception e) {
@@ -677,7 +699,8 @@ public class CentralDogma implements AutoCloseable {
                                ScheduledExecutorService purgeWorker, MeterRegistry meterRegistry,
                                @Nullable SessionManager sessionManager,
                                InternalProjectInitializer projectInitializer,
-                               EncryptionStorageManager encryptionStorageManager) {
+                               EncryptionStorageManager encryptionStorageManager,
+                               EphemeralStore ephemeralStore) {
         final ServerBuilder sb = Server.builder();
         cfg.ports().forEach(sb::port);
 
@@ -770,7 +793,8 @@ public class CentralDogma implements AutoCloseable {
         if (pluginsForAllReplicas != null) {
             final PluginInitContext pluginInitContext =
                     new PluginInitContext(config(), pm, executor, meterRegistry, purgeWorker, sb,
-                                          authService, projectInitializer, mirrorAccessController);
+                                          authService, projectInitializer, mirrorAccessController,
+                                          ephemeralStore);
             pluginsForAllReplicas.plugins()
                                  .forEach(p -> {
                                      if (!(p instanceof AllReplicasPlugin)) {
@@ -827,16 +851,45 @@ public class CentralDogma implements AutoCloseable {
         return authCfg.factory().create(parameters);
     }
 
+    private ExecutorService newRepositoryWorker(boolean useVirtualThreads) {
+        if (useVirtualThreads) {
+            logger.info("Using virtual threads for the repository workers");
+            return VirtualThreads.newThreadPerTaskExecutor("repository-worker-");
+        }
+
+        final ThreadPoolExecutor repositoryWorker = new ThreadPoolExecutor(
+                cfg.numRepositoryWorkers(), cfg.numRepositoryWorkers(),
+                // TODO(minwoox): Use LinkedTransferQueue when we upgrade to JDK 21.
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new DefaultThreadFactory("repository-worker", true));
+        repositoryWorker.allowCoreThreadTimeOut(true);
+        return repositoryWorker;
+    }
+
+    private boolean useVirtualThreads() {
+        if (!cfg.useVirtualThreads()) {
+            return false;
+        }
+        if (!VirtualThreads.isSupported()) {
+            logger.warn("useVirtualThreads is enabled but virtual threads are not supported by Java {}; " +
+                        "falling back to platform threads.", System.getProperty("java.version"));
+            return false;
+        }
+        return true;
+    }
+
     private CommandExecutor newZooKeeperCommandExecutor(
             ProjectManager pm, Executor repositoryWorker,
             ServerStatusManager serverStatusManager,
             MeterRegistry meterRegistry,
             @Nullable SessionManager sessionManager,
             EncryptionStorageManager encryptionStorageManager,
+            EphemeralStore ephemeralStore,
             @Nullable Consumer<CommandExecutor> onTakeLeadership,
             @Nullable Consumer<CommandExecutor> onReleaseLeadership,
             @Nullable Consumer<CommandExecutor> onTakeZoneLeadership,
-            @Nullable Consumer<CommandExecutor> onReleaseZoneLeadership) {
+            @Nullable Consumer<CommandExecutor> onReleaseZoneLeadership,
+            boolean useVirtualThreads) {
         final ZooKeeperReplicationConfig zkCfg = (ZooKeeperReplicationConfig) cfg.replicationConfig();
 
         // Delete the old UUID replica ID which is not used anymore.
@@ -852,12 +905,12 @@ public class CentralDogma implements AutoCloseable {
         return new ZooKeeperCommandExecutor(
                 zkCfg, dataDir,
                 new StandaloneCommandExecutor(pm, repositoryWorker, serverStatusManager, sessionManager,
-                                              encryptionStorageManager,
+                                              encryptionStorageManager, ephemeralStore,
                         /* onTakeLeadership */ null, /* onReleaseLeadership */ null,
                         /* onTakeZoneLeadership */ null, /* onReleaseZoneLeadership */ null),
                 meterRegistry, zone,
                 onTakeLeadership, onReleaseLeadership,
-                onTakeZoneLeadership, onReleaseZoneLeadership);
+                onTakeZoneLeadership, onReleaseZoneLeadership, useVirtualThreads);
     }
 
     private void configureThriftService(ServerBuilder sb, ProjectApiManager projectApiManager,
@@ -969,13 +1022,17 @@ public class CentralDogma implements AutoCloseable {
 
                                @Override
                                public String serviceName(ServiceRequestContext ctx) {
-                                   if (ctx.request().headers().contains(HttpHeaderNames.IF_NONE_MATCH)) {
+                                   final String ifNoneMatch =
+                                           ctx.request().headers().get(HttpHeaderNames.IF_NONE_MATCH);
+                                   if (ifNoneMatch != null &&
+                                       !ContentCacheHeaders.isContentETag(ifNoneMatch)) {
                                        return watchServiceName;
                                    }
                                    return serviceName;
                                }
                            })
-                           .build(new ContentServiceV1(executor, watchService, meterRegistry));
+                           .build(new ContentServiceV1(executor, watchService, meterRegistry,
+                                                       cfg.maxNumQueriesPerBatch()));
 
         if (authProvider != null) {
             sb.service("/security_enabled", new AbstractHttpService() {
@@ -1159,6 +1216,7 @@ public class CentralDogma implements AutoCloseable {
         final ExecutorService repositoryWorker = this.repositoryWorker;
         final ExecutorService purgeWorker = this.purgeWorker;
         final SessionManager sessionManager = this.sessionManager;
+        final EphemeralStore ephemeralStore = this.ephemeralStore;
         final MirrorRunner mirrorRunner = this.mirrorRunner;
 
         this.server = null;
@@ -1167,6 +1225,7 @@ public class CentralDogma implements AutoCloseable {
         this.pm = null;
         this.repositoryWorker = null;
         this.sessionManager = null;
+        this.ephemeralStore = null;
         this.mirrorRunner = null;
         if (meterRegistryToBeClosed != null) {
             assert meterRegistry instanceof CompositeMeterRegistry;
@@ -1177,7 +1236,7 @@ public class CentralDogma implements AutoCloseable {
 
         logger.info("Stopping the Central Dogma ..");
         if (!doStop(server, executor, pm, repositoryWorker, purgeWorker, sessionManager, mirrorRunner,
-                    encryptionStorageManager)) {
+                    encryptionStorageManager, ephemeralStore)) {
             logger.warn("Stopped the Central Dogma with failure.");
         } else {
             logger.info("Stopped the Central Dogma successfully.");
@@ -1189,7 +1248,8 @@ public class CentralDogma implements AutoCloseable {
             @Nullable ProjectManager pm,
             @Nullable ExecutorService repositoryWorker, @Nullable ExecutorService purgeWorker,
             @Nullable SessionManager sessionManager, @Nullable MirrorRunner mirrorRunner,
-            @Nullable EncryptionStorageManager encryptionStorageManager) {
+            @Nullable EncryptionStorageManager encryptionStorageManager,
+            @Nullable EphemeralStore ephemeralStore) {
 
         boolean success = true;
 
@@ -1238,6 +1298,17 @@ public class CentralDogma implements AutoCloseable {
             logger.warn("Failed to stop the command executor:", t);
         }
 
+        try {
+            if (ephemeralStore != null) {
+                logger.info("Stopping the ephemeral store ..");
+                ephemeralStore.close();
+                logger.info("Stopped the ephemeral store.");
+            }
+        } catch (Throwable t) {
+            success = false;
+            logger.warn("Failed to stop the ephemeral store:", t);
+        }
+
         try {
             if (encryptionStorageManager != null) {
                 logger.info("Stopping the encryption storage manager ..");
@@ -1316,9 +1387,12 @@ public class CentralDogma implements AutoCloseable {
                             final ProjectManager pm = CentralDogma.this.pm;
                             final CommandExecutor executor = CentralDogma.this.executor;
                             final MeterRegistry meterRegistry = CentralDogma.this.meterRegistry;
-                            if (pm != null && executor != null && meterRegistry != null) {
+                            final EphemeralStore ephemeralStore = CentralDogma.this.ephemeralStore;
+                            if (pm != null && executor != null && meterRegistry != null &&
+                                ephemeralStore != null) {
                                 pluginsForAllReplicas.start(cfg, pm, executor, meterRegistry, purgeWorker,
-                                                            projectInitializer, mirrorAccessController).join();
+                                                            projectInitializer, mirrorAccessController,
+                                                            ephemeralStore).join();
                             }
                         }
                         serverHealth.setHealthy(true);
@@ -1336,9 +1410,11 @@ public class CentralDogma implements AutoCloseable {
                     final ProjectManager pm = CentralDogma.this.pm;
                     final CommandExecutor executor = CentralDogma.this.executor;
                     final MeterRegistry meterRegistry = CentralDogma.this.meterRegistry;
-                    if (pm != null && executor != null && meterRegistry != null) {
+                    final EphemeralStore ephemeralStore = CentralDogma.this.ephemeralStore;
+                    if (pm != null && executor != null && meterRegistry != null && ephemeralStore != null) {
                         pluginsForAllReplicas.stop(cfg, pm, executor, meterRegistry, purgeWorker,
-                                                   projectInitializer, mirrorAccessController).join();
+                                                   projectInitializer, mirrorAccessController,
+                                                   ephemeralStore).join();
                     }
                 }
                 CentralDogma.this.doStop();
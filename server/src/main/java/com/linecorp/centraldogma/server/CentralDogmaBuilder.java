@@ -72,7 +72,10 @@ public final class CentralDogmaBuilder {
     private static final ServerPort DEFAULT_PORT = new ServerPort(36462, SessionProtocol.HTTP);
 
     static final int DEFAULT_NUM_REPOSITORY_WORKERS = 16;
+    static final int DEFAULT_MAX_NUM_REPOSITORY_WORKERS_PER_REPOSITORY = 0;  // Disabled
     static final long DEFAULT_MAX_REMOVED_REPOSITORY_AGE_MILLIS = 604_800_000;  // 7 days
+    static final long DEFAULT_REPOSITORY_IDLE_TIMEOUT_MILLIS = 0;  // Disabled
+    static final int DEFAULT_MAX_NUM_QUERIES_PER_BATCH = 1000;
 
     public static final String DEFAULT_REPOSITORY_CACHE_SPEC =
             "maximumWeight=268435456," + // Cache up to apx. 256-megachars.
@@ -102,7 +105,11 @@ public final class CentralDogmaBuilder {
     // Central Dogma properties
     private final File dataDir;
     private int numRepositoryWorkers = DEFAULT_NUM_REPOSITORY_WORKERS;
+    private int maxNumRepositoryWorkersPerRepository = DEFAULT_MAX_NUM_REPOSITORY_WORKERS_PER_REPOSITORY;
+    private boolean useVirtualThreads;
     private long maxRemovedRepositoryAgeMillis = DEFAULT_MAX_REMOVED_REPOSITORY_AGE_MILLIS;
+    private long repositoryIdleTimeoutMillis = DEFAULT_REPOSITORY_IDLE_TIMEOUT_MILLIS;
+    private int maxNumQueriesPerBatch = DEFAULT_MAX_NUM_QUERIES_PER_BATCH;
 
     @Nullable
     private String repositoryCacheSpec = DEFAULT_REPOSITORY_CACHE_SPEC;
@@ -326,6 +333,30 @@ public final class CentralDogmaBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of repository worker threads which can run the read operations of
+     * a single repository at the same time. If a positive value is set, the operations of each repository
+     * are queued separately and dispatched to the repository workers in a round-robin manner, and
+     * the write operations of a repository are dispatched before its read operations.
+     * Set {@code 0} to dispatch the operations in the order of arrival, which is the default.
+     */
+    public CentralDogmaBuilder maxNumRepositoryWorkersPerRepository(int maxNumRepositoryWorkersPerRepository) {
+        this.maxNumRepositoryWorkersPerRepository = maxNumRepositoryWorkersPerRepository;
+        return this;
+    }
+
+    /**
+     * Sets whether the repository workers and the command executor workers run on virtual threads.
+     * A new virtual thread is started for each repository operation and replicated command, so that
+     * an operation blocked on I/O or a lock does not occupy a platform thread. Virtual threads require
+     * Java 21 or above; the fixed-size platform thread pools are used if the current JVM does not support
+     * them. {@code false} by default.
+     */
+    public CentralDogmaBuilder useVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+        return this;
+    }
+
     /**
      * Sets the maximum allowed age of removed projects and repositories before they are purged.
      * Set {@code 0} to disable automatic purge.
@@ -348,6 +379,38 @@ public final class CentralDogmaBuilder {
         return this;
     }
 
+    /**
+     * Sets the amount of time a repository can stay open without being accessed.
+     * If a positive value is set, the repositories are not opened at startup but on their first access,
+     * and an idle repository without any active watches is closed until it is accessed again.
+     * Set {@code 0} to keep all repositories open, which is the default.
+     */
+    public CentralDogmaBuilder repositoryIdleTimeout(Duration repositoryIdleTimeout) {
+        repositoryIdleTimeoutMillis(requireNonNull(repositoryIdleTimeout, "repositoryIdleTimeout").toMillis());
+        return this;
+    }
+
+    /**
+     * Sets the amount of time, in milliseconds, a repository can stay open without being accessed.
+     * If a positive value is set, the repositories are not opened at startup but on their first access,
+     * and an idle repository without any active watches is closed until it is accessed again.
+     * Set {@code 0} to keep all repositories open, which is the default.
+     */
+    public CentralDogmaBuilder repositoryIdleTimeoutMillis(long repositoryIdleTimeoutMillis) {
+        this.repositoryIdleTimeoutMillis = repositoryIdleTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of queries in a single batch request which retrieves many files at once.
+     * A request with more queries is rejected with {@code 400 Bad Request}.
+     * If unspecified, the default of {@value #DEFAULT_MAX_NUM_QUERIES_PER_BATCH} is used.
+     */
+    public CentralDogmaBuilder maxNumQueriesPerBatch(int maxNumQueriesPerBatch) {
+        this.maxNumQueriesPerBatch = maxNumQueriesPerBatch;
+        return this;
+    }
+
     /**
      * Sets the cache specification which determines the capacity and behavior of the cache for the return
      * values of methods in {@link Repository} of the server. See {@link CaffeineSpec} for the syntax
@@ -601,8 +664,11 @@ public final class CentralDogmaBuilder {
         return new CentralDogmaConfig(dataDir, ports, tls, encryptionAtRest, trustedProxyAddresses,
                                       clientAddressSources, numWorkers, maxNumConnections,
                                       requestTimeoutMillis, idleTimeoutMillis, maxFrameLength,
-                                      numRepositoryWorkers, repositoryCacheSpec,
-                                      maxRemovedRepositoryAgeMillis, gracefulShutdownTimeout,
+                                      numRepositoryWorkers, maxNumRepositoryWorkersPerRepository,
+                                      useVirtualThreads, repositoryCacheSpec,
+                                      maxRemovedRepositoryAgeMillis, repositoryIdleTimeoutMillis,
+                                      maxNumQueriesPerBatch,
+                                      gracefulShutdownTimeout,
                                       webAppEnabled, webAppTitle, replicationConfig,
                                       null, accessLogFormat, authCfg,
                                       corsConfig, pluginConfigs, managementConfig, zoneConfig);
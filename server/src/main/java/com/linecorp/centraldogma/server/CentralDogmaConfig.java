@@ -25,6 +25,9 @@ import static com.linecorp.armeria.common.util.InetAddressPredicates.ofExact;
 import static com.linecorp.armeria.server.ClientAddressSource.ofHeader;
 import static com.linecorp.armeria.server.ClientAddressSource.ofProxyProtocol;
 import static com.linecorp.centraldogma.server.CentralDogmaBuilder.DEFAULT_MAX_REMOVED_REPOSITORY_AGE_MILLIS;
+import static com.linecorp.centraldogma.server.CentralDogmaBuilder.DEFAULT_REPOSITORY_IDLE_TIMEOUT_MILLIS;
+import static com.linecorp.centraldogma.server.CentralDogmaBuilder.DEFAULT_MAX_NUM_QUERIES_PER_BATCH;
+import static com.linecorp.centraldogma.server.CentralDogmaBuilder.DEFAULT_MAX_NUM_REPOSITORY_WORKERS_PER_REPOSITORY;
 import static com.linecorp.centraldogma.server.CentralDogmaBuilder.DEFAULT_NUM_REPOSITORY_WORKERS;
 import static com.linecorp.centraldogma.server.CentralDogmaBuilder.DEFAULT_REPOSITORY_CACHE_SPEC;
 import static com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache.validateCacheSpec;
@@ -231,7 +234,11 @@ public final class CentralDogmaConfig {
 
     // Repository
     private final Integer numRepositoryWorkers;
+    private final int maxNumRepositoryWorkersPerRepository;
+    private final boolean useVirtualThreads;
     private final long maxRemovedRepositoryAgeMillis;
+    private final long repositoryIdleTimeoutMillis;
+    private final int maxNumQueriesPerBatch;
 
     // Cache
     private final String repositoryCacheSpec;
@@ -286,8 +293,13 @@ public final class CentralDogmaConfig {
             @JsonProperty("idleTimeoutMillis") @Nullable Long idleTimeoutMillis,
             @JsonProperty("maxFrameLength") @Nullable Integer maxFrameLength,
             @JsonProperty("numRepositoryWorkers") @Nullable Integer numRepositoryWorkers,
+            @JsonProperty("maxNumRepositoryWorkersPerRepository")
+            @Nullable Integer maxNumRepositoryWorkersPerRepository,
+            @JsonProperty("useVirtualThreads") @Nullable Boolean useVirtualThreads,
             @JsonProperty("repositoryCacheSpec") @Nullable String repositoryCacheSpec,
             @JsonProperty("maxRemovedRepositoryAgeMillis") @Nullable Long maxRemovedRepositoryAgeMillis,
+            @JsonProperty("repositoryIdleTimeoutMillis") @Nullable Long repositoryIdleTimeoutMillis,
+            @JsonProperty("maxNumQueriesPerBatch") @Nullable Integer maxNumQueriesPerBatch,
             @JsonProperty("gracefulShutdownTimeout") @Nullable GracefulShutdownTimeout gracefulShutdownTimeout,
             @JsonProperty("webAppEnabled") @Nullable Boolean webAppEnabled,
             @JsonProperty("webAppTitle") @Nullable String webAppTitle,
@@ -317,10 +329,23 @@ public final class CentralDogmaConfig {
         this.numRepositoryWorkers = firstNonNull(numRepositoryWorkers, DEFAULT_NUM_REPOSITORY_WORKERS);
         checkArgument(this.numRepositoryWorkers > 0,
                       "numRepositoryWorkers: %s (expected: > 0)", this.numRepositoryWorkers);
+        this.maxNumRepositoryWorkersPerRepository = firstNonNull(
+                maxNumRepositoryWorkersPerRepository, DEFAULT_MAX_NUM_REPOSITORY_WORKERS_PER_REPOSITORY);
+        checkArgument(this.maxNumRepositoryWorkersPerRepository >= 0,
+                      "maxNumRepositoryWorkersPerRepository: %s (expected: >= 0)",
+                      this.maxNumRepositoryWorkersPerRepository);
+        this.useVirtualThreads = firstNonNull(useVirtualThreads, false);
         this.maxRemovedRepositoryAgeMillis = firstNonNull(maxRemovedRepositoryAgeMillis,
                                                           DEFAULT_MAX_REMOVED_REPOSITORY_AGE_MILLIS);
         checkArgument(this.maxRemovedRepositoryAgeMillis >= 0,
                       "maxRemovedRepositoryAgeMillis: %s (expected: >= 0)", this.maxRemovedRepositoryAgeMillis);
+        this.repositoryIdleTimeoutMillis = firstNonNull(repositoryIdleTimeoutMillis,
+                                                        DEFAULT_REPOSITORY_IDLE_TIMEOUT_MILLIS);
+        checkArgument(this.repositoryIdleTimeoutMillis >= 0,
+                      "repositoryIdleTimeoutMillis: %s (expected: >= 0)", this.repositoryIdleTimeoutMillis);
+        this.maxNumQueriesPerBatch = firstNonNull(maxNumQueriesPerBatch, DEFAULT_MAX_NUM_QUERIES_PER_BATCH);
+        checkArgument(this.maxNumQueriesPerBatch > 0,
+                      "maxNumQueriesPerBatch: %s (expected: > 0)", this.maxNumQueriesPerBatch);
         this.repositoryCacheSpec = validateCacheSpec(
                 firstNonNull(repositoryCacheSpec, DEFAULT_REPOSITORY_CACHE_SPEC));
 
@@ -462,6 +487,28 @@ public final class CentralDogmaConfig {
         return numRepositoryWorkers;
     }
 
+    /**
+     * Returns the maximum number of repository worker threads which can run the read operations of
+     * a single repository at the same time. If positive, the operations of each repository are queued
+     * separately and dispatched to the repository workers in a round-robin manner, so that a busy
+     * repository cannot starve the others. {@code 0} if the operations are dispatched in the order of
+     * arrival without any limit.
+     */
+    @JsonProperty
+    public int maxNumRepositoryWorkersPerRepository() {
+        return maxNumRepositoryWorkersPerRepository;
+    }
+
+    /**
+     * Returns whether the repository workers and the command executor workers run on virtual threads
+     * instead of the fixed-size platform thread pools. Virtual threads are available only when the server
+     * runs on Java 21 or above; the platform thread pools are used otherwise.
+     */
+    @JsonProperty
+    public boolean useVirtualThreads() {
+        return useVirtualThreads;
+    }
+
     /**
      * Returns the maximum age of a removed repository in milliseconds. A removed repository is first marked
      * as removed, and then is purged permanently once the amount of time returned by this property passes
@@ -472,6 +519,24 @@ public final class CentralDogmaConfig {
         return maxRemovedRepositoryAgeMillis;
     }
 
+    /**
+     * Returns the amount of time in milliseconds a repository can stay open without being accessed.
+     * If positive, the repositories are opened on their first access and closed after staying idle
+     * without any active watches for the amount of time. {@code 0} if all repositories are kept open.
+     */
+    @JsonProperty
+    public long repositoryIdleTimeoutMillis() {
+        return repositoryIdleTimeoutMillis;
+    }
+
+    /**
+     * Returns the maximum number of queries in a single batch request which retrieves many files at once.
+     */
+    @JsonProperty
+    public int maxNumQueriesPerBatch() {
+        return maxNumQueriesPerBatch;
+    }
+
     /**
      * Returns the {@code repositoryCacheSpec}.
      *
@@ -48,6 +48,7 @@ import com.linecorp.centraldogma.server.mirror.MirrorAccessController;
 import com.linecorp.centraldogma.server.plugin.Plugin;
 import com.linecorp.centraldogma.server.plugin.PluginContext;
 import com.linecorp.centraldogma.server.plugin.PluginTarget;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
 import com.linecorp.centraldogma.server.storage.project.ProjectManager;
 
@@ -155,10 +156,11 @@ final class PluginGroup {
                                   CommandExecutor commandExecutor, MeterRegistry meterRegistry,
                                   ScheduledExecutorService purgeWorker,
                                   InternalProjectInitializer internalProjectInitializer,
-                                  MirrorAccessController mirrorAccessController) {
+                                  MirrorAccessController mirrorAccessController,
+                                  EphemeralStore ephemeralStore) {
         final PluginContext context = new PluginContext(config, projectManager, commandExecutor, meterRegistry,
                                                         purgeWorker, internalProjectInitializer,
-                                                        mirrorAccessController);
+                                                        mirrorAccessController, ephemeralStore);
         return startStop.start(context, context, true);
     }
 
@@ -169,10 +171,11 @@ final class PluginGroup {
                                  CommandExecutor commandExecutor, MeterRegistry meterRegistry,
                                  ScheduledExecutorService purgeWorker,
                                  InternalProjectInitializer internalProjectInitializer,
-                                 MirrorAccessController mirrorAccessController) {
+                                 MirrorAccessController mirrorAccessController,
+                                 EphemeralStore ephemeralStore) {
         return startStop.stop(
                 new PluginContext(config, projectManager, commandExecutor, meterRegistry, purgeWorker,
-                                  internalProjectInitializer, mirrorAccessController));
+                                  internalProjectInitializer, mirrorAccessController, ephemeralStore));
     }
 
     private class PluginGroupStartStop extends StartStopSupport<PluginContext, PluginContext, Void, Void> {
@@ -25,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonSubTypes.Type;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
 
 import com.linecorp.centraldogma.common.Author;
@@ -33,6 +34,7 @@ import com.linecorp.centraldogma.common.Markup;
 import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.server.auth.Session;
 import com.linecorp.centraldogma.server.management.ServerStatus;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
 
 /**
@@ -57,6 +59,7 @@ import com.linecorp.centraldogma.server.storage.repository.Repository;
         @Type(value = CreateSessionCommand.class, name = "CREATE_SESSIONS"),
         @Type(value = RemoveSessionCommand.class, name = "REMOVE_SESSIONS"),
         @Type(value = UpdateServerStatusCommand.class, name = "UPDATE_SERVER_STATUS"),
+        @Type(value = UpdateEphemeralEntryCommand.class, name = "UPDATE_EPHEMERAL_ENTRY"),
         @Type(value = ForcePushCommand.class, name = "FORCE_PUSH_COMMAND"),
 })
 public interface Command<T> {
@@ -429,6 +432,32 @@ public interface Command<T> {
         return new UpdateServerStatusCommand(null, null, serverStatus);
     }
 
+    /**
+     * Returns a new {@link Command} which is used to set an entry of the {@link EphemeralStore}.
+     * The entry is not recorded in the history of a repository.
+     *
+     * @param author the author who is updating the entry
+     * @param namespace the namespace of the entry
+     * @param key the key of the entry
+     * @param value the new value of the entry. {@code null} to remove the entry.
+     */
+    static Command<Void> updateEphemeralEntry(Author author, String namespace, String key,
+                                              @Nullable JsonNode value) {
+        requireNonNull(author, "author");
+        return new UpdateEphemeralEntryCommand(null, author, namespace, key, value);
+    }
+
+    /**
+     * Returns a new {@link Command} which is used to remove an entry of the {@link EphemeralStore}.
+     *
+     * @param author the author who is removing the entry
+     * @param namespace the namespace of the entry
+     * @param key the key of the entry
+     */
+    static Command<Void> removeEphemeralEntry(Author author, String namespace, String key) {
+        return updateEphemeralEntry(author, namespace, key, null);
+    }
+
     /**
      * Returns a new {@link Command} which is used to force-push {@link Command} even the server is in
      * read-only mode. This command is useful for migrating the repository content during maintenance mode.
@@ -26,6 +26,8 @@ import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.spotify.futures.CompletableFutures;
+
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.centraldogma.common.ReadOnlyException;
 import com.linecorp.centraldogma.common.RepositoryStatus;
@@ -35,6 +37,7 @@ import com.linecorp.centraldogma.server.management.ServerStatusManager;
 import com.linecorp.centraldogma.server.metadata.ProjectMetadata;
 import com.linecorp.centraldogma.server.metadata.RepositoryMetadata;
 import com.linecorp.centraldogma.server.storage.encryption.EncryptionStorageManager;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
 import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.server.storage.project.ProjectManager;
@@ -55,6 +58,32 @@ public class StandaloneCommandExecutor extends AbstractCommandExecutor {
     private final SessionManager sessionManager;
     private final EncryptionStorageManager encryptionStorageManager;
     private final ServerStatusManager serverStatusManager;
+    @Nullable
+    private final EphemeralStore ephemeralStore;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param projectManager the project manager for accessing the storage
+     * @param repositoryWorker the executor which is used for performing storage operations
+     * @param sessionManager the session manager for creating/removing a session
+     * @param onTakeLeadership the callback to be invoked after the replica has taken the leadership
+     * @param onReleaseLeadership the callback to be invoked before the replica releases the leadership
+     * @param onTakeZoneLeadership the callback to be invoked after the replica has taken the zone leadership
+     * @param onReleaseZoneLeadership the callback to be invoked before the replica releases the zone leadership
+     */
+    public StandaloneCommandExecutor(ProjectManager projectManager,
+                                     Executor repositoryWorker,
+                                     ServerStatusManager serverStatusManager,
+                                     @Nullable SessionManager sessionManager,
+                                     EncryptionStorageManager encryptionStorageManager,
+                                     @Nullable Consumer<CommandExecutor> onTakeLeadership,
+                                     @Nullable Consumer<CommandExecutor> onReleaseLeadership,
+                                     @Nullable Consumer<CommandExecutor> onTakeZoneLeadership,
+                                     @Nullable Consumer<CommandExecutor> onReleaseZoneLeadership) {
+        this(projectManager, repositoryWorker, serverStatusManager, sessionManager, encryptionStorageManager,
+             null, onTakeLeadership, onReleaseLeadership, onTakeZoneLeadership, onReleaseZoneLeadership);
+    }
 
     /**
      * Creates a new instance.
@@ -62,6 +91,7 @@ public class StandaloneCommandExecutor extends AbstractCommandExecutor {
      * @param projectManager the project manager for accessing the storage
      * @param repositoryWorker the executor which is used for performing storage operations
      * @param sessionManager the session manager for creating/removing a session
+     * @param ephemeralStore the store for updating the ephemeral entries
      * @param onTakeLeadership the callback to be invoked after the replica has taken the leadership
      * @param onReleaseLeadership the callback to be invoked before the replica releases the leadership
      * @param onTakeZoneLeadership the callback to be invoked after the replica has taken the zone leadership
@@ -72,6 +102,7 @@ public class StandaloneCommandExecutor extends AbstractCommandExecutor {
                                      ServerStatusManager serverStatusManager,
                                      @Nullable SessionManager sessionManager,
                                      EncryptionStorageManager encryptionStorageManager,
+                                     @Nullable EphemeralStore ephemeralStore,
                                      @Nullable Consumer<CommandExecutor> onTakeLeadership,
                                      @Nullable Consumer<CommandExecutor> onReleaseLeadership,
                                      @Nullable Consumer<CommandExecutor> onTakeZoneLeadership,
@@ -82,6 +113,7 @@ public class StandaloneCommandExecutor extends AbstractCommandExecutor {
         this.serverStatusManager = requireNonNull(serverStatusManager, "serverStatusManager");
         this.sessionManager = sessionManager;
         this.encryptionStorageManager = requireNonNull(encryptionStorageManager, "encryptionStorageManager");
+        this.ephemeralStore = ephemeralStore;
     }
 
     @Override
@@ -217,6 +249,10 @@ public class StandaloneCommandExecutor extends AbstractCommandExecutor {
             return (CompletableFuture<T>) updateServerStatus((UpdateServerStatusCommand) command);
         }
 
+        if (command instanceof UpdateEphemeralEntryCommand) {
+            return (CompletableFuture<T>) updateEphemeralEntry((UpdateEphemeralEntryCommand) command);
+        }
+
         if (command instanceof ForcePushCommand) {
             // TODO(minwoox): Should we prevent executing when the replication status is READ_ONLY?
             //noinspection TailRecursion
@@ -408,6 +444,22 @@ public class StandaloneCommandExecutor extends AbstractCommandExecutor {
         });
     }
 
+    private CompletableFuture<Void> updateEphemeralEntry(UpdateEphemeralEntryCommand c) {
+        if (ephemeralStore == null) {
+            // The ephemeral store is not used by this replica.
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Apply in the calling thread to keep the order of the updates. The update is persisted before
+        // this method returns, so the command is not acknowledged if it could not be persisted.
+        try {
+            ephemeralStore.update(c.namespace(), c.key(), c.value());
+        } catch (Throwable t) {
+            return CompletableFutures.exceptionallyCompletedFuture(t);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
     private CompletableFuture<Void> updateServerStatus(UpdateServerStatusCommand c) {
         return CompletableFuture.supplyAsync(() -> {
             serverStatusManager.updateStatus(c.serverStatus());
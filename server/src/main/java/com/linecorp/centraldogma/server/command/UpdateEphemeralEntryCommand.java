@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.command;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.MoreObjects.ToStringHelper;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
+
+/**
+ * A {@link Command} which is used to set or remove an entry of the {@link EphemeralStore}.
+ */
+@JsonInclude(Include.NON_NULL)
+public final class UpdateEphemeralEntryCommand extends RootCommand<Void> {
+
+    private final String namespace;
+    private final String key;
+    @Nullable
+    private final JsonNode value;
+
+    @JsonCreator
+    UpdateEphemeralEntryCommand(@JsonProperty("timestamp") @Nullable Long timestamp,
+                                @JsonProperty("author") @Nullable Author author,
+                                @JsonProperty("namespace") String namespace,
+                                @JsonProperty("key") String key,
+                                @JsonProperty("value") @Nullable JsonNode value) {
+        super(CommandType.UPDATE_EPHEMERAL_ENTRY, timestamp, author);
+        this.namespace = requireNonNull(namespace, "namespace");
+        this.key = requireNonNull(key, "key");
+        this.value = value;
+    }
+
+    /**
+     * Returns the namespace of the entry.
+     */
+    @JsonProperty("namespace")
+    public String namespace() {
+        return namespace;
+    }
+
+    /**
+     * Returns the key of the entry.
+     */
+    @JsonProperty("key")
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Returns the new value of the entry, or {@code null} if the entry is removed.
+     */
+    @Nullable
+    @JsonProperty("value")
+    public JsonNode value() {
+        return value;
+    }
+
+    @Override
+    public String executionPath() {
+        return "/_ephemeral/" + namespace;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UpdateEphemeralEntryCommand)) {
+            return false;
+        }
+        final UpdateEphemeralEntryCommand that = (UpdateEphemeralEntryCommand) o;
+        return super.equals(that) && namespace.equals(that.namespace) && key.equals(that.key) &&
+               Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), namespace, key, value);
+    }
+
+    @Override
+    ToStringHelper toStringHelper() {
+        return super.toStringHelper()
+                    .add("namespace", namespace)
+                    .add("key", key)
+                    .add("value", value);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the virtual threads introduced in Java 21. The server is built for Java 11, so the virtual thread
+ * API is looked up reflectively and is available only when the server runs on Java 21 or above.
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    // Thread.ofVirtual()
+    @Nullable
+    private static final MethodHandle OF_VIRTUAL;
+    // Thread.Builder.name(String, long)
+    @Nullable
+    private static final MethodHandle NAME;
+    // Thread.Builder.factory()
+    @Nullable
+    private static final MethodHandle FACTORY;
+    // Executors.newThreadPerTaskExecutor(ThreadFactory)
+    @Nullable
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+            name = lookup.findVirtual(builderClass, "name",
+                                      MethodType.methodType(builderClass, String.class, long.class));
+            factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            newThreadPerTaskExecutor = lookup.findStatic(
+                    Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (Throwable t) {
+            logger.debug("Virtual threads are not available: {}", t.toString());
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    /**
+     * Returns {@code true} if the current JVM supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns a new {@link ThreadFactory} which creates the virtual threads whose names start with
+     * the specified {@code namePrefix}.
+     *
+     * @throws IllegalStateException if the current JVM does not support virtual threads
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        requireNonNull(namePrefix, "namePrefix");
+        checkState(isSupported(), "virtual threads require Java 21 or above. Current: %s",
+                   System.getProperty("java.version"));
+        assert NAME != null && FACTORY != null;
+        try {
+            final Object builder = NAME.invoke(OF_VIRTUAL.invoke(), namePrefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (Throwable t) {
+            throw new IllegalStateException("failed to create a virtual thread factory", t);
+        }
+    }
+
+    /**
+     * Returns a new {@link ExecutorService} which starts a new virtual thread for each task.
+     *
+     * @throws IllegalStateException if the current JVM does not support virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        final ThreadFactory threadFactory = newThreadFactory(namePrefix);
+        assert NEW_THREAD_PER_TASK_EXECUTOR != null;
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (Throwable t) {
+            throw new IllegalStateException("failed to create a virtual thread executor", t);
+        }
+    }
+
+    private VirtualThreads() {}
+}
@@ -258,7 +258,7 @@ public final class FileBasedSessionManager implements SessionManager {
                       .resolve(sessionId.substring(SESSION_ID_1ST_PART_LENGTH));
     }
 
-    private static boolean isSessionFile(@Nullable Path path) {
+    static boolean isSessionFile(@Nullable Path path) {
         if (path == null) {
             return false;
         }
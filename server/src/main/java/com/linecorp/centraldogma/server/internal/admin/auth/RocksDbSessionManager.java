@@ -0,0 +1,558 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.admin.auth;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static org.quartz.CronScheduleBuilder.cronSchedule;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.TriggerBuilder.newTrigger;
+import static org.quartz.core.jmx.JobDataMapSupport.newJobDataMap;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.quartz.Job;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.impl.StdSchedulerFactory;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.RocksObject;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Longs;
+
+import com.linecorp.armeria.common.util.ThreadFactories;
+import com.linecorp.centraldogma.internal.Jackson;
+import com.linecorp.centraldogma.server.auth.AuthConfig;
+import com.linecorp.centraldogma.server.auth.AuthException;
+import com.linecorp.centraldogma.server.auth.Session;
+import com.linecorp.centraldogma.server.auth.SessionManager;
+
+/**
+ * A {@link SessionManager} which keeps the sessions in an embedded RocksDB database.
+ *
+ * <p>The sessions are stored in the {@value #SESSIONS_COLUMN_FAMILY} column family, keyed by their IDs.
+ * The {@value #EXPIRATIONS_COLUMN_FAMILY} column family indexes the sessions by their expiration time,
+ * so that the {@link ExpiredSessionDeletingJob} scans only the expired sessions rather than all of them.
+ * The {@link AuthConfig#sessionValidationSchedule()} can configure the schedule of the job.
+ *
+ * <p>The mutations requested concurrently are applied by a single writer thread, which groups
+ * all pending mutations into one {@link WriteBatch}. The sessions kept by the legacy
+ * {@link FileBasedSessionManager} are imported when the database is opened for the first time.
+ */
+public final class RocksDbSessionManager implements SessionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(RocksDbSessionManager.class);
+
+    private static final String SESSIONS_COLUMN_FAMILY = "sessions";
+    private static final String EXPIRATIONS_COLUMN_FAMILY = "expirations";
+    private static final List<String> ALL_COLUMN_FAMILY_NAMES =
+            ImmutableList.of(new String(RocksDB.DEFAULT_COLUMN_FAMILY, StandardCharsets.UTF_8),
+                             SESSIONS_COLUMN_FAMILY, EXPIRATIONS_COLUMN_FAMILY);
+
+    private static final Pattern SESSION_ID_PATTERN =
+            Pattern.compile("^[-0-9a-f]{" + UUID.randomUUID().toString().length() + "}$");
+
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    private static final String SESSION_MANAGER = "SESSION_MANAGER";
+
+    private final RocksDB rocksDb;
+    private final DBOptions dbOptions;
+    private final List<ColumnFamilyOptions> cfOptions;
+    private final List<ColumnFamilyHandle> cfHandles;
+    private final ColumnFamilyHandle sessionsCf;
+    private final ColumnFamilyHandle expirationsCf;
+
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            ThreadFactories.newThreadFactory("session-writer", true));
+
+    @Nullable
+    private final Scheduler scheduler;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param rootDir the {@link Path} that the database is kept
+     * @param legacyRootDir the {@link Path} that the {@link FileBasedSessionManager} kept the sessions.
+     *                      The sessions in this directory are imported and then the directory is deleted.
+     *                      {@code null} to skip the import.
+     * @param cronExpr the cron expression which specifies the schedule for deleting expired sessions.
+     *                 {@code null} to disable the session expiration.
+     */
+    public RocksDbSessionManager(Path rootDir, @Nullable Path legacyRootDir,
+                                 @Nullable String cronExpr) throws IOException, SchedulerException {
+        requireNonNull(rootDir, "rootDir");
+        Files.createDirectories(rootDir);
+        RocksDB.loadLibrary();
+
+        final List<ColumnFamilyDescriptor> cfDescriptors = new ArrayList<>();
+        final ImmutableList.Builder<ColumnFamilyOptions> cfOptionsBuilder = ImmutableList.builder();
+        for (String cfName : ALL_COLUMN_FAMILY_NAMES) {
+            final ColumnFamilyOptions options = new ColumnFamilyOptions();
+            cfOptionsBuilder.add(options);
+            cfDescriptors.add(new ColumnFamilyDescriptor(cfName.getBytes(StandardCharsets.UTF_8), options));
+        }
+        cfOptions = cfOptionsBuilder.build();
+        dbOptions = new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true);
+
+        final List<ColumnFamilyHandle> openedHandles = new ArrayList<>();
+        try {
+            rocksDb = RocksDB.open(dbOptions, rootDir.toString(), cfDescriptors, openedHandles);
+        } catch (RocksDBException e) {
+            cfOptions.forEach(RocksDbSessionManager::closeSilently);
+            closeSilently(dbOptions);
+            throw new IOException("Failed to open the session database at " + rootDir, e);
+        }
+        // The handles are returned in the same order with the descriptors.
+        cfHandles = ImmutableList.copyOf(openedHandles);
+        sessionsCf = cfHandles.get(1);
+        expirationsCf = cfHandles.get(2);
+
+        boolean success = false;
+        try {
+            if (legacyRootDir != null && Files.isDirectory(legacyRootDir)) {
+                importLegacySessions(legacyRootDir);
+            }
+            if (cronExpr != null) {
+                scheduler = createScheduler(cronExpr);
+                scheduler.start();
+            } else {
+                scheduler = null;
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                closeDatabase();
+            }
+        }
+    }
+
+    private Scheduler createScheduler(String cronExpr) throws SchedulerException {
+        // See FileBasedSessionManager.createScheduler() for the reason why the instance name is unique.
+        final String myInstanceId = String.valueOf(hashCode());
+
+        final Properties cfg = new Properties();
+        cfg.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        cfg.setProperty("org.quartz.scheduler.instanceName",
+                        RocksDbSessionManager.class.getSimpleName() + '@' + myInstanceId);
+        cfg.setProperty("org.quartz.scheduler.skipUpdateCheck", "true");
+        cfg.setProperty("org.quartz.threadPool.threadCount", "1");
+
+        final Scheduler scheduler = new StdSchedulerFactory(cfg).getScheduler();
+
+        final JobDetail job = newJob(ExpiredSessionDeletingJob.class)
+                .usingJobData(newJobDataMap(ImmutableMap.of(SESSION_MANAGER, this)))
+                .build();
+
+        final Trigger trigger = newTrigger()
+                .withIdentity(myInstanceId, ExpiredSessionDeletingJob.class.getSimpleName())
+                .withSchedule(cronSchedule(cronExpr))
+                .build();
+
+        scheduler.scheduleJob(job, trigger);
+        return scheduler;
+    }
+
+    private void importLegacySessions(Path legacyRootDir) throws IOException {
+        final Instant now = Instant.now();
+        final List<Session> sessions = new ArrayList<>();
+        try (Stream<Path> stream = Files.walk(legacyRootDir, 2)) {
+            stream.filter(FileBasedSessionManager::isSessionFile).forEach(path -> {
+                try {
+                    final Session session = Jackson.readValue(Files.readAllBytes(path), Session.class);
+                    if (now.isBefore(session.expirationTime())) {
+                        sessions.add(session);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Failed to read a legacy session: {}", path, e);
+                }
+            });
+        }
+
+        for (int i = 0; i < sessions.size(); i += MAX_BATCH_SIZE) {
+            try (WriteBatch writeBatch = new WriteBatch();
+                 WriteOptions writeOptions = new WriteOptions()) {
+                for (Session session : sessions.subList(i, Math.min(i + MAX_BATCH_SIZE, sessions.size()))) {
+                    final byte[] key = session.id().getBytes(StandardCharsets.UTF_8);
+                    writeBatch.put(sessionsCf, key, Jackson.writeValueAsBytes(session));
+                    writeBatch.put(expirationsCf, expirationKey(session), EMPTY_BYTES);
+                }
+                writeOptions.setSync(true);
+                rocksDb.write(writeOptions, writeBatch);
+            } catch (RocksDBException e) {
+                throw new IOException("Failed to import the legacy sessions from " + legacyRootDir, e);
+            }
+        }
+
+        // Delete the legacy sessions only after they are written, so that the import is retried
+        // on the next startup if the server stops in the middle of the import.
+        try (Stream<Path> stream = Files.walk(legacyRootDir)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete a legacy session file: {}", path, e);
+                }
+            });
+        }
+        logger.info("Imported {} session(s) from {}", sessions.size(), legacyRootDir);
+    }
+
+    @Override
+    public String generateSessionId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String sessionId) {
+        requireNonNull(sessionId, "sessionId");
+        if (!isValidSessionId(sessionId)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        try {
+            return CompletableFuture.completedFuture(
+                    rocksDb.get(sessionsCf, sessionKey(sessionId)) != null);
+        } catch (RocksDBException e) {
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Session> get(String sessionId) {
+        requireNonNull(sessionId, "sessionId");
+        if (!isValidSessionId(sessionId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            final byte[] value = rocksDb.get(sessionsCf, sessionKey(sessionId));
+            if (value == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return CompletableFuture.completedFuture(Jackson.readValue(value, Session.class));
+        } catch (RocksDBException | IOException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> create(Session session) {
+        requireNonNull(session, "session");
+        return enqueue(WriteType.CREATE, session.id(), session);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(Session session) {
+        requireNonNull(session, "session");
+        return enqueue(WriteType.UPDATE, session.id(), session);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String sessionId) {
+        requireNonNull(sessionId, "sessionId");
+        return enqueue(WriteType.DELETE, sessionId, null);
+    }
+
+    private CompletableFuture<Void> enqueue(WriteType type, String sessionId, @Nullable Session session) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            checkArgument(isValidSessionId(sessionId), "sessionId: %s (expected: UUID)", sessionId);
+            final byte[] value = session != null ? Jackson.writeValueAsBytes(session) : null;
+            pendingWrites.add(new PendingWrite(type, sessionId, session, value, future));
+        } catch (Throwable cause) {
+            future.completeExceptionally(cause);
+            return future;
+        }
+        scheduleDrain();
+        return future;
+    }
+
+    private void scheduleDrain() {
+        if (!pendingWrites.isEmpty() && draining.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (Throwable cause) {
+                draining.set(false);
+                failPendingWrites(cause);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            final List<PendingWrite> batch = new ArrayList<>();
+            while (pendingWrites.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            draining.set(false);
+        }
+        // A write could have been added after the queue was drained but before 'draining' was cleared.
+        scheduleDrain();
+    }
+
+    private void writeBatch(List<PendingWrite> writes) {
+        // The sessions written by the previous writes in the same batch. A null value means a deleted session.
+        final Map<String, byte[]> written = new HashMap<>();
+        final List<PendingWrite> accepted = new ArrayList<>(writes.size());
+        try (WriteBatch writeBatch = new WriteBatch();
+             WriteOptions writeOptions = new WriteOptions()) {
+            for (PendingWrite write : writes) {
+                try {
+                    final byte[] key = sessionKey(write.sessionId);
+                    final byte[] oldValue = written.containsKey(write.sessionId) ? written.get(write.sessionId)
+                                                                                 : rocksDb.get(sessionsCf, key);
+                    switch (write.type) {
+                        case CREATE:
+                            if (oldValue != null) {
+                                throw new AuthException("duplicate session: " + write.sessionId);
+                            }
+                            break;
+                        case UPDATE:
+                            if (oldValue == null) {
+                                throw new AuthException("unknown session: " + write.sessionId);
+                            }
+                            break;
+                        case DELETE:
+                            if (oldValue == null) {
+                                accepted.add(write);
+                                continue;
+                            }
+                            break;
+                        default:
+                            throw new Error("unexpected write type: " + write.type);
+                    }
+
+                    if (oldValue != null) {
+                        writeBatch.delete(expirationsCf,
+                                          expirationKey(Jackson.readValue(oldValue, Session.class)));
+                    }
+                    if (write.session != null) {
+                        assert write.value != null;
+                        writeBatch.put(sessionsCf, key, write.value);
+                        writeBatch.put(expirationsCf, expirationKey(write.session), EMPTY_BYTES);
+                    } else {
+                        writeBatch.delete(sessionsCf, key);
+                    }
+                    written.put(write.sessionId, write.value);
+                    accepted.add(write);
+                } catch (AuthException e) {
+                    write.future.completeExceptionally(e);
+                } catch (Exception e) {
+                    write.future.completeExceptionally(new AuthException(e));
+                }
+            }
+            if (writeBatch.count() > 0) {
+                rocksDb.write(writeOptions, writeBatch);
+            }
+        } catch (Throwable cause) {
+            final AuthException exception = cause instanceof AuthException ? (AuthException) cause
+                                                                            : new AuthException(cause);
+            accepted.forEach(write -> write.future.completeExceptionally(exception));
+            return;
+        }
+        accepted.forEach(write -> write.future.complete(null));
+    }
+
+    private void failPendingWrites(Throwable cause) {
+        final List<PendingWrite> writes = new ArrayList<>();
+        pendingWrites.drainTo(writes);
+        writes.forEach(write -> write.future.completeExceptionally(cause));
+    }
+
+    /**
+     * Deletes the sessions which expired before now. This method must be invoked by the {@link #writer}
+     * so that it does not interleave with the pending writes.
+     */
+    private void deleteExpiredSessions() {
+        final byte[] nowKey = Longs.toByteArray(Instant.now().toEpochMilli());
+        int numDeleted = 0;
+        try (RocksIterator it = rocksDb.newIterator(expirationsCf);
+             WriteBatch writeBatch = new WriteBatch();
+             WriteOptions writeOptions = new WriteOptions()) {
+            for (it.seekToFirst(); it.isValid(); it.next()) {
+                final byte[] expirationKey = it.key();
+                if (compareExpiration(expirationKey, nowKey) >= 0) {
+                    // The keys are sorted by the expiration time.
+                    break;
+                }
+                writeBatch.delete(expirationsCf, expirationKey);
+                writeBatch.delete(sessionsCf, sessionKeyOf(expirationKey));
+                numDeleted++;
+                if (writeBatch.count() >= MAX_BATCH_SIZE * 2) {
+                    rocksDb.write(writeOptions, writeBatch);
+                    writeBatch.clear();
+                }
+            }
+            it.status();
+            if (writeBatch.count() > 0) {
+                rocksDb.write(writeOptions, writeBatch);
+            }
+            logger.debug("Deleted {} expired session(s).", numDeleted);
+        } catch (RocksDBException e) {
+            logger.warn("Failed to delete the expired sessions", e);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (scheduler != null && !scheduler.isShutdown()) {
+            // Graceful shutdown.
+            // We don't use InterruptableJob for simplicity, but just waiting for the job to be completed.
+            scheduler.shutdown(true);
+        }
+        writer.shutdown();
+        if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Failed to write the pending sessions in time.");
+            writer.shutdownNow();
+        }
+        failPendingWrites(new AuthException("session manager is closed"));
+        closeDatabase();
+    }
+
+    private void closeDatabase() {
+        cfHandles.forEach(RocksDbSessionManager::closeSilently);
+        closeSilently(rocksDb);
+        cfOptions.forEach(RocksDbSessionManager::closeSilently);
+        closeSilently(dbOptions);
+    }
+
+    private static void closeSilently(RocksObject obj) {
+        try {
+            obj.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close RocksObject silently", e);
+        }
+    }
+
+    private static boolean isValidSessionId(String sessionId) {
+        return SESSION_ID_PATTERN.matcher(sessionId).matches();
+    }
+
+    private static byte[] sessionKey(String sessionId) {
+        return sessionId.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the key of the {@value #EXPIRATIONS_COLUMN_FAMILY} column family, which consists of
+     * the expiration time in milliseconds in big-endian order followed by the session ID.
+     */
+    private static byte[] expirationKey(Session session) {
+        final byte[] sessionKey = sessionKey(session.id());
+        final byte[] key = new byte[Long.BYTES + sessionKey.length];
+        System.arraycopy(Longs.toByteArray(session.expirationTime().toEpochMilli()), 0, key, 0, Long.BYTES);
+        System.arraycopy(sessionKey, 0, key, Long.BYTES, sessionKey.length);
+        return key;
+    }
+
+    private static byte[] sessionKeyOf(byte[] expirationKey) {
+        final byte[] sessionKey = new byte[expirationKey.length - Long.BYTES];
+        System.arraycopy(expirationKey, Long.BYTES, sessionKey, 0, sessionKey.length);
+        return sessionKey;
+    }
+
+    private static int compareExpiration(byte[] expirationKey, byte[] timeKey) {
+        // RocksDB compares the keys byte-wise, so compare the timestamps in the same way.
+        for (int i = 0; i < Long.BYTES; i++) {
+            final int diff = Byte.toUnsignedInt(expirationKey[i]) - Byte.toUnsignedInt(timeKey[i]);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    private enum WriteType {
+        CREATE, UPDATE, DELETE
+    }
+
+    private static final class PendingWrite {
+        final WriteType type;
+        final String sessionId;
+        @Nullable
+        final Session session;
+        @Nullable
+        final byte[] value;
+        final CompletableFuture<Void> future;
+
+        PendingWrite(WriteType type, String sessionId, @Nullable Session session, @Nullable byte[] value,
+                     CompletableFuture<Void> future) {
+            this.type = type;
+            this.sessionId = sessionId;
+            this.session = session;
+            this.value = value;
+            this.future = future;
+        }
+    }
+
+    /**
+     * A job for deleting expired sessions from the database.
+     */
+    public static class ExpiredSessionDeletingJob implements Job {
+        @Override
+        public void execute(JobExecutionContext context) throws JobExecutionException {
+            final RocksDbSessionManager manager =
+                    (RocksDbSessionManager) context.getJobDetail().getJobDataMap().get(SESSION_MANAGER);
+            try {
+                // Run on the writer so that the job does not race with the pending writes.
+                manager.writer.submit(manager::deleteExpiredSessions).get();
+            } catch (Throwable cause) {
+                logger.warn("Failed {} job:", ExpiredSessionDeletingJob.class.getSimpleName(), cause);
+            }
+        }
+    }
+}
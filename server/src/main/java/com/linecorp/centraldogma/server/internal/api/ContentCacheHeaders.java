@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.centraldogma.server.internal.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Splitter;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.centraldogma.common.Revision;
+
+/**
+ * Builds the HTTP caching headers of the content read APIs in {@link ContentServiceV1}.
+ *
+ * <p>A read always yields the same result once its {@link Revision} is normalized, so a strong entity tag is
+ * derived from the normalized {@link Revision} and the other parameters that determine the result.
+ * The entity tag has the form of {@code "<revision>-<hash>"}, which is distinguishable from the entity tag
+ * sent by a watch request, i.e. {@code "<revision>"}.
+ */
+public final class ContentCacheHeaders {
+
+    private static final Pattern CONTENT_ETAG_PATTERN = Pattern.compile("^[0-9]+-[0-9a-f]{16}$");
+
+    private static final Splitter etagSplitter = Splitter.on(',').omitEmptyStrings().trimResults();
+
+    // The result at an absolute revision never changes. 'private' because the result depends on
+    // the permission of the requester.
+    private static final String IMMUTABLE = "private, max-age=31536000, immutable";
+
+    // The result at a relative revision changes when a new commit is pushed, so a client has to
+    // revalidate it with the entity tag.
+    private static final String REVALIDATE = "private, no-cache";
+
+    /**
+     * Returns a strong entity tag of the result at the specified normalized {@link Revision}.
+     *
+     * @param components the parameters that determine the result other than the {@link Revision}
+     */
+    static String etag(Revision normalizedRevision, String... components) {
+        checkArgument(!normalizedRevision.isRelative(),
+                      "normalizedRevision: %s (expected: an absolute revision)", normalizedRevision);
+        final Hasher hasher = Hashing.farmHashFingerprint64().newHasher();
+        for (String component : components) {
+            hasher.putString(component, UTF_8).putByte((byte) 0);
+        }
+        return "\"" + normalizedRevision.major() + '-' +
+               String.format("%016x", hasher.hash().asLong()) + '"';
+    }
+
+    /**
+     * Returns whether the specified {@link HttpHeaderNames#IF_NONE_MATCH} header value contains an entity tag
+     * generated by {@link #etag(Revision, String...)}, which means the request is a conditional read
+     * rather than a watch request.
+     */
+    public static boolean isContentETag(@Nullable String ifNoneMatch) {
+        if (isNullOrEmpty(ifNoneMatch)) {
+            return false;
+        }
+        for (String tag : etagSplitter.split(ifNoneMatch)) {
+            if (CONTENT_ETAG_PATTERN.matcher(opaqueTag(tag)).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the {@link HttpHeaderNames#IF_NONE_MATCH} header of the current request matches
+     * the specified entity tag, i.e. the client already has the result.
+     */
+    static boolean isNotModified(ServiceRequestContext ctx, String etag) {
+        final String ifNoneMatch = ctx.request().headers().get(HttpHeaderNames.IF_NONE_MATCH);
+        if (isNullOrEmpty(ifNoneMatch)) {
+            return false;
+        }
+        final String opaqueTag = opaqueTag(etag);
+        for (String tag : etagSplitter.split(ifNoneMatch)) {
+            // Use the weak comparison as specified in RFC 9110, section 13.1.2.
+            if ("*".equals(tag) || opaqueTag.equals(opaqueTag(tag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the {@link ResponseHeaders} which contain the specified entity tag and
+     * the {@link HttpHeaderNames#CACHE_CONTROL} header.
+     *
+     * @param immutable whether the request specified only absolute {@link Revision}s
+     */
+    static ResponseHeaders headers(HttpStatus status, String etag, boolean immutable) {
+        return ResponseHeaders.builder(status)
+                              .set(HttpHeaderNames.ETAG, etag)
+                              .set(HttpHeaderNames.CACHE_CONTROL, immutable ? IMMUTABLE : REVALIDATE)
+                              .build();
+    }
+
+    /**
+     * Returns a {@link HttpStatus#NOT_MODIFIED} response with the specified entity tag.
+     */
+    static HttpResponse notModified(String etag, boolean immutable) {
+        return HttpResponse.of(headers(HttpStatus.NOT_MODIFIED, etag, immutable));
+    }
+
+    private static String opaqueTag(String tag) {
+        String opaqueTag = tag;
+        if (opaqueTag.startsWith("W/")) {
+            opaqueTag = opaqueTag.substring(2);
+        }
+        final int length = opaqueTag.length();
+        if (length >= 2 && opaqueTag.charAt(0) == '"' && opaqueTag.charAt(length - 1) == '"') {
+            opaqueTag = opaqueTag.substring(1, length - 1);
+        }
+        return opaqueTag;
+    }
+
+    private ContentCacheHeaders() {}
+}
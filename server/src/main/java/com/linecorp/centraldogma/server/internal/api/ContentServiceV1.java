@@ -17,6 +17,7 @@
 package com.linecorp.centraldogma.server.internal.api;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.linecorp.centraldogma.common.EntryType.DIRECTORY;
@@ -37,6 +38,7 @@ import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
@@ -49,6 +51,9 @@ import com.google.common.collect.Streams;
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.ResponseEntity;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.common.util.CompletableFutures;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.armeria.server.annotation.ConsumesJson;
@@ -59,6 +64,7 @@ import com.linecorp.armeria.server.annotation.Post;
 import com.linecorp.armeria.server.annotation.ProducesJson;
 import com.linecorp.armeria.server.annotation.RequestConverter;
 import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.CentralDogmaException;
 import com.linecorp.centraldogma.common.Change;
 import com.linecorp.centraldogma.common.Entry;
 import com.linecorp.centraldogma.common.InvalidPushException;
@@ -72,6 +78,8 @@ import com.linecorp.centraldogma.common.ShuttingDownException;
 import com.linecorp.centraldogma.internal.api.v1.ChangeDto;
 import com.linecorp.centraldogma.internal.api.v1.CommitMessageDto;
 import com.linecorp.centraldogma.internal.api.v1.EntryDto;
+import com.linecorp.centraldogma.internal.api.v1.FileBatchEntryDto;
+import com.linecorp.centraldogma.internal.api.v1.FileBatchResultDto;
 import com.linecorp.centraldogma.internal.api.v1.MergedEntryDto;
 import com.linecorp.centraldogma.internal.api.v1.PushResultDto;
 import com.linecorp.centraldogma.internal.api.v1.WatchResultDto;
@@ -82,6 +90,7 @@ import com.linecorp.centraldogma.server.internal.api.auth.RequiresRepositoryRole
 import com.linecorp.centraldogma.server.internal.api.converter.ChangesRequestConverter;
 import com.linecorp.centraldogma.server.internal.api.converter.CommitMessageRequestConverter;
 import com.linecorp.centraldogma.server.internal.api.converter.MergeQueryRequestConverter;
+import com.linecorp.centraldogma.server.internal.api.converter.QueriesRequestConverter;
 import com.linecorp.centraldogma.server.internal.api.converter.QueryRequestConverter;
 import com.linecorp.centraldogma.server.internal.api.converter.WatchRequestConverter;
 import com.linecorp.centraldogma.server.internal.api.converter.WatchRequestConverter.WatchRequest;
@@ -108,11 +117,16 @@ public class ContentServiceV1 extends AbstractService {
 
     private final WatchService watchService;
     private final MeterRegistry meterRegistry;
+    private final int maxNumQueriesPerBatch;
 
-    public ContentServiceV1(CommandExecutor executor, WatchService watchService, MeterRegistry meterRegistry) {
+    public ContentServiceV1(CommandExecutor executor, WatchService watchService, MeterRegistry meterRegistry,
+                            int maxNumQueriesPerBatch) {
         super(executor);
         this.watchService = requireNonNull(watchService, "watchService");
         this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        checkArgument(maxNumQueriesPerBatch > 0,
+                      "maxNumQueriesPerBatch: %s (expected: > 0)", maxNumQueriesPerBatch);
+        this.maxNumQueriesPerBatch = maxNumQueriesPerBatch;
     }
 
     /**
@@ -121,16 +135,19 @@ public class ContentServiceV1 extends AbstractService {
      * <p>Returns the list of files in the path.
      */
     @Get("regex:/projects/(?<projectName>[^/]+)/repos/(?<repoName>[^/]+)/list(?<path>(|/.*))$")
-    public CompletableFuture<List<EntryDto<?>>> listFiles(ServiceRequestContext ctx,
-                                                          @Param String path,
-                                                          @Param @Default("-1") String revision,
-                                                          Repository repository) {
+    public CompletableFuture<?> listFiles(ServiceRequestContext ctx,
+                                          @Param String path,
+                                          @Param @Default("-1") String revision,
+                                          Repository repository) {
         final String normalizedPath = normalizePath(path);
         final Revision normalizedRev = repository.normalizeNow(new Revision(revision));
         increaseCounterIfOldRevisionUsed(ctx, repository, normalizedRev);
-        final CompletableFuture<List<EntryDto<?>>> future = new CompletableFuture<>();
-        listFiles(repository, normalizedPath, normalizedRev, false, future);
-        return future;
+        final String etag = ContentCacheHeaders.etag(normalizedRev, "list", normalizedPath);
+        return withCacheHeaders(ctx, etag, !new Revision(revision).isRelative(), () -> {
+            final CompletableFuture<List<EntryDto<?>>> future = new CompletableFuture<>();
+            listFiles(repository, normalizedPath, normalizedRev, false, future);
+            return future;
+        });
     }
 
     private static void listFiles(Repository repository, String pathPattern, Revision normalizedRev,
@@ -282,17 +299,79 @@ public class ContentServiceV1 extends AbstractService {
         }
 
         final Revision normalizedRev = repository.normalizeNow(new Revision(revision));
+        final boolean immutable = !new Revision(revision).isRelative();
         if (query != null) {
             // get a file
-            return repository.get(normalizedRev, query)
-                             .handle(returnOrThrow((Entry<?> result) -> convert(repository, normalizedRev,
-                                                                                result, true)));
+            final String etag = ContentCacheHeaders.etag(normalizedRev, "contents", query.path(),
+                                                         query.type().name(),
+                                                         String.join("\n", query.expressions()));
+            return withCacheHeaders(ctx, etag, immutable, () -> repository.get(normalizedRev, query).handle(
+                    returnOrThrow((Entry<?> result) -> convert(repository, normalizedRev, result, true))));
         }
 
         // get files
-        final CompletableFuture<List<EntryDto<?>>> future = new CompletableFuture<>();
-        listFiles(repository, normalizedPath, normalizedRev, true, future);
-        return future;
+        final String etag = ContentCacheHeaders.etag(normalizedRev, "contents", normalizedPath);
+        return withCacheHeaders(ctx, etag, immutable, () -> {
+            final CompletableFuture<List<EntryDto<?>>> future = new CompletableFuture<>();
+            listFiles(repository, normalizedPath, normalizedRev, true, future);
+            return future;
+        });
+    }
+
+    /**
+     * Returns a {@link HttpStatus#NOT_MODIFIED} response if the client already has the result of
+     * the specified entity tag. Otherwise, returns the result supplied by the {@code resultSupplier}
+     * with the entity tag and the {@link HttpHeaderNames#CACHE_CONTROL} header.
+     *
+     * @param immutable whether the request specified only absolute {@link Revision}s
+     */
+    private static CompletableFuture<?> withCacheHeaders(
+            ServiceRequestContext ctx, String etag, boolean immutable,
+            Supplier<? extends CompletableFuture<?>> resultSupplier) {
+        if (ContentCacheHeaders.isNotModified(ctx, etag)) {
+            return CompletableFuture.completedFuture(ContentCacheHeaders.notModified(etag, immutable));
+        }
+        final ResponseHeaders headers = ContentCacheHeaders.headers(HttpStatus.OK, etag, immutable);
+        return resultSupplier.get().thenApply(result -> ResponseEntity.of(headers, result));
+    }
+
+    /**
+     * POST /projects/{projectName}/repos/{repoName}/contents/batch?revision={revision}
+     *
+     * <p>Performs the {@link Query}s in the request body at the same revision and returns their results in
+     * the same order. A query which failed, e.g. due to a missing file, is reported in its own result
+     * instead of failing the whole request. All queries are served from the cached snapshot of the
+     * repository, so a client which scans many files can fetch them without a round trip per file.
+     * A request with more queries than {@code maxNumQueriesPerBatch} is rejected with
+     * {@code 400 Bad Request}.
+     */
+    @Post("/projects/{projectName}/repos/{repoName}/contents/batch")
+    @ConsumesJson
+    public CompletableFuture<FileBatchResultDto> getFileBatch(
+            ServiceRequestContext ctx,
+            @Param @Default("-1") String revision, Repository repository,
+            @RequestConverter(QueriesRequestConverter.class) List<Query<?>> queries) {
+        checkArgument(queries.size() <= maxNumQueriesPerBatch,
+                      "too many queries: %s (expected: <= %s)", queries.size(), maxNumQueriesPerBatch);
+        increaseCounterIfOldRevisionUsed(ctx, repository, new Revision(revision));
+        final Revision normalizedRev = repository.normalizeNow(new Revision(revision));
+        final List<CompletableFuture<FileBatchEntryDto>> futures =
+                queries.stream()
+                       .map(query -> repository.get(normalizedRev, query).handle((entry, cause) -> {
+                           if (cause == null) {
+                               return FileBatchEntryDto.ofEntry(
+                                       convert(repository, normalizedRev, entry, true));
+                           }
+                           final Throwable peeled = Exceptions.peel(cause);
+                           if (peeled instanceof CentralDogmaException) {
+                               return FileBatchEntryDto.ofFailure(peeled.getClass().getName(),
+                                                                  peeled.getMessage());
+                           }
+                           return Exceptions.throwUnsafely(peeled);
+                       }))
+                       .collect(toImmutableList());
+        return CompletableFutures.allAsList(futures)
+                                 .thenApply(entries -> new FileBatchResultDto(normalizedRev, entries));
     }
 
     private CompletableFuture<?> watchFile(ServiceRequestContext ctx,
@@ -373,14 +452,17 @@ public class ContentServiceV1 extends AbstractService {
         increaseCounterIfOldRevisionUsed(ctx, repository, range.to());
 
         final int maxCommits0 = firstNonNull(maxCommits, Repository.DEFAULT_MAX_COMMITS);
-        return repository
-                .history(range.from(), range.to(), normalizePath(path), maxCommits0)
-                .thenApply(commits -> {
-                    final boolean toList = to != null ||
-                                           isNullOrEmpty(revision) ||
-                                           "/".equalsIgnoreCase(revision);
-                    return objectOrList(commits, toList, DtoConverter::convert);
-                });
+        final String normalizedPath = normalizePath(path);
+        final boolean toList = to != null ||
+                               isNullOrEmpty(revision) ||
+                               "/".equalsIgnoreCase(revision);
+        final String etag = ContentCacheHeaders.etag(range.from(), "commits", range.to().text(),
+                                                     normalizedPath, String.valueOf(maxCommits0),
+                                                     String.valueOf(toList));
+        final boolean immutable = !fromRevision.isRelative() && !toRevision.isRelative();
+        return withCacheHeaders(ctx, etag, immutable, () -> repository
+                .history(range.from(), range.to(), normalizedPath, maxCommits0)
+                .thenApply(commits -> objectOrList(commits, toList, DtoConverter::convert)));
     }
 
     /**
@@ -403,14 +485,25 @@ public class ContentServiceV1 extends AbstractService {
         final Revision toRevision = new Revision(to);
         increaseCounterIfOldRevisionUsed(ctx, repository, fromRevision);
         increaseCounterIfOldRevisionUsed(ctx, repository, toRevision);
+        final RevisionRange range = repository.normalizeNow(fromRevision, toRevision);
+        final Revision maxRevision = range.toDescending().from();
+        final boolean immutable = !fromRevision.isRelative() && !toRevision.isRelative();
         if (query != null) {
-            return repository.diff(fromRevision, toRevision, query)
-                             .thenApply(DtoConverter::convert);
+            final String etag = ContentCacheHeaders.etag(maxRevision, "compare", range.from().text(),
+                                                         range.to().text(), query.path(),
+                                                         query.type().name(),
+                                                         String.join("\n", query.expressions()));
+            return withCacheHeaders(ctx, etag, immutable, () -> repository
+                    .diff(range.from(), range.to(), query)
+                    .thenApply(DtoConverter::convert));
         } else {
-            return repository
-                    .diff(fromRevision, toRevision, normalizePath(pathPattern))
+            final String normalizedPath = normalizePath(pathPattern);
+            final String etag = ContentCacheHeaders.etag(maxRevision, "compare", range.from().text(),
+                                                         range.to().text(), normalizedPath);
+            return withCacheHeaders(ctx, etag, immutable, () -> repository
+                    .diff(range.from(), range.to(), normalizedPath)
                     .thenApply(changeMap -> changeMap.values().stream()
-                                                     .map(DtoConverter::convert).collect(toImmutableList()));
+                                                     .map(DtoConverter::convert).collect(toImmutableList())));
         }
     }
 
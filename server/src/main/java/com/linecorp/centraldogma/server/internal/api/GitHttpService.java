@@ -26,7 +26,6 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
-import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UploadPack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +55,7 @@ import com.linecorp.centraldogma.server.internal.api.converter.HttpApiRequestCon
 import com.linecorp.centraldogma.server.internal.storage.project.ProjectApiManager;
 import com.linecorp.centraldogma.server.metadata.User;
 import com.linecorp.centraldogma.server.storage.project.Project;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
 
 /**
  * A service that provides Git HTTP protocol.
@@ -160,25 +160,29 @@ public final class GitHttpService {
                                    "Repository not found: " + repoName);
         }
 
-        final Repository jGitRepository = project.repos().get(repoName).jGitRepository();
+        final Repository repository = project.repos().get(repoName);
 
         final ByteStreamMessage body = StreamMessage.fromOutputStream(os -> {
             // Don't need to close the input stream.
             final ByteArrayInputStream inputStream = new ByteArrayInputStream(req.content().byteBuf().array());
-            // Don't need to close because we don't use the timer inside it.
-            final UploadPack uploadPack = new UploadPack(jGitRepository);
-            uploadPack.setTimeout(0); // Disable timeout because Armeria server will handle it.
-            // HTTP does not use bidirectional pipe.
-            uploadPack.setBiDirectionalPipe(false);
-            uploadPack.setExtraParameters(ImmutableList.of(VERSION_2_REQUEST));
-            try {
-                uploadPack.upload(inputStream, os, null);
-            } catch (IOException e) {
-                // Log until https://github.com/line/centraldogma/pull/719 is implemented.
-                logger.debug("Failed to respond git-upload-pack-request: {}", req.contentUtf8(), e);
-                throw new RuntimeException("failed to respond git-upload-pack-request: " +
-                                           req.contentUtf8(), e);
-            }
+            // Keep the repository open until the upload is done.
+            repository.withJGitRepository(jGitRepository -> {
+                // Don't need to close because we don't use the timer inside it.
+                final UploadPack uploadPack = new UploadPack(jGitRepository);
+                uploadPack.setTimeout(0); // Disable timeout because Armeria server will handle it.
+                // HTTP does not use bidirectional pipe.
+                uploadPack.setBiDirectionalPipe(false);
+                uploadPack.setExtraParameters(ImmutableList.of(VERSION_2_REQUEST));
+                try {
+                    uploadPack.upload(inputStream, os, null);
+                } catch (IOException e) {
+                    // Log until https://github.com/line/centraldogma/pull/719 is implemented.
+                    logger.debug("Failed to respond git-upload-pack-request: {}", req.contentUtf8(), e);
+                    throw new RuntimeException("failed to respond git-upload-pack-request: " +
+                                               req.contentUtf8(), e);
+                }
+                return null;
+            });
             try {
                 os.close();
             } catch (IOException e) {
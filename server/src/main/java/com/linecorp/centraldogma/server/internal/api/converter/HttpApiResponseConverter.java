@@ -16,15 +16,19 @@
 
 package com.linecorp.centraldogma.server.internal.api.converter;
 
+import java.util.List;
+
 import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
 import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpHeaders;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpRequest;
@@ -39,6 +43,8 @@ import com.linecorp.armeria.server.annotation.ResponseConverterFunction;
 import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.server.internal.api.HttpApiUtil;
 
+import io.netty.util.AsciiString;
+
 /**
  * A default {@link ResponseConverterFunction} of HTTP API.
  */
@@ -46,6 +52,9 @@ public final class HttpApiResponseConverter implements ResponseConverterFunction
 
     private static final Logger logger = LoggerFactory.getLogger(HttpApiResponseConverter.class);
 
+    private static final List<AsciiString> CACHING_HEADER_NAMES =
+            ImmutableList.of(HttpHeaderNames.ETAG, HttpHeaderNames.CACHE_CONTROL);
+
     @Override
     public HttpResponse convertResponse(ServiceRequestContext ctx, ResponseHeaders headers,
                                         @Nullable Object resObj,
@@ -54,7 +63,15 @@ public final class HttpApiResponseConverter implements ResponseConverterFunction
             final HttpRequest request = RequestContext.current().request();
             if (resObj == null || HttpMethod.DELETE == request.method() ||
                 (resObj instanceof Iterable && Iterables.size((Iterable<?>) resObj) == 0)) {
-                return HttpResponse.of(HttpStatus.NO_CONTENT);
+                final ResponseHeadersBuilder builder = ResponseHeaders.builder(HttpStatus.NO_CONTENT);
+                // Keep the caching headers so that an empty result can also be validated.
+                for (AsciiString name : CACHING_HEADER_NAMES) {
+                    final String value = headers.get(name);
+                    if (value != null) {
+                        builder.set(name, value);
+                    }
+                }
+                return HttpResponse.of(builder.build());
             }
 
             final ResponseHeaders resHeaders;
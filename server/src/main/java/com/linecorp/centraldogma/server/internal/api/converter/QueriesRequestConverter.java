@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.centraldogma.server.internal.api.converter;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.annotation.JacksonRequestConverterFunction;
+import com.linecorp.armeria.server.annotation.RequestConverterFunction;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.QueryType;
+
+/**
+ * A request converter that converts to {@code List<Query<?>>}. The request body is either an array of
+ * queries or an object which has the array in its {@code "queries"} field. A query is an object which has
+ * a {@code "path"} and optionally a {@code "type"} and {@code "expressions"}, e.g.
+ * <pre>{@code
+ * { "queries": [ { "path": "/a.json" },
+ *                { "path": "/b.json", "type": "JSON_PATH", "expressions": [ "$.foo" ] } ] }
+ * }</pre>
+ */
+public final class QueriesRequestConverter implements RequestConverterFunction {
+
+    private final JacksonRequestConverterFunction delegate = new JacksonRequestConverterFunction();
+
+    @Override
+    public List<Query<?>> convertRequest(
+            ServiceRequestContext ctx, AggregatedHttpRequest request, Class<?> expectedResultType,
+            @Nullable ParameterizedType expectedParameterizedResultType) throws Exception {
+
+        final JsonNode node = (JsonNode) delegate.convertRequest(ctx, request, JsonNode.class, null);
+        if (node == null) {
+            return RequestConverterFunction.fallthrough();
+        }
+
+        final JsonNode queriesNode;
+        if (node.getNodeType() == JsonNodeType.ARRAY) {
+            queriesNode = node;
+        } else {
+            queriesNode = node.get("queries");
+            checkArgument(queriesNode != null && queriesNode.getNodeType() == JsonNodeType.ARRAY,
+                          "'queries' must be an array.");
+        }
+        checkArgument(queriesNode.size() > 0, "'queries' must not be empty.");
+
+        final ImmutableList.Builder<Query<?>> builder = ImmutableList.builder();
+        for (JsonNode query : queriesNode) {
+            builder.add(readQuery(query));
+        }
+        return builder.build();
+    }
+
+    private static Query<?> readQuery(JsonNode node) {
+        final JsonNode pathNode = node.get("path");
+        checkArgument(pathNode != null && pathNode.isTextual(), "a query should have a path");
+        final String path = pathNode.textValue();
+
+        final JsonNode expressionsNode = node.get("expressions");
+        final ImmutableList.Builder<String> expressions = ImmutableList.builder();
+        if (expressionsNode != null) {
+            checkArgument(expressionsNode.getNodeType() == JsonNodeType.ARRAY,
+                          "'expressions' must be an array.");
+            expressionsNode.forEach(expr -> {
+                checkArgument(expr.isTextual(), "an expression must be a string: %s", expr);
+                expressions.add(expr.textValue());
+            });
+        }
+        final List<String> expressionList = expressions.build();
+
+        final JsonNode typeNode = node.get("type");
+        final QueryType type;
+        if (typeNode != null) {
+            type = QueryType.valueOf(typeNode.asText());
+        } else {
+            type = expressionList.isEmpty() ? QueryType.IDENTITY : QueryType.JSON_PATH;
+        }
+        if (type == QueryType.JSON_PATH) {
+            return Query.ofJsonPath(path, expressionList);
+        }
+        return Query.of(type, path);
+    }
+}
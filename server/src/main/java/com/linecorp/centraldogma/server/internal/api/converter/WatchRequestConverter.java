@@ -36,10 +36,11 @@ import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.armeria.server.annotation.RequestConverterFunction;
 import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.internal.api.ContentCacheHeaders;
 
 /**
  * A request converter that converts to {@link WatchRequest} when the request contains
- * {@link HttpHeaderNames#IF_NONE_MATCH}.
+ * {@link HttpHeaderNames#IF_NONE_MATCH} which is not an entity tag of a conditional read.
  */
 public final class WatchRequestConverter implements RequestConverterFunction {
 
@@ -62,7 +63,8 @@ public final class WatchRequestConverter implements RequestConverterFunction {
             @Nullable ParameterizedType expectedParameterizedResultType) throws Exception {
 
         final String ifNoneMatch = request.headers().get(HttpHeaderNames.IF_NONE_MATCH);
-        if (isNullOrEmpty(ifNoneMatch)) {
+        if (isNullOrEmpty(ifNoneMatch) || ContentCacheHeaders.isContentETag(ifNoneMatch)) {
+            // Not a watch request but a plain or conditional read.
             return null;
         }
 
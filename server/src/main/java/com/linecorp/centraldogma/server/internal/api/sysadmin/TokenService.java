@@ -234,8 +234,20 @@ public class TokenService extends AbstractService {
                 });
     }
 
+    /**
+     * POST /tokens/migration/finalize
+     *
+     * <p>Finalizes the migration of the legacy token list file into one file per token, and removes
+     * the legacy file. Call this only after all servers in the cluster have been upgraded.
+     */
+    @Post("/tokens/migration/finalize")
+    @RequiresSystemAdministrator
+    public CompletableFuture<Revision> finalizeTokenMigration(Author author) {
+        return mds.finalizeTokenMigration(author);
+    }
+
     private CompletableFuture<Token> fetchTokensByAppId(String appId) {
-        return mds.fetchTokens().thenApply(tokens -> tokens.get(appId));
+        return mds.fetchToken(appId);
     }
 
     private CompletableFuture<Token> getTokenOrRespondForbidden(ServiceRequestContext ctx,
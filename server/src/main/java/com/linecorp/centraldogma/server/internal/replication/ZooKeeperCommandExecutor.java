@@ -16,6 +16,7 @@
 
 package com.linecorp.centraldogma.server.internal.replication;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.Objects.requireNonNull;
 
@@ -96,6 +97,7 @@ import com.linecorp.centraldogma.server.command.CommitResult;
 import com.linecorp.centraldogma.server.command.ForcePushCommand;
 import com.linecorp.centraldogma.server.command.NormalizableCommit;
 import com.linecorp.centraldogma.server.command.UpdateServerStatusCommand;
+import com.linecorp.centraldogma.server.internal.VirtualThreads;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -141,6 +143,7 @@ public final class ZooKeeperCommandExecutor
 
     @Nullable
     private final String zone;
+    private final boolean useVirtualThreads;
 
     // Failing to acquire a lock is a critical problem, so we wait as much as we can.
     private long lockTimeoutNanos = TimeUnit.MINUTES.toNanos(1);
@@ -378,6 +381,26 @@ public final class ZooKeeperCommandExecutor
                                     @Nullable Consumer<CommandExecutor> onReleaseLeadership,
                                     @Nullable Consumer<CommandExecutor> onTakeZoneLeadership,
                                     @Nullable Consumer<CommandExecutor> onReleaseZoneLeadership) {
+        this(cfg, dataDir, delegate, meterRegistry, zone, onTakeLeadership, onReleaseLeadership,
+             onTakeZoneLeadership, onReleaseZoneLeadership, false);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param useVirtualThreads whether to start a new virtual thread for each command instead of
+     *                          using the fixed-size pool of {@link ZooKeeperReplicationConfig#numWorkers()}
+     *                          threads. Requires Java 21 or above.
+     */
+    public ZooKeeperCommandExecutor(ZooKeeperReplicationConfig cfg,
+                                    File dataDir, CommandExecutor delegate,
+                                    MeterRegistry meterRegistry,
+                                    @Nullable String zone,
+                                    @Nullable Consumer<CommandExecutor> onTakeLeadership,
+                                    @Nullable Consumer<CommandExecutor> onReleaseLeadership,
+                                    @Nullable Consumer<CommandExecutor> onTakeZoneLeadership,
+                                    @Nullable Consumer<CommandExecutor> onReleaseZoneLeadership,
+                                    boolean useVirtualThreads) {
         super(onTakeLeadership, onReleaseLeadership, onTakeZoneLeadership, onReleaseZoneLeadership);
 
         this.cfg = requireNonNull(cfg, "cfg");
@@ -393,6 +416,9 @@ public final class ZooKeeperCommandExecutor
         this.delegate = requireNonNull(delegate, "delegate");
         this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
         this.zone = zone;
+        checkArgument(!useVirtualThreads || VirtualThreads.isSupported(),
+                      "virtual threads are not supported by the current JVM.");
+        this.useVirtualThreads = useVirtualThreads;
 
         // Register the metrics which are accessible even before started.
         Gauge.builder("replica.id", this, self -> replicaId()).register(meterRegistry);
@@ -506,12 +532,18 @@ public final class ZooKeeperCommandExecutor
             delegate.start().get();
 
             // Get the command executor threads ready.
-            final ThreadPoolExecutor executor = new ThreadPoolExecutor(
-                    cfg.numWorkers(), cfg.numWorkers(),
-                    // TODO(minwoox): Use LinkedTransferQueue when we upgrade to JDK 21.
-                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
-                    new DefaultThreadFactory("zookeeper-command-executor", true));
-            executor.allowCoreThreadTimeOut(true);
+            final ExecutorService executor;
+            if (useVirtualThreads) {
+                executor = VirtualThreads.newThreadPerTaskExecutor("zookeeper-command-executor-");
+            } else {
+                final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                        cfg.numWorkers(), cfg.numWorkers(),
+                        // TODO(minwoox): Use LinkedTransferQueue when we upgrade to JDK 21.
+                        60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                        new DefaultThreadFactory("zookeeper-command-executor", true));
+                threadPool.allowCoreThreadTimeOut(true);
+                executor = threadPool;
+            }
 
             this.executor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "zkCommandExecutor");
             canReplicate = true;
@@ -31,6 +31,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
@@ -44,8 +45,6 @@ import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableMap;
-
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.CentralDogmaException;
 import com.linecorp.centraldogma.internal.Util;
@@ -64,7 +63,11 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
     private final String childTypeName;
     private final File rootDir;
     private final StorageRemovalManager storageRemovalManager = new StorageRemovalManager();
+    private final RemovalIndex removalIndex = new RemovalIndex();
+    // The directories which were marked for purge but have not been deleted yet.
+    private final Set<File> markedForPurge = ConcurrentHashMap.newKeySet();
     private final ConcurrentMap<String, T> children = new ConcurrentHashMap<>();
+    private final Set<String> childNames = Collections.unmodifiableSet(children.keySet());
     private final AtomicReference<Supplier<CentralDogmaException>> closed = new AtomicReference<>();
     private final Executor purgeWorker;
     private final EncryptionStorageManager encryptionStorageManager;
@@ -109,13 +112,25 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
      * Initializes this {@link StorageManager} by loading all children.
      */
     protected final void init() {
+        init(null);
+    }
+
+    /**
+     * Initializes this {@link StorageManager} by loading all children using the specified
+     * {@link StorageLoader}. The children are loaded one by one if the {@link StorageLoader} is {@code null}.
+     */
+    protected final void init(@Nullable StorageLoader loader) {
         checkState(!initialized, "initialized already");
         Throwable cause = null;
         try {
             final File[] childFiles = rootDir.listFiles();
             if (childFiles != null) {
-                for (File f : childFiles) {
-                    loadChild(f);
+                if (loader != null) {
+                    loader.loadAll(Arrays.asList(childFiles), childTypeName, this::loadOrIndexChild);
+                } else {
+                    for (File f : childFiles) {
+                        loadOrIndexChild(f);
+                    }
                 }
             }
             initialized = true;
@@ -135,6 +150,57 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
         }
     }
 
+    private void loadOrIndexChild(File f) {
+        if (!indexRemovedChild(f)) {
+            loadChild(f);
+        }
+    }
+
+    /**
+     * Adds the specified directory to {@link #removalIndex} or {@link #markedForPurge} if it is a removed
+     * child or a child marked for purge.
+     *
+     * @return {@code true} if the specified directory is a removed child or a child marked for purge
+     */
+    private boolean indexRemovedChild(File f) {
+        final String name = f.getName();
+        if (name.endsWith(SUFFIX_REMOVED)) {
+            final String childName = name.substring(0, name.length() - SUFFIX_REMOVED.length());
+            if (isValidChildName(childName) && f.isDirectory()) {
+                addRemoval(childName, storageRemovalManager.readRemoval(f));
+            }
+            return true;
+        }
+        if (name.endsWith(SUFFIX_PURGED)) {
+            if (f.isDirectory()) {
+                markedForPurge.add(f);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void addRemoval(String name, Instant removedAt) {
+        removalIndex.add(name, removedAt);
+        onRemoved(name, removedAt);
+    }
+
+    private void removeRemoval(String name) {
+        removalIndex.remove(name);
+        onRemovalCleared(name);
+    }
+
+    /**
+     * Invoked when the child with the specified {@code name} is removed or found removed while initializing.
+     */
+    protected void onRemoved(String name, Instant removedAt) {}
+
+    /**
+     * Invoked when the removed child with the specified {@code name} is restored, marked for purge or
+     * no longer managed by this {@link StorageManager} because it is closed.
+     */
+    protected void onRemovalCleared(String name) {}
+
     @Nullable
     private T loadChild(File f) {
         final String name = f.getName();
@@ -193,6 +259,8 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
         for (Map.Entry<String, T> e : children.entrySet()) {
             closeChild(e.getKey(), e.getValue(), failureCauseSupplier);
         }
+        // The removed children of a closed storage are not purged by this storage anymore.
+        removalIndex.list().keySet().forEach(this::onRemovalCleared);
     }
 
     @Override
@@ -279,35 +347,21 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
     }
 
     @Override
-    public Map<String, Instant> listRemoved() {
+    public Set<String> names() {
         ensureOpen();
-        final File[] files = rootDir.listFiles();
-        if (files == null) {
-            return ImmutableMap.of();
-        }
-
-        Arrays.sort(files);
-        final ImmutableMap.Builder<String, Instant> builder = ImmutableMap.builder();
-
-        for (File f : files) {
-            if (!f.isDirectory()) {
-                continue;
-            }
-
-            String name = f.getName();
-            if (!name.endsWith(SUFFIX_REMOVED)) {
-                continue;
-            }
-
-            name = name.substring(0, name.length() - SUFFIX_REMOVED.length());
-            if (!isValidChildName(name) || children.containsKey(name)) {
-                continue;
-            }
+        return childNames;
+    }
 
-            builder.put(name, storageRemovalManager.readRemoval(f));
-        }
+    @Override
+    public Map<String, Instant> listRemoved() {
+        ensureOpen();
+        return removalIndex.list();
+    }
 
-        return builder.build();
+    @Override
+    public Map<String, Instant> listRemoved(Instant removedBefore) {
+        ensureOpen();
+        return removalIndex.listRemovedBefore(requireNonNull(removedBefore, "removedBefore"));
     }
 
     @Override
@@ -321,10 +375,11 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
         closeChild(name, child, () -> newStorageNotFoundException(name));
 
         final File file = new File(rootDir, name);
-        storageRemovalManager.mark(file);
+        final Instant removedAt = storageRemovalManager.mark(file);
         if (!file.renameTo(new File(rootDir, name + SUFFIX_REMOVED))) {
             throw new StorageException("failed to mark " + childTypeName + " as removed: " + name);
         }
+        addRemoval(name, removedAt);
     }
 
     @Override
@@ -342,6 +397,7 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
         if (!removed.renameTo(unremoved)) {
             throw new StorageException("failed to mark " + childTypeName + " as unremoved: " + name);
         }
+        removeRemoval(name);
         storageRemovalManager.unmark(unremoved);
 
         final T unremovedChild = loadChild(unremoved);
@@ -385,10 +441,12 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
                     throw new StorageException("failed to mark " + childTypeName + " for purge: " + removed, e);
                 }
             }
+            removeRemoval(name);
+            markedForPurge.add(marked);
         }
         final File purged = marked;
         try {
-            purgeWorker().execute(() -> deletePurged(purged));
+            purgeWorker().execute(() -> deletePurged0(purged));
         } catch (Exception e) {
             logger.warn("Failed to schedule a purge task for {}:", purged, e);
         }
@@ -397,18 +455,15 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
     @Override
     public void purgeMarked() {
         ensureOpen();
-        final File[] files = rootDir.listFiles();
-        if (files == null) {
-            return;
+        for (File f : markedForPurge) {
+            deletePurged0(f);
         }
-        for (File f : files) {
-            if (!f.isDirectory()) {
-                continue;
-            }
-            final String name = f.getName();
-            if (name.endsWith(SUFFIX_PURGED)) {
-                deletePurged(f);
-            }
+    }
+
+    private void deletePurged0(File file) {
+        // Do not delete the same directory twice when purgeMarked() races with the purge worker.
+        if (markedForPurge.remove(file)) {
+            deletePurged(file);
         }
     }
 
@@ -449,15 +504,17 @@ public abstract class DirectoryBasedStorageManager<T> implements StorageManager<
 
         private static final String REMOVAL_TIMESTAMP_NAME = "removal.timestamp";
 
-        void mark(File file) {
+        Instant mark(File file) {
             final File removal = new File(file, REMOVAL_TIMESTAMP_NAME);
-            final String timestamp = DateTimeFormatter.ISO_INSTANT.format(Instant.now());
+            final Instant now = Instant.now();
+            final String timestamp = DateTimeFormatter.ISO_INSTANT.format(now);
             try {
                 Files.write(removal.toPath(), timestamp.getBytes(StandardCharsets.UTF_8));
             } catch (IOException e) {
                 throw new StorageException(
                         "failed to write a removal timestamp for " + childTypeName + ": " + removal);
             }
+            return now;
         }
 
         void unmark(File file) {
@@ -26,7 +26,6 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -110,42 +109,35 @@ public class PurgeSchedulingService {
     @VisibleForTesting
     void purgeProjectAndRepository(CommandExecutor commandExecutor,
                                    MetadataService metadataService) {
-        final long minAllowedTimestamp = System.currentTimeMillis() - maxRemovedRepositoryAgeMillis;
-        final Predicate<Instant> olderThanMinAllowed =
-                removedAt -> removedAt.toEpochMilli() < minAllowedTimestamp;
-
-        purgeProject(commandExecutor, olderThanMinAllowed);
-        purgeRepository(commandExecutor, metadataService, olderThanMinAllowed);
+        final Instant removedBefore =
+                Instant.ofEpochMilli(System.currentTimeMillis() - maxRemovedRepositoryAgeMillis);
+        purgeProject(commandExecutor, removedBefore);
+        purgeRepository(commandExecutor, metadataService, removedBefore);
     }
 
-    private void purgeProject(CommandExecutor commandExecutor,
-                              Predicate<Instant> olderThanMinAllowed) {
+    private void purgeProject(CommandExecutor commandExecutor, Instant removedBefore) {
+        // Only the projects which are due are listed from the in-memory index, without scanning the disk.
         projectManager
-                .listRemoved()
-                .forEach((projectName, removal) -> {
-                    if (olderThanMinAllowed.test(removal)) {
-                        commandExecutor
-                                .execute(Command.purgeProject(Author.SYSTEM, projectName)).join();
-                    }
+                .listRemoved(removedBefore)
+                .keySet()
+                .forEach(projectName -> {
+                    commandExecutor.execute(Command.purgeProject(Author.SYSTEM, projectName)).join();
                 });
     }
 
     private void purgeRepository(CommandExecutor commandExecutor,
                                  MetadataService metadataService,
-                                 Predicate<Instant> olderThanMinAllowed) {
+                                 Instant removedBefore) {
+        // The due repositories of all projects are listed from one server-wide index.
         projectManager
-                .list()
-                .forEach((unused, project) -> {
-                    project.repos().listRemoved()
-                           .forEach((repoName, removal) -> {
-                               if (olderThanMinAllowed.test(removal)) {
-                                   commandExecutor.execute(Command.purgeRepository(Author.SYSTEM,
-                                                                                   project.name(),
-                                                                                   repoName))
-                                                  .join();
-                                   metadataService.purgeRepo(Author.SYSTEM, project.name(), repoName).join();
-                               }
-                           });
+                .listRemovedRepositories(removedBefore)
+                .cellSet()
+                .forEach(cell -> {
+                    final String projectName = cell.getRowKey();
+                    final String repoName = cell.getColumnKey();
+                    commandExecutor.execute(Command.purgeRepository(Author.SYSTEM, projectName, repoName))
+                                   .join();
+                    metadataService.purgeRepo(Author.SYSTEM, projectName, repoName).join();
                 });
     }
 
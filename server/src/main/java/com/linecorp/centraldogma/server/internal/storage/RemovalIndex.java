@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+
+/**
+ * An in-memory index of the removed children of a {@link DirectoryBasedStorageManager}, so that the removed
+ * children are listed without scanning the root directory. The index is built once when the
+ * {@link DirectoryBasedStorageManager} is initialized and then updated whenever a child is removed,
+ * restored or marked for purge. {@code DefaultProjectManager} also keeps the removed repositories of all
+ * projects in one index, so that the due repositories are listed without visiting every project.
+ */
+public final class RemovalIndex {
+
+    private static final Comparator<Map.Entry<String, Instant>> REMOVAL_ORDER =
+            Map.Entry.<String, Instant>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    private final Map<String, Instant> removals = new HashMap<>();
+    // The same entries as 'removals', ordered by the removal time.
+    private final NavigableSet<Map.Entry<String, Instant>> queue = new TreeSet<>(REMOVAL_ORDER);
+
+    public synchronized void add(String name, Instant removedAt) {
+        remove(name);
+        removals.put(name, removedAt);
+        queue.add(Maps.immutableEntry(name, removedAt));
+    }
+
+    public synchronized void remove(String name) {
+        final Instant removedAt = removals.remove(name);
+        if (removedAt != null) {
+            queue.remove(Maps.immutableEntry(name, removedAt));
+        }
+    }
+
+    /**
+     * Returns all removed children sorted by their names.
+     */
+    public synchronized Map<String, Instant> list() {
+        return ImmutableSortedMap.copyOf(removals);
+    }
+
+    /**
+     * Returns the children removed before the specified {@link Instant}, in the order of removal.
+     * Only the entries which are due are visited.
+     */
+    public synchronized Map<String, Instant> listRemovedBefore(Instant removedBefore) {
+        if (queue.isEmpty() || !queue.first().getValue().isBefore(removedBefore)) {
+            return ImmutableMap.of();
+        }
+        final ImmutableMap.Builder<String, Instant> builder = ImmutableMap.builder();
+        for (Map.Entry<String, Instant> e : queue) {
+            if (!e.getValue().isBefore(removedBefore)) {
+                break;
+            }
+            builder.put(e);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("removals", removals.size())
+                          .toString();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import com.linecorp.armeria.common.util.SafeCloseable;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Loads the children of {@link DirectoryBasedStorageManager}s in parallel while the server starts up.
+ *
+ * <p>The thread which calls {@link #loadAll(List, String, Consumer)} also loads the children rather than
+ * just waiting for the worker threads. Therefore, a child which loads its own children with the same
+ * {@link StorageLoader}, e.g. a project which opens its repositories, never waits for a task which is
+ * not running yet, even if all worker threads are busy.
+ *
+ * <p>The following meters are recorded:
+ * <ul>
+ *   <li>{@code storage.load.duration} - the time taken to load all children of a storage manager</li>
+ *   <li>{@code storage.load.child.duration} - the time taken to load a child</li>
+ * </ul>
+ * Both meters are tagged with the {@code type} of the children, e.g. {@code project} or
+ * {@code repository}.
+ */
+public final class StorageLoader implements SafeCloseable {
+
+    private final int parallelism;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+
+    public StorageLoader(int parallelism, MeterRegistry meterRegistry) {
+        checkArgument(parallelism > 0, "parallelism: %s (expected: > 0)", parallelism);
+        this.parallelism = parallelism;
+        this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        executor = Executors.newFixedThreadPool(parallelism, new DefaultThreadFactory("storage-loader", true));
+    }
+
+    /**
+     * Loads the specified {@code childDirs} using the specified {@code loader} and waits until all of them
+     * are loaded. If any of them fails to load, the remaining children are not loaded and the first failure
+     * is rethrown with the other failures suppressed.
+     */
+    void loadAll(List<File> childDirs, String childType, Consumer<File> loader) {
+        if (childDirs.isEmpty()) {
+            return;
+        }
+
+        final Timer childTimer = Timer.builder("storage.load.child.duration")
+                                      .tag("type", childType)
+                                      .register(meterRegistry);
+        final long startTimeNanos = System.nanoTime();
+        final Queue<File> pending = new ConcurrentLinkedQueue<>(childDirs);
+        final CountDownLatch latch = new CountDownLatch(childDirs.size());
+        final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean failed = new AtomicBoolean();
+
+        final Runnable task = () -> {
+            for (;;) {
+                final File childDir = pending.poll();
+                if (childDir == null) {
+                    return;
+                }
+                try {
+                    if (!failed.get()) {
+                        final long childStartTimeNanos = System.nanoTime();
+                        loader.accept(childDir);
+                        childTimer.record(System.nanoTime() - childStartTimeNanos, TimeUnit.NANOSECONDS);
+                    }
+                } catch (Throwable t) {
+                    failed.set(true);
+                    failures.add(t);
+                } finally {
+                    latch.countDown();
+                }
+            }
+        };
+
+        final int numHelpers = Math.min(parallelism, childDirs.size()) - 1;
+        for (int i = 0; i < numHelpers; i++) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // Closed already. Load the remaining children in the current thread.
+                break;
+            }
+        }
+        task.run();
+        Uninterruptibles.awaitUninterruptibly(latch);
+
+        Timer.builder("storage.load.duration")
+             .tag("type", childType)
+             .register(meterRegistry)
+             .record(System.nanoTime() - startTimeNanos, TimeUnit.NANOSECONDS);
+
+        final Throwable cause = failures.poll();
+        if (cause == null) {
+            return;
+        }
+        failures.forEach(cause::addSuppressed);
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.ephemeral;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+
+import com.linecorp.centraldogma.internal.Jackson;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
+
+/**
+ * An {@link EphemeralStore} which keeps the entries in memory and writes each entry to
+ * {@code <rootDir>/<namespace>/<SHA-256 of key>.json} before applying an update. Because an update is
+ * persisted before the replicated command that carries it is acknowledged, a replica which crashes
+ * replays only the updates which have not been persisted yet. The root directory is created when the
+ * first entry is written, so the store costs nothing if no one uses it.
+ */
+public final class FileBasedEphemeralStore implements EphemeralStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileBasedEphemeralStore.class);
+
+    private static final Pattern NAMESPACE_PATTERN = Pattern.compile("^[a-zA-Z0-9][a-zA-Z0-9._-]*$");
+
+    private static final String ENTRY_SUFFIX = ".json";
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+
+    private final Path rootDir;
+    private final Map<String, Namespace> namespaces = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates a new instance which loads the entries in the specified {@code rootDir}.
+     */
+    public FileBasedEphemeralStore(Path rootDir) {
+        this.rootDir = requireNonNull(rootDir, "rootDir");
+        if (Files.isDirectory(rootDir)) {
+            loadEntries();
+        }
+    }
+
+    private void loadEntries() {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(rootDir, Files::isDirectory)) {
+            for (Path dir : stream) {
+                final String namespaceName = dir.getFileName().toString();
+                if (!NAMESPACE_PATTERN.matcher(namespaceName).matches()) {
+                    continue;
+                }
+                final Namespace namespace = namespace(namespaceName);
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, '*' + ENTRY_SUFFIX)) {
+                    for (Path file : files) {
+                        final JsonNode entry = Jackson.readTree(Files.readAllBytes(file));
+                        namespace.entries.put(entry.get(KEY).asText(), entry.get(VALUE));
+                    }
+                }
+                logger.info("Loaded {} ephemeral entries of {}", namespace.entries.size(), namespaceName);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load the ephemeral entries from " + rootDir, e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public JsonNode get(String namespace, String key) {
+        requireNonNull(key, "key");
+        final Namespace ns = namespaces.get(validateNamespace(namespace));
+        return ns != null ? ns.entries.get(key) : null;
+    }
+
+    @Override
+    public Map<String, JsonNode> entries(String namespace) {
+        final Namespace ns = namespaces.get(validateNamespace(namespace));
+        return ns != null ? ImmutableMap.copyOf(ns.entries) : ImmutableMap.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException if failed to persist the update. The update is not applied.
+     */
+    @Override
+    public void update(String namespace, String key, @Nullable JsonNode value) {
+        requireNonNull(key, "key");
+        checkState(!closed, "closed already");
+        final String namespaceName = validateNamespace(namespace);
+        final Namespace ns = namespace(namespaceName);
+        synchronized (ns) {
+            final JsonNode oldValue = ns.entries.get(key);
+            if (value == null ? oldValue == null : value.equals(oldValue)) {
+                return;
+            }
+            try {
+                persist(namespaceName, key, value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(
+                        "Failed to persist the ephemeral entry " + key + " of " + namespaceName, e);
+            }
+            if (value != null) {
+                ns.entries.put(key, value);
+            } else {
+                ns.entries.remove(key);
+            }
+            for (Listener listener : ns.listeners) {
+                notifyListener(listener, key, value);
+            }
+        }
+    }
+
+    @Override
+    public void addListener(String namespace, Listener listener) {
+        requireNonNull(listener, "listener");
+        final Namespace ns = namespace(validateNamespace(namespace));
+        synchronized (ns) {
+            ns.listeners.add(listener);
+            ns.entries.forEach((key, value) -> notifyListener(listener, key, value));
+        }
+    }
+
+    @Override
+    public void removeListener(String namespace, Listener listener) {
+        requireNonNull(listener, "listener");
+        final Namespace ns = namespaces.get(validateNamespace(namespace));
+        if (ns != null) {
+            ns.listeners.remove(listener);
+        }
+    }
+
+    private static void notifyListener(Listener listener, String key, @Nullable JsonNode value) {
+        try {
+            listener.onUpdate(key, value);
+        } catch (Throwable t) {
+            logger.warn("Unexpected exception from a listener: {}", listener, t);
+        }
+    }
+
+    private Namespace namespace(String namespace) {
+        return namespaces.computeIfAbsent(namespace, unused -> new Namespace());
+    }
+
+    private static String validateNamespace(String namespace) {
+        requireNonNull(namespace, "namespace");
+        checkArgument(NAMESPACE_PATTERN.matcher(namespace).matches(),
+                      "namespace: %s (expected: %s)", namespace, NAMESPACE_PATTERN);
+        return namespace;
+    }
+
+    private void persist(String namespace, String key, @Nullable JsonNode value) throws IOException {
+        final Path dir = rootDir.resolve(namespace);
+        final String fileName = Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + ENTRY_SUFFIX;
+        final Path file = dir.resolve(fileName);
+        if (value == null) {
+            Files.deleteIfExists(file);
+            return;
+        }
+
+        Files.createDirectories(dir);
+        final ObjectNode entry = JsonNodeFactory.instance.objectNode();
+        entry.put(KEY, key);
+        entry.set(VALUE, value);
+        final Path tempFile = dir.resolve(fileName + ".tmp");
+        Files.write(tempFile, Jackson.writeValueAsBytes(entry));
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private static final class Namespace {
+        private final Map<String, JsonNode> entries = new ConcurrentHashMap<>();
+        private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    }
+}
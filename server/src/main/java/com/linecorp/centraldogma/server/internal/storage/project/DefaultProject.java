@@ -55,10 +55,15 @@ import com.linecorp.centraldogma.common.RepositoryExistsException;
 import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.server.command.CommitResult;
+import com.linecorp.centraldogma.server.internal.storage.RemovalIndex;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoader;
 import com.linecorp.centraldogma.server.internal.storage.repository.DefaultMetaRepository;
+import com.linecorp.centraldogma.server.internal.storage.repository.MeteredRepositoryManager;
 import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache;
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryMetrics;
 import com.linecorp.centraldogma.server.internal.storage.repository.cache.CachingRepositoryManager;
 import com.linecorp.centraldogma.server.internal.storage.repository.git.GitRepositoryManager;
+import com.linecorp.centraldogma.server.internal.storage.repository.git.IdleRepositoryEvictor;
 import com.linecorp.centraldogma.server.metadata.Member;
 import com.linecorp.centraldogma.server.metadata.ProjectMetadata;
 import com.linecorp.centraldogma.server.metadata.TokenRegistration;
@@ -91,7 +96,9 @@ public class DefaultProject implements Project {
      * Opens an existing project.
      */
     DefaultProject(File rootDir, Executor repositoryWorker, Executor purgeWorker,
-                   @Nullable RepositoryCache cache, EncryptionStorageManager encryptionStorageManager) {
+                   @Nullable RepositoryCache cache, EncryptionStorageManager encryptionStorageManager,
+                   @Nullable StorageLoader loader, @Nullable IdleRepositoryEvictor evictor,
+                   @Nullable RepositoryMetrics metrics, @Nullable RemovalIndex removedRepositories) {
         requireNonNull(rootDir, "rootDir");
         requireNonNull(repositoryWorker, "repositoryWorker");
         requireNonNull(encryptionStorageManager, "encryptionStorageManager");
@@ -101,7 +108,8 @@ public class DefaultProject implements Project {
         }
 
         name = rootDir.getName();
-        repos = newRepoManager(rootDir, repositoryWorker, purgeWorker, cache, encryptionStorageManager);
+        repos = newRepoManager(rootDir, repositoryWorker, purgeWorker, cache, encryptionStorageManager,
+                               loader, evictor, metrics, removedRepositories);
         if (!repos.exists(REPO_DOGMA)) {
             throw new IllegalStateException(
                     "The project does not have a dogma repository: " + rootDir);
@@ -137,7 +145,9 @@ public class DefaultProject implements Project {
     DefaultProject(@Nullable Project dogmaProject, File rootDir,
                    Executor repositoryWorker, Executor purgeWorker,
                    long creationTimeMillis, Author author, @Nullable RepositoryCache cache,
-                   EncryptionStorageManager encryptionStorageManager, boolean encryptDogmaRepo) {
+                   EncryptionStorageManager encryptionStorageManager, boolean encryptDogmaRepo,
+                   @Nullable IdleRepositoryEvictor evictor, @Nullable RepositoryMetrics metrics,
+                   @Nullable RemovalIndex removedRepositories) {
         requireNonNull(rootDir, "rootDir");
         requireNonNull(repositoryWorker, "repositoryWorker");
         requireNonNull(encryptionStorageManager, "encryptionStorageManager");
@@ -147,7 +157,8 @@ public class DefaultProject implements Project {
         }
 
         name = rootDir.getName();
-        repos = newRepoManager(rootDir, repositoryWorker, purgeWorker, cache, encryptionStorageManager);
+        repos = newRepoManager(rootDir, repositoryWorker, purgeWorker, cache, encryptionStorageManager,
+                               null, evictor, metrics, removedRepositories);
 
         final boolean useDogmaRepoAsMetaRepo;
         if (dogmaProject == null) {
@@ -178,12 +189,20 @@ public class DefaultProject implements Project {
 
     private RepositoryManager newRepoManager(File rootDir, Executor repositoryWorker, Executor purgeWorker,
                                              @Nullable RepositoryCache cache,
-                                             EncryptionStorageManager encryptionStorageManager) {
+                                             EncryptionStorageManager encryptionStorageManager,
+                                             @Nullable StorageLoader loader,
+                                             @Nullable IdleRepositoryEvictor evictor,
+                                             @Nullable RepositoryMetrics metrics,
+                                             @Nullable RemovalIndex removedRepositories) {
         // Enable caching if 'cache' is not null.
         final GitRepositoryManager gitRepos =
                 new GitRepositoryManager(this, rootDir, repositoryWorker, purgeWorker, cache,
-                                         encryptionStorageManager);
-        return cache == null ? gitRepos : new CachingRepositoryManager(gitRepos, cache);
+                                         encryptionStorageManager, loader, evictor, metrics,
+                                         removedRepositories);
+        final RepositoryManager repos =
+                cache == null ? gitRepos : new CachingRepositoryManager(gitRepos, cache);
+        // Record the latency of the operations, including the cache hits, if 'metrics' is not null.
+        return metrics == null ? repos : new MeteredRepositoryManager(repos, metrics);
     }
 
     private void createReservedRepos(long creationTimeMillis, boolean useDogmaRepoAsMetaRepo,
@@ -23,6 +23,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
@@ -31,12 +32,19 @@ import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.CentralDogmaException;
 import com.linecorp.centraldogma.common.ProjectExistsException;
 import com.linecorp.centraldogma.common.ProjectNotFoundException;
 import com.linecorp.centraldogma.server.internal.storage.DirectoryBasedStorageManager;
+import com.linecorp.centraldogma.server.internal.storage.RemovalIndex;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoader;
 import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache;
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryMetrics;
+import com.linecorp.centraldogma.server.internal.storage.repository.git.IdleRepositoryEvictor;
 import com.linecorp.centraldogma.server.storage.encryption.EncryptionStorageManager;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
 import com.linecorp.centraldogma.server.storage.project.Project;
@@ -52,10 +60,31 @@ public final class DefaultProjectManager extends DirectoryBasedStorageManager<Pr
     private final Executor repositoryWorker;
     @Nullable
     private final RepositoryCache cache;
+    @Nullable
+    private final IdleRepositoryEvictor evictor;
+    private final RepositoryMetrics metrics;
+    // The removed repositories of all projects, keyed by "<project>/<repository>".
+    private final RemovalIndex removedRepositories = new RemovalIndex();
+    // Non-null only while loading the existing projects.
+    @Nullable
+    private volatile StorageLoader startupLoader;
 
     public DefaultProjectManager(File rootDir, Executor repositoryWorker, Executor purgeWorker,
                                  MeterRegistry meterRegistry, @Nullable String cacheSpec,
                                  EncryptionStorageManager encryptionStorageManager) {
+        this(rootDir, repositoryWorker, purgeWorker, meterRegistry, cacheSpec, encryptionStorageManager,
+             Runtime.getRuntime().availableProcessors(), 0);
+    }
+
+    /**
+     * Creates a new instance which loads the existing projects and repositories using up to
+     * {@code numStartupLoaders} threads. If {@code repositoryIdleTimeoutMillis} is positive, the repositories
+     * are opened on their first access and closed after staying idle for {@code repositoryIdleTimeoutMillis}.
+     */
+    public DefaultProjectManager(File rootDir, Executor repositoryWorker, Executor purgeWorker,
+                                 MeterRegistry meterRegistry, @Nullable String cacheSpec,
+                                 EncryptionStorageManager encryptionStorageManager, int numStartupLoaders,
+                                 long repositoryIdleTimeoutMillis) {
         super(rootDir, Project.class, purgeWorker, encryptionStorageManager);
 
         requireNonNull(meterRegistry, "meterRegistry");
@@ -63,21 +92,50 @@ public final class DefaultProjectManager extends DirectoryBasedStorageManager<Pr
 
         this.repositoryWorker = repositoryWorker;
         cache = cacheSpec != null ? new RepositoryCache(cacheSpec, meterRegistry) : null;
+        metrics = new RepositoryMetrics(meterRegistry);
+        if (repositoryIdleTimeoutMillis > 0) {
+            evictor = new IdleRepositoryEvictor(repositoryIdleTimeoutMillis, meterRegistry);
+        } else {
+            evictor = null;
+        }
 
-        init();
+        final StorageLoader startupLoader = new StorageLoader(numStartupLoaders, meterRegistry);
+        this.startupLoader = startupLoader;
+        try {
+            init(startupLoader);
+        } finally {
+            this.startupLoader = null;
+            startupLoader.close();
+        }
     }
 
     @Override
     public void close(Supplier<CentralDogmaException> failureCauseSupplier) {
         super.close(failureCauseSupplier);
+        if (evictor != null) {
+            evictor.close();
+        }
         if (cache != null) {
             cache.clear();
         }
     }
 
+    @Override
+    public Table<String, String, Instant> listRemovedRepositories(Instant removedBefore) {
+        ensureOpen();
+        requireNonNull(removedBefore, "removedBefore");
+        final ImmutableTable.Builder<String, String, Instant> builder = ImmutableTable.builder();
+        removedRepositories.listRemovedBefore(removedBefore).forEach((name, removedAt) -> {
+            final int slashIdx = name.indexOf('/');
+            builder.put(name.substring(0, slashIdx), name.substring(slashIdx + 1), removedAt);
+        });
+        return builder.build();
+    }
+
     @Override
     protected Project openChild(File childDir) throws Exception {
-        return new DefaultProject(childDir, repositoryWorker, purgeWorker(), cache, encryptionStorageManager());
+        return new DefaultProject(childDir, repositoryWorker, purgeWorker(), cache, encryptionStorageManager(),
+                                  startupLoader, evictor, metrics, removedRepositories);
     }
 
     @Override
@@ -90,7 +148,8 @@ public final class DefaultProjectManager extends DirectoryBasedStorageManager<Pr
             dogmaProject = null;
         }
         return new DefaultProject(dogmaProject, childDir, repositoryWorker, purgeWorker(),
-                                  creationTimeMillis, author, cache, encryptionStorageManager(), encrypt);
+                                  creationTimeMillis, author, cache, encryptionStorageManager(), encrypt,
+                                  evictor, metrics, removedRepositories);
     }
 
     @Override
@@ -19,12 +19,12 @@ package com.linecorp.centraldogma.server.internal.storage.repository;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.linecorp.centraldogma.internal.CredentialUtil.credentialFile;
+import static com.linecorp.centraldogma.server.internal.storage.repository.MetaRepositoryView.MIRRORS_AND_CREDENTIALS;
 import static com.linecorp.centraldogma.server.internal.storage.repository.MirrorConverter.convertToMirror;
 import static com.linecorp.centraldogma.server.internal.storage.repository.MirrorConverter.converterToMirrorConfig;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
@@ -36,10 +36,8 @@ import com.cronutils.model.field.CronFieldName;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.base.Strings;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
-import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.common.util.UnmodifiableFuture;
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.Change;
@@ -55,6 +53,7 @@ import com.linecorp.centraldogma.server.command.CommitResult;
 import com.linecorp.centraldogma.server.credential.Credential;
 import com.linecorp.centraldogma.server.mirror.Mirror;
 import com.linecorp.centraldogma.server.mirror.MirrorDirection;
+import com.linecorp.centraldogma.server.storage.repository.DiffResultType;
 import com.linecorp.centraldogma.server.storage.repository.MetaRepository;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
 
@@ -80,10 +79,17 @@ public final class DefaultMetaRepository extends RepositoryWrapper implements Me
                PROJECT_CREDENTIAL_PATH_PATTERN.matcher(path).matches();
     }
 
+    static boolean isMirrorFile(String path) {
+        return MIRROR_PATH_PATTERN.matcher(path).matches();
+    }
+
     public static String mirrorFile(String repoName, String mirrorId) {
         return "/repos/" + repoName + "/mirrors/" + mirrorId + ".json";
     }
 
+    @Nullable
+    private volatile MetaRepositoryView view;
+
     public DefaultMetaRepository(Repository repo) {
         super(repo);
     }
@@ -155,75 +161,56 @@ public final class DefaultMetaRepository extends RepositoryWrapper implements Me
     }
 
     private CompletableFuture<List<Mirror>> allMirrors() {
-        return find(ALL_MIRRORS).thenCompose(this::handleAllMirrors);
+        return view().thenApply(view -> view.mirrors(parent()));
     }
 
     private CompletableFuture<List<Mirror>> allMirrors(String repoName) {
-        return find("/repos/" + repoName + "/mirrors/*.json").thenCompose(this::handleAllMirrors);
-    }
-
-    private CompletableFuture<List<Mirror>> handleAllMirrors(Map<String, Entry<?>> entries) {
-        if (entries.isEmpty()) {
-            return UnmodifiableFuture.completedFuture(ImmutableList.of());
-        }
-
-        final CompletableFuture<List<Credential>> future = allCredentials();
-        return future.thenApply(credentials -> {
-            final List<MirrorConfig> mirrorConfigs = toMirrorConfigs(entries);
-            return mirrorConfigs.stream()
-                                .map(mirrorConfig -> convertToMirror(
-                                        mirrorConfig, parent(), credentials))
-                                .filter(Objects::nonNull)
-                                .collect(toImmutableList());
-        });
-    }
-
-    private CompletableFuture<List<Credential>> allCredentials() {
-        // TODO(minwoox): Optimize to read only the necessary files.
-        return find("/credentials/*.json,/repos/*/credentials/*.json").thenApply(
-                entries -> credentials(entries, null));
-    }
-
-    private List<MirrorConfig> toMirrorConfigs(Map<String, Entry<?>> entries) {
-        return entries.entrySet().stream().map(entry -> {
-                          final JsonNode mirrorJson = (JsonNode) entry.getValue().content();
-                          if (!mirrorJson.isObject()) {
-                              throw newInvalidJsonTypeException(entry.getKey(), mirrorJson);
-                          }
-                          try {
-                              return Jackson.treeToValue(mirrorJson, MirrorConfig.class);
-                          } catch (JsonProcessingException e) {
-                              return Exceptions.throwUnsafely(e);
-                          }
-                      })
-                      .collect(toImmutableList());
+        return view().thenApply(view -> view.mirrors(parent(), repoName));
     }
 
     @Override
     public CompletableFuture<List<Credential>> projectCredentials() {
-        return find(CREDENTIALS + "*.json").thenApply(
-                entries -> credentials(entries, null));
+        return view().thenApply(MetaRepositoryView::projectCredentials);
     }
 
     @Override
     public CompletableFuture<List<Credential>> repoCredentials(String repoName) {
-        return find("/repos/" + repoName + CREDENTIALS + "*.json")
-                .thenApply(entries -> credentials(entries, repoName));
+        return view().thenApply(view -> view.repoCredentials(repoName));
     }
 
-    private List<Credential> credentials(Map<String, Entry<?>> entries, @Nullable String repoName) {
-        if (entries.isEmpty()) {
-            return ImmutableList.of();
+    /**
+     * Returns the {@link MetaRepositoryView} of the latest {@link Revision}. The view is updated only with
+     * the files changed since the last view was built, so no file is parsed if nothing has been changed.
+     */
+    private CompletableFuture<MetaRepositoryView> view() {
+        final Revision head = normalizeNow(Revision.HEAD);
+        final MetaRepositoryView view = this.view;
+        if (view != null && view.revision().equals(head)) {
+            return UnmodifiableFuture.completedFuture(view);
         }
-        try {
-            return parseCredentials(entries);
-        } catch (Exception e) {
-            String message = "failed to load the credential configuration";
-            if (repoName != null) {
-                message += " for " + repoName;
-            }
-            throw new RepositoryMetadataException(message, e);
+
+        final CompletableFuture<MetaRepositoryView> future;
+        if (view == null || view.revision().compareTo(head) > 0) {
+            future = newView(head);
+        } else {
+            future = diff(view.revision(), head, MIRRORS_AND_CREDENTIALS, DiffResultType.PATCH_TO_UPSERT)
+                    .thenCompose(changes -> {
+                        final MetaRepositoryView updated = view.update(head, changes);
+                        return updated != null ? UnmodifiableFuture.completedFuture(updated) : newView(head);
+                    });
         }
+        return future.thenApply(latest -> {
+            final MetaRepositoryView current = this.view;
+            if (current == null || current.revision().compareTo(latest.revision()) < 0) {
+                this.view = latest;
+            }
+            return latest;
+        });
+    }
+
+    private CompletableFuture<MetaRepositoryView> newView(Revision revision) {
+        return find(revision, MIRRORS_AND_CREDENTIALS, ImmutableMap.of()).thenApply(
+                entries -> MetaRepositoryView.of(parent().name() + '/' + name(), revision, entries));
     }
 
     @Override
@@ -250,21 +237,6 @@ public final class DefaultMetaRepository extends RepositoryWrapper implements Me
         });
     }
 
-    private List<Credential> parseCredentials(Map<String, Entry<?>> entries)
-            throws JsonProcessingException {
-        return entries.entrySet().stream()
-                      .map(entry -> {
-                          try {
-                              //noinspection unchecked
-                              return parseCredential(entry.getKey(),
-                                                     (Entry<JsonNode>) entry.getValue());
-                          } catch (JsonProcessingException e) {
-                              return Exceptions.throwUnsafely(e);
-                          }
-                      })
-                      .collect(toImmutableList());
-    }
-
     private Credential parseCredential(String credentialFile, Entry<JsonNode> entry)
             throws JsonProcessingException {
         final JsonNode credentialJson = entry.content();
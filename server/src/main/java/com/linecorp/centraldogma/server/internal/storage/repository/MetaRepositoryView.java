@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository;
+
+import static com.linecorp.centraldogma.server.internal.storage.repository.DefaultMetaRepository.ALL_MIRRORS;
+import static com.linecorp.centraldogma.server.internal.storage.repository.DefaultMetaRepository.CREDENTIALS;
+import static com.linecorp.centraldogma.server.internal.storage.repository.DefaultMetaRepository.isMirrorFile;
+import static com.linecorp.centraldogma.server.internal.storage.repository.MirrorConverter.convertToMirror;
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+import com.linecorp.centraldogma.server.credential.Credential;
+import com.linecorp.centraldogma.server.mirror.Mirror;
+import com.linecorp.centraldogma.server.storage.project.Project;
+import com.linecorp.centraldogma.server.storage.repository.DiffResultType;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+import com.linecorp.centraldogma.server.storage.repository.RepositoryManager;
+
+/**
+ * An immutable view of the mirror and credential configurations in a {@link DefaultMetaRepository} at
+ * a certain {@link Revision}. Every configuration file is parsed only once; the view of a newer
+ * {@link Revision} is derived from the previous one by parsing only the files that have been changed.
+ */
+final class MetaRepositoryView {
+
+    static final String MIRRORS_AND_CREDENTIALS =
+            ALL_MIRRORS + ',' + CREDENTIALS + "*.json,/repos/*" + CREDENTIALS + "*.json";
+
+    /**
+     * Returns a new view which is built from the specified {@code entries} found with
+     * {@link #MIRRORS_AND_CREDENTIALS}.
+     */
+    static MetaRepositoryView of(String repoName, Revision revision, Map<String, Entry<?>> entries) {
+        final NavigableMap<String, Object> files = new TreeMap<>();
+        entries.forEach((path, entry) -> files.put(path, parse(repoName, path, (JsonNode) entry.content())));
+        return new MetaRepositoryView(repoName, revision, files);
+    }
+
+    /**
+     * Parses the specified configuration file.
+     *
+     * @return a {@link MirrorConfig} or a {@link Credential}, or the {@link Exception} raised while parsing.
+     *         The {@link Exception} is kept so that it is raised only when the file is actually accessed.
+     */
+    private static Object parse(String repoName, String path, JsonNode content) {
+        if (!content.isObject()) {
+            return new RepositoryMetadataException(repoName + path + " must be an object: " +
+                                                   content.getNodeType());
+        }
+        try {
+            if (isMirrorFile(path)) {
+                return Jackson.treeToValue(content, MirrorConfig.class);
+            }
+            return Jackson.treeToValue(content, Credential.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            return e;
+        }
+    }
+
+    private final String repoName;
+    private final Revision revision;
+    private final NavigableMap<String, Object> files;
+    private final List<Credential> credentials;
+    @Nullable
+    private final Exception credentialFailure;
+
+    @Nullable
+    private volatile Mirrors mirrors;
+
+    private MetaRepositoryView(String repoName, Revision revision, NavigableMap<String, Object> files) {
+        this.repoName = repoName;
+        this.revision = revision;
+        this.files = files;
+
+        final ImmutableList.Builder<Credential> credentials = ImmutableList.builder();
+        Exception credentialFailure = null;
+        for (Map.Entry<String, Object> e : files.entrySet()) {
+            if (isMirrorFile(e.getKey())) {
+                continue;
+            }
+            final Object value = e.getValue();
+            if (value instanceof Credential) {
+                credentials.add((Credential) value);
+            } else if (credentialFailure == null) {
+                credentialFailure = (Exception) value;
+            }
+        }
+        this.credentials = credentials.build();
+        this.credentialFailure = credentialFailure;
+    }
+
+    Revision revision() {
+        return revision;
+    }
+
+    /**
+     * Returns a new view of the specified {@link Revision} by applying the specified {@code changes} which
+     * were computed with {@link DiffResultType#PATCH_TO_UPSERT}.
+     *
+     * @return the new view, or {@code null} if the {@code changes} cannot be applied incrementally
+     */
+    @Nullable
+    MetaRepositoryView update(Revision revision, Map<String, Change<?>> changes) {
+        if (changes.isEmpty()) {
+            final MetaRepositoryView view = new MetaRepositoryView(repoName, revision, files);
+            // Nothing has been changed, so the converted mirrors are still valid.
+            view.mirrors = mirrors;
+            return view;
+        }
+
+        final NavigableMap<String, Object> files = new TreeMap<>(this.files);
+        for (Change<?> change : changes.values()) {
+            switch (change.type()) {
+                case UPSERT_JSON:
+                    files.put(change.path(), parse(repoName, change.path(), (JsonNode) change.content()));
+                    break;
+                case REMOVE:
+                    files.remove(change.path());
+                    break;
+                default:
+                    // A rename or a text change; rebuild the view from scratch.
+                    return null;
+            }
+        }
+        return new MetaRepositoryView(repoName, revision, files);
+    }
+
+    /**
+     * Returns the {@link Mirror}s of all repositories.
+     */
+    List<Mirror> mirrors(Project parent) {
+        return mirrors(parent, null);
+    }
+
+    /**
+     * Returns the {@link Mirror}s of the specified repository, or all repositories if {@code null}.
+     */
+    List<Mirror> mirrors(Project parent, @Nullable String localRepoName) {
+        final Map<String, Object> mirrorFiles =
+                localRepoName == null ? files : prefixed("/repos/" + localRepoName + "/mirrors/");
+        boolean hasMirror = false;
+        for (Map.Entry<String, Object> e : mirrorFiles.entrySet()) {
+            if (!isMirrorFile(e.getKey())) {
+                continue;
+            }
+            final Object value = e.getValue();
+            if (value instanceof Exception) {
+                return Exceptions.throwUnsafely((Exception) value);
+            }
+            hasMirror = true;
+        }
+        if (!hasMirror) {
+            return ImmutableList.of();
+        }
+        if (credentialFailure != null) {
+            throw new RepositoryMetadataException("failed to load the credential configuration",
+                                                  credentialFailure);
+        }
+
+        Mirrors mirrors = this.mirrors;
+        if (mirrors == null || !mirrors.isValid(parent.repos())) {
+            this.mirrors = mirrors = new Mirrors(parent);
+        }
+        return mirrors.get(localRepoName);
+    }
+
+    /**
+     * Returns the project-level {@link Credential}s.
+     */
+    List<Credential> projectCredentials() {
+        return credentials(CREDENTIALS, null);
+    }
+
+    /**
+     * Returns the {@link Credential}s of the specified repository.
+     */
+    List<Credential> repoCredentials(String repoName) {
+        return credentials("/repos/" + repoName + CREDENTIALS, repoName);
+    }
+
+    private List<Credential> credentials(String prefix, @Nullable String repoName) {
+        final ImmutableList.Builder<Credential> builder = ImmutableList.builder();
+        for (Object value : prefixed(prefix).values()) {
+            if (value instanceof Credential) {
+                builder.add((Credential) value);
+            } else {
+                String message = "failed to load the credential configuration";
+                if (repoName != null) {
+                    message += " for " + repoName;
+                }
+                throw new RepositoryMetadataException(message, (Exception) value);
+            }
+        }
+        return builder.build();
+    }
+
+    private Map<String, Object> prefixed(String prefix) {
+        return files.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("repoName", repoName)
+                          .add("revision", revision)
+                          .add("numFiles", files.size())
+                          .toString();
+    }
+
+    /**
+     * The {@link Mirror}s converted from the {@link MirrorConfig}s of a view. They remain valid as long as
+     * the local repositories of the {@link MirrorConfig}s are neither created nor removed.
+     */
+    private final class Mirrors {
+
+        private final List<String> paths;
+        private final List<MirrorConfig> configs;
+        private final Repository[] localRepos;
+        // A Mirror, an Exception raised while converting, or null if the local repository does not exist.
+        private final Object[] results;
+        @Nullable
+        private final List<Mirror> allMirrors;
+
+        Mirrors(Project parent) {
+            final ImmutableList.Builder<String> paths = ImmutableList.builder();
+            final ImmutableList.Builder<MirrorConfig> configs = ImmutableList.builder();
+            files.forEach((path, value) -> {
+                if (value instanceof MirrorConfig) {
+                    paths.add(path);
+                    configs.add((MirrorConfig) value);
+                }
+            });
+            this.paths = paths.build();
+            this.configs = configs.build();
+
+            final int size = this.configs.size();
+            localRepos = new Repository[size];
+            results = new Object[size];
+            final ImmutableList.Builder<Mirror> allMirrors = ImmutableList.builder();
+            boolean failed = false;
+            for (int i = 0; i < size; i++) {
+                final MirrorConfig config = this.configs.get(i);
+                localRepos[i] = localRepo(parent.repos(), config);
+                try {
+                    final Mirror mirror = convertToMirror(config, parent, credentials);
+                    results[i] = mirror;
+                    if (mirror != null) {
+                        allMirrors.add(mirror);
+                    }
+                } catch (RuntimeException e) {
+                    results[i] = e;
+                    failed = true;
+                }
+            }
+            this.allMirrors = failed ? null : allMirrors.build();
+        }
+
+        boolean isValid(RepositoryManager repos) {
+            for (int i = 0; i < localRepos.length; i++) {
+                if (localRepos[i] != localRepo(repos, configs.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        List<Mirror> get(@Nullable String localRepoName) {
+            if (localRepoName == null && allMirrors != null) {
+                return allMirrors;
+            }
+
+            final String prefix = localRepoName != null ? "/repos/" + localRepoName + "/mirrors/" : "/";
+            final ImmutableList.Builder<Mirror> builder = ImmutableList.builder();
+            for (int i = 0; i < results.length; i++) {
+                if (!paths.get(i).startsWith(prefix)) {
+                    continue;
+                }
+                final Object result = results[i];
+                if (result instanceof RuntimeException) {
+                    throw (RuntimeException) result;
+                }
+                if (result != null) {
+                    builder.add((Mirror) result);
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    @Nullable
+    private static Repository localRepo(RepositoryManager repos, MirrorConfig config) {
+        final String name = config.localRepo();
+        return repos.exists(name) ? repos.get(name) : null;
+    }
+}
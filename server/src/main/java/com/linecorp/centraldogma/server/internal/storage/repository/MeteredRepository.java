@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.jgit.lib.ObjectId;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Commit;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Markup;
+import com.linecorp.centraldogma.common.MergeQuery;
+import com.linecorp.centraldogma.common.MergedEntry;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.common.RevisionRange;
+import com.linecorp.centraldogma.server.command.CommitResult;
+import com.linecorp.centraldogma.server.command.ContentTransformer;
+import com.linecorp.centraldogma.server.storage.project.Project;
+import com.linecorp.centraldogma.server.storage.repository.CacheableCall;
+import com.linecorp.centraldogma.server.storage.repository.DiffResultType;
+import com.linecorp.centraldogma.server.storage.repository.FindOption;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+import com.linecorp.centraldogma.server.storage.repository.RepositoryListener;
+
+/**
+ * A {@link Repository} which records the latency of the operations of its delegate into
+ * {@link RepositoryMeters} and emits a {@link RepositoryOperationEvent} for a slow operation.
+ */
+final class MeteredRepository implements Repository {
+
+    private final Repository repo;
+    private final RepositoryMeters meters;
+
+    MeteredRepository(Repository repo, RepositoryMeters meters) {
+        this.repo = requireNonNull(repo, "repo");
+        this.meters = requireNonNull(meters, "meters");
+    }
+
+    private <T> CompletableFuture<T> record(RepositoryOperation operation,
+                                            Supplier<CompletableFuture<T>> call) {
+        final RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        final long startNanos = System.nanoTime();
+        final CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (Throwable t) {
+            complete(operation, event, startNanos, false);
+            throw t;
+        }
+        future.handle((unused, cause) -> {
+            complete(operation, event, startNanos, cause == null);
+            return null;
+        });
+        return future;
+    }
+
+    private void complete(RepositoryOperation operation, RepositoryOperationEvent event,
+                          long startNanos, boolean success) {
+        meters.recordOperation(operation, System.nanoTime() - startNanos, success);
+        event.end();
+        if (event.shouldCommit()) {
+            event.project = meters.projectName();
+            event.repository = meters.repoName();
+            event.operation = operation.tagValue();
+            event.succeeded = success;
+            event.commit();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Entry<?>> getOrNull(Revision revision, String path) {
+        return record(RepositoryOperation.FIND, () -> repo.getOrNull(revision, path));
+    }
+
+    @Override
+    public <T> CompletableFuture<Entry<T>> getOrNull(Revision revision, Query<T> query) {
+        return record(RepositoryOperation.FIND, () -> repo.getOrNull(revision, query));
+    }
+
+    @Override
+    public CompletableFuture<ObjectId> findBlobIdOrNull(Revision revision, String path) {
+        return record(RepositoryOperation.FIND, () -> repo.findBlobIdOrNull(revision, path));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Entry<?>>> find(Revision revision, String pathPattern,
+                                                         Map<FindOption<?>, ?> options) {
+        return record(RepositoryOperation.FIND, () -> repo.find(revision, pathPattern, options));
+    }
+
+    @Override
+    public CompletableFuture<List<Commit>> history(Revision from, Revision to,
+                                                   String pathPattern, int maxCommits) {
+        return record(RepositoryOperation.HISTORY, () -> repo.history(from, to, pathPattern, maxCommits));
+    }
+
+    @Override
+    public CompletableFuture<Change<?>> diff(Revision from, Revision to, Query<?> query) {
+        return record(RepositoryOperation.DIFF, () -> repo.diff(from, to, query));
+    }
+
+    @Override
+    public CompletableFuture<Change<?>> diff(Revision from, Revision to, Query<?> query,
+                                             DiffResultType diffResultType) {
+        return record(RepositoryOperation.DIFF, () -> repo.diff(from, to, query, diffResultType));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Change<?>>> diff(Revision from, Revision to, String pathPattern,
+                                                          DiffResultType diffResultType) {
+        return record(RepositoryOperation.DIFF, () -> repo.diff(from, to, pathPattern, diffResultType));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Change<?>>> previewDiff(Revision baseRevision,
+                                                                 Iterable<Change<?>> changes) {
+        return record(RepositoryOperation.PREVIEW_DIFF, () -> repo.previewDiff(baseRevision, changes));
+    }
+
+    @Override
+    public CompletableFuture<CommitResult> commit(Revision baseRevision, long commitTimeMillis,
+                                                  Author author, String summary, String detail, Markup markup,
+                                                  Iterable<Change<?>> changes, boolean directExecution) {
+        return record(RepositoryOperation.COMMIT,
+                      () -> repo.commit(baseRevision, commitTimeMillis, author, summary, detail, markup,
+                                        changes, directExecution));
+    }
+
+    @Override
+    public CompletableFuture<CommitResult> commit(Revision baseRevision, long commitTimeMillis, Author author,
+                                                  String summary, String detail, Markup markup,
+                                                  ContentTransformer<?> transformer) {
+        return record(RepositoryOperation.COMMIT,
+                      () -> repo.commit(baseRevision, commitTimeMillis, author, summary, detail, markup,
+                                        transformer));
+    }
+
+    @Override
+    public CompletableFuture<Revision> findLatestRevision(Revision lastKnownRevision, String pathPattern,
+                                                          boolean errorOnEntryNotFound) {
+        return record(RepositoryOperation.FIND_LATEST_REVISION,
+                      () -> repo.findLatestRevision(lastKnownRevision, pathPattern, errorOnEntryNotFound));
+    }
+
+    @Override
+    public <T> CompletableFuture<MergedEntry<T>> mergeFiles(Revision revision, MergeQuery<T> query) {
+        return record(RepositoryOperation.MERGE_FILES, () -> repo.mergeFiles(revision, query));
+    }
+
+    // Simple delegations
+
+    @Override
+    public CompletableFuture<Revision> watch(Revision lastKnownRevision, String pathPattern,
+                                             boolean errorOnEntryNotFound) {
+        // Not recorded because a watch usually lasts until a new commit or its timeout.
+        return repo.watch(lastKnownRevision, pathPattern, errorOnEntryNotFound);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> execute(CacheableCall<T> cacheableCall) {
+        return repo.execute(cacheableCall);
+    }
+
+    @Override
+    public void addListener(RepositoryListener listener) {
+        repo.addListener(listener);
+    }
+
+    @Override
+    public org.eclipse.jgit.lib.Repository jGitRepository() {
+        return repo.jGitRepository();
+    }
+
+    @Override
+    public <T> T withJGitRepository(Function<? super org.eclipse.jgit.lib.Repository, ? extends T> action) {
+        return repo.withJGitRepository(action);
+    }
+
+    @Override
+    public Project parent() {
+        return repo.parent();
+    }
+
+    @Override
+    public File repoDir() {
+        return repo.repoDir();
+    }
+
+    @Override
+    public String name() {
+        return repo.name();
+    }
+
+    @Override
+    public long creationTimeMillis() {
+        return repo.creationTimeMillis();
+    }
+
+    @Override
+    public Author author() {
+        return repo.author();
+    }
+
+    @Override
+    public Revision normalizeNow(Revision revision) {
+        return repo.normalizeNow(revision);
+    }
+
+    @Override
+    public RevisionRange normalizeNow(Revision from, Revision to) {
+        return repo.normalizeNow(from, to);
+    }
+
+    @Override
+    public boolean isEncrypted() {
+        return repo.isEncrypted();
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("repo", repo)
+                .toString();
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository;
+
+import static java.util.Objects.requireNonNull;
+
+import com.linecorp.centraldogma.server.storage.repository.RepositoryManager;
+
+/**
+ * A {@link RepositoryManager} which records the latency of the operations of its repositories.
+ *
+ * @see RepositoryMeters
+ */
+public class MeteredRepositoryManager extends RepositoryManagerWrapper {
+    public MeteredRepositoryManager(RepositoryManager repoManager, RepositoryMetrics metrics) {
+        super(repoManager, repo -> new MeteredRepository(
+                repo, requireNonNull(metrics, "metrics").meters(repoManager.parent().name(), repo.name())));
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
@@ -41,6 +42,7 @@ public class RepositoryManagerWrapper implements RepositoryManager {
     private final RepositoryManager delegate;
     private final Function<Repository, Repository> repoWrapper;
     private final ConcurrentMap<String, Repository> repos = new ConcurrentHashMap<>();
+    private final Set<String> repoNames = Collections.unmodifiableSet(repos.keySet());
 
     public RepositoryManagerWrapper(RepositoryManager repoManager,
                                     Function<Repository, Repository> repoWrapper) {
@@ -106,11 +108,22 @@ public class RepositoryManagerWrapper implements RepositoryManager {
         return Collections.unmodifiableMap(ret);
     }
 
+    @Override
+    public Set<String> names() {
+        ensureOpen();
+        return repoNames;
+    }
+
     @Override
     public Map<String, Instant> listRemoved() {
         return delegate.listRemoved();
     }
 
+    @Override
+    public Map<String, Instant> listRemoved(Instant removedBefore) {
+        return delegate.listRemoved(removedBefore);
+    }
+
     @Override
     public void remove(String name) {
         repos.compute(name, (n, v) -> {
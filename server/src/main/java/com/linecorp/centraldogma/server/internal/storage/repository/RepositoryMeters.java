@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the latency of the {@link RepositoryOperation}s of a repository.
+ *
+ * <p>The following meters are recorded with the {@code project} and {@code repo} tags:
+ * <ul>
+ *   <li>{@code repository.operation.duration{operation, result=success|failure}} - the time taken to
+ *       complete an operation, including the time waiting for a repository worker and a lock</li>
+ *   <li>{@code repository.operation.queue.wait.duration{operation}} - the time an operation waited for
+ *       a repository worker</li>
+ *   <li>{@code repository.lock.wait.duration{type=read|write}} - the time taken to acquire the read or
+ *       write lock of a repository</li>
+ * </ul>
+ * The meters are registered when they are recorded for the first time, so that the operations which
+ * never happen to a repository do not create any meters. No percentile histogram is published because
+ * there can be thousands of repositories. The meters are removed when the repository is removed.
+ */
+public final class RepositoryMeters {
+
+    private static final RepositoryOperation[] operations = RepositoryOperation.values();
+
+    private final MeterRegistry meterRegistry;
+    private final String projectName;
+    private final String repoName;
+
+    // Indexed by (operation.ordinal() * 2 + (success ? 0 : 1)).
+    private final AtomicReferenceArray<Timer> operationTimers =
+            new AtomicReferenceArray<>(operations.length * 2);
+    private final AtomicReferenceArray<Timer> queueWaitTimers = new AtomicReferenceArray<>(operations.length);
+    private final Timer readLockWaitTimer;
+    private final Timer writeLockWaitTimer;
+    private volatile boolean closed;
+
+    RepositoryMeters(MeterRegistry meterRegistry, String projectName, String repoName) {
+        this.meterRegistry = meterRegistry;
+        this.projectName = projectName;
+        this.repoName = repoName;
+        readLockWaitTimer = lockWaitTimer("read");
+        writeLockWaitTimer = lockWaitTimer("write");
+    }
+
+    private Timer lockWaitTimer(String type) {
+        return Timer.builder("repository.lock.wait.duration")
+                    .tags("project", projectName, "repo", repoName, "type", type)
+                    .register(meterRegistry);
+    }
+
+    /**
+     * Records the time taken to complete the specified {@link RepositoryOperation}.
+     */
+    public void recordOperation(RepositoryOperation operation, long durationNanos, boolean success) {
+        final int index = operation.ordinal() * 2 + (success ? 0 : 1);
+        Timer timer = operationTimers.get(index);
+        if (timer == null) {
+            if (closed) {
+                // Do not register a meter of the removed repository again.
+                return;
+            }
+            timer = Timer.builder("repository.operation.duration")
+                         .tags("project", projectName, "repo", repoName,
+                               "operation", operation.tagValue(), "result", success ? "success" : "failure")
+                         .register(meterRegistry);
+            // MeterRegistry returns the same Timer for the same ID, so a race is harmless.
+            operationTimers.set(index, timer);
+        }
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time the specified {@link RepositoryOperation} waited for a repository worker.
+     */
+    public void recordQueueWait(RepositoryOperation operation, long durationNanos) {
+        final int index = operation.ordinal();
+        Timer timer = queueWaitTimers.get(index);
+        if (timer == null) {
+            if (closed) {
+                return;
+            }
+            timer = Timer.builder("repository.operation.queue.wait.duration")
+                         .tags("project", projectName, "repo", repoName, "operation", operation.tagValue())
+                         .register(meterRegistry);
+            queueWaitTimers.set(index, timer);
+        }
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time taken to acquire the read or write lock of the repository.
+     */
+    public void recordLockWait(boolean write, long durationNanos) {
+        (write ? writeLockWaitTimer : readLockWaitTimer).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Removes the meters of the repository from the {@link MeterRegistry}.
+     */
+    void close() {
+        closed = true;
+        for (int i = 0; i < operationTimers.length(); i++) {
+            remove(operationTimers.get(i));
+        }
+        for (int i = 0; i < queueWaitTimers.length(); i++) {
+            remove(queueWaitTimers.get(i));
+        }
+        remove(readLockWaitTimer);
+        remove(writeLockWaitTimer);
+    }
+
+    private void remove(@Nullable Timer timer) {
+        if (timer != null) {
+            meterRegistry.remove(timer);
+        }
+    }
+
+    String projectName() {
+        return projectName;
+    }
+
+    String repoName() {
+        return repoName;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("project", projectName)
+                          .add("repo", repoName)
+                          .toString();
+    }
+}
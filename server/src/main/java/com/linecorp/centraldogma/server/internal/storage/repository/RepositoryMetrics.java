@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.MoreObjects;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Creates the {@link RepositoryMeters} of each repository. Only the first
+ * {@link #DEFAULT_MAX_NUM_TAGGED_REPOSITORIES} repositories get their own {@code project} and {@code repo}
+ * tags, so that a server with many repositories does not create an unbounded number of meters.
+ * The repositories beyond the limit share the meters tagged with {@value #OTHERS}. The meters of
+ * a repository are removed and its slot is released when the repository is removed.
+ */
+public final class RepositoryMetrics {
+
+    public static final int DEFAULT_MAX_NUM_TAGGED_REPOSITORIES = 1000;
+
+    /**
+     * The value of the {@code project} and {@code repo} tags of the repositories beyond the limit.
+     * Parentheses are not allowed in a project or repository name, so it never clashes with a real name.
+     */
+    public static final String OTHERS = "(others)";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxNumTaggedRepositories;
+    private final ConcurrentMap<String, RepositoryMeters> meters = new ConcurrentHashMap<>();
+    private final RepositoryMeters others;
+
+    public RepositoryMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, DEFAULT_MAX_NUM_TAGGED_REPOSITORIES);
+    }
+
+    public RepositoryMetrics(MeterRegistry meterRegistry, int maxNumTaggedRepositories) {
+        this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        checkArgument(maxNumTaggedRepositories >= 0,
+                      "maxNumTaggedRepositories: %s (expected: >= 0)", maxNumTaggedRepositories);
+        this.maxNumTaggedRepositories = maxNumTaggedRepositories;
+        others = new RepositoryMeters(meterRegistry, OTHERS, OTHERS);
+    }
+
+    /**
+     * Returns the {@link RepositoryMeters} of the specified repository.
+     */
+    public RepositoryMeters meters(String projectName, String repoName) {
+        requireNonNull(projectName, "projectName");
+        requireNonNull(repoName, "repoName");
+        final String key = projectName + '/' + repoName;
+        final RepositoryMeters existing = meters.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        // The limit may be exceeded slightly by the concurrent calls, which is fine.
+        if (meters.size() >= maxNumTaggedRepositories) {
+            return others;
+        }
+        return meters.computeIfAbsent(key, unused -> new RepositoryMeters(meterRegistry,
+                                                                          projectName, repoName));
+    }
+
+    /**
+     * Removes the {@link RepositoryMeters} of the specified repository so that another repository can take
+     * its slot.
+     */
+    public void remove(String projectName, String repoName) {
+        requireNonNull(projectName, "projectName");
+        requireNonNull(repoName, "repoName");
+        final RepositoryMeters removed = meters.remove(projectName + '/' + repoName);
+        if (removed != null) {
+            removed.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("numTaggedRepositories", meters.size())
+                          .add("maxNumTaggedRepositories", maxNumTaggedRepositories)
+                          .toString();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository;
+
+/**
+ * The operations of a {@link com.linecorp.centraldogma.server.storage.repository.Repository} recorded by
+ * {@link RepositoryMeters}.
+ */
+public enum RepositoryOperation {
+    FIND("find"),
+    HISTORY("history"),
+    DIFF("diff"),
+    PREVIEW_DIFF("previewDiff"),
+    FIND_LATEST_REVISION("findLatestRevision"),
+    COMMIT("commit"),
+    MERGE_FILES("mergeFiles");
+
+    private final String tagValue;
+
+    RepositoryOperation(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    /**
+     * Returns the value of the {@code operation} tag.
+     */
+    public String tagValue() {
+        return tagValue;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A JFR event which is emitted when a {@link RepositoryOperation} takes longer than the threshold.
+ * The threshold can be changed in the JFR settings file with the event name
+ * {@code com.linecorp.centraldogma.RepositoryOperation}.
+ */
+@Name("com.linecorp.centraldogma.RepositoryOperation")
+@Label("Repository Operation")
+@Category({ "Central Dogma", "Repository" })
+@Description("A repository operation which took longer than the threshold")
+@Threshold("100 ms")
+@StackTrace(false)
+final class RepositoryOperationEvent extends Event {
+
+    @Label("Project")
+    String project;
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -22,6 +22,9 @@ import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.eclipse.jgit.lib.ObjectId;
 
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.Change;
@@ -61,6 +64,11 @@ public class RepositoryWrapper implements Repository {
         return unwrap().jGitRepository();
     }
 
+    @Override
+    public <T> T withJGitRepository(Function<? super org.eclipse.jgit.lib.Repository, ? extends T> action) {
+        return unwrap().withJGitRepository(action);
+    }
+
     @Override
     public Project parent() {
         return unwrap().parent();
@@ -126,6 +134,11 @@ public class RepositoryWrapper implements Repository {
         return unwrap().find(revision, pathPattern);
     }
 
+    @Override
+    public CompletableFuture<ObjectId> findBlobIdOrNull(Revision revision, String path) {
+        return unwrap().findBlobIdOrNull(revision, path);
+    }
+
     @Override
     public CompletableFuture<Map<String, Entry<?>>> find(Revision revision, String pathPattern,
                                                          Map<FindOption<?>, ?> options) {
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.cache;
+
+import static com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache.logger;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.storage.repository.AbstractCacheableCall;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+
+final class CacheableBlobIdCall extends AbstractCacheableCall<ObjectId> {
+
+    private final Revision revision;
+    private final String path;
+    private final int hashCode;
+
+    CacheableBlobIdCall(Repository repo, Revision revision, String path) {
+        super(repo);
+        this.revision = requireNonNull(revision, "revision");
+        this.path = requireNonNull(path, "path");
+
+        hashCode = Objects.hash(revision, path) * 31 + System.identityHashCode(repo);
+
+        assert !revision.isRelative();
+    }
+
+    @Override
+    public int weigh(ObjectId value) {
+        return path.length() + Constants.OBJECT_ID_STRING_LENGTH;
+    }
+
+    @Override
+    public CompletableFuture<ObjectId> execute() {
+        logger.debug("Cache miss: {}", this);
+        return repo().findBlobIdOrNull(revision, path);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        final CacheableBlobIdCall that = (CacheableBlobIdCall) o;
+        return revision.equals(that.revision) &&
+               path.equals(that.path);
+    }
+
+    @Override
+    protected void toString(ToStringHelper helper) {
+        helper.add("revision", revision)
+              .add("path", path);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache.logger;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.spotify.futures.CompletableFutures;
+
+import com.linecorp.centraldogma.common.CentralDogmaException;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.QueryExecutionException;
+import com.linecorp.centraldogma.common.QueryType;
+import com.linecorp.centraldogma.internal.Jackson;
+import com.linecorp.centraldogma.server.storage.repository.AbstractCacheableCall;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+
+/**
+ * Applies a JSON path {@link Query} to the content of a blob. The result is cached by the blob ID and
+ * the normalized expressions of the {@link Query}, so the same {@link Query} on a file which was not
+ * changed since the last evaluation reuses the result, even if it's made at a different revision or
+ * with a different but equivalent expression.
+ */
+final class CacheableQueryCall<T> extends AbstractCacheableCall<T> {
+
+    private static final int SCALAR_WEIGHT = 8;
+
+    private final ObjectId blobId;
+    private final List<String> normalizedExpressions;
+    private final int hashCode;
+
+    // Not a part of the key. The content is released once the query is evaluated, so that the cached
+    // result does not keep the whole file alive through its key.
+    private final Query<T> query;
+    @Nullable
+    private T content;
+
+    CacheableQueryCall(Repository repo, ObjectId blobId, Query<T> query, T content) {
+        super(repo);
+        this.blobId = requireNonNull(blobId, "blobId");
+        this.query = requireNonNull(query, "query");
+        this.content = requireNonNull(content, "content");
+        checkArgument(query.type() == QueryType.JSON_PATH, "query: %s (expected: a JSON path query)", query);
+
+        // e.g. "$.a" and "$['a']" are compiled into the same path.
+        normalizedExpressions = query.expressions().stream()
+                                     .map(Jackson::normalizeJsonPath)
+                                     .collect(toImmutableList());
+        hashCode = (blobId.hashCode() * 31 + normalizedExpressions.hashCode()) * 31 +
+                   System.identityHashCode(repo);
+    }
+
+    @Override
+    public int weigh(T value) {
+        int weight = Constants.OBJECT_ID_STRING_LENGTH;
+        for (String expression : normalizedExpressions) {
+            weight += expression.length();
+        }
+        if (value instanceof JsonNode) {
+            weight += weigh((JsonNode) value);
+        }
+        return weight;
+    }
+
+    /**
+     * Estimates the weight of the specified {@link JsonNode} without serializing it.
+     */
+    private static int weigh(JsonNode node) {
+        if (node.isTextual()) {
+            return node.textValue().length();
+        }
+        if (node.isObject()) {
+            int weight = 1;
+            for (final Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext();) {
+                final Map.Entry<String, JsonNode> field = it.next();
+                weight += field.getKey().length() + weigh(field.getValue());
+            }
+            return weight;
+        }
+        if (node.isArray()) {
+            int weight = 1;
+            for (JsonNode element : node) {
+                weight += weigh(element);
+            }
+            return weight;
+        }
+        // A number, a boolean or null.
+        return SCALAR_WEIGHT;
+    }
+
+    @Override
+    public CompletableFuture<T> execute() {
+        logger.debug("Cache miss: {}", this);
+        final T content = this.content;
+        // A call is executed only once, when it's put into the cache as a key.
+        checkState(content != null, "executed already: %s", this);
+        this.content = null;
+        try {
+            return CompletableFuture.completedFuture(query.apply(content));
+        } catch (CentralDogmaException e) {
+            return CompletableFutures.exceptionallyCompletedFuture(e);
+        } catch (Exception e) {
+            return CompletableFutures.exceptionallyCompletedFuture(new QueryExecutionException(e));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        final CacheableQueryCall<?> that = (CacheableQueryCall<?>) o;
+        return blobId.equals(that.blobId) &&
+               normalizedExpressions.equals(that.normalizedExpressions);
+    }
+
+    @Override
+    protected void toString(ToStringHelper helper) {
+        helper.add("blobId", blobId.name())
+              .add("expressions", normalizedExpressions);
+    }
+}
@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,10 +43,12 @@ import com.linecorp.centraldogma.common.Change;
 import com.linecorp.centraldogma.common.Commit;
 import com.linecorp.centraldogma.common.Entry;
 import com.linecorp.centraldogma.common.EntryNotFoundException;
+import com.linecorp.centraldogma.common.EntryType;
 import com.linecorp.centraldogma.common.Markup;
 import com.linecorp.centraldogma.common.MergeQuery;
 import com.linecorp.centraldogma.common.MergedEntry;
 import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.QueryType;
 import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.common.RevisionRange;
 import com.linecorp.centraldogma.server.command.CommitResult;
@@ -77,6 +80,11 @@ final class CachingRepository implements Repository {
         return repo.jGitRepository();
     }
 
+    @Override
+    public <T> T withJGitRepository(Function<? super org.eclipse.jgit.lib.Repository, ? extends T> action) {
+        return repo.withJGitRepository(action);
+    }
+
     @Override
     public long creationTimeMillis() {
         return repo.creationTimeMillis();
@@ -100,6 +108,40 @@ final class CachingRepository implements Repository {
         return find(normalizedRevision, ALL_PATH, FIND_ALL_WITH_CONTENT).thenApply(all -> all.get(path));
     }
 
+    @Override
+    public <T> CompletableFuture<Entry<T>> getOrNull(Revision revision, Query<T> query) {
+        requireNonNull(revision, "revision");
+        requireNonNull(query, "query");
+
+        if (query.type() != QueryType.JSON_PATH) {
+            // The other queries return the entry as it is.
+            return Repository.super.getOrNull(revision, query);
+        }
+
+        final Revision normalizedRevision = normalizeNow(revision);
+        return getOrNull(normalizedRevision, query.path()).thenCompose(entry -> {
+            if (entry == null || entry.type() != EntryType.JSON) {
+                // Let the default implementation handle the missing or unsupported entries.
+                return Repository.super.getOrNull(normalizedRevision, query);
+            }
+
+            // A file is often unchanged across many revisions, so the result of a query is cached by
+            // the blob of the file rather than by the revision.
+            return execute(new CacheableBlobIdCall(repo, normalizedRevision, query.path()))
+                    .thenCompose(blobId -> {
+                        if (blobId == null) {
+                            return Repository.super.getOrNull(normalizedRevision, query);
+                        }
+
+                        @SuppressWarnings("unchecked")
+                        final T content = (T) entry.content();
+                        return execute(new CacheableQueryCall<>(repo, blobId, query, content))
+                                .thenApply(result -> Entry.of(entry.revision(), query.path(),
+                                                              EntryType.JSON, result));
+                    });
+        });
+    }
+
     @Override
     public CompletableFuture<Map<String, Entry<?>>> find(Revision revision, String pathPattern,
                                                          Map<FindOption<?>, ?> options) {
@@ -27,6 +27,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.Nullable;
 
@@ -69,11 +70,13 @@ final class DefaultCommitIdDatabase implements CommitIdDatabase {
 
     private static final int RECORD_LEN = 4 + 20; // 32-bit integer + 160-bit SHA1 hash
 
-    private static final ThreadLocal<ByteBuffer> threadLocalBuffer =
-            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(RECORD_LEN));
-
     private final Path path;
     private final FileChannel channel;
+    // Not synchronized with a monitor, so that a virtual thread writing a record is not pinned to
+    // its carrier thread during the file I/O.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock.
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(RECORD_LEN);
     private final boolean fsync;
     @Nullable
     private volatile Revision headRevision;
@@ -140,8 +143,9 @@ final class DefaultCommitIdDatabase implements CommitIdDatabase {
             throw new RevisionNotFoundException(revision);
         }
 
-        final ByteBuffer buf = threadLocalBuffer.get();
-        buf.clear();
+        // A heap buffer rather than a thread-local direct buffer, because a repository worker can be
+        // a short-lived virtual thread. The JDK copies it via its own cached direct buffer.
+        final ByteBuffer buf = ByteBuffer.allocate(RECORD_LEN);
         long pos = (long) (revision.major() - 1) * RECORD_LEN;
         try {
             do {
@@ -171,7 +175,16 @@ final class DefaultCommitIdDatabase implements CommitIdDatabase {
         put(revision, commitId, true);
     }
 
-    private synchronized void put(Revision revision, ObjectId commitId, boolean safeMode) {
+    private void put(Revision revision, ObjectId commitId, boolean safeMode) {
+        writeLock.lock();
+        try {
+            put0(revision, commitId, safeMode);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void put0(Revision revision, ObjectId commitId, boolean safeMode) {
         if (safeMode) {
             final Revision expected;
             final Revision headRevision = this.headRevision;
@@ -184,7 +197,7 @@ final class DefaultCommitIdDatabase implements CommitIdDatabase {
         }
 
         // Build a record.
-        final ByteBuffer buf = threadLocalBuffer.get();
+        final ByteBuffer buf = writeBuffer;
         buf.clear();
         buf.putInt(revision.major());
         commitId.copyRawTo(buf);
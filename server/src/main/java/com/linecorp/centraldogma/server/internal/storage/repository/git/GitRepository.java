@@ -16,6 +16,7 @@
 
 package com.linecorp.centraldogma.server.internal.storage.repository.git;
 
+import static com.linecorp.centraldogma.internal.Util.validateFilePath;
 import static com.linecorp.centraldogma.server.internal.storage.repository.git.FailFastUtil.context;
 import static com.linecorp.centraldogma.server.internal.storage.repository.git.FailFastUtil.failFastIfTimedOut;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -35,6 +36,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
@@ -95,6 +97,8 @@ import com.linecorp.centraldogma.server.command.CommitResult;
 import com.linecorp.centraldogma.server.command.ContentTransformer;
 import com.linecorp.centraldogma.server.internal.IsolatedSystemReader;
 import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache;
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryMeters;
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryOperation;
 import com.linecorp.centraldogma.server.internal.storage.repository.git.Watch.WatchListener;
 import com.linecorp.centraldogma.server.internal.storage.repository.git.rocksdb.RocksDbRepository;
 import com.linecorp.centraldogma.server.storage.StorageException;
@@ -154,11 +158,14 @@ class GitRepository implements Repository {
     private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
     private final Project parent;
     private final Executor repositoryWorker;
+    private final Executor writeWorker;
     private final long creationTimeMillis;
     private final Author author;
     @VisibleForTesting
     @Nullable
     final RepositoryCache cache;
+    @Nullable
+    private final RepositoryMeters meters;
     private final File repoDir;
     private final String name;
     private final org.eclipse.jgit.lib.Repository jGitRepository;
@@ -180,14 +187,17 @@ class GitRepository implements Repository {
      */
     GitRepository(Project parent, File repoDir, Executor repositoryWorker,
                   long creationTimeMillis, Author author, @Nullable RepositoryCache cache,
-                  org.eclipse.jgit.lib.Repository jGitRepository, CommitIdDatabase commitIdDatabase) {
+                  org.eclipse.jgit.lib.Repository jGitRepository, CommitIdDatabase commitIdDatabase,
+                  @Nullable RepositoryMeters meters) {
         this.parent = parent;
         this.repoDir = repoDir;
         name = repoDir.getName();
         this.repositoryWorker = repositoryWorker;
+        writeWorker = RepositoryWorkerScheduler.writeExecutor(repositoryWorker);
         this.creationTimeMillis = creationTimeMillis;
         this.author = author;
         this.cache = cache;
+        this.meters = meters;
         this.jGitRepository = jGitRepository;
         isEncrypted = jGitRepository instanceof RocksDbRepository;
         this.commitIdDatabase = commitIdDatabase;
@@ -203,12 +213,14 @@ class GitRepository implements Repository {
      */
     GitRepository(Project parent, File repoDir, Executor repositoryWorker, @Nullable RepositoryCache cache,
                   org.eclipse.jgit.lib.Repository jGitRepository, CommitIdDatabase commitIdDatabase,
-                  Revision headRevision) {
+                  Revision headRevision, @Nullable RepositoryMeters meters) {
         this.parent = requireNonNull(parent, "parent");
         this.repoDir = requireNonNull(repoDir, "repoDir");
         name = requireNonNull(repoDir, "repoDir").getName();
         this.repositoryWorker = requireNonNull(repositoryWorker, "repositoryWorker");
+        writeWorker = RepositoryWorkerScheduler.writeExecutor(repositoryWorker);
         this.cache = cache;
+        this.meters = meters;
         this.jGitRepository = requireNonNull(jGitRepository, "jGitRepository");
         isEncrypted = jGitRepository instanceof RocksDbRepository;
         this.commitIdDatabase = requireNonNull(commitIdDatabase, "commitIdDatabase");
@@ -227,7 +239,7 @@ class GitRepository implements Repository {
     void close(Supplier<CentralDogmaException> failureCauseSupplier) {
         requireNonNull(failureCauseSupplier, "failureCauseSupplier");
         if (closePending.compareAndSet(null, failureCauseSupplier)) {
-            repositoryWorker.execute(() -> {
+            writeWorker.execute(() -> {
                 // MUST acquire gcLock first to prevent a dead lock
                 rwLock.writeLock().lock();
                 try {
@@ -342,10 +354,10 @@ class GitRepository implements Repository {
     public CompletableFuture<Map<String, Entry<?>>> find(
             Revision revision, String pathPattern, Map<FindOption<?>, ?> options) {
         final ServiceRequestContext ctx = context();
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(queued(RepositoryOperation.FIND, () -> {
             failFastIfTimedOut(this, logger, ctx, "find", revision, pathPattern, options);
             return blockingFind(revision, pathPattern, options);
-        }, repositoryWorker);
+        }), repositoryWorker);
     }
 
     private Map<String, Entry<?>> blockingFind(
@@ -445,15 +457,56 @@ class GitRepository implements Repository {
         }
     }
 
+    @Override
+    public CompletableFuture<ObjectId> findBlobIdOrNull(Revision revision, String path) {
+        requireNonNull(revision, "revision");
+        validateFilePath(path, "path");
+        final ServiceRequestContext ctx = context();
+        return CompletableFuture.supplyAsync(queued(RepositoryOperation.FIND, () -> {
+            failFastIfTimedOut(this, logger, ctx, "findBlobIdOrNull", revision, path);
+            return blockingFindBlobIdOrNull(revision, path);
+        }), repositoryWorker);
+    }
+
+    @Nullable
+    private ObjectId blockingFindBlobIdOrNull(Revision revision, String path) {
+        final Revision normRevision = normalizeNow(revision);
+
+        readLock();
+        try (ObjectReader objectReader = jGitRepository.newObjectReader();
+             RevWalk revWalk = newRevWalk(new CachingTreeObjectReader(this, objectReader, cache))) {
+            if (normRevision.compareTo(cachedHeadRevision()) > 0) {
+                return null;
+            }
+
+            final RevCommit revCommit = revWalk.parseCommit(commitIdDatabase.get(normRevision));
+            try (TreeWalk treeWalk = TreeWalk.forPath(revWalk.getObjectReader(), path.substring(1),
+                                                      revCommit.getTree())) {
+                if (treeWalk == null || treeWalk.isSubtree()) {
+                    return null;
+                }
+                return treeWalk.getObjectId(0);
+            }
+        } catch (CentralDogmaException | IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new StorageException(
+                    "failed to find the blob ID of '" + parent.name() + '/' + name + path + "' at " +
+                    revision, e);
+        } finally {
+            readUnlock();
+        }
+    }
+
     @Override
     public CompletableFuture<List<Commit>> history(
             Revision from, Revision to, String pathPattern, int maxCommits) {
 
         final ServiceRequestContext ctx = context();
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(queued(RepositoryOperation.HISTORY, () -> {
             failFastIfTimedOut(this, logger, ctx, "history", from, to, pathPattern, maxCommits);
             return blockingHistory(from, to, pathPattern, maxCommits);
-        }, repositoryWorker);
+        }), repositoryWorker);
     }
 
     @VisibleForTesting
@@ -574,7 +627,7 @@ class GitRepository implements Repository {
     public CompletableFuture<Map<String, Change<?>>> diff(Revision from, Revision to, String pathPattern,
                                                           DiffResultType diffResultType) {
         final ServiceRequestContext ctx = context();
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(queued(RepositoryOperation.DIFF, () -> {
             requireNonNull(from, "from");
             requireNonNull(to, "to");
             requireNonNull(pathPattern, "pathPattern");
@@ -598,7 +651,7 @@ class GitRepository implements Repository {
             } finally {
                 readUnlock();
             }
-        }, repositoryWorker);
+        }), repositoryWorker);
     }
 
     private static TreeFilter pathPatternFilterOrTreeFilter(@Nullable String pathPattern) {
@@ -614,10 +667,10 @@ class GitRepository implements Repository {
     public CompletableFuture<Map<String, Change<?>>> previewDiff(Revision baseRevision,
                                                                  Iterable<Change<?>> changes) {
         final ServiceRequestContext ctx = context();
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(queued(RepositoryOperation.PREVIEW_DIFF, () -> {
             failFastIfTimedOut(this, logger, ctx, "previewDiff", baseRevision);
             return blockingPreviewDiff(baseRevision, new DefaultChangesApplier(changes));
-        }, repositoryWorker);
+        }), repositoryWorker);
     }
 
     Map<String, Change<?>> blockingPreviewDiff(Revision baseRevision, AbstractChangesApplier changesApplier) {
@@ -788,11 +841,11 @@ class GitRepository implements Repository {
             CommitExecutor commitExecutor,
             Function<Revision, Iterable<Change<?>>> applyingChangesProvider) {
         final ServiceRequestContext ctx = context();
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(queued(RepositoryOperation.COMMIT, () -> {
             failFastIfTimedOut(this, logger, ctx, "commit", baseRevision,
                                commitExecutor.author(), commitExecutor.summary());
             return commitExecutor.execute(baseRevision, applyingChangesProvider);
-        }, repositoryWorker);
+        }), writeWorker);
     }
 
     /**
@@ -835,10 +888,10 @@ class GitRepository implements Repository {
         requireNonNull(pathPattern, "pathPattern");
 
         final ServiceRequestContext ctx = context();
-        return CompletableFuture.supplyAsync(() -> {
+        return CompletableFuture.supplyAsync(queued(RepositoryOperation.FIND_LATEST_REVISION, () -> {
             failFastIfTimedOut(this, logger, ctx, "findLatestRevision", lastKnownRevision, pathPattern);
             return blockingFindLatestRevision(lastKnownRevision, pathPattern, errorOnEntryNotFound);
-        }, repositoryWorker);
+        }), repositoryWorker);
     }
 
     @Nullable
@@ -1088,8 +1141,24 @@ class GitRepository implements Repository {
         revWalk.setRewriteParents(false);
     }
 
+    /**
+     * Returns the {@link Supplier} which records the time the specified {@code task} waited for
+     * a repository worker before running it.
+     */
+    private <T> Supplier<T> queued(RepositoryOperation operation, Supplier<T> task) {
+        final RepositoryMeters meters = this.meters;
+        if (meters == null) {
+            return task;
+        }
+        final long queuedNanos = System.nanoTime();
+        return () -> {
+            meters.recordQueueWait(operation, System.nanoTime() - queuedNanos);
+            return task.get();
+        };
+    }
+
     private void readLock() {
-        rwLock.readLock().lock();
+        lock(rwLock.readLock(), false);
         if (closePending.get() != null) {
             rwLock.readLock().unlock();
             throw closePending.get().get();
@@ -1101,7 +1170,7 @@ class GitRepository implements Repository {
     }
 
     void writeLock() {
-        rwLock.writeLock().lock();
+        lock(rwLock.writeLock(), true);
         if (closePending.get() != null) {
             writeUnLock();
             throw closePending.get().get();
@@ -1112,6 +1181,17 @@ class GitRepository implements Repository {
         rwLock.writeLock().unlock();
     }
 
+    private void lock(Lock lock, boolean write) {
+        final RepositoryMeters meters = this.meters;
+        if (meters == null) {
+            lock.lock();
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        lock.lock();
+        meters.recordLockWait(write, System.nanoTime() - startNanos);
+    }
+
     static void deleteCruft(File repoDir) {
         try {
             Util.deleteFileTree(repoDir);
@@ -29,6 +29,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -59,7 +60,11 @@ import com.linecorp.centraldogma.common.RepositoryNotFoundException;
 import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.server.internal.JGitUtil;
 import com.linecorp.centraldogma.server.internal.storage.DirectoryBasedStorageManager;
+import com.linecorp.centraldogma.server.internal.storage.RemovalIndex;
+import com.linecorp.centraldogma.server.internal.storage.StorageLoader;
 import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryCache;
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryMeters;
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryMetrics;
 import com.linecorp.centraldogma.server.internal.storage.repository.git.rocksdb.EncryptionGitStorage;
 import com.linecorp.centraldogma.server.internal.storage.repository.git.rocksdb.RocksDbCommitIdDatabase;
 import com.linecorp.centraldogma.server.internal.storage.repository.git.rocksdb.RocksDbRepository;
@@ -81,15 +86,64 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
 
     @Nullable
     private final RepositoryCache cache;
+    @Nullable
+    private final IdleRepositoryEvictor evictor;
+    @Nullable
+    private final RepositoryMetrics metrics;
+    @Nullable
+    private final RemovalIndex removedRepositories;
 
     public GitRepositoryManager(Project parent, File rootDir, Executor repositoryWorker,
                                 Executor purgeWorker, @Nullable RepositoryCache cache,
                                 EncryptionStorageManager encryptionStorageManager) {
+        this(parent, rootDir, repositoryWorker, purgeWorker, cache, encryptionStorageManager, null, null);
+    }
+
+    /**
+     * Creates a new instance which opens the existing repositories using the specified
+     * {@link StorageLoader}. If {@link IdleRepositoryEvictor} is specified, the repositories are opened
+     * on their first access and closed when they become idle.
+     */
+    public GitRepositoryManager(Project parent, File rootDir, Executor repositoryWorker,
+                                Executor purgeWorker, @Nullable RepositoryCache cache,
+                                EncryptionStorageManager encryptionStorageManager,
+                                @Nullable StorageLoader loader, @Nullable IdleRepositoryEvictor evictor) {
+        this(parent, rootDir, repositoryWorker, purgeWorker, cache, encryptionStorageManager, loader, evictor,
+             null);
+    }
+
+    /**
+     * Creates a new instance. If {@link RepositoryMetrics} is specified, the time the operations of
+     * the repositories wait for a repository worker and a lock is recorded.
+     */
+    public GitRepositoryManager(Project parent, File rootDir, Executor repositoryWorker,
+                                Executor purgeWorker, @Nullable RepositoryCache cache,
+                                EncryptionStorageManager encryptionStorageManager,
+                                @Nullable StorageLoader loader, @Nullable IdleRepositoryEvictor evictor,
+                                @Nullable RepositoryMetrics metrics) {
+        this(parent, rootDir, repositoryWorker, purgeWorker, cache, encryptionStorageManager, loader, evictor,
+             metrics, null);
+    }
+
+    /**
+     * Creates a new instance. If {@link RemovalIndex} is specified, the removed repositories are also added
+     * to it with the keys of {@code "<project>/<repository>"}, so that the removed repositories of all
+     * projects are listed from one index.
+     */
+    public GitRepositoryManager(Project parent, File rootDir, Executor repositoryWorker,
+                                Executor purgeWorker, @Nullable RepositoryCache cache,
+                                EncryptionStorageManager encryptionStorageManager,
+                                @Nullable StorageLoader loader, @Nullable IdleRepositoryEvictor evictor,
+                                @Nullable RepositoryMetrics metrics,
+                                @Nullable RemovalIndex removedRepositories) {
         super(rootDir, Repository.class, purgeWorker, encryptionStorageManager);
         this.parent = requireNonNull(parent, "parent");
         this.repositoryWorker = requireNonNull(repositoryWorker, "repositoryWorker");
         this.cache = cache;
-        init();
+        this.evictor = evictor;
+        this.metrics = metrics;
+        this.removedRepositories = removedRepositories;
+        init(loader);
     }
 
     @Override
@@ -101,6 +155,20 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
         return parent.name() + '/' + name;
     }
 
+    @Override
+    protected void onRemoved(String name, Instant removedAt) {
+        if (removedRepositories != null) {
+            removedRepositories.add(projectRepositoryName(name), removedAt);
+        }
+    }
+
+    @Override
+    protected void onRemovalCleared(String name) {
+        if (removedRepositories != null) {
+            removedRepositories.remove(projectRepositoryName(name));
+        }
+    }
+
     @Override
     public void migrateToEncryptedRepository(String repositoryName) {
         logger.info("Starting to migrate the repository '{}' to an encrypted repository.",
@@ -114,8 +182,9 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
             encryptedRepository = createEncryptedRepository(parent, oldRepository.repoDir(),
                                                             oldRepository.author(),
                                                             oldRepository.creationTimeMillis(),
-                                                            repositoryWorker, cache,
-                                                            encryptionStorageManager);
+                                                            repositoryWorker(oldRepository.repoDir()),
+                                                            cache, encryptionStorageManager,
+                                                            meters(oldRepository.repoDir()));
         } catch (Throwable t) {
             throw new StorageException("failed to create the repository while migrating. " +
                                        "repositoryName: " + projectRepositoryName(repositoryName), t);
@@ -157,8 +226,9 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
                                        oldRepository.repoDir(), e);
         }
 
-        if (!replaceChild(repositoryName, oldRepository, encryptedRepository)) {
-            encryptedRepository.internalClose();
+        final Repository newRepository = maybeLazy(encryptedRepository);
+        if (!replaceChild(repositoryName, oldRepository, newRepository)) {
+            closeRepository(newRepository, () -> new CentralDogmaException("should never reach here"));
             encryptionStorageManager.deleteRepositoryData(parent.name(), repositoryName);
             try {
                 Files.delete(Paths.get(oldRepository.repoDir().getPath(), ENCRYPTED_REPO_PLACEHOLDER_FILE));
@@ -173,19 +243,43 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
                     projectRepositoryName(repositoryName),
                     TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime));
         // We didn't add repository listeners to the repository so don't have to add the listener here.
-        ((GitRepository) oldRepository).close(() -> new CentralDogmaException(
+        closeRepository(oldRepository, () -> new CentralDogmaException(
                 projectRepositoryName(repositoryName) + " is migrated to an encrypted repository. Try again."));
     }
 
     @Override
     protected Repository openChild(File childDir) throws Exception {
         requireNonNull(childDir, "childDir");
+        if (evictor != null) {
+            return new LazyRepository(parent, childDir, isEncryptedRepository(childDir),
+                                      () -> (GitRepository) openChild0(childDir), evictor);
+        }
+        return openChild0(childDir);
+    }
+
+    private Repository openChild0(File childDir) {
         if (isEncryptedRepository(childDir)) {
-            return openEncryptionRepository(
-                    parent, childDir, repositoryWorker, cache, encryptionStorageManager());
+            return openEncryptionRepository(parent, childDir, repositoryWorker(childDir), cache,
+                                            encryptionStorageManager(), meters(childDir));
         } else {
-            return openFileRepository(parent, childDir, repositoryWorker, cache);
+            return openFileRepository(parent, childDir, repositoryWorker(childDir), cache, meters(childDir));
+        }
+    }
+
+    @Nullable
+    private RepositoryMeters meters(File repoDir) {
+        return metrics != null ? metrics.meters(parent.name(), repoDir.getName()) : null;
+    }
+
+    /**
+     * Returns the {@link Executor} for the blocking operations of the repository at the specified directory.
+     */
+    private Executor repositoryWorker(File repoDir) {
+        if (repositoryWorker instanceof RepositoryWorkerScheduler) {
+            return ((RepositoryWorkerScheduler) repositoryWorker).repositoryExecutor(parent.name(),
+                                                                                     repoDir.getName());
         }
+        return repositoryWorker;
     }
 
     public static boolean isEncryptedRepository(File dir) {
@@ -195,7 +289,8 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
     @VisibleForTesting
     static Repository openEncryptionRepository(Project parent, File repoDir, Executor repositoryWorker,
                                                @Nullable RepositoryCache cache,
-                                               EncryptionStorageManager encryptionStorageManager) {
+                                               EncryptionStorageManager encryptionStorageManager,
+                                               @Nullable RepositoryMeters meters) {
         final EncryptionGitStorage encryptionGitStorage =
                 new EncryptionGitStorage(parent.name(), repoDir.getName(), encryptionStorageManager);
         final RocksDbRepository rocksDbRepository = new RocksDbRepository(encryptionGitStorage);
@@ -203,12 +298,18 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
         final RocksDbCommitIdDatabase commitIdDatabase =
                 new RocksDbCommitIdDatabase(encryptionGitStorage, headRevision);
         return new GitRepository(parent, repoDir, repositoryWorker, cache, rocksDbRepository,
-                                 commitIdDatabase, headRevision);
+                                 commitIdDatabase, headRevision, meters);
     }
 
     @VisibleForTesting
     static GitRepository openFileRepository(Project parent, File repoDir, Executor repositoryWorker,
                                             @Nullable RepositoryCache cache) {
+        return openFileRepository(parent, repoDir, repositoryWorker, cache, null);
+    }
+
+    private static GitRepository openFileRepository(Project parent, File repoDir, Executor repositoryWorker,
+                                                    @Nullable RepositoryCache cache,
+                                                    @Nullable RepositoryMeters meters) {
         final org.eclipse.jgit.lib.Repository jGitRepository;
         try {
             jGitRepository = new RepositoryBuilder().setGitDir(repoDir).setBare().build();
@@ -241,7 +342,7 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
             }
             final GitRepository gitRepository = new GitRepository(parent, repoDir, repositoryWorker, cache,
                                                                   jGitRepository,
-                                                                  commitIdDatabase, headRevision);
+                                                                  commitIdDatabase, headRevision, meters);
             success = true;
             return gitRepository;
         } finally {
@@ -274,11 +375,21 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
         requireNonNull(childDir, "childDir");
         requireNonNull(author, "author");
         if (encrypt) {
-            return createEncryptionRepository(parent, childDir, author, creationTimeMillis,
-                                              repositoryWorker, cache, encryptionStorageManager());
+            return maybeLazy(createEncryptionRepository(parent, childDir, author, creationTimeMillis,
+                                                        repositoryWorker(childDir), cache,
+                                                        encryptionStorageManager(), meters(childDir)));
         } else {
-            return createFileRepository(parent, childDir, author, creationTimeMillis, repositoryWorker, cache);
+            return maybeLazy(createFileRepository(parent, childDir, author, creationTimeMillis,
+                                                  repositoryWorker(childDir), cache, meters(childDir)));
+        }
+    }
+
+    private Repository maybeLazy(GitRepository repository) {
+        if (evictor == null) {
+            return repository;
         }
+        final File repoDir = repository.repoDir();
+        return new LazyRepository(repository, () -> (GitRepository) openChild0(repoDir), evictor);
     }
 
     @VisibleForTesting
@@ -286,6 +397,15 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
             Project parent, File repoDir, Author author, long creationTimeMillis,
             Executor repositoryWorker, @Nullable RepositoryCache cache,
             EncryptionStorageManager encryptionStorageManager) throws IOException {
+        return createEncryptionRepository(parent, repoDir, author, creationTimeMillis, repositoryWorker, cache,
+                                          encryptionStorageManager, null);
+    }
+
+    private static GitRepository createEncryptionRepository(
+            Project parent, File repoDir, Author author, long creationTimeMillis,
+            Executor repositoryWorker, @Nullable RepositoryCache cache,
+            EncryptionStorageManager encryptionStorageManager,
+            @Nullable RepositoryMeters meters) throws IOException {
         if (!repoDir.mkdirs()) {
             throw new StorageException(
                     "failed to create a repository at: " + repoDir + " (exists already)");
@@ -293,7 +413,7 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
         try {
             Files.createFile(Paths.get(repoDir.getPath(), ENCRYPTED_REPO_PLACEHOLDER_FILE));
             return createEncryptedRepository(parent, repoDir, author, creationTimeMillis, repositoryWorker,
-                                             cache, encryptionStorageManager);
+                                             cache, encryptionStorageManager, meters);
         } catch (Throwable t) {
             deleteCruft(repoDir);
             throw new StorageException("failed to create a repository at: " + repoDir, t);
@@ -304,7 +424,8 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
             Project parent, File repoDir, Author author,
             long creationTimeMillis, Executor repositoryWorker,
             @Nullable RepositoryCache cache,
-            EncryptionStorageManager encryptionStorageManager) throws IOException {
+            EncryptionStorageManager encryptionStorageManager,
+            @Nullable RepositoryMeters meters) throws IOException {
         final EncryptionGitStorage encryptionGitStorage =
                 new EncryptionGitStorage(parent.name(), repoDir.getName(), encryptionStorageManager);
         final RocksDbRepository rocksDbRepository = new RocksDbRepository(encryptionGitStorage);
@@ -316,13 +437,19 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
                 new RocksDbCommitIdDatabase(encryptionGitStorage, null);
         return new GitRepository(parent, repoDir, repositoryWorker,
                                  creationTimeMillis, author, cache,
-                                 rocksDbRepository, commitIdDatabase);
+                                 rocksDbRepository, commitIdDatabase, meters);
     }
 
     @VisibleForTesting
     static GitRepository createFileRepository(
             Project parent, File repoDir, Author author, long creationTimeMillis, Executor repositoryWorker,
             @Nullable RepositoryCache cache) throws IOException {
+        return createFileRepository(parent, repoDir, author, creationTimeMillis, repositoryWorker, cache, null);
+    }
+
+    private static GitRepository createFileRepository(
+            Project parent, File repoDir, Author author, long creationTimeMillis, Executor repositoryWorker,
+            @Nullable RepositoryCache cache, @Nullable RepositoryMeters meters) {
         org.eclipse.jgit.lib.Repository jGitRepository = null;
         CommitIdDatabase commitIdDatabase = null;
         try {
@@ -349,7 +476,7 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
             commitIdDatabase = new DefaultCommitIdDatabase(jGitRepository);
             return new GitRepository(parent, repoDir, repositoryWorker,
                                      creationTimeMillis, author, cache,
-                                     jGitRepository, commitIdDatabase);
+                                     jGitRepository, commitIdDatabase, meters);
         } catch (Throwable t) {
             closeRepository(commitIdDatabase, jGitRepository);
             // Failed to create a repository. Remove any cruft so that it is not loaded on the next run.
@@ -374,7 +501,24 @@ public final class GitRepositoryManager extends DirectoryBasedStorageManager<Rep
     @Override
     protected void closeChild(File childDir, Repository child,
                               Supplier<CentralDogmaException> failureCauseSupplier) {
-        ((GitRepository) child).close(failureCauseSupplier);
+        closeRepository(child, failureCauseSupplier);
+        if (metrics != null) {
+            // Release the meters of the removed repository. They are created again if it's unremoved.
+            metrics.remove(parent.name(), childDir.getName());
+        }
+        if (repositoryWorker instanceof RepositoryWorkerScheduler) {
+            ((RepositoryWorkerScheduler) repositoryWorker).removeRepositoryExecutor(parent.name(),
+                                                                                   childDir.getName());
+        }
+    }
+
+    private static void closeRepository(Repository repository,
+                                        Supplier<CentralDogmaException> failureCauseSupplier) {
+        if (repository instanceof LazyRepository) {
+            ((LazyRepository) repository).close(failureCauseSupplier);
+        } else {
+            ((GitRepository) repository).close(failureCauseSupplier);
+        }
     }
 
     @Override
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.util.SafeCloseable;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Closes the lazily opened repositories which have not been accessed for a while.
+ *
+ * <p>The following meters are recorded:
+ * <ul>
+ *   <li>{@code repositories.lazy{state=open|closed}} - the number of the open and closed repositories</li>
+ *   <li>{@code repositories.lazy.open.duration} - the time taken to open a repository</li>
+ *   <li>{@code repositories.lazy.evictions} - the number of the repositories closed due to idleness</li>
+ * </ul>
+ */
+public final class IdleRepositoryEvictor implements SafeCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdleRepositoryEvictor.class);
+
+    private static final long MIN_EVICTION_INTERVAL_MILLIS = 1000;
+
+    private final long idleTimeoutNanos;
+    private final Set<LazyRepository> repositories = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+    private final Timer openTimer;
+    private final Counter evictionCounter;
+
+    public IdleRepositoryEvictor(long idleTimeoutMillis, MeterRegistry meterRegistry) {
+        checkArgument(idleTimeoutMillis > 0, "idleTimeoutMillis: %s (expected: > 0)", idleTimeoutMillis);
+        requireNonNull(meterRegistry, "meterRegistry");
+        idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+
+        Gauge.builder("repositories.lazy", this, self -> self.count(true))
+             .tag("state", "open")
+             .register(meterRegistry);
+        Gauge.builder("repositories.lazy", this, self -> self.count(false))
+             .tag("state", "closed")
+             .register(meterRegistry);
+        openTimer = Timer.builder("repositories.lazy.open.duration").register(meterRegistry);
+        evictionCounter = meterRegistry.counter("repositories.lazy.evictions");
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new DefaultThreadFactory("repository-evictor", true));
+        final long intervalMillis = Math.max(MIN_EVICTION_INTERVAL_MILLIS, idleTimeoutMillis / 2);
+        scheduler.scheduleWithFixedDelay(this::evictIdleRepositories,
+                                         intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void add(LazyRepository repository) {
+        repositories.add(repository);
+    }
+
+    void remove(LazyRepository repository) {
+        repositories.remove(repository);
+    }
+
+    void recordOpen(long durationNanos) {
+        openTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private int count(boolean open) {
+        int count = 0;
+        for (LazyRepository repository : repositories) {
+            if (repository.isOpen() == open) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void evictIdleRepositories() {
+        final long now = System.nanoTime();
+        for (LazyRepository repository : repositories) {
+            try {
+                if (repository.closeIfIdle(now, idleTimeoutNanos)) {
+                    evictionCounter.increment();
+                    logger.debug("Closed an idle repository: {}", repository);
+                }
+            } catch (Throwable t) {
+                logger.warn("Failed to close an idle repository: {}", repository, t);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("idleTimeoutMillis", TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos))
+                          .add("repositories", repositories.size())
+                          .toString();
+    }
+}
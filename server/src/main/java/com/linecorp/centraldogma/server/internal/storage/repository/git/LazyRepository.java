@@ -0,0 +1,393 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jgit.lib.ObjectId;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.CentralDogmaException;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Commit;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Markup;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.common.RevisionRange;
+import com.linecorp.centraldogma.internal.Util;
+import com.linecorp.centraldogma.server.command.CommitResult;
+import com.linecorp.centraldogma.server.command.ContentTransformer;
+import com.linecorp.centraldogma.server.storage.project.Project;
+import com.linecorp.centraldogma.server.storage.repository.CacheableCall;
+import com.linecorp.centraldogma.server.storage.repository.DiffResultType;
+import com.linecorp.centraldogma.server.storage.repository.FindOption;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+import com.linecorp.centraldogma.server.storage.repository.RepositoryListener;
+
+/**
+ * A {@link Repository} which opens its {@link GitRepository} on the first access and closes it when
+ * the {@link IdleRepositoryEvictor} finds it idle. A repository is not idle while any of its operations,
+ * including a watch, is in progress. A repository with a {@link RepositoryListener} is never closed
+ * because the listener keeps watching the repository.
+ */
+final class LazyRepository implements Repository {
+
+    private final Project parent;
+    private final File repoDir;
+    private final boolean encrypted;
+    private final Supplier<GitRepository> opener;
+    private final IdleRepositoryEvictor evictor;
+
+    // A lock rather than a monitor, because a virtual thread opening or closing the repository
+    // would be pinned to its carrier thread during the file I/O if it held a monitor.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition closedCondition = lock.newCondition();
+
+    // Guarded by 'lock'.
+    @Nullable
+    private GitRepository delegate;
+    private boolean closing;
+    private int numPendingOperations;
+    private long lastAccessTimeNanos;
+    private boolean hasListener;
+    @Nullable
+    private Supplier<CentralDogmaException> closeCauseSupplier;
+
+    // Retained after the repository is closed, so that listing the repositories does not open them.
+    @Nullable
+    private volatile Author author;
+    private volatile long creationTimeMillis;
+
+    LazyRepository(Project parent, File repoDir, boolean encrypted,
+                   Supplier<GitRepository> opener, IdleRepositoryEvictor evictor) {
+        this.parent = requireNonNull(parent, "parent");
+        this.repoDir = requireNonNull(repoDir, "repoDir");
+        this.encrypted = encrypted;
+        this.opener = requireNonNull(opener, "opener");
+        this.evictor = requireNonNull(evictor, "evictor");
+        evictor.add(this);
+    }
+
+    /**
+     * Creates a new instance which is open already with the specified {@link GitRepository}.
+     */
+    LazyRepository(GitRepository delegate, Supplier<GitRepository> opener, IdleRepositoryEvictor evictor) {
+        this(delegate.parent(), delegate.repoDir(), delegate.isEncrypted(), opener, evictor);
+        lock.lock();
+        try {
+            setDelegate(delegate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private GitRepository acquire() {
+        lock.lock();
+        try {
+            // Do not open the repository again until the idle one is closed.
+            while (closing) {
+                closedCondition.awaitUninterruptibly();
+            }
+            if (closeCauseSupplier != null) {
+                throw closeCauseSupplier.get();
+            }
+            GitRepository delegate = this.delegate;
+            if (delegate == null) {
+                final long startTimeNanos = System.nanoTime();
+                delegate = opener.get();
+                evictor.recordOpen(System.nanoTime() - startTimeNanos);
+                setDelegate(delegate);
+            }
+            numPendingOperations++;
+            lastAccessTimeNanos = System.nanoTime();
+            return delegate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void setDelegate(GitRepository delegate) {
+        assert lock.isHeldByCurrentThread();
+        this.delegate = delegate;
+        author = delegate.author();
+        creationTimeMillis = delegate.creationTimeMillis();
+        lastAccessTimeNanos = System.nanoTime();
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            numPendingOperations--;
+            lastAccessTimeNanos = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T call(Function<GitRepository, T> operation) {
+        final GitRepository delegate = acquire();
+        try {
+            return operation.apply(delegate);
+        } finally {
+            release();
+        }
+    }
+
+    private <T> CompletableFuture<T> callAsync(Function<GitRepository, CompletableFuture<T>> operation) {
+        final GitRepository delegate = acquire();
+        final CompletableFuture<T> future;
+        try {
+            future = operation.apply(delegate);
+        } catch (Throwable t) {
+            release();
+            throw t;
+        }
+        future.handle((unused1, unused2) -> {
+            release();
+            return null;
+        });
+        return future;
+    }
+
+    boolean isOpen() {
+        lock.lock();
+        try {
+            return delegate != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the {@link GitRepository} if this repository has not been accessed for the specified
+     * {@code idleTimeoutNanos} and has no operations in progress.
+     *
+     * @return {@code true} if closed
+     */
+    boolean closeIfIdle(long nowNanos, long idleTimeoutNanos) {
+        final GitRepository delegate;
+        lock.lock();
+        try {
+            delegate = this.delegate;
+            if (delegate == null || hasListener || numPendingOperations > 0 ||
+                nowNanos - lastAccessTimeNanos < idleTimeoutNanos) {
+                return false;
+            }
+            this.delegate = null;
+            closing = true;
+        } finally {
+            lock.unlock();
+        }
+
+        // Close outside the lock so that the other threads are not blocked by the file I/O.
+        try {
+            delegate.close(() -> new CentralDogmaException(this + " is closed due to inactivity. Try again."));
+        } finally {
+            lock.lock();
+            try {
+                closing = false;
+                closedCondition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes this repository permanently.
+     */
+    void close(Supplier<CentralDogmaException> failureCauseSupplier) {
+        requireNonNull(failureCauseSupplier, "failureCauseSupplier");
+        final GitRepository delegate;
+        lock.lock();
+        try {
+            if (closeCauseSupplier != null) {
+                return;
+            }
+            closeCauseSupplier = failureCauseSupplier;
+            delegate = this.delegate;
+            this.delegate = null;
+        } finally {
+            lock.unlock();
+        }
+        evictor.remove(this);
+        if (delegate != null) {
+            delegate.close(failureCauseSupplier);
+        }
+    }
+
+    /**
+     * Returns the {@link org.eclipse.jgit.lib.Repository} which is open currently. Note that the returned
+     * {@link org.eclipse.jgit.lib.Repository} is closed when this repository becomes idle. Use
+     * {@link #withJGitRepository(Function)} to keep it open while using it.
+     */
+    @Override
+    public org.eclipse.jgit.lib.Repository jGitRepository() {
+        return call(GitRepository::jGitRepository);
+    }
+
+    /**
+     * {@inheritDoc} This repository is not idle until the {@code action} returns.
+     */
+    @Override
+    public <T> T withJGitRepository(Function<? super org.eclipse.jgit.lib.Repository, ? extends T> action) {
+        requireNonNull(action, "action");
+        return call(delegate -> action.apply(delegate.jGitRepository()));
+    }
+
+    @Override
+    public Project parent() {
+        return parent;
+    }
+
+    @Override
+    public File repoDir() {
+        return repoDir;
+    }
+
+    @Override
+    public String name() {
+        return repoDir.getName();
+    }
+
+    @Override
+    public long creationTimeMillis() {
+        if (author != null) {
+            return creationTimeMillis;
+        }
+        return call(GitRepository::creationTimeMillis);
+    }
+
+    @Override
+    public Author author() {
+        final Author author = this.author;
+        if (author != null) {
+            return author;
+        }
+        return call(GitRepository::author);
+    }
+
+    @Override
+    public Revision normalizeNow(Revision revision) {
+        return call(delegate -> delegate.normalizeNow(revision));
+    }
+
+    @Override
+    public RevisionRange normalizeNow(Revision from, Revision to) {
+        return call(delegate -> delegate.normalizeNow(from, to));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Entry<?>>> find(Revision revision, String pathPattern,
+                                                         Map<FindOption<?>, ?> options) {
+        return callAsync(delegate -> delegate.find(revision, pathPattern, options));
+    }
+
+    @Override
+    public CompletableFuture<ObjectId> findBlobIdOrNull(Revision revision, String path) {
+        return callAsync(delegate -> delegate.findBlobIdOrNull(revision, path));
+    }
+
+    @Override
+    public CompletableFuture<List<Commit>> history(Revision from, Revision to,
+                                                   String pathPattern, int maxCommits) {
+        return callAsync(delegate -> delegate.history(from, to, pathPattern, maxCommits));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Change<?>>> diff(Revision from, Revision to, String pathPattern,
+                                                          DiffResultType diffResultType) {
+        return callAsync(delegate -> delegate.diff(from, to, pathPattern, diffResultType));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Change<?>>> previewDiff(Revision baseRevision,
+                                                                 Iterable<Change<?>> changes) {
+        return callAsync(delegate -> delegate.previewDiff(baseRevision, changes));
+    }
+
+    @Override
+    public CompletableFuture<CommitResult> commit(Revision baseRevision, long commitTimeMillis,
+                                                  Author author, String summary, String detail, Markup markup,
+                                                  Iterable<Change<?>> changes, boolean directExecution) {
+        return callAsync(delegate -> delegate.commit(baseRevision, commitTimeMillis, author, summary,
+                                                     detail, markup, changes, directExecution));
+    }
+
+    @Override
+    public CompletableFuture<CommitResult> commit(Revision baseRevision, long commitTimeMillis, Author author,
+                                                  String summary, String detail, Markup markup,
+                                                  ContentTransformer<?> transformer) {
+        return callAsync(delegate -> delegate.commit(baseRevision, commitTimeMillis, author, summary,
+                                                     detail, markup, transformer));
+    }
+
+    @Override
+    public CompletableFuture<Revision> findLatestRevision(Revision lastKnownRevision, String pathPattern,
+                                                          boolean errorOnEntryNotFound) {
+        return callAsync(delegate -> delegate.findLatestRevision(lastKnownRevision, pathPattern,
+                                                                 errorOnEntryNotFound));
+    }
+
+    @Override
+    public CompletableFuture<Revision> watch(Revision lastKnownRevision, String pathPattern,
+                                             boolean errorOnEntryNotFound) {
+        return callAsync(delegate -> delegate.watch(lastKnownRevision, pathPattern, errorOnEntryNotFound));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> execute(CacheableCall<T> cacheableCall) {
+        return callAsync(delegate -> delegate.execute(cacheableCall));
+    }
+
+    @Override
+    public void addListener(RepositoryListener listener) {
+        final GitRepository delegate = acquire();
+        try {
+            lock.lock();
+            try {
+                hasListener = true;
+            } finally {
+                lock.unlock();
+            }
+            delegate.addListener(listener);
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public boolean isEncrypted() {
+        return encrypted;
+    }
+
+    @Override
+    public String toString() {
+        return Util.simpleTypeName(this) + '(' + parent.name() + '/' + name() + ')';
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryMetrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Schedules the blocking repository operations on the repository worker fairly. The tasks of each
+ * repository are kept in their own queues and dispatched to the repository worker in a round-robin manner,
+ * so that a slow or flooded repository cannot take all the worker threads.
+ *
+ * <ul>
+ *   <li>At most {@code maxConcurrency} tasks run on the repository worker at the same time. The other tasks
+ *       wait in their repository queues rather than in the queue of the repository worker.</li>
+ *   <li>At most {@code maxConcurrencyPerRepository} read tasks of a repository run at the same time.</li>
+ *   <li>The write tasks of a repository run one at a time and are dispatched before its read tasks.</li>
+ * </ul>
+ *
+ * <p>The following meters are recorded with the {@code project}, {@code repo} and {@code type} tags:
+ * <ul>
+ *   <li>{@code repository.worker.queue.size} - the number of the tasks waiting to be dispatched</li>
+ *   <li>{@code repository.worker.queue.wait.duration} - the time taken until a task is dispatched</li>
+ * </ul>
+ * Like {@link RepositoryMetrics}, only the first {@link RepositoryMetrics#DEFAULT_MAX_NUM_TAGGED_REPOSITORIES}
+ * repositories get their own meters. The other repositories share the wait duration meters tagged with
+ * {@value RepositoryMetrics#OTHERS} and have no queue size meters. The meters of a repository are removed
+ * when the repository is removed.
+ */
+public final class RepositoryWorkerScheduler implements Executor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryWorkerScheduler.class);
+
+    /**
+     * Returns the {@link Executor} for the write tasks of the specified repository {@link Executor}.
+     */
+    static Executor writeExecutor(Executor repositoryWorker) {
+        if (repositoryWorker instanceof Lane) {
+            return ((Lane) repositoryWorker).writeExecutor;
+        }
+        return repositoryWorker;
+    }
+
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final int maxConcurrencyPerRepository;
+    private final MeterRegistry meterRegistry;
+    private final int maxNumTaggedRepositories;
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger numTaggedLanes = new AtomicInteger();
+    private final Timer othersReadWaitTimer;
+    private final Timer othersWriteWaitTimer;
+
+    // The lanes which have a task that can be dispatched now, in the order of dispatch.
+    private final Queue<Lane> readyLanes = new ArrayDeque<>();
+    private int numRunningTasks;
+
+    public RepositoryWorkerScheduler(Executor delegate, int maxConcurrency, int maxConcurrencyPerRepository,
+                                     MeterRegistry meterRegistry) {
+        this(delegate, maxConcurrency, maxConcurrencyPerRepository, meterRegistry,
+             RepositoryMetrics.DEFAULT_MAX_NUM_TAGGED_REPOSITORIES);
+    }
+
+    @VisibleForTesting
+    RepositoryWorkerScheduler(Executor delegate, int maxConcurrency, int maxConcurrencyPerRepository,
+                              MeterRegistry meterRegistry, int maxNumTaggedRepositories) {
+        this.delegate = requireNonNull(delegate, "delegate");
+        checkArgument(maxConcurrency > 0, "maxConcurrency: %s (expected: > 0)", maxConcurrency);
+        checkArgument(maxConcurrencyPerRepository > 0,
+                      "maxConcurrencyPerRepository: %s (expected: > 0)", maxConcurrencyPerRepository);
+        this.maxConcurrency = maxConcurrency;
+        this.maxConcurrencyPerRepository = maxConcurrencyPerRepository;
+        this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        checkArgument(maxNumTaggedRepositories >= 0,
+                      "maxNumTaggedRepositories: %s (expected: >= 0)", maxNumTaggedRepositories);
+        this.maxNumTaggedRepositories = maxNumTaggedRepositories;
+        othersReadWaitTimer = waitTimer(RepositoryMetrics.OTHERS, RepositoryMetrics.OTHERS, "read");
+        othersWriteWaitTimer = waitTimer(RepositoryMetrics.OTHERS, RepositoryMetrics.OTHERS, "write");
+    }
+
+    private Timer waitTimer(String projectName, String repoName, String type) {
+        return Timer.builder("repository.worker.queue.wait.duration")
+                    .tags("project", projectName, "repo", repoName, "type", type)
+                    .register(meterRegistry);
+    }
+
+    /**
+     * Executes the specified task which does not belong to any repository directly on the repository worker.
+     */
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(command);
+    }
+
+    /**
+     * Returns the {@link Executor} which runs the read tasks of the specified repository.
+     * Use {@link #writeExecutor(Executor)} to get the {@link Executor} for its write tasks.
+     */
+    Executor repositoryExecutor(String projectName, String repoName) {
+        return lanes.computeIfAbsent(projectName + '/' + repoName, unused -> {
+            // The limit may be exceeded slightly by the concurrent calls, which is fine.
+            final boolean tagged = numTaggedLanes.get() < maxNumTaggedRepositories;
+            if (tagged) {
+                numTaggedLanes.incrementAndGet();
+            }
+            return new Lane(projectName, repoName, tagged);
+        });
+    }
+
+    /**
+     * Removes the {@link Executor} of the specified repository and its meters. The tasks which are already
+     * submitted to the {@link Executor} are still executed.
+     */
+    void removeRepositoryExecutor(String projectName, String repoName) {
+        final Lane lane = lanes.remove(projectName + '/' + repoName);
+        if (lane != null) {
+            lane.removeMeters();
+        }
+    }
+
+    private void enqueue(Lane lane, Runnable command, boolean write) {
+        requireNonNull(command, "command");
+        synchronized (this) {
+            final Task task = new Task(command, System.nanoTime());
+            if (write) {
+                lane.writeTasks.add(task);
+            } else {
+                lane.readTasks.add(task);
+            }
+            markReady(lane);
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        final List<Runnable> dispatched = new ArrayList<>();
+        synchronized (this) {
+            while (numRunningTasks < maxConcurrency) {
+                final Lane lane = readyLanes.poll();
+                if (lane == null) {
+                    break;
+                }
+                lane.ready = false;
+                dispatched.add(lane.poll());
+                numRunningTasks++;
+                // Put the lane at the end of the queue so that the other repositories get their turns first.
+                markReady(lane);
+            }
+        }
+
+        for (Runnable task : dispatched) {
+            try {
+                delegate.execute(task);
+            } catch (RejectedExecutionException e) {
+                // Run in the caller thread rather than leaving the task and its future pending forever.
+                logger.warn("The repository worker rejected a task; running it in the caller thread:", e);
+                task.run();
+            }
+        }
+    }
+
+    private void markReady(Lane lane) {
+        assert Thread.holdsLock(this);
+        if (!lane.ready && lane.hasDispatchableTask()) {
+            lane.ready = true;
+            readyLanes.add(lane);
+        }
+    }
+
+    private void onTaskDone(Lane lane, boolean write) {
+        synchronized (this) {
+            numRunningTasks--;
+            if (write) {
+                lane.numRunningWrites--;
+            } else {
+                lane.numRunningReads--;
+            }
+            markReady(lane);
+        }
+        dispatch();
+    }
+
+    @VisibleForTesting
+    synchronized int numRunningTasks() {
+        return numRunningTasks;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("maxConcurrency", maxConcurrency)
+                          .add("maxConcurrencyPerRepository", maxConcurrencyPerRepository)
+                          .add("repositories", lanes.size())
+                          .toString();
+    }
+
+    private static final class Task {
+        final Runnable command;
+        final long enqueuedNanos;
+
+        Task(Runnable command, long enqueuedNanos) {
+            this.command = command;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    /**
+     * The task queues of a repository. The read tasks are executed with this {@link Executor}.
+     */
+    private final class Lane implements Executor {
+
+        final Executor writeExecutor = command -> enqueue(this, command, true);
+
+        final Queue<Task> readTasks = new ArrayDeque<>();
+        final Queue<Task> writeTasks = new ArrayDeque<>();
+        final Timer readWaitTimer;
+        final Timer writeWaitTimer;
+        // The meters owned by this lane. Empty if this lane shares the meters of the other repositories.
+        final List<Meter> meters = new ArrayList<>(4);
+        int numRunningReads;
+        int numRunningWrites;
+        boolean ready;
+
+        Lane(String projectName, String repoName, boolean tagged) {
+            if (tagged) {
+                readWaitTimer = waitTimer(projectName, repoName, "read");
+                writeWaitTimer = waitTimer(projectName, repoName, "write");
+                meters.add(readWaitTimer);
+                meters.add(writeWaitTimer);
+                meters.add(queueSizeGauge(projectName, repoName, "read", lane -> lane.readTasks));
+                meters.add(queueSizeGauge(projectName, repoName, "write", lane -> lane.writeTasks));
+            } else {
+                readWaitTimer = othersReadWaitTimer;
+                writeWaitTimer = othersWriteWaitTimer;
+            }
+        }
+
+        private Gauge queueSizeGauge(String projectName, String repoName, String type,
+                                     Function<Lane, Queue<Task>> queue) {
+            return Gauge.builder("repository.worker.queue.size", this, lane -> {
+                            synchronized (RepositoryWorkerScheduler.this) {
+                                return queue.apply(lane).size();
+                            }
+                        })
+                        .tags("project", projectName, "repo", repoName, "type", type)
+                        .register(meterRegistry);
+        }
+
+        void removeMeters() {
+            if (meters.isEmpty()) {
+                return;
+            }
+            meters.forEach(meterRegistry::remove);
+            numTaggedLanes.decrementAndGet();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            enqueue(this, command, false);
+        }
+
+        boolean hasDispatchableTask() {
+            return !writeTasks.isEmpty() && numRunningWrites == 0 ||
+                   !readTasks.isEmpty() && numRunningReads < maxConcurrencyPerRepository;
+        }
+
+        /**
+         * Removes the next task from the queues. Must be called only when {@link #hasDispatchableTask()}
+         * returns {@code true}.
+         */
+        Runnable poll() {
+            final boolean write = !writeTasks.isEmpty() && numRunningWrites == 0;
+            final Task task;
+            if (write) {
+                task = writeTasks.remove();
+                numRunningWrites++;
+                writeWaitTimer.record(System.nanoTime() - task.enqueuedNanos, TimeUnit.NANOSECONDS);
+            } else {
+                task = readTasks.remove();
+                numRunningReads++;
+                readWaitTimer.record(System.nanoTime() - task.enqueuedNanos, TimeUnit.NANOSECONDS);
+            }
+            return () -> {
+                try {
+                    task.command.run();
+                } finally {
+                    onTaskDone(this, write);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.metadata;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.centraldogma.common.ProjectRole;
+import com.linecorp.centraldogma.common.RepositoryRole;
+
+/**
+ * An immutable index of the {@link RepositoryRole}s granted in a {@link ProjectMetadata}, which answers
+ * the {@link RepositoryRole} of a user or a token for a repository without walking the metadata.
+ * An index is built once for each {@link ProjectMetadata}, which is replaced whenever a new revision of
+ * {@value MetadataService#METADATA_JSON} is committed.
+ */
+final class AuthorizationIndex {
+
+    static AuthorizationIndex of(ProjectMetadata metadata) {
+        final ImmutableMap.Builder<String, RepositoryRoles> builder =
+                ImmutableMap.builderWithExpectedSize(metadata.repos().size());
+        metadata.repos().forEach((repoName, repo) -> {
+            builder.put(repoName, new RepositoryRoles(metadata, repo));
+        });
+        return new AuthorizationIndex(builder.build());
+    }
+
+    private final Map<String, RepositoryRoles> repos;
+
+    private AuthorizationIndex(Map<String, RepositoryRoles> repos) {
+        this.repos = repos;
+    }
+
+    /**
+     * Returns the {@link RepositoryRoles} of the specified {@code repoName}, or {@code null} if there's
+     * no metadata for the repository.
+     */
+    @Nullable
+    RepositoryRoles repo(String repoName) {
+        return repos.get(repoName);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("repos", repos.keySet())
+                          .toString();
+    }
+
+    /**
+     * Returns the {@link RepositoryRole} which is derived from the specified {@link ProjectRole} and
+     * the {@link RepositoryRole} granted to a user or a token directly.
+     */
+    @Nullable
+    static RepositoryRole repositoryRole(Roles roles, @Nullable RepositoryRole repositoryRole,
+                                         ProjectRole projectRole) {
+        if (projectRole == ProjectRole.OWNER) {
+            return RepositoryRole.ADMIN;
+        }
+
+        final RepositoryRole memberOrGuestRole;
+        if (projectRole == ProjectRole.MEMBER) {
+            memberOrGuestRole = roles.projectRoles().member();
+        } else {
+            assert projectRole == ProjectRole.GUEST;
+            memberOrGuestRole = roles.projectRoles().guest();
+        }
+
+        if (repositoryRole == RepositoryRole.ADMIN || memberOrGuestRole == RepositoryRole.ADMIN) {
+            return RepositoryRole.ADMIN;
+        }
+
+        if (repositoryRole == RepositoryRole.WRITE || memberOrGuestRole == RepositoryRole.WRITE) {
+            return RepositoryRole.WRITE;
+        }
+
+        if (repositoryRole == RepositoryRole.READ || memberOrGuestRole == RepositoryRole.READ) {
+            return RepositoryRole.READ;
+        }
+
+        return null;
+    }
+
+    /**
+     * The {@link RepositoryRole}s of the users and the tokens for a repository. A {@code null} value in
+     * the maps means that no role is granted.
+     */
+    static final class RepositoryRoles {
+
+        private final Map<String, RepositoryRole> userRoles;
+        private final Map<String, RepositoryRole> registeredTokenRoles;
+        private final Map<String, RepositoryRole> guestTokenRoles;
+        @Nullable
+        private final RepositoryRole guestRole;
+
+        RepositoryRoles(ProjectMetadata metadata, RepositoryMetadata repo) {
+            final Roles roles = repo.roles();
+            guestRole = repositoryRole(roles, null, ProjectRole.GUEST);
+
+            final Map<String, RepositoryRole> userRoles = new HashMap<>();
+            roles.users().forEach((userId, role) -> {
+                userRoles.put(userId, repositoryRole(roles, role, ProjectRole.GUEST));
+            });
+            metadata.members().forEach((userId, member) -> {
+                userRoles.put(userId, repositoryRole(roles, roles.users().get(userId), member.role()));
+            });
+            this.userRoles = Collections.unmodifiableMap(userRoles);
+
+            final Map<String, RepositoryRole> registeredTokenRoles = new HashMap<>();
+            metadata.tokens().forEach((appId, registration) -> {
+                registeredTokenRoles.put(appId, repositoryRole(roles, roles.tokens().get(appId),
+                                                               registration.role()));
+            });
+            this.registeredTokenRoles = Collections.unmodifiableMap(registeredTokenRoles);
+
+            final Map<String, RepositoryRole> guestTokenRoles = new HashMap<>();
+            roles.tokens().forEach((appId, role) -> {
+                if (!registeredTokenRoles.containsKey(appId)) {
+                    guestTokenRoles.put(appId, repositoryRole(roles, role, ProjectRole.GUEST));
+                }
+            });
+            this.guestTokenRoles = Collections.unmodifiableMap(guestTokenRoles);
+        }
+
+        /**
+         * Returns the {@link RepositoryRole} of the user with the specified {@code userId}, or {@code null}
+         * if the user has no role.
+         */
+        @Nullable
+        RepositoryRole userRole(String userId) {
+            return userRoles.getOrDefault(userId, guestRole);
+        }
+
+        /**
+         * Returns the {@link RepositoryRole} of the specified {@link Token}, or {@code null} if the
+         * {@link Token} has no role.
+         */
+        @Nullable
+        RepositoryRole tokenRole(Token token) {
+            final String appId = token.appId();
+            if (registeredTokenRoles.containsKey(appId)) {
+                return registeredTokenRoles.get(appId);
+            }
+            // System admin tokens were checked before this method.
+            assert !token.isSystemAdmin();
+            if (!token.allowGuestAccess()) {
+                // The token is not allowed with the GUEST permission.
+                return null;
+            }
+            return guestTokenRoles.getOrDefault(appId, guestRole);
+        }
+    }
+}
@@ -27,25 +27,36 @@ import static com.linecorp.centraldogma.server.metadata.Tokens.validateSecret;
 import static com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer.INTERNAL_PROJECT_DOGMA;
 import static java.util.Objects.requireNonNull;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.hash.Hashing;
 import com.spotify.futures.CompletableFutures;
 
-import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.Change;
@@ -54,6 +65,7 @@ import com.linecorp.centraldogma.common.EntryNotFoundException;
 import com.linecorp.centraldogma.common.ProjectRole;
 import com.linecorp.centraldogma.common.RedundantChangeException;
 import com.linecorp.centraldogma.common.RepositoryExistsException;
+import com.linecorp.centraldogma.common.RepositoryNotFoundException;
 import com.linecorp.centraldogma.common.RepositoryRole;
 import com.linecorp.centraldogma.common.RepositoryStatus;
 import com.linecorp.centraldogma.common.Revision;
@@ -61,10 +73,12 @@ import com.linecorp.centraldogma.common.jsonpatch.JsonPatchOperation;
 import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
 import com.linecorp.centraldogma.server.internal.metadata.ProjectMetadataTransformer;
+import com.linecorp.centraldogma.server.metadata.AuthorizationIndex.RepositoryRoles;
 import com.linecorp.centraldogma.server.management.ServerStatus;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
 import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.server.storage.project.ProjectManager;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
 
 /**
  * A service class for metadata management.
@@ -79,10 +93,41 @@ public class MetadataService {
     public static final String METADATA_JSON = "/metadata.json";
 
     /**
-     * A path of token list file.
+     * A path of the legacy token list file, which is migrated into {@link #TOKENS_DIRECTORY}. While the file
+     * exists, it is the source of truth of the {@link Token}s because the servers which have not been
+     * upgraded yet read and update only this file. A change of a {@link Token} updates this file and the
+     * file of the {@link Token} in the same commit, until {@link #finalizeTokenMigration(Author)} removes
+     * this file.
      */
     public static final String TOKEN_JSON = "/tokens.json";
 
+    /**
+     * A path of the file which records that {@link #TOKEN_JSON} has been migrated.
+     */
+    public static final String TOKENS_MIGRATION_JSON = "/tokens-migration.json";
+
+    /**
+     * A directory which has a file for each {@link Token}.
+     */
+    public static final String TOKENS_DIRECTORY = "/tokens/";
+
+    /**
+     * A path pattern which matches the files of all {@link Token}s.
+     */
+    public static final String TOKENS_PATH_PATTERN = TOKENS_DIRECTORY + "*.json";
+
+    /**
+     * A directory which has a file for the secret of each {@link Token}. A secret file is created in the
+     * same commit as its {@link Token}, so that no two {@link Token}s can have the same secret.
+     */
+    public static final String TOKEN_SECRETS_DIRECTORY = "/token-secrets/";
+
+    /**
+     * The maximum number of attempts to push a change of a {@link Token} along with {@link #TOKEN_JSON},
+     * which conflicts when another server changes {@link #TOKEN_JSON} at the same time.
+     */
+    private static final int MAX_LEGACY_TOKENS_PUSH_ATTEMPTS = 3;
+
     /**
      * A {@link JsonPointer} of project removal information.
      */
@@ -90,7 +135,7 @@ public class MetadataService {
 
     private final ProjectManager projectManager;
     private final RepositorySupport<ProjectMetadata> metadataRepo;
-    private final RepositorySupport<Tokens> tokenRepo;
+    private final RepositorySupport<Token> tokenRepo;
     private final InternalProjectInitializer projectInitializer;
 
     private final Map<String, CompletableFuture<Revision>> reposInAddingMetadata = new ConcurrentHashMap<>();
@@ -103,7 +148,37 @@ public class MetadataService {
         this.projectManager = requireNonNull(projectManager, "projectManager");
         this.projectInitializer = requireNonNull(projectInitializer, "projectInitializer");
         metadataRepo = new RepositorySupport<>(projectManager, executor, ProjectMetadata.class);
-        tokenRepo = new RepositorySupport<>(projectManager, executor, Tokens.class);
+        tokenRepo = new RepositorySupport<>(projectManager, executor, Token.class);
+    }
+
+    /**
+     * Returns the path of the file which has the {@link Token} of the specified {@code appId}.
+     */
+    public static String tokenPath(String appId) {
+        return TOKENS_DIRECTORY + requireNonNull(appId, "appId") + ".json";
+    }
+
+    /**
+     * Returns the path of the file which reserves the specified {@code secret}. The file name is the
+     * SHA-256 hash of the secret because a secret may have the characters that are not allowed in a path.
+     */
+    public static String tokenSecretPath(String secret) {
+        requireNonNull(secret, "secret");
+        return TOKEN_SECRETS_DIRECTORY + Hashing.sha256().hashString(secret, StandardCharsets.UTF_8) + ".json";
+    }
+
+    /**
+     * Returns a {@link Change} which reserves the specified {@code secret} for the specified {@code appId}.
+     * The {@link Change} fails with a {@link ChangeConflictException} if the {@code secret} is already
+     * reserved.
+     */
+    public static Change<JsonNode> reserveTokenSecret(String appId, String secret) {
+        return Change.ofJsonPatch(tokenSecretPath(secret), null, tokenSecretContent(appId));
+    }
+
+    private static JsonNode tokenSecretContent(String appId) {
+        requireNonNull(appId, "appId");
+        return Jackson.valueToTree(ImmutableMap.of("appId", appId));
     }
 
     /**
@@ -117,7 +192,7 @@ public class MetadataService {
     private CompletableFuture<ProjectMetadata> getOrFetchMetadata(String projectName) {
         final ProjectMetadata metadata = getMetadata(projectName);
         final Set<String> reposWithMetadata = metadata.repos().keySet();
-        final Set<String> repos = projectManager.get(projectName).repos().list().keySet();
+        final Set<String> repos = projectManager.get(projectName).repos().names();
 
         // Make sure all repositories have metadata. If not, create missing metadata.
         // A repository can have missing metadata when a dev forgot to call `addRepo()`
@@ -173,6 +248,18 @@ public class MetadataService {
         });
     }
 
+    /**
+     * Returns the {@link ProjectMetadata} of the specified {@code projectName} without checking the other
+     * repositories if the metadata of the specified {@code repoName} exists.
+     */
+    private CompletableFuture<ProjectMetadata> getOrFetchMetadata(String projectName, String repoName) {
+        final ProjectMetadata metadata = getMetadata(projectName);
+        if (metadata.repos().containsKey(repoName)) {
+            return CompletableFuture.completedFuture(metadata);
+        }
+        return getOrFetchMetadata(projectName);
+    }
+
     private ProjectMetadata getMetadata(String projectName) {
         final Project project = projectManager.get(projectName);
         final ProjectMetadata metadata = project.metadata();
@@ -860,28 +947,8 @@ public class MetadataService {
         requireNonNull(repoName, "repoName");
         requireNonNull(token, "token");
 
-        return getProject(projectName).thenApply(metadata -> {
-            final RepositoryMetadata repositoryMetadata = metadata.repo(repoName);
-            final Roles roles = repositoryMetadata.roles();
-            final String appId = token.appId();
-            final RepositoryRole tokenRepositoryRole = roles.tokens().get(appId);
-
-            final TokenRegistration projectTokenRegistration = metadata.tokens().get(appId);
-            final ProjectRole projectRole;
-            if (projectTokenRegistration != null) {
-                projectRole = projectTokenRegistration.role();
-            } else {
-                // System admin tokens were checked before this method.
-                assert !token.isSystemAdmin();
-                if (token.allowGuestAccess()) {
-                    projectRole = ProjectRole.GUEST;
-                } else {
-                    // The token is not allowed with the GUEST permission.
-                    return null;
-                }
-            }
-            return repositoryRole(roles, tokenRepositoryRole, projectRole);
-        });
+        return getOrFetchMetadata(projectName, repoName).thenApply(
+                metadata -> repositoryRoles(metadata, repoName).tokenRole(token));
     }
 
     private CompletableFuture<RepositoryRole> findRepositoryRole0(String projectName, String repoName,
@@ -890,45 +957,16 @@ public class MetadataService {
         requireNonNull(repoName, "repoName");
         requireNonNull(user, "user");
 
-        return getProject(projectName).thenApply(metadata -> {
-            final RepositoryMetadata repositoryMetadata = metadata.repo(repoName);
-            final Roles roles = repositoryMetadata.roles();
-            final RepositoryRole userRepositoryRole = roles.users().get(user.id());
-
-            final Member projectUser = metadata.memberOrDefault(user.id(), null);
-            final ProjectRole projectRole = projectUser != null ? projectUser.role() : ProjectRole.GUEST;
-            return repositoryRole(roles, userRepositoryRole, projectRole);
-        });
+        return getOrFetchMetadata(projectName, repoName).thenApply(
+                metadata -> repositoryRoles(metadata, repoName).userRole(user.id()));
     }
 
-    @Nullable
-    private static RepositoryRole repositoryRole(Roles roles, @Nullable RepositoryRole repositoryRole,
-                                                 ProjectRole projectRole) {
-        if (projectRole == ProjectRole.OWNER) {
-            return RepositoryRole.ADMIN;
+    private static RepositoryRoles repositoryRoles(ProjectMetadata metadata, String repoName) {
+        final RepositoryRoles repositoryRoles = metadata.authorizationIndex().repo(repoName);
+        if (repositoryRoles != null) {
+            return repositoryRoles;
         }
-
-        final RepositoryRole memberOrGuestRole;
-        if (projectRole == ProjectRole.MEMBER) {
-            memberOrGuestRole = roles.projectRoles().member();
-        } else {
-            assert projectRole == ProjectRole.GUEST;
-            memberOrGuestRole = roles.projectRoles().guest();
-        }
-
-        if (repositoryRole == RepositoryRole.ADMIN || memberOrGuestRole == RepositoryRole.ADMIN) {
-            return RepositoryRole.ADMIN;
-        }
-
-        if (repositoryRole == RepositoryRole.WRITE || memberOrGuestRole == RepositoryRole.WRITE) {
-            return RepositoryRole.WRITE;
-        }
-
-        if (repositoryRole == RepositoryRole.READ || memberOrGuestRole == RepositoryRole.READ) {
-            return RepositoryRole.READ;
-        }
-
-        return null;
+        throw RepositoryNotFoundException.of(metadata.name(), repoName);
     }
 
     /**
@@ -954,11 +992,82 @@ public class MetadataService {
     }
 
     /**
-     * Fetches the {@link Tokens} from the repository.
+     * Fetches the {@link Tokens} from the repository. Note that this method reads all {@link Token}s.
+     * Use {@link #getTokens()} or {@link #fetchToken(String)} if possible.
      */
     public CompletableFuture<Tokens> fetchTokens() {
-        return tokenRepo.fetch(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, TOKEN_JSON)
-                        .thenApply(HolderWithRevision::object);
+        return fetchLegacyTokens().thenCompose(legacyTokens -> {
+            if (legacyTokens != null) {
+                return CompletableFuture.completedFuture(legacyTokens);
+            }
+            return fetchTokenFiles();
+        });
+    }
+
+    private CompletableFuture<Tokens> fetchTokenFiles() {
+        return dogmaRepo().find(Revision.HEAD, TOKENS_PATH_PATTERN).thenApply(entries -> {
+            final ImmutableList.Builder<Token> tokens = ImmutableList.builder();
+            entries.forEach((path, entry) -> {
+                try {
+                    tokens.add(Jackson.treeToValue((JsonNode) entry.content(), Token.class));
+                } catch (JsonParseException | JsonMappingException e) {
+                    throw new IllegalStateException("failed to parse " + path, e);
+                }
+            });
+            return Tokens.of(tokens.build());
+        });
+    }
+
+    /**
+     * Fetches the {@link Token} of the specified {@code appId} from the repository.
+     */
+    public CompletableFuture<Token> fetchToken(String appId) {
+        requireNonNull(appId, "appId");
+        return fetchLegacyTokens().thenCompose(legacyTokens -> {
+            if (legacyTokens != null) {
+                return CompletableFuture.completedFuture(legacyTokens.get(appId));
+            }
+            return fetchTokenFile(appId);
+        });
+    }
+
+    private CompletableFuture<Token> fetchTokenFile(String appId) {
+        return tokenRepo.fetch(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, tokenPath(appId))
+                        .handle((holder, cause) -> {
+                            if (cause != null) {
+                                final Throwable peeled = Exceptions.peel(cause);
+                                if (peeled instanceof EntryNotFoundException) {
+                                    throw new TokenNotFoundException("Application ID not found: " + appId);
+                                }
+                                return Exceptions.throwUnsafely(peeled);
+                            }
+                            return holder.object();
+                        });
+    }
+
+    /**
+     * Fetches the {@link Tokens} in the legacy token list file, {@value #TOKEN_JSON}. {@code null} is
+     * returned if the migration of the legacy file has been finalized.
+     */
+    private CompletableFuture<Tokens> fetchLegacyTokens() {
+        return dogmaRepo().find(Revision.HEAD, TOKEN_JSON).thenApply(entries -> {
+            if (entries.isEmpty()) {
+                return null;
+            }
+            return legacyTokens((JsonNode) entries.get(TOKEN_JSON).content());
+        });
+    }
+
+    private static Tokens legacyTokens(JsonNode content) {
+        try {
+            return Jackson.treeToValue(content, Tokens.class);
+        } catch (JsonParseException | JsonMappingException e) {
+            throw new IllegalStateException("failed to parse " + TOKEN_JSON, e);
+        }
+    }
+
+    private Repository dogmaRepo() {
+        return projectManager.get(INTERNAL_PROJECT_DOGMA).repos().get(Project.REPO_DOGMA);
     }
 
     /**
@@ -1006,19 +1115,24 @@ public class MetadataService {
         final boolean allowGuestAccess = isSystemAdmin;
         final Token newToken = new Token(appId, secret, isSystemAdmin, allowGuestAccess,
                                          UserAndTimestamp.of(author));
-        final JsonPointer appIdPath = JsonPointer.compile("/appIds" + encodeSegment(newToken.id()));
-        final String newTokenSecret = newToken.secret();
-        assert newTokenSecret != null;
-        final JsonPointer secretPath = JsonPointer.compile("/secrets" + encodeSegment(newTokenSecret));
-        final Change<JsonNode> change =
-                Change.ofJsonPatch(TOKEN_JSON,
-                                   asJsonArray(JsonPatchOperation.testAbsence(appIdPath),
-                                               JsonPatchOperation.testAbsence(secretPath),
-                                               JsonPatchOperation.add(appIdPath, Jackson.valueToTree(newToken)),
-                                               JsonPatchOperation.add(secretPath,
-                                                                      Jackson.valueToTree(newToken.id()))));
-        return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author,
-                              "Add a token: " + newToken.id(), change);
+        final String commitSummary = "Add a token: " + newToken.id();
+        return pushToken(author, appId, commitSummary, (headRevision, tokens) -> {
+            if (tokens.appIds().containsKey(appId)) {
+                throw new ChangeConflictException("The token already exists: " + appId);
+            }
+            // Check all tokens because the secrets of the deactivated tokens are not in the secret map.
+            if (tokens.appIds().values().stream().anyMatch(token -> secret.equals(token.secret()))) {
+                throw new ChangeConflictException("The secret is already used by another token.");
+            }
+            return withToken(tokens, appId, newToken);
+        }, () -> {
+            // Fails with a ChangeConflictException if the token file or the secret file exists already.
+            final List<Change<?>> changes =
+                    ImmutableList.of(Change.ofJsonPatch(tokenPath(newToken.id()), null,
+                                                        Jackson.valueToTree(newToken)),
+                                     reserveTokenSecret(newToken.id(), secret));
+            return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author, commitSummary, changes);
+        });
     }
 
     /**
@@ -1031,20 +1145,17 @@ public class MetadataService {
         final String commitSummary = "Destroy the token: " + appId;
         final UserAndTimestamp userAndTimestamp = UserAndTimestamp.of(author);
 
-        final TokensTransformer transformer = new TokensTransformer((headRevision, tokens) -> {
-            final Token token = tokens.get(appId); // Raise an exception if not found.
+        return updateToken(author, appId, commitSummary, (headRevision, token) -> {
             if (token.deletion() != null) {
                 throw new ChangeConflictException("The token is already destroyed: " + appId);
             }
 
             final String secret = token.secret();
             assert secret != null;
-            final Token newToken = new Token(token.appId(), secret, token.isSystemAdmin(),
-                                             token.isSystemAdmin(), token.allowGuestAccess(),
-                                             token.creation(), token.deactivation(), userAndTimestamp);
-            return new Tokens(updateMap(tokens.appIds(), appId, newToken), tokens.secrets());
+            return new Token(token.appId(), secret, token.isSystemAdmin(),
+                             token.isSystemAdmin(), token.allowGuestAccess(),
+                             token.creation(), token.deactivation(), userAndTimestamp);
         });
-        return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author, commitSummary, transformer);
     }
 
     /**
@@ -1073,17 +1184,83 @@ public class MetadataService {
         }
 
         final String commitSummary = "Remove the token: " + appId;
-
-        final TokensTransformer transformer = new TokensTransformer((headRevision, tokens) -> {
-            final Token token = tokens.get(appId);
-            final Map<String, Token> newAppIds = removeFromMap(tokens.appIds(), appId);
+        return pushToken(author, appId, commitSummary, (headRevision, tokens) -> {
+            // Throws a TokenNotFoundException if there's no such token.
+            tokens.get(appId);
+            return withToken(tokens, appId, null);
+        }, () -> fetchTokenFile(appId).thenCompose(token -> {
             final String secret = token.secret();
-            assert secret != null;
-            final Map<String, String> newSecrets = removeFromMap(tokens.secrets(), secret);
-            return new Tokens(newAppIds, newSecrets);
+            final CompletableFuture<Boolean> secretReserved;
+            if (secret != null) {
+                secretReserved = dogmaRepo().find(Revision.HEAD, tokenSecretPath(secret))
+                                            .thenApply(entries -> !entries.isEmpty());
+            } else {
+                secretReserved = CompletableFuture.completedFuture(false);
+            }
+            return secretReserved.thenCompose(reserved -> {
+                final ImmutableList.Builder<Change<?>> changes = ImmutableList.builder();
+                changes.add(Change.ofRemoval(tokenPath(appId)));
+                if (reserved) {
+                    // Release the secret so that it can be used by another token.
+                    changes.add(Change.ofRemoval(tokenSecretPath(secret)));
+                }
+                return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author, commitSummary,
+                                      changes.build());
+            });
+        })).join();
+    }
+
+    /**
+     * Finalizes the migration of the legacy token list file, {@value #TOKEN_JSON}, into
+     * {@value #TOKENS_DIRECTORY}. The files of the {@link Token}s and their secrets are made identical to
+     * the legacy file, which may have been updated by the servers which have not been upgraded, and then
+     * the legacy file is removed. This must be called only after all servers in the cluster have been
+     * upgraded, because the servers which have not been upgraded read the {@link Token}s only from
+     * the legacy file.
+     */
+    public CompletableFuture<Revision> finalizeTokenMigration(Author author) {
+        requireNonNull(author, "author");
+        final Repository dogmaRepo = dogmaRepo();
+        final Revision headRevision = dogmaRepo.normalizeNow(Revision.HEAD);
+        final String pathPattern = TOKEN_JSON + ',' + TOKENS_PATH_PATTERN + ',' +
+                                   TOKEN_SECRETS_DIRECTORY + "*.json";
+        return dogmaRepo.find(headRevision, pathPattern).thenCompose(entries -> {
+            if (!entries.containsKey(TOKEN_JSON)) {
+                // Finalized already.
+                return CompletableFuture.completedFuture(headRevision);
+            }
+
+            final Tokens legacyTokens = legacyTokens((JsonNode) entries.get(TOKEN_JSON).content());
+            final Map<String, JsonNode> files = new HashMap<>();
+            for (Token token : legacyTokens.appIds().values()) {
+                files.put(tokenPath(token.appId()), Jackson.valueToTree(token));
+                final String secret = token.secret();
+                // An active token wins if a deactivated token has the same secret.
+                if (secret != null && (Tokens.activeSecret(token) != null ||
+                                       !files.containsKey(tokenSecretPath(secret)))) {
+                    files.put(tokenSecretPath(secret), tokenSecretContent(token.appId()));
+                }
+            }
+
+            final ImmutableList.Builder<Change<?>> changes = ImmutableList.builder();
+            entries.forEach((path, entry) -> {
+                // The legacy file is removed here as well.
+                if (!files.containsKey(path)) {
+                    changes.add(Change.ofRemoval(path));
+                } else if (!files.get(path).equals(entry.content())) {
+                    changes.add(Change.ofJsonUpsert(path, files.get(path)));
+                }
+            });
+            files.forEach((path, content) -> {
+                if (!entries.containsKey(path)) {
+                    changes.add(Change.ofJsonUpsert(path, content));
+                }
+            });
+            // Fails with a ChangeConflictException if the legacy file has been changed since it was read.
+            return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author,
+                                  "Finalize the migration of the legacy token list file: " + TOKEN_JSON,
+                                  changes.build(), headRevision);
         });
-        return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author, commitSummary, transformer)
-                        .join();
     }
 
     /**
@@ -1095,20 +1272,15 @@ public class MetadataService {
 
         final String commitSummary = "Enable the token: " + appId;
 
-        final TokensTransformer transformer = new TokensTransformer((headRevision, tokens) -> {
-            final Token token = tokens.get(appId); // Raise an exception if not found.
+        return updateToken(author, appId, commitSummary, (headRevision, token) -> {
             if (token.deactivation() == null) {
                 throw new RedundantChangeException(headRevision, "The token is already activated: " + appId);
             }
             final String secret = token.secret();
             assert secret != null;
-            final Map<String, String> newSecrets =
-                    addToMap(tokens.secrets(), secret, appId); // Note that the key is secret not appId.
-            final Token newToken = new Token(token.appId(), secret, token.isSystemAdmin(),
-                                             token.allowGuestAccess(), token.creation());
-            return new Tokens(updateMap(tokens.appIds(), appId, newToken), newSecrets);
+            return new Token(token.appId(), secret, token.isSystemAdmin(),
+                             token.allowGuestAccess(), token.creation());
         });
-        return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author, commitSummary, transformer);
     }
 
     /**
@@ -1121,22 +1293,16 @@ public class MetadataService {
         final String commitSummary = "Deactivate the token: " + appId;
         final UserAndTimestamp userAndTimestamp = UserAndTimestamp.of(author);
 
-        final TokensTransformer transformer = new TokensTransformer((headRevision, tokens) -> {
-            final Token token = tokens.get(appId);
+        return updateToken(author, appId, commitSummary, (headRevision, token) -> {
             if (token.deactivation() != null) {
                 throw new RedundantChangeException(headRevision, "The token is already deactivated: " + appId);
             }
             final String secret = token.secret();
             assert secret != null;
-            final Token newToken = new Token(token.appId(), secret, token.isSystemAdmin(),
-                                             token.isSystemAdmin(), token.allowGuestAccess(), token.creation(),
-                                             userAndTimestamp, null);
-            final Map<String, Token> newAppIds = updateMap(tokens.appIds(), appId, newToken);
-            final Map<String, String> newSecrets =
-                    removeFromMap(tokens.secrets(), secret); // Note that the key is secret not appId.
-            return new Tokens(newAppIds, newSecrets);
+            return new Token(token.appId(), secret, token.isSystemAdmin(),
+                             token.isSystemAdmin(), token.allowGuestAccess(), token.creation(),
+                             userAndTimestamp, null);
         });
-        return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author, commitSummary, transformer);
     }
 
     /**
@@ -1147,18 +1313,103 @@ public class MetadataService {
         requireNonNull(appId, "appId");
         final String commitSummary =
                 "Update the token level: " + appId + " to " + (toBeSystemAdmin ? "admin" : "user");
-        final TokensTransformer transformer = new TokensTransformer((headRevision, tokens) -> {
-            final Token token = tokens.get(appId); // Raise an exception if not found.
+        return updateToken(author, appId, commitSummary, (headRevision, token) -> {
             if (toBeSystemAdmin == token.isSystemAdmin()) {
                 throw new RedundantChangeException(
                         headRevision,
                         "The token is already " + (toBeSystemAdmin ? "admin" : "user"));
             }
+            return token.withSystemAdmin(toBeSystemAdmin);
+        });
+    }
+
+    private CompletableFuture<Revision> updateToken(Author author, String appId, String commitSummary,
+                                                    BiFunction<Revision, Token, Token> transformer) {
+        return pushToken(author, appId, commitSummary,
+                         (headRevision, tokens) -> withToken(
+                                 tokens, appId, transformer.apply(headRevision, tokens.get(appId))),
+                         () -> tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author,
+                                              commitSummary, new TokenTransformer(appId, transformer)));
+    }
+
+    /**
+     * Pushes a change of the {@link Token} of the specified {@code appId}. If the legacy token list file,
+     * {@value #TOKEN_JSON}, exists, the legacy file is transformed by the specified
+     * {@code legacyTransformer} and pushed with the file of the {@link Token} in the same commit, so that
+     * the servers which have not been upgraded yet see the change as well. Otherwise, the specified
+     * {@code pusher} is invoked.
+     */
+    private CompletableFuture<Revision> pushToken(Author author, String appId, String commitSummary,
+                                                  BiFunction<Revision, Tokens, Tokens> legacyTransformer,
+                                                  Supplier<CompletableFuture<Revision>> pusher) {
+        return pushToken(author, appId, commitSummary, legacyTransformer, pusher,
+                         MAX_LEGACY_TOKENS_PUSH_ATTEMPTS);
+    }
+
+    private CompletableFuture<Revision> pushToken(Author author, String appId, String commitSummary,
+                                                  BiFunction<Revision, Tokens, Tokens> legacyTransformer,
+                                                  Supplier<CompletableFuture<Revision>> pusher,
+                                                  int remainingAttempts) {
+        final Repository dogmaRepo = dogmaRepo();
+        final Revision headRevision = dogmaRepo.normalizeNow(Revision.HEAD);
+        final String tokenPath = tokenPath(appId);
+        return dogmaRepo.find(headRevision, TOKEN_JSON + ',' + tokenPath).thenCompose(entries -> {
+            if (!entries.containsKey(TOKEN_JSON)) {
+                return pusher.get();
+            }
+
+            final Tokens newTokens;
+            try {
+                newTokens = legacyTransformer.apply(
+                        headRevision, legacyTokens((JsonNode) entries.get(TOKEN_JSON).content()));
+            } catch (RedundantChangeException e) {
+                return CompletableFuture.completedFuture(headRevision);
+            }
+            final ImmutableList.Builder<Change<?>> changes = ImmutableList.builder();
+            changes.add(Change.ofJsonUpsert(TOKEN_JSON, Jackson.valueToTree(newTokens)));
+            final Token newToken = newTokens.getOrDefault(appId, null);
+            if (newToken != null) {
+                changes.add(Change.ofJsonUpsert(tokenPath, Jackson.valueToTree(newToken)));
+            } else if (entries.containsKey(tokenPath)) {
+                changes.add(Change.ofRemoval(tokenPath));
+            }
 
-            final Token newToken = token.withSystemAdmin(toBeSystemAdmin);
-            return new Tokens(updateMap(tokens.appIds(), appId, newToken), tokens.secrets());
+            // Push on top of the revision which the legacy file was read at, so that a concurrent change
+            // of the legacy file is never overwritten. Retry with the new legacy file on a conflict.
+            return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author, commitSummary,
+                                  changes.build(), headRevision)
+                            .handle((revision, cause) -> {
+                                if (cause == null) {
+                                    return CompletableFuture.completedFuture(revision);
+                                }
+                                final Throwable peeled = Exceptions.peel(cause);
+                                if (peeled instanceof ChangeConflictException && remainingAttempts > 1) {
+                                    return pushToken(author, appId, commitSummary, legacyTransformer,
+                                                     pusher, remainingAttempts - 1);
+                                }
+                                return CompletableFutures.<Revision>exceptionallyCompletedFuture(peeled);
+                            })
+                            .thenCompose(Function.identity());
         });
-        return tokenRepo.push(INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, author, commitSummary, transformer);
+    }
+
+    /**
+     * Returns a new {@link Tokens} whose {@link Token} of the specified {@code appId} is replaced with
+     * the specified {@code token}. The {@link Token} is removed if the {@code token} is {@code null}.
+     */
+    private static Tokens withToken(Tokens tokens, String appId, @Nullable Token token) {
+        final Map<String, Token> appIds = new LinkedHashMap<>(tokens.appIds());
+        final Map<String, String> secrets = new LinkedHashMap<>(tokens.secrets());
+        appIds.remove(appId);
+        secrets.values().removeIf(appId::equals);
+        if (token != null) {
+            appIds.put(appId, token);
+            final String secret = Tokens.activeSecret(token);
+            if (secret != null) {
+                secrets.put(secret, appId);
+            }
+        }
+        return new Tokens(appIds, secrets);
     }
 
     /**
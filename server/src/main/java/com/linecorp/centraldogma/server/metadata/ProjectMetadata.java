@@ -75,6 +75,9 @@ public class ProjectMetadata implements Identifiable, HasWeight {
     @Nullable
     private final UserAndTimestamp removal;
 
+    @Nullable
+    private volatile AuthorizationIndex authorizationIndex;
+
     /**
      * Creates a new instance.
      */
@@ -183,6 +186,18 @@ public class ProjectMetadata implements Identifiable, HasWeight {
         return defaultMember;
     }
 
+    /**
+     * Returns the {@link AuthorizationIndex} of this project, which is built on the first call.
+     */
+    AuthorizationIndex authorizationIndex() {
+        AuthorizationIndex authorizationIndex = this.authorizationIndex;
+        if (authorizationIndex == null) {
+            // A race is harmless because the index is immutable.
+            this.authorizationIndex = authorizationIndex = AuthorizationIndex.of(this);
+        }
+        return authorizationIndex;
+    }
+
     @Override
     public int weight() {
         int weight = name().length();
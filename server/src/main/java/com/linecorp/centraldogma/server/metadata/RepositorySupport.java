@@ -93,9 +93,13 @@ final class RepositorySupport<T> {
         return push(projectName, repoName, author, commitSummary, ImmutableList.of(change), revision);
     }
 
-    private CompletableFuture<Revision> push(String projectName, String repoName, Author author,
-                                             String commitSummary, Iterable<Change<?>> changes,
-                                             Revision revision) {
+    CompletableFuture<Revision> push(String projectName, String repoName,
+                                     Author author, String commitSummary, Iterable<Change<?>> changes) {
+        return push(projectName, repoName, author, commitSummary, changes, Revision.HEAD);
+    }
+
+    CompletableFuture<Revision> push(String projectName, String repoName, Author author,
+                                     String commitSummary, Iterable<Change<?>> changes, Revision revision) {
         requireNonNull(projectName, "projectName");
         requireNonNull(repoName, "repoName");
         requireNonNull(author, "author");
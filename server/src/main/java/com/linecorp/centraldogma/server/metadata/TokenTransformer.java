@@ -1,5 +1,5 @@
 /*
- * Copyright 2024 LINE Corporation
+ * Copyright 2026 LINE Corporation
  *
  * LINE Corporation licenses this file to you under the Apache License,
  * version 2.0 (the "License"); you may not use this file except in compliance
@@ -15,7 +15,7 @@
  */
 package com.linecorp.centraldogma.server.metadata;
 
-import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKEN_JSON;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.tokenPath;
 
 import java.util.function.BiFunction;
 
@@ -28,22 +28,28 @@ import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.server.command.ContentTransformer;
 
-class TokensTransformer extends ContentTransformer<JsonNode> {
+/**
+ * A {@link ContentTransformer} which transforms the file of a single {@link Token}.
+ */
+class TokenTransformer extends ContentTransformer<JsonNode> {
 
-    TokensTransformer(BiFunction<Revision, Tokens, Tokens> transformer) {
-        super(TOKEN_JSON, EntryType.JSON,
+    TokenTransformer(String appId, BiFunction<Revision, Token, Token> transformer) {
+        super(tokenPath(appId), EntryType.JSON,
               (headRevision, jsonNode) -> Jackson.valueToTree(
-                      transformer.apply(headRevision, tokens(jsonNode))));
+                      transformer.apply(headRevision, token(appId, jsonNode))));
     }
 
-    private static Tokens tokens(JsonNode node) {
-        final Tokens tokens;
+    private static Token token(String appId, JsonNode node) {
+        if (node.isNull()) {
+            throw new TokenNotFoundException("Application ID not found: " + appId);
+        }
+        final Token token;
         try {
-            tokens = Jackson.treeToValue(node, Tokens.class);
+            token = Jackson.treeToValue(node, Token.class);
         } catch (JsonParseException | JsonMappingException e) {
             // Should never reach here.
             throw new Error(e);
         }
-        return tokens;
+        return token;
     }
 }
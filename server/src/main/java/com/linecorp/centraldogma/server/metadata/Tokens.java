@@ -45,6 +45,33 @@ public final class Tokens implements HasWeight {
 
     static final String SECRET_PREFIX = "appToken-";
 
+    /**
+     * Returns a new {@link Tokens} which contains the specified {@link Token}s.
+     */
+    public static Tokens of(Iterable<Token> tokens) {
+        requireNonNull(tokens, "tokens");
+        final ImmutableMap.Builder<String, Token> appIds = ImmutableMap.builder();
+        final ImmutableMap.Builder<String, String> secrets = ImmutableMap.builder();
+        for (Token token : tokens) {
+            appIds.put(token.id(), token);
+            final String secret = activeSecret(token);
+            if (secret != null) {
+                secrets.put(secret, token.id());
+            }
+        }
+        return new Tokens(appIds.build(), secrets.build());
+    }
+
+    /**
+     * Returns the secret of the specified {@link Token} which can be found with
+     * {@link #findBySecret(String)}, or {@code null} if the {@link Token} has been deactivated.
+     */
+    @Nullable
+    public static String activeSecret(Token token) {
+        requireNonNull(token, "token");
+        return token.deactivation() == null ? token.secret() : null;
+    }
+
     /**
      * Tokens which belong to this project.
      */
@@ -23,6 +23,7 @@ import com.linecorp.centraldogma.server.CentralDogmaConfig;
 import com.linecorp.centraldogma.server.command.Command;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
 import com.linecorp.centraldogma.server.mirror.MirrorAccessController;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
 import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.server.storage.project.ProjectManager;
@@ -41,6 +42,7 @@ public class PluginContext {
     private final ScheduledExecutorService purgeWorker;
     private final InternalProjectInitializer internalProjectInitializer;
     private final MirrorAccessController mirrorAccessController;
+    private final EphemeralStore ephemeralStore;
 
     /**
      * Creates a new instance.
@@ -52,6 +54,7 @@ public class PluginContext {
      * @param purgeWorker the {@link ScheduledExecutorService} for the purging service
      * @param internalProjectInitializer the initializer for the internal projects
      * @param mirrorAccessController the controller which controls the access to the remote repos of mirrors
+     * @param ephemeralStore the store which keeps the replicated entries outside of the repositories
      */
     public PluginContext(CentralDogmaConfig config,
                          ProjectManager projectManager,
@@ -59,7 +62,8 @@ public class PluginContext {
                          MeterRegistry meterRegistry,
                          ScheduledExecutorService purgeWorker,
                          InternalProjectInitializer internalProjectInitializer,
-                         MirrorAccessController mirrorAccessController) {
+                         MirrorAccessController mirrorAccessController,
+                         EphemeralStore ephemeralStore) {
         this.config = requireNonNull(config, "config");
         this.projectManager = requireNonNull(projectManager, "projectManager");
         this.commandExecutor = requireNonNull(commandExecutor, "commandExecutor");
@@ -68,6 +72,7 @@ public class PluginContext {
         this.internalProjectInitializer = requireNonNull(internalProjectInitializer,
                                                          "internalProjectInitializer");
         this.mirrorAccessController = requireNonNull(mirrorAccessController, "mirrorAccessController");
+        this.ephemeralStore = requireNonNull(ephemeralStore, "ephemeralStore");
     }
 
     /**
@@ -118,4 +123,11 @@ public class PluginContext {
     public MirrorAccessController mirrorAccessController() {
         return mirrorAccessController;
     }
+
+    /**
+     * Returns the {@link EphemeralStore}.
+     */
+    public EphemeralStore ephemeralStore() {
+        return ephemeralStore;
+    }
 }
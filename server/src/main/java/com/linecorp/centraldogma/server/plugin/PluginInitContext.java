@@ -27,6 +27,7 @@ import com.linecorp.armeria.server.auth.AuthService;
 import com.linecorp.centraldogma.server.CentralDogmaConfig;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
 import com.linecorp.centraldogma.server.mirror.MirrorAccessController;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
 import com.linecorp.centraldogma.server.storage.project.ProjectManager;
 
@@ -50,9 +51,10 @@ public final class PluginInitContext extends PluginContext {
                              ScheduledExecutorService purgeWorker, ServerBuilder serverBuilder,
                              Function<? super HttpService, AuthService> authService,
                              InternalProjectInitializer projectInitializer,
-                             MirrorAccessController mirrorAccessController) {
+                             MirrorAccessController mirrorAccessController,
+                             EphemeralStore ephemeralStore) {
         super(config, projectManager, commandExecutor, meterRegistry, purgeWorker, projectInitializer,
-              mirrorAccessController);
+              mirrorAccessController, ephemeralStore);
         this.serverBuilder = requireNonNull(serverBuilder, "serverBuilder");
         this.authService = requireNonNull(authService, "authService");
     }
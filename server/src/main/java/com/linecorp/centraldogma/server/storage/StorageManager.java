@@ -16,8 +16,12 @@
 
 package com.linecorp.centraldogma.server.storage;
 
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static java.util.Objects.requireNonNull;
+
 import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import com.linecorp.centraldogma.common.Author;
@@ -77,11 +81,31 @@ public interface StorageManager<T> {
      */
     Map<String, T> list();
 
+    /**
+     * Returns the names of all elements. Unlike {@link #list()}, the returned {@link Set} is not sorted and
+     * may be a live view which reflects the later changes.
+     */
+    default Set<String> names() {
+        return list().keySet();
+    }
+
     /**
      * Returns all removed elements as a {@link Map} of the name and the removal timestamp.
      */
     Map<String, Instant> listRemoved();
 
+    /**
+     * Returns the elements removed before the specified {@link Instant} as a {@link Map} of the name and
+     * the removal timestamp, in the order of removal.
+     */
+    default Map<String, Instant> listRemoved(Instant removedBefore) {
+        requireNonNull(removedBefore, "removedBefore");
+        return listRemoved().entrySet().stream()
+                            .filter(e -> e.getValue().isBefore(removedBefore))
+                            .sorted(Map.Entry.comparingByValue())
+                            .collect(toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
     /**
      * Removes an element with the specified {@code name}.
      *
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.storage.ephemeral;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.linecorp.centraldogma.server.command.Command;
+
+/**
+ * A replicated key-value store for the state which changes frequently and only matters in its current
+ * state, such as the membership of endpoints. Unlike the files in a repository, the entries are not
+ * recorded in the Git history. They are replicated to all replicas via
+ * {@link Command#updateEphemeralEntry(com.linecorp.centraldogma.common.Author, String, String, JsonNode)}
+ * and each update is persisted before the command is acknowledged, so a replica which restarts has all
+ * the updates which it has acknowledged.
+ * The entries are grouped by a namespace such as {@code "xds.endpoints"}.
+ */
+public interface EphemeralStore extends AutoCloseable {
+
+    /**
+     * Returns the entry of the specified {@code key} in the specified {@code namespace}.
+     * {@code null} if there's no such entry.
+     */
+    @Nullable
+    JsonNode get(String namespace, String key);
+
+    /**
+     * Returns the immutable copy of the entries in the specified {@code namespace}.
+     */
+    Map<String, JsonNode> entries(String namespace);
+
+    /**
+     * Sets the entry of the specified {@code key} in the specified {@code namespace}. The entry is removed
+     * if the {@code value} is {@code null}. This method is invoked when an update is replicated, so
+     * use {@link Command#updateEphemeralEntry(com.linecorp.centraldogma.common.Author, String, String,
+     * JsonNode)} to update an entry instead of calling this method directly. An implementation must
+     * persist the update before returning, and must raise an exception if it failed to do so.
+     */
+    void update(String namespace, String key, @Nullable JsonNode value);
+
+    /**
+     * Adds the specified {@link Listener} which is notified when an entry in the specified
+     * {@code namespace} is updated. The {@link Listener} is notified of the existing entries first.
+     */
+    void addListener(String namespace, Listener listener);
+
+    /**
+     * Removes the specified {@link Listener} from the specified {@code namespace}.
+     */
+    void removeListener(String namespace, Listener listener);
+
+    /**
+     * A listener which is notified when an entry of an {@link EphemeralStore} is updated.
+     * The listener is invoked by the thread which applies the replicated update, so it must not block.
+     */
+    @FunctionalInterface
+    interface Listener {
+
+        /**
+         * Invoked when the entry of the specified {@code key} is set or removed.
+         *
+         * @param value the new value, or {@code null} if the entry is removed
+         */
+        void onUpdate(String key, @Nullable JsonNode value);
+    }
+}
@@ -21,7 +21,11 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.linecorp.centraldogma.server.command.Command.createProject;
 import static com.linecorp.centraldogma.server.command.Command.createRepository;
 import static com.linecorp.centraldogma.server.command.Command.push;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKENS_DIRECTORY;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKENS_MIGRATION_JSON;
 import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKEN_JSON;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.reserveTokenSecret;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.tokenPath;
 import static java.util.Objects.requireNonNull;
 
 import java.util.List;
@@ -36,6 +40,7 @@ import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.centraldogma.common.Author;
@@ -51,9 +56,10 @@ import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.server.command.Command;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
+import com.linecorp.centraldogma.server.metadata.MetadataService;
+import com.linecorp.centraldogma.server.metadata.Token;
 import com.linecorp.centraldogma.server.metadata.Tokens;
 import com.linecorp.centraldogma.server.storage.repository.Repository;
-import com.linecorp.centraldogma.server.storage.repository.RepositoryListener;
 
 /**
  * Initializes the internal project and repositories.
@@ -69,9 +75,7 @@ public final class InternalProjectInitializer {
     private final CompletableFuture<Void> initialFuture = new CompletableFuture<>();
 
     @Nullable
-    private volatile Revision lastTokensRevision;
-    @Nullable
-    private volatile Tokens tokens;
+    private volatile TokenIndex tokenIndex;
 
     /**
      * Creates a new instance.
@@ -82,7 +86,7 @@ public final class InternalProjectInitializer {
     }
 
     /**
-     * Creates an internal project and repositories and a token storage to {@code dogma/dogma/tokens.json}.
+     * Creates an internal project and repositories and loads the tokens in {@code dogma/dogma/tokens/}.
      */
     public void initialize() {
         try {
@@ -129,68 +133,70 @@ public final class InternalProjectInitializer {
 
     private void initializeTokens() {
         final Repository dogmaRepo = projectManager.get(INTERNAL_PROJECT_DOGMA).repos().get(Project.REPO_DOGMA);
-        final Entry<JsonNode> entry = dogmaRepo.getOrNull(Revision.HEAD, Query.ofJson(TOKEN_JSON)).join();
-        if (entry != null && entry.hasContent()) {
-            setTokens(entry, dogmaRepo);
+        migrateLegacyTokens(dogmaRepo);
+        final TokenIndex tokenIndex = new TokenIndex(dogmaRepo);
+        tokenIndex.start();
+        this.tokenIndex = tokenIndex;
+    }
+
+    /**
+     * Copies the {@link Token}s in the legacy {@code tokens.json} into {@code tokens/}, one file per
+     * {@link Token}, and reserves their secrets. The legacy file is kept and remains the source of truth,
+     * so that the servers which have not been upgraded yet can still authenticate and update
+     * the {@link Token}s during a rolling upgrade. It is removed by
+     * {@link MetadataService#finalizeTokenMigration(Author)} once all servers are upgraded.
+     */
+    private void migrateLegacyTokens(Repository dogmaRepo) {
+        final Revision headRevision = dogmaRepo.normalizeNow(Revision.HEAD);
+        final Entry<JsonNode> entry = dogmaRepo.getOrNull(headRevision, Query.ofJson(TOKEN_JSON)).join();
+        if (entry == null ||
+            dogmaRepo.getOrNull(headRevision, Query.ofJson(TOKENS_MIGRATION_JSON)).join() != null) {
             return;
         }
-        try {
-            final Change<?> change = Change.ofJsonPatch(TOKEN_JSON,
-                                                        null, Jackson.valueToTree(new Tokens()));
-            final String commitSummary = "Initialize the token list file: /" + INTERNAL_PROJECT_DOGMA + '/' +
-                                         Project.REPO_DOGMA + TOKEN_JSON;
-            executor.execute(Command.forcePush(push(Author.SYSTEM, INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA,
-                                                    Revision.HEAD, commitSummary, "", Markup.PLAINTEXT,
-                                                    ImmutableList.of(change))))
-                    .get();
-            final Entry<JsonNode> entry1 = dogmaRepo.getOrNull(Revision.HEAD, Query.ofJson(TOKEN_JSON)).join();
-            assert entry1 != null;
-            setTokens(entry1, dogmaRepo);
-        } catch (Throwable cause) {
-            final Throwable peeled = Exceptions.peel(cause);
-            if (peeled instanceof ChangeConflictException) {
-                return;
-            }
-            throw new Error("failed to initialize the token list file", peeled);
-        }
-    }
 
-    private void setTokens(Entry<JsonNode> entry, Repository dogmaRepo) {
+        final Tokens legacyTokens;
         try {
-            final Tokens tokens = Jackson.treeToValue(entry.content(), Tokens.class);
-            lastTokensRevision = entry.revision();
-            this.tokens = tokens;
-            attachTokensListener(dogmaRepo);
+            legacyTokens = Jackson.treeToValue(entry.content(), Tokens.class);
         } catch (JsonParseException | JsonMappingException e) {
             throw new RuntimeException(String.format("failed to parse %s/%s/%s", INTERNAL_PROJECT_DOGMA,
                                                      Project.REPO_DOGMA, TOKEN_JSON), e);
         }
-    }
 
-    private void attachTokensListener(Repository dogmaRepo) {
-        dogmaRepo.addListener(RepositoryListener.of(Query.ofJson(TOKEN_JSON), entry -> {
-            if (entry == null) {
-                logger.warn("{} file is missing in {}/{}", TOKEN_JSON, INTERNAL_PROJECT_DOGMA,
-                            Project.REPO_DOGMA);
-                return;
+        final ImmutableList.Builder<Change<?>> changes = ImmutableList.builder();
+        for (Token token : legacyTokens.appIds().values()) {
+            changes.add(Change.ofJsonUpsert(tokenPath(token.appId()), Jackson.valueToTree(token)));
+            final String secret = token.secret();
+            if (secret != null) {
+                changes.add(reserveTokenSecret(token.appId(), secret));
             }
-
-            final Revision lastRevision = entry.revision();
-            final Revision lastTokensRevision = this.lastTokensRevision;
-            if (lastTokensRevision != null && lastRevision.compareTo(lastTokensRevision) <= 0) {
-                // An old data.
+        }
+        // Fails with a ChangeConflictException if another server has migrated the legacy file already.
+        changes.add(Change.ofJsonPatch(TOKENS_MIGRATION_JSON, null,
+                                       Jackson.valueToTree(ImmutableMap.of("migratedRevision",
+                                                                           headRevision.major()))));
+        final String commitSummary = "Migrate /" + INTERNAL_PROJECT_DOGMA + '/' + Project.REPO_DOGMA +
+                                     TOKEN_JSON + " to " + TOKENS_DIRECTORY;
+        try {
+            executor.execute(Command.forcePush(push(Author.SYSTEM, INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA,
+                                                    Revision.HEAD, commitSummary, "", Markup.PLAINTEXT,
+                                                    changes.build())))
+                    .get();
+            logger.info("Migrated {} tokens from {}/{}{} to {}", legacyTokens.appIds().size(),
+                        INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, TOKEN_JSON, TOKENS_DIRECTORY);
+        } catch (Throwable cause) {
+            final Throwable peeled = Exceptions.peel(cause);
+            if (peeled instanceof ChangeConflictException) {
+                // Migrated by another replica.
                 return;
             }
-
-            try {
-                final Tokens tokens = Jackson.treeToValue(entry.content(), Tokens.class);
-                this.lastTokensRevision = lastRevision;
-                this.tokens = tokens;
-            } catch (JsonParseException | JsonMappingException e) {
-                logger.warn("Invalid {} file in {}/{}", TOKEN_JSON, INTERNAL_PROJECT_DOGMA,
-                            Project.REPO_DOGMA, e);
+            if (peeled instanceof ReadOnlyException) {
+                // The legacy tokens are served until another replica migrates them.
+                logger.warn("Failed to migrate {}/{}{} because the server is read-only.",
+                            INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, TOKEN_JSON);
+                return;
             }
-        }));
+            throw new Error("failed to migrate the token list file", peeled);
+        }
     }
 
     /**
@@ -205,9 +211,9 @@ public final class InternalProjectInitializer {
      * Returns the {@link Tokens}.
      */
     public Tokens tokens() {
-        final Tokens tokens = this.tokens;
-        checkState(tokens != null, "tokens have not been loaded yet");
-        return tokens;
+        final TokenIndex tokenIndex = this.tokenIndex;
+        checkState(tokenIndex != null, "tokens have not been loaded yet");
+        return tokenIndex.tokens();
     }
 
     /**
@@ -16,9 +16,35 @@
 
 package com.linecorp.centraldogma.server.storage.project;
 
+import static java.util.Objects.requireNonNull;
+
+import java.time.Instant;
+
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
+
 import com.linecorp.centraldogma.server.storage.StorageManager;
 
 /**
  * A manager which manages {@link Project}s in the Central Dogma.
  */
-public interface ProjectManager extends StorageManager<Project> {}
+public interface ProjectManager extends StorageManager<Project> {
+
+    /**
+     * Returns the repositories of all projects removed before the specified {@link Instant}, in the order
+     * of removal. The row key of the returned {@link Table} is the project name and the column key is
+     * the repository name.
+     */
+    default Table<String, String, Instant> listRemovedRepositories(Instant removedBefore) {
+        requireNonNull(removedBefore, "removedBefore");
+        final ImmutableTable.Builder<String, String, Instant> builder = ImmutableTable.builder();
+        list().values().stream()
+              .flatMap(project -> project.repos().listRemoved(removedBefore).entrySet().stream()
+                                         .map(e -> Tables.immutableCell(project.name(), e.getKey(),
+                                                                        e.getValue())))
+              .sorted((a, b) -> a.getValue().compareTo(b.getValue()))
+              .forEach(builder::put);
+        return builder.build();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.storage.project;
+
+import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKENS_DIRECTORY;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKENS_PATH_PATTERN;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKEN_JSON;
+import static com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer.INTERNAL_PROJECT_DOGMA;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.common.ShuttingDownException;
+import com.linecorp.centraldogma.internal.Jackson;
+import com.linecorp.centraldogma.server.metadata.MetadataService;
+import com.linecorp.centraldogma.server.metadata.Token;
+import com.linecorp.centraldogma.server.metadata.Tokens;
+import com.linecorp.centraldogma.server.storage.repository.DiffResultType;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+
+/**
+ * An in-memory index of the {@link Token}s which are stored in {@value MetadataService#TOKENS_DIRECTORY}
+ * of the internal dogma repository, one file per {@link Token}. The index is updated with the diff of
+ * each commit, so that a change of a {@link Token} does not re-read the other {@link Token}s.
+ *
+ * <p>While the legacy token list file, {@value MetadataService#TOKEN_JSON}, exists, the {@link Token}s in
+ * the legacy file are served instead, because the servers which have not been upgraded yet update only
+ * the legacy file.
+ */
+final class TokenIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenIndex.class);
+
+    private static final String JSON_SUFFIX = ".json";
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final String PATH_PATTERN = TOKENS_PATH_PATTERN + ',' + TOKEN_JSON;
+
+    private final Repository dogmaRepo;
+    private final ConcurrentMap<String, Token> appIds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> secrets = new ConcurrentHashMap<>();
+    private final Tokens tokens = new Tokens(Collections.unmodifiableMap(appIds),
+                                             Collections.unmodifiableMap(secrets));
+
+    @Nullable
+    private volatile Tokens legacyTokens;
+    @Nullable
+    private volatile Revision lastRevision;
+
+    TokenIndex(Repository dogmaRepo) {
+        this.dogmaRepo = requireNonNull(dogmaRepo, "dogmaRepo");
+    }
+
+    /**
+     * Loads all {@link Token}s and starts to follow the changes.
+     */
+    void start() {
+        final Revision headRevision = dogmaRepo.normalizeNow(Revision.HEAD);
+        final Map<String, Entry<?>> entries = dogmaRepo.find(headRevision, PATH_PATTERN).join();
+        entries.forEach((path, entry) -> put(path, (JsonNode) entry.content()));
+        lastRevision = headRevision;
+        watch();
+    }
+
+    Tokens tokens() {
+        final Tokens legacyTokens = this.legacyTokens;
+        return legacyTokens != null ? legacyTokens : tokens;
+    }
+
+    private void watch() {
+        final Revision lastRevision = this.lastRevision;
+        assert lastRevision != null;
+        dogmaRepo.watch(lastRevision, PATH_PATTERN).thenCompose(newRevision -> {
+            return dogmaRepo.diff(lastRevision, newRevision, PATH_PATTERN, DiffResultType.PATCH_TO_UPSERT)
+                            .thenAccept(changes -> {
+                                changes.forEach((path, change) -> {
+                                    if (!TOKEN_JSON.equals(path)) {
+                                        apply(path, change);
+                                    }
+                                });
+                                // Apply the legacy file last, so that the files of the tokens are up-to-date
+                                // when the legacy file is removed.
+                                final Change<?> legacyChange = changes.get(TOKEN_JSON);
+                                if (legacyChange != null) {
+                                    apply(TOKEN_JSON, legacyChange);
+                                }
+                                this.lastRevision = newRevision;
+                            });
+        }).handle((unused, cause) -> {
+            if (cause == null) {
+                watch();
+                return null;
+            }
+
+            final Throwable peeled = Exceptions.peel(cause);
+            if (peeled instanceof ShuttingDownException) {
+                return null;
+            }
+            logger.warn("Failed to update the tokens in {}/{}{}; retrying in {} ms",
+                        INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, TOKENS_DIRECTORY, RETRY_DELAY_MILLIS,
+                        peeled);
+            CompletableFuture.delayedExecutor(RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                             .execute(this::watch);
+            return null;
+        });
+    }
+
+    private void apply(String path, Change<?> change) {
+        switch (change.type()) {
+            case UPSERT_JSON:
+                put(path, (JsonNode) change.content());
+                break;
+            case REMOVE:
+                if (TOKEN_JSON.equals(path)) {
+                    legacyTokens = null;
+                } else {
+                    remove(appId(path));
+                }
+                break;
+            default:
+                logger.warn("Unexpected change of a token: {}", change);
+        }
+    }
+
+    private void put(String path, JsonNode content) {
+        if (TOKEN_JSON.equals(path)) {
+            try {
+                legacyTokens = Jackson.treeToValue(content, Tokens.class);
+            } catch (Exception e) {
+                logger.warn("Invalid token list file: {}/{}{}", INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA,
+                            path, e);
+            }
+            return;
+        }
+
+        final Token token;
+        try {
+            token = Jackson.treeToValue(content, Token.class);
+        } catch (Exception e) {
+            logger.warn("Invalid token file: {}/{}{}", INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, path, e);
+            return;
+        }
+        if (!token.appId().equals(appId(path))) {
+            logger.warn("Mismatching application ID {} in {}/{}{}", token.appId(),
+                        INTERNAL_PROJECT_DOGMA, Project.REPO_DOGMA, path);
+            return;
+        }
+        put(token);
+    }
+
+    private void put(Token token) {
+        final String appId = token.appId();
+        final Token oldToken = appIds.put(appId, token);
+        final String newSecret = Tokens.activeSecret(token);
+        if (oldToken != null) {
+            final String oldSecret = oldToken.secret();
+            if (oldSecret != null && !oldSecret.equals(newSecret)) {
+                secrets.remove(oldSecret, appId);
+            }
+        }
+        if (newSecret != null) {
+            secrets.put(newSecret, appId);
+        }
+    }
+
+    private void remove(String appId) {
+        final Token oldToken = appIds.remove(appId);
+        if (oldToken != null && oldToken.secret() != null) {
+            secrets.remove(oldToken.secret(), appId);
+        }
+    }
+
+    private static String appId(String path) {
+        assert path.startsWith(TOKENS_DIRECTORY) && path.endsWith(JSON_SUFFIX) : path;
+        return path.substring(TOKENS_DIRECTORY.length(), path.length() - JSON_SUFFIX.length());
+    }
+}
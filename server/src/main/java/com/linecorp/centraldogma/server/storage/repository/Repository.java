@@ -31,6 +31,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.eclipse.jgit.lib.ObjectId;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
@@ -75,6 +78,17 @@ public interface Repository {
      */
     org.eclipse.jgit.lib.Repository jGitRepository();
 
+    /**
+     * Invokes the specified {@code action} with the jGit {@link org.eclipse.jgit.lib.Repository} and returns
+     * its result. The jGit {@link org.eclipse.jgit.lib.Repository} is not closed until the {@code action}
+     * returns even if this {@link Repository} becomes idle, so use this method rather than
+     * {@link #jGitRepository()} for a long operation such as serving a fetch.
+     */
+    default <T> T withJGitRepository(Function<? super org.eclipse.jgit.lib.Repository, ? extends T> action) {
+        requireNonNull(action, "action");
+        return action.apply(jGitRepository());
+    }
+
     /**
      * Returns the parent {@link Project} of this {@link Repository}.
      */
@@ -216,6 +230,17 @@ public interface Repository {
         });
     }
 
+    /**
+     * Finds the ID of the Git blob which holds the content of the file at the specified {@code path} and
+     * {@link Revision}. The files with the same blob ID have the same content regardless of their revisions.
+     *
+     * @return the {@link ObjectId} of the blob. {@code null} if the file does not exist or this
+     *         {@link Repository} does not provide the blob IDs.
+     */
+    default CompletableFuture<ObjectId> findBlobIdOrNull(Revision revision, String path) {
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Finds the {@link Entry}s that match the specified {@code pathPattern}.
      *
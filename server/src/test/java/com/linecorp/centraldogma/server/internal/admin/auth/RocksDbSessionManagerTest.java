@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.admin.auth;
+
+import static java.nio.file.Files.createTempDirectory;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.centraldogma.server.auth.AuthException;
+import com.linecorp.centraldogma.server.auth.Session;
+
+class RocksDbSessionManagerTest {
+
+    @TempDir
+    static Path rootDir;
+
+    @Test
+    void shouldDoBasicOperations() throws Exception {
+        try (RocksDbSessionManager manager =
+                     new RocksDbSessionManager(createTempDirectory(rootDir, ""), null, null)) {
+            final Session session = new Session(manager.generateSessionId(), "username", Duration.ofHours(1));
+            manager.create(session).join();
+            assertThat(manager.exists(session.id()).join()).isTrue();
+            assertThat(manager.get(session.id()).join())
+                    .isEqualToIgnoringGivenFields(session, "rawSession");
+
+            assertThatThrownBy(() -> manager.create(session).join())
+                    .hasCauseInstanceOf(AuthException.class)
+                    .hasMessageContaining("duplicate session");
+
+            final Session updatedSession =
+                    new Session(session.id(), "username2", Duration.ofHours(2));
+            manager.update(updatedSession).join();
+            assertThat(manager.get(updatedSession.id()).join())
+                    .isEqualToIgnoringGivenFields(updatedSession, "rawSession");
+
+            manager.delete(updatedSession.id()).join();
+            assertThat(manager.get(updatedSession.id()).join()).isNull();
+            assertThat(manager.exists(updatedSession.id()).join()).isFalse();
+
+            assertThatThrownBy(() -> manager.update(updatedSession).join())
+                    .hasCauseInstanceOf(AuthException.class)
+                    .hasMessageContaining("unknown session");
+        }
+    }
+
+    @Test
+    void shouldApplyConcurrentWrites() throws Exception {
+        try (RocksDbSessionManager manager =
+                     new RocksDbSessionManager(createTempDirectory(rootDir, ""), null, null)) {
+            final List<Session> sessions = new ArrayList<>();
+            final List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final Session session =
+                        new Session(manager.generateSessionId(), "username" + i, Duration.ofHours(1));
+                sessions.add(session);
+                futures.add(manager.create(session));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            for (Session session : sessions) {
+                assertThat(manager.get(session.id()).join().username()).isEqualTo(session.username());
+            }
+        }
+    }
+
+    @Test
+    void shouldDeleteExpiredSessions() throws Exception {
+        try (RocksDbSessionManager manager =
+                     new RocksDbSessionManager(createTempDirectory(rootDir, ""), null, "*/2 * * ? * *")) {
+            final Session session =
+                    new Session(manager.generateSessionId(), "username", Duration.ofSeconds(5));
+            final Session longLivedSession =
+                    new Session(manager.generateSessionId(), "username", Duration.ofHours(1));
+            manager.create(session).join();
+            manager.create(longLivedSession).join();
+
+            await().untilAsserted(() -> assertThat(manager.get(session.id()).join()).isNull());
+            assertThat(manager.get(longLivedSession.id()).join()).isNotNull();
+        }
+    }
+
+    @Test
+    void shouldImportLegacySessions() throws Exception {
+        final Path legacyRootDir = createTempDirectory(rootDir, "");
+        final FileBasedSessionManager legacyManager = new FileBasedSessionManager(legacyRootDir, null);
+        final Session session =
+                new Session(legacyManager.generateSessionId(), "username", Duration.ofHours(1));
+        legacyManager.create(session).join();
+        legacyManager.close();
+
+        final Path dbDir = createTempDirectory(rootDir, "");
+        try (RocksDbSessionManager manager = new RocksDbSessionManager(dbDir, legacyRootDir, null)) {
+            assertThat(manager.get(session.id()).join())
+                    .isEqualToIgnoringGivenFields(session, "rawSession");
+        }
+        assertThat(legacyRootDir).doesNotExist();
+
+        // The imported sessions should survive a restart.
+        try (RocksDbSessionManager manager = new RocksDbSessionManager(dbDir, legacyRootDir, null)) {
+            assertThat(manager.get(session.id()).join())
+                    .isEqualToIgnoringGivenFields(session, "rawSession");
+        }
+    }
+
+    @Test
+    void invalidSessionIds() throws Exception {
+        try (RocksDbSessionManager manager =
+                     new RocksDbSessionManager(createTempDirectory(rootDir, ""), null, null)) {
+            assertThat(manager.get("anonymous").join()).isNull();
+            assertThat(manager.exists("anonymous").join()).isFalse();
+
+            // Other operations such as create, update and delete should fail.
+            final Session session = new Session("anonymous", "username", Duration.ofHours(1));
+            assertThatThrownBy(() -> manager.create(session).join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class)
+                    .satisfies(cause -> assertThat(cause.getCause()).hasMessageContaining("sessionId:"));
+
+            assertThatThrownBy(() -> manager.update(session).join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class)
+                    .satisfies(cause -> assertThat(cause.getCause()).hasMessageContaining("sessionId:"));
+
+            assertThatThrownBy(() -> manager.delete("anonymous").join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class)
+                    .satisfies(cause -> assertThat(cause.getCause()).hasMessageContaining("sessionId:"));
+        }
+    }
+}
@@ -65,6 +65,7 @@ class ContentServiceV1Test {
             // - watchRepositoryTimeout
             // - watchFileTimeout
             builder.requestTimeoutMillis(3_000);
+            builder.maxNumQueriesPerBatch(2);
         }
 
         @Override
@@ -134,6 +135,18 @@ class ContentServiceV1Test {
                 '}');
     }
 
+    @Test
+    void tooManyQueriesInBatch() {
+        final WebClient client = dogma.httpClient();
+        final String body = "{ \"queries\": [ { \"path\": \"/a.json\" }, { \"path\": \"/b.json\" }," +
+                            "                { \"path\": \"/c.json\" } ] }";
+        final RequestHeaders headers = RequestHeaders.of(HttpMethod.POST, CONTENTS_PREFIX + "/batch",
+                                                         HttpHeaderNames.CONTENT_TYPE, MediaType.JSON);
+        final AggregatedHttpResponse res = client.execute(headers, body).aggregate().join();
+        assertThat(res.status()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(res.contentUtf8()).contains("too many queries");
+    }
+
     @Test
     void pushFileToMetaRepositoryShouldFail() {
         final WebClient client = dogma.httpClient();
@@ -463,6 +476,38 @@ class ContentServiceV1Test {
             assertThatJson(actualJson).isEqualTo(expectedJson);
         }
 
+        @Test
+        void conditionalGetFile() {
+            final WebClient client = dogma.httpClient();
+            addFooJson(client);
+            final AggregatedHttpResponse res = client.get(CONTENTS_PREFIX + "/foo.json").aggregate().join();
+            assertThat(res.status()).isSameAs(HttpStatus.OK);
+            final String etag = res.headers().get(HttpHeaderNames.ETAG);
+            assertThat(etag).startsWith("\"2-");
+            assertThat(res.headers().get(HttpHeaderNames.CACHE_CONTROL)).doesNotContain("immutable");
+
+            // Not modified because no commits were pushed.
+            final RequestHeaders headers = RequestHeaders.of(HttpMethod.GET, CONTENTS_PREFIX + "/foo.json",
+                                                             HttpHeaderNames.IF_NONE_MATCH, etag);
+            AggregatedHttpResponse conditionalRes = client.execute(headers).aggregate().join();
+            assertThat(conditionalRes.status()).isSameAs(HttpStatus.NOT_MODIFIED);
+            assertThat(conditionalRes.headers().get(HttpHeaderNames.ETAG)).isEqualTo(etag);
+            assertThat(conditionalRes.contentUtf8()).isEmpty();
+
+            // A read at an absolute revision never changes.
+            final AggregatedHttpResponse absoluteRes =
+                    client.get(CONTENTS_PREFIX + "/foo.json?revision=2").aggregate().join();
+            assertThat(absoluteRes.headers().get(HttpHeaderNames.ETAG)).isEqualTo(etag);
+            assertThat(absoluteRes.headers().get(HttpHeaderNames.CACHE_CONTROL)).contains("immutable");
+
+            // Modified by a new commit.
+            editFooJson(client);
+            conditionalRes = client.execute(headers).aggregate().join();
+            assertThat(conditionalRes.status()).isSameAs(HttpStatus.OK);
+            assertThat(conditionalRes.headers().get(HttpHeaderNames.ETAG)).startsWith("\"3-");
+            assertThatJson(conditionalRes.contentUtf8()).node("content.a").isEqualTo("baz");
+        }
+
         @Test
         void listFiles() {
             final WebClient client = dogma.httpClient();
@@ -23,6 +23,7 @@ import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 
 import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.RequestHeaders;
 import com.linecorp.armeria.server.ServiceRequestContext;
@@ -92,6 +93,18 @@ class WatchRequestConverterTest {
         assertThat(watchRequest).isNull();
     }
 
+    @Test
+    void contentETagIsNotWatchRequest() throws Exception {
+        final RequestHeaders headers = RequestHeaders.of(HttpMethod.GET, "/",
+                                                         HttpHeaderNames.IF_NONE_MATCH,
+                                                         "\"2-0123456789abcdef\"");
+        final AggregatedHttpRequest request = AggregatedHttpRequest.of(headers);
+        final ServiceRequestContext ctx = ServiceRequestContext.of(request.toHttpRequest());
+
+        final WatchRequest watchRequest = convert(ctx, request);
+        assertThat(watchRequest).isNull();
+    }
+
     @Nullable
     private static WatchRequest convert(
             ServiceRequestContext ctx, AggregatedHttpRequest request) throws Exception {
@@ -16,10 +16,13 @@
 
 package com.linecorp.centraldogma.server.internal.storage;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import java.io.File;
+import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
@@ -65,4 +68,41 @@ class DefaultProjectManagerTest {
         pm.purgeMarked();
         assertThat(counter.get()).isEqualTo(2);
     }
+
+    @Test
+    void listRemovedRepositories() {
+        final DefaultProjectManager pm = new DefaultProjectManager(
+                tempDir,
+                MoreExecutors.directExecutor(),
+                MoreExecutors.directExecutor(),
+                mock(MeterRegistry.class),
+                null, NoopEncryptionStorageManager.INSTANCE);
+
+        final RepositoryManager fooRepos = pm.create("foo", Author.SYSTEM).repos();
+        final RepositoryManager barRepos = pm.create("bar", Author.SYSTEM).repos();
+        fooRepos.create("a", Author.SYSTEM);
+        fooRepos.create("b", Author.SYSTEM);
+        barRepos.create("c", Author.SYSTEM);
+        fooRepos.remove("a");
+        fooRepos.remove("b");
+        barRepos.remove("c");
+        assertThat(removedRepositories(pm)).containsExactlyInAnyOrder("foo/a", "foo/b", "bar/c");
+        assertThat(pm.listRemovedRepositories(Instant.EPOCH).cellSet()).isEmpty();
+
+        fooRepos.unremove("a");
+        fooRepos.markForPurge("b");
+        assertThat(removedRepositories(pm)).containsExactly("bar/c");
+
+        // The removed repositories of a removed project are purged along with the project.
+        pm.remove("bar");
+        assertThat(removedRepositories(pm)).isEmpty();
+        pm.unremove("bar");
+        assertThat(removedRepositories(pm)).containsExactly("bar/c");
+    }
+
+    private static List<String> removedRepositories(DefaultProjectManager pm) {
+        return pm.listRemovedRepositories(Instant.now().plusSeconds(60)).cellSet().stream()
+                 .map(cell -> cell.getRowKey() + '/' + cell.getColumnKey())
+                 .collect(toImmutableList());
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class RemovalIndexTest {
+
+    @Test
+    void listRemovedBefore() {
+        final RemovalIndex index = new RemovalIndex();
+        index.add("foo", Instant.ofEpochMilli(300));
+        index.add("bar", Instant.ofEpochMilli(100));
+        index.add("baz", Instant.ofEpochMilli(200));
+
+        // Sorted by name.
+        assertThat(index.list()).containsExactly(removal("bar", 100), removal("baz", 200), removal("foo", 300));
+        // Sorted by removal time.
+        assertThat(index.listRemovedBefore(Instant.ofEpochMilli(300)))
+                .containsExactly(removal("bar", 100), removal("baz", 200));
+        assertThat(index.listRemovedBefore(Instant.ofEpochMilli(100))).isEmpty();
+
+        // Removed again with a new timestamp.
+        index.add("bar", Instant.ofEpochMilli(400));
+        assertThat(index.listRemovedBefore(Instant.ofEpochMilli(300))).containsExactly(removal("baz", 200));
+
+        index.remove("baz");
+        assertThat(index.listRemovedBefore(Instant.ofEpochMilli(1000)))
+                .containsExactly(removal("foo", 300), removal("bar", 400));
+        assertThat(index.list()).containsOnlyKeys("bar", "foo");
+    }
+
+    private static Map.Entry<String, Instant> removal(String name, long removedAtMillis) {
+        return entry(name, Instant.ofEpochMilli(removedAtMillis));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.centraldogma.server.storage.StorageException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StorageLoaderTest {
+
+    @Test
+    void nestedLoadingDoesNotDeadlock() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final Set<String> loaded = ConcurrentHashMap.newKeySet();
+        try (StorageLoader loader = new StorageLoader(2, meterRegistry)) {
+            // Every project loads its repositories with the same loader, as DefaultProject does.
+            loader.loadAll(files("project", 8), "project", project -> {
+                loader.loadAll(files(project.getName() + "/repo", 8), "repository",
+                               repo -> loaded.add(repo.getPath()));
+            });
+        }
+
+        assertThat(loaded).hasSize(64);
+        assertThat(meterRegistry.get("storage.load.child.duration").tag("type", "project").timer().count())
+                .isEqualTo(8);
+        assertThat(meterRegistry.get("storage.load.child.duration").tag("type", "repository").timer().count())
+                .isEqualTo(64);
+        assertThat(meterRegistry.get("storage.load.duration").tag("type", "project").timer().count())
+                .isOne();
+    }
+
+    @Test
+    void failuresAreReportedPerChild() {
+        try (StorageLoader loader = new StorageLoader(1, new SimpleMeterRegistry())) {
+            assertThatThrownBy(() -> loader.loadAll(files("repo", 4), "repository", repo -> {
+                if (repo.getName().equals("repo2")) {
+                    throw new StorageException("failed to open repository: " + repo);
+                }
+            })).isInstanceOf(StorageException.class)
+               .hasMessageContaining("repo2");
+        }
+    }
+
+    private static List<File> files(String prefix, int count) {
+        return IntStream.range(0, count)
+                        .mapToObj(i -> new File(prefix + i))
+                        .collect(Collectors.toList());
+    }
+}
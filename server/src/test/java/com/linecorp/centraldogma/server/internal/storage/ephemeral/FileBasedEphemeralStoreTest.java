@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.ephemeral;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
+
+class FileBasedEphemeralStoreTest {
+
+    @TempDir
+    Path rootDir;
+
+    @Test
+    void updateAndNotify() {
+        try (FileBasedEphemeralStore store = new FileBasedEphemeralStore(rootDir)) {
+            store.update("foo", "a", IntNode.valueOf(1));
+
+            final List<String> events = new ArrayList<>();
+            final EphemeralStore.Listener listener = (key, value) -> events.add(key + '=' + value);
+            // Notified of the existing entries first.
+            store.addListener("foo", listener);
+            assertThat(events).containsExactly("a=1");
+
+            store.update("foo", "b", IntNode.valueOf(2));
+            // An update with the same value is ignored.
+            store.update("foo", "b", IntNode.valueOf(2));
+            store.update("foo", "a", null);
+            // Removing a non-existent entry is ignored as well.
+            store.update("foo", "c", null);
+            // The entries in the other namespaces are not notified.
+            store.update("bar", "a", IntNode.valueOf(3));
+            assertThat(events).containsExactly("a=1", "b=2", "a=null");
+
+            assertThat(store.get("foo", "a")).isNull();
+            assertThat(store.get("foo", "b")).isEqualTo(IntNode.valueOf(2));
+            assertThat(store.entries("foo")).containsOnlyKeys("b");
+            assertThat(store.entries("baz")).isEmpty();
+
+            store.removeListener("foo", listener);
+            store.update("foo", "d", IntNode.valueOf(4));
+            assertThat(events).hasSize(3);
+        }
+    }
+
+    @Test
+    void updatesArePersistedBeforeReturning() {
+        final Path storeDir = rootDir.resolve("store");
+        final FileBasedEphemeralStore store = new FileBasedEphemeralStore(storeDir);
+        // The directory is not created until an entry is written.
+        assertThat(storeDir).doesNotExist();
+        store.update("xds.endpoints", "foo/k8s/endpoints/a.json", TextNode.valueOf("a"));
+        store.update("xds.endpoints", "foo/k8s/endpoints/b.json", TextNode.valueOf("b"));
+        store.update("xds.endpoints", "foo/k8s/endpoints/b.json", null);
+        // Not closed, as if the server crashed.
+
+        try (FileBasedEphemeralStore restarted = new FileBasedEphemeralStore(storeDir)) {
+            assertThat(restarted.entries("xds.endpoints"))
+                    .containsOnlyKeys("foo/k8s/endpoints/a.json")
+                    .containsEntry("foo/k8s/endpoints/a.json", TextNode.valueOf("a"));
+        }
+    }
+
+    @Test
+    void failedUpdateIsNotApplied() throws Exception {
+        // A file where the namespace directory should be.
+        Files.write(rootDir.resolve("foo"), new byte[0]);
+        try (FileBasedEphemeralStore store = new FileBasedEphemeralStore(rootDir)) {
+            assertThatThrownBy(() -> store.update("foo", "a", IntNode.valueOf(1)))
+                    .isInstanceOf(UncheckedIOException.class);
+            assertThat(store.get("foo", "a")).isNull();
+        }
+    }
+
+    @Test
+    void invalidNamespace() throws Exception {
+        Files.createDirectories(rootDir.resolve(".hidden"));
+        try (FileBasedEphemeralStore store = new FileBasedEphemeralStore(rootDir)) {
+            assertThatThrownBy(() -> store.update("../foo", "a", IntNode.valueOf(1)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> store.entries(""))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.CentralDogmaException;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.common.RevisionNotFoundException;
+import com.linecorp.centraldogma.server.internal.storage.repository.git.GitRepositoryManager;
+import com.linecorp.centraldogma.server.storage.encryption.NoopEncryptionStorageManager;
+import com.linecorp.centraldogma.server.storage.project.Project;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+import com.linecorp.centraldogma.server.storage.repository.RepositoryManager;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MeteredRepositoryManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RepositoryManager manager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        final RepositoryMetrics metrics = new RepositoryMetrics(meterRegistry);
+        final Project project = mock(Project.class);
+        lenient().when(project.name()).thenReturn("foo");
+        manager = new MeteredRepositoryManager(
+                new GitRepositoryManager(project, tempDir.toFile(), ForkJoinPool.commonPool(),
+                                         mock(Executor.class), null, NoopEncryptionStorageManager.INSTANCE,
+                                         null, null, metrics),
+                metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close(() -> new CentralDogmaException("closed"));
+    }
+
+    @Test
+    void recordOperations() {
+        final Repository repo = manager.create("bar", Author.SYSTEM);
+        repo.commit(Revision.HEAD, 0L, Author.SYSTEM, "Add a.txt", Change.ofTextUpsert("/a.txt", "a"))
+            .join();
+        assertThat(repo.getOrNull(Revision.HEAD, "/a.txt").join()).isNotNull();
+        assertThat(repo.history(Revision.INIT, Revision.HEAD, "/**").join()).hasSize(2);
+
+        // The meters are recorded right after the futures complete.
+        await().ignoreExceptions().untilAsserted(() -> {
+            assertThat(operationTimer("commit", "success").count()).isOne();
+            assertThat(operationTimer("find", "success").count()).isOne();
+            assertThat(operationTimer("history", "success").count()).isOne();
+        });
+        assertThat(queueWaitTimer("commit").count()).isOne();
+        assertThat(lockWaitTimer("write").count()).isOne();
+        assertThat(lockWaitTimer("read").count()).isPositive();
+
+        // A failed operation is recorded separately.
+        assertThatThrownBy(() -> repo.history(new Revision(100), Revision.HEAD, "/**").join())
+                .hasCauseInstanceOf(RevisionNotFoundException.class);
+        await().ignoreExceptions()
+               .untilAsserted(() -> assertThat(operationTimer("history", "failure").count()).isOne());
+    }
+
+    @Test
+    void limitNumTaggedRepositories() {
+        final RepositoryMetrics metrics = new RepositoryMetrics(meterRegistry, 1);
+        final RepositoryMeters first = metrics.meters("foo", "bar");
+        assertThat(metrics.meters("foo", "bar")).isSameAs(first);
+        final RepositoryMeters second = metrics.meters("foo", "baz");
+        assertThat(second.projectName()).isEqualTo(RepositoryMetrics.OTHERS);
+        assertThat(second.repoName()).isEqualTo(RepositoryMetrics.OTHERS);
+        assertThat(metrics.meters("qux", "quux")).isSameAs(second);
+    }
+
+    @Test
+    void removeMetersOfRemovedRepository() {
+        final Repository repo = manager.create("bar", Author.SYSTEM);
+        repo.commit(Revision.HEAD, 0L, Author.SYSTEM, "Add a.txt", Change.ofTextUpsert("/a.txt", "a"))
+            .join();
+        await().ignoreExceptions()
+               .untilAsserted(() -> assertThat(operationTimer("commit", "success").count()).isOne());
+
+        manager.remove("bar");
+        assertThat(meterRegistry.find("repository.operation.duration").tag("repo", "bar").timers()).isEmpty();
+        assertThat(meterRegistry.find("repository.lock.wait.duration").tag("repo", "bar").timers()).isEmpty();
+    }
+
+    @Test
+    void releaseSlotOfRemovedRepository() {
+        final RepositoryMetrics metrics = new RepositoryMetrics(meterRegistry, 1);
+        metrics.meters("foo", "bar");
+        assertThat(metrics.meters("foo", "baz").projectName()).isEqualTo(RepositoryMetrics.OTHERS);
+
+        metrics.remove("foo", "bar");
+        assertThat(metrics.meters("foo", "baz").projectName()).isEqualTo("foo");
+    }
+
+    private Timer operationTimer(String operation, String result) {
+        return meterRegistry.get("repository.operation.duration")
+                            .tags("project", "foo", "repo", "bar", "operation", operation, "result", result)
+                            .timer();
+    }
+
+    private Timer queueWaitTimer(String operation) {
+        return meterRegistry.get("repository.operation.queue.wait.duration")
+                            .tags("project", "foo", "repo", "bar", "operation", operation)
+                            .timer();
+    }
+
+    private Timer lockWaitTimer(String type) {
+        return meterRegistry.get("repository.lock.wait.duration")
+                            .tags("project", "foo", "repo", "bar", "type", type)
+                            .timer();
+    }
+}
@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.jgit.lib.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
@@ -114,8 +115,10 @@ class CachingRepositoryTest {
         // Uncached
         when(delegateRepo.find(any(), eq(ALL_PATH), eq(FIND_ALL_WITH_CONTENT)))
                 .thenReturn(completedFuture(entries));
+        when(delegateRepo.findBlobIdOrNull(any(), any())).thenReturn(completedFuture(ObjectId.zeroId()));
         assertThat(repo.get(HEAD, query).join()).isEqualTo(queryResult);
         verify(delegateRepo).find(new Revision(10), ALL_PATH, FIND_ALL_WITH_CONTENT);
+        verify(delegateRepo).findBlobIdOrNull(new Revision(10), query.path());
         verifyNoMoreInteractions(delegateRepo);
 
         // Cached
@@ -126,6 +129,46 @@ class CachingRepositoryTest {
         verifyNoMoreInteractions(delegateRepo);
     }
 
+    @Test
+    void jsonPathQueryResultIsReusedForSameBlob() throws JsonParseException {
+        final CachingRepository repo = setMockNames(newCachingRepo());
+        final Query<JsonNode> query = Query.ofJsonPath("/baz.json", "$.a");
+        final ObjectId blobId = ObjectId.fromString("0123456789abcdef0123456789abcdef01234567");
+
+        doReturn(new Revision(10)).when(delegateRepo).normalizeNow(new Revision(10));
+        doReturn(new Revision(11)).when(delegateRepo).normalizeNow(new Revision(11));
+        doReturn(new Revision(12)).when(delegateRepo).normalizeNow(new Revision(12));
+        when(delegateRepo.find(new Revision(10), ALL_PATH, FIND_ALL_WITH_CONTENT))
+                .thenReturn(completedFuture(ImmutableMap.of(
+                        "/baz.json", Entry.ofJson(new Revision(10), "/baz.json", "{\"a\": {\"b\": 1}}"))));
+        when(delegateRepo.find(new Revision(11), ALL_PATH, FIND_ALL_WITH_CONTENT))
+                .thenReturn(completedFuture(ImmutableMap.of(
+                        "/baz.json", Entry.ofJson(new Revision(11), "/baz.json", "{\"a\": {\"b\": 1}}"))));
+        when(delegateRepo.find(new Revision(12), ALL_PATH, FIND_ALL_WITH_CONTENT))
+                .thenReturn(completedFuture(ImmutableMap.of(
+                        "/baz.json", Entry.ofJson(new Revision(12), "/baz.json", "{\"a\": {\"b\": 2}}"))));
+        // The file is unchanged at the revision 11.
+        when(delegateRepo.findBlobIdOrNull(new Revision(10), query.path())).thenReturn(completedFuture(blobId));
+        when(delegateRepo.findBlobIdOrNull(new Revision(11), query.path())).thenReturn(completedFuture(blobId));
+        when(delegateRepo.findBlobIdOrNull(new Revision(12), query.path()))
+                .thenReturn(completedFuture(ObjectId.zeroId()));
+
+        final Entry<JsonNode> result10 = repo.get(new Revision(10), query).join();
+        final Entry<JsonNode> result11 = repo.get(new Revision(11), query).join();
+        assertThat(result10.revision()).isEqualTo(new Revision(10));
+        assertThat(result11.revision()).isEqualTo(new Revision(11));
+        // The query was not evaluated again.
+        assertThat(result11.content()).isSameAs(result10.content());
+
+        // An equivalent expression shares the result.
+        final Entry<JsonNode> bracketResult11 =
+                repo.get(new Revision(11), Query.ofJsonPath("/baz.json", "$['a']")).join();
+        assertThat(bracketResult11.content()).isSameAs(result10.content());
+
+        final Entry<JsonNode> result12 = repo.get(new Revision(12), query).join();
+        assertThat(result12).isEqualTo(Entry.ofJson(new Revision(12), query.path(), "{\"b\": 2}"));
+    }
+
     @Test
     void mergeQuery() throws JsonParseException {
         final CachingRepository repo = setMockNames(newCachingRepo());
@@ -228,6 +228,25 @@ class GitRepositoryTest {
         }
     }
 
+    @Test
+    void findBlobIdOrNull() {
+        testFindBlobIdOrNull(fileRepo);
+        testFindBlobIdOrNull(encryptedRepo);
+    }
+
+    private void testFindBlobIdOrNull(GitRepository repo) {
+        final Revision rev1 = repo.commit(HEAD, 0L, Author.UNKNOWN, SUMMARY, jsonUpserts[0]).join().revision();
+        // Change other file so that the blob of the first file is unchanged.
+        final Revision rev2 = repo.commit(HEAD, 0L, Author.UNKNOWN, SUMMARY, jsonUpserts[1]).join().revision();
+        final Revision rev3 = repo.commit(HEAD, 0L, Author.UNKNOWN, SUMMARY, jsonPatches[1]).join().revision();
+
+        final ObjectId blobId = repo.findBlobIdOrNull(rev1, jsonPaths[0]).join();
+        assertThat(blobId).isNotNull();
+        assertThat(repo.findBlobIdOrNull(rev2, jsonPaths[0]).join()).isEqualTo(blobId);
+        assertThat(repo.findBlobIdOrNull(rev3, jsonPaths[0]).join()).isNotNull().isNotEqualTo(blobId);
+        assertThat(repo.findBlobIdOrNull(rev3, jsonPaths[2]).join()).isNull();
+    }
+
     @Test
     void testJsonPatch_safeReplace(TestInfo testInfo) {
         testJsonPatchSafeReplace(fileRepo, testInfo);
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.CentralDogmaException;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.server.storage.encryption.NoopEncryptionStorageManager;
+import com.linecorp.centraldogma.server.storage.project.Project;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LazyRepositoryTest {
+
+    private static final String TEST_REPO = "test_repo";
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    @TempDir
+    File tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdleRepositoryEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Use a long timeout so that only the test closes the idle repositories.
+        evictor = new IdleRepositoryEvictor(TimeUnit.NANOSECONDS.toMillis(IDLE_TIMEOUT_NANOS), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        evictor.close();
+    }
+
+    @Test
+    void openOnFirstAccessAndCloseWhenIdle() {
+        final GitRepositoryManager creator = newRepositoryManager();
+        creator.create(TEST_REPO, Author.SYSTEM);
+        creator.close(() -> new CentralDogmaException("closed"));
+
+        final GitRepositoryManager manager = newRepositoryManager();
+        final Repository repository = manager.get(TEST_REPO);
+        assertThat(repository).isInstanceOf(LazyRepository.class);
+        final LazyRepository lazyRepository = (LazyRepository) repository;
+        assertThat(lazyRepository.isOpen()).isFalse();
+        assertThat(meterRegistry.get("repositories.lazy").tag("state", "closed").gauge().value()).isOne();
+
+        assertThat(repository.normalizeNow(Revision.HEAD)).isEqualTo(new Revision(1));
+        assertThat(lazyRepository.isOpen()).isTrue();
+        assertThat(meterRegistry.get("repositories.lazy.open.duration").timer().count()).isOne();
+
+        // Not idle yet.
+        assertThat(lazyRepository.closeIfIdle(System.nanoTime(), IDLE_TIMEOUT_NANOS)).isFalse();
+        assertThat(lazyRepository.closeIfIdle(System.nanoTime() + IDLE_TIMEOUT_NANOS, IDLE_TIMEOUT_NANOS))
+                .isTrue();
+        assertThat(lazyRepository.isOpen()).isFalse();
+
+        // The author should be retained after closed.
+        assertThat(repository.author()).isEqualTo(Author.SYSTEM);
+        assertThat(lazyRepository.isOpen()).isFalse();
+
+        // Reopened on the next access.
+        repository.commit(Revision.HEAD, 0L, Author.SYSTEM, "Add a.txt",
+                          Change.ofTextUpsert("/a.txt", "a")).join();
+        assertThat(lazyRepository.isOpen()).isTrue();
+        assertThat(repository.normalizeNow(Revision.HEAD)).isEqualTo(new Revision(2));
+        assertThat(meterRegistry.get("repositories.lazy.open.duration").timer().count()).isEqualTo(2);
+
+        manager.close(() -> new CentralDogmaException("closed"));
+        assertThatThrownBy(() -> repository.normalizeNow(Revision.HEAD))
+                .isInstanceOf(CentralDogmaException.class)
+                .hasMessageContaining("closed");
+    }
+
+    @Test
+    void activeWatchPreventsClosing() {
+        final GitRepositoryManager manager = newRepositoryManager();
+        final Repository repository = manager.create(TEST_REPO, Author.SYSTEM);
+        final LazyRepository lazyRepository = (LazyRepository) repository;
+
+        final CompletableFuture<Revision> watchFuture = repository.watch(Revision.HEAD, "/**");
+        assertThat(lazyRepository.closeIfIdle(System.nanoTime() + IDLE_TIMEOUT_NANOS, IDLE_TIMEOUT_NANOS))
+                .isFalse();
+
+        repository.commit(Revision.HEAD, 0L, Author.SYSTEM, "Add a.txt",
+                          Change.ofTextUpsert("/a.txt", "a")).join();
+        assertThat(watchFuture.join()).isEqualTo(new Revision(2));
+        // The watch is released asynchronously after completed.
+        await().until(() -> lazyRepository.closeIfIdle(System.nanoTime() + IDLE_TIMEOUT_NANOS,
+                                                       IDLE_TIMEOUT_NANOS));
+        manager.close(() -> new CentralDogmaException("closed"));
+    }
+
+    @Test
+    void jGitRepositoryInUsePreventsClosing() {
+        final GitRepositoryManager manager = newRepositoryManager();
+        final Repository repository = manager.create(TEST_REPO, Author.SYSTEM);
+        final LazyRepository lazyRepository = (LazyRepository) repository;
+
+        final boolean closed = repository.withJGitRepository(jGitRepository -> {
+            return lazyRepository.closeIfIdle(System.nanoTime() + IDLE_TIMEOUT_NANOS, IDLE_TIMEOUT_NANOS);
+        });
+        assertThat(closed).isFalse();
+        assertThat(lazyRepository.isOpen()).isTrue();
+
+        assertThat(lazyRepository.closeIfIdle(System.nanoTime() + IDLE_TIMEOUT_NANOS, IDLE_TIMEOUT_NANOS))
+                .isTrue();
+        manager.close(() -> new CentralDogmaException("closed"));
+    }
+
+    private GitRepositoryManager newRepositoryManager() {
+        final Project mock = mock(Project.class);
+        lenient().when(mock.name()).thenReturn("test_project");
+        return new GitRepositoryManager(mock, tempDir, ForkJoinPool.commonPool(),
+                                        MoreExecutors.directExecutor(), null,
+                                        NoopEncryptionStorageManager.INSTANCE, null, evictor);
+    }
+}
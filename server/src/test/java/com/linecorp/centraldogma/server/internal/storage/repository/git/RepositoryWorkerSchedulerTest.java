@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.internal.storage.repository.git;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.centraldogma.server.internal.storage.repository.RepositoryMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RepositoryWorkerSchedulerTest {
+
+    private ExecutorService worker;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        worker = Executors.newCachedThreadPool();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdownNow();
+    }
+
+    @Test
+    void dispatchRoundRobin() {
+        final RepositoryWorkerScheduler scheduler = new RepositoryWorkerScheduler(worker, 1, 1, meterRegistry);
+        final Executor foo = scheduler.repositoryExecutor("proj", "foo");
+        final Executor bar = scheduler.repositoryExecutor("proj", "bar");
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        foo.execute(() -> {
+            awaitUninterruptibly(latch);
+            executed.add("foo1");
+        });
+        foo.execute(record("foo2"));
+        foo.execute(record("foo3"));
+        bar.execute(record("bar1"));
+        assertThat(meterRegistry.get("repository.worker.queue.size")
+                                .tags("project", "proj", "repo", "foo", "type", "read")
+                                .gauge().value()).isEqualTo(2);
+
+        latch.countDown();
+        await().untilAsserted(() -> assertThat(executed).hasSize(4));
+        // 'bar' does not wait until all tasks of 'foo' are done.
+        assertThat(executed).containsExactly("foo1", "bar1", "foo2", "foo3");
+        await().untilAsserted(() -> assertThat(scheduler.numRunningTasks()).isZero());
+    }
+
+    @Test
+    void writesArePrioritized() {
+        final RepositoryWorkerScheduler scheduler = new RepositoryWorkerScheduler(worker, 4, 1, meterRegistry);
+        final Executor reads = scheduler.repositoryExecutor("proj", "foo");
+        final Executor writes = RepositoryWorkerScheduler.writeExecutor(reads);
+        assertThat(scheduler.repositoryExecutor("proj", "foo")).isSameAs(reads);
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        reads.execute(() -> {
+            awaitUninterruptibly(latch);
+            executed.add("read1");
+        });
+        reads.execute(record("read2"));
+        writes.execute(record("write1"));
+
+        // The write does not wait for the running read while the second read does.
+        await().untilAsserted(() -> assertThat(executed).containsExactly("write1"));
+        latch.countDown();
+        await().untilAsserted(() -> assertThat(executed).containsExactly("write1", "read1", "read2"));
+    }
+
+    @Test
+    void limitAndRemoveRepositoryMeters() {
+        final RepositoryWorkerScheduler scheduler =
+                new RepositoryWorkerScheduler(worker, 1, 1, meterRegistry, 1);
+        scheduler.repositoryExecutor("proj", "foo");
+        final Executor bar = scheduler.repositoryExecutor("proj", "bar");
+        assertThat(meterRegistry.find("repository.worker.queue.size").tag("repo", "foo").gauges()).hasSize(2);
+        // 'bar' shares the meters of the other repositories.
+        assertThat(meterRegistry.find("repository.worker.queue.size").tag("repo", "bar").gauges()).isEmpty();
+        assertThat(meterRegistry.find("repository.worker.queue.wait.duration")
+                                .tag("repo", RepositoryMetrics.OTHERS).timers()).hasSize(2);
+
+        scheduler.removeRepositoryExecutor("proj", "foo");
+        assertThat(meterRegistry.find("repository.worker.queue.size").tag("repo", "foo").gauges()).isEmpty();
+        assertThat(meterRegistry.find("repository.worker.queue.wait.duration")
+                                .tag("repo", "foo").timers()).isEmpty();
+
+        // The tasks of a removed repository are still executed.
+        scheduler.removeRepositoryExecutor("proj", "bar");
+        bar.execute(record("bar1"));
+        await().untilAsserted(() -> assertThat(executed).containsExactly("bar1"));
+
+        // The slot of the removed repository is released.
+        scheduler.repositoryExecutor("proj", "baz");
+        assertThat(meterRegistry.find("repository.worker.queue.size").tag("repo", "baz").gauges()).hasSize(2);
+    }
+
+    private Runnable record(String name) {
+        return () -> executed.add(name);
+    }
+}
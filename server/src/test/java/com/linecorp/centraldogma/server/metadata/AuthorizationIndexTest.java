@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.metadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.ProjectRole;
+import com.linecorp.centraldogma.common.RepositoryRole;
+import com.linecorp.centraldogma.server.metadata.AuthorizationIndex.RepositoryRoles;
+
+class AuthorizationIndexTest {
+
+    private static final UserAndTimestamp creation = UserAndTimestamp.of(Author.SYSTEM);
+
+    @Test
+    void roles() {
+        final Roles roles = new Roles(ProjectRoles.of(RepositoryRole.WRITE, RepositoryRole.READ),
+                                      ImmutableMap.of("user@foo.com", RepositoryRole.ADMIN,
+                                                      "member@foo.com", RepositoryRole.ADMIN),
+                                      ImmutableMap.of("app1", RepositoryRole.WRITE,
+                                                      "guestApp", RepositoryRole.WRITE));
+        final ProjectMetadata metadata = new ProjectMetadata(
+                "foo",
+                ImmutableMap.of("bar", RepositoryMetadata.of("bar", roles, creation)),
+                ImmutableMap.of("owner@foo.com", new Member("owner@foo.com", ProjectRole.OWNER, creation),
+                                "member@foo.com", new Member("member@foo.com", ProjectRole.MEMBER, creation)),
+                ImmutableMap.of("app1", new TokenRegistration("app1", ProjectRole.MEMBER, creation),
+                                "app2", new TokenRegistration("app2", ProjectRole.OWNER, creation)),
+                creation, null);
+
+        final AuthorizationIndex index = metadata.authorizationIndex();
+        assertThat(metadata.authorizationIndex()).isSameAs(index);
+        assertThat(index.repo("baz")).isNull();
+
+        final RepositoryRoles bar = index.repo("bar");
+        assertThat(bar).isNotNull();
+        assertThat(bar.userRole("owner@foo.com")).isSameAs(RepositoryRole.ADMIN);
+        assertThat(bar.userRole("member@foo.com")).isSameAs(RepositoryRole.ADMIN);
+        assertThat(bar.userRole("user@foo.com")).isSameAs(RepositoryRole.ADMIN);
+        assertThat(bar.userRole("stranger@foo.com")).isSameAs(RepositoryRole.READ);
+
+        assertThat(bar.tokenRole(token("app1", true))).isSameAs(RepositoryRole.WRITE);
+        assertThat(bar.tokenRole(token("app2", false))).isSameAs(RepositoryRole.ADMIN);
+        assertThat(bar.tokenRole(token("guestApp", true))).isSameAs(RepositoryRole.WRITE);
+        assertThat(bar.tokenRole(token("guestApp", false))).isNull();
+        assertThat(bar.tokenRole(token("unknownApp", true))).isSameAs(RepositoryRole.READ);
+    }
+
+    @Test
+    void noGuestRole() {
+        final Roles roles = new Roles(ProjectRoles.of(RepositoryRole.READ, null),
+                                      ImmutableMap.of(), ImmutableMap.of());
+        final ProjectMetadata metadata = new ProjectMetadata(
+                "foo",
+                ImmutableMap.of("bar", RepositoryMetadata.of("bar", roles, creation)),
+                ImmutableMap.of("member@foo.com", new Member("member@foo.com", ProjectRole.MEMBER, creation)),
+                ImmutableMap.of(), creation, null);
+
+        final RepositoryRoles bar = metadata.authorizationIndex().repo("bar");
+        assertThat(bar).isNotNull();
+        assertThat(bar.userRole("member@foo.com")).isSameAs(RepositoryRole.READ);
+        assertThat(bar.userRole("stranger@foo.com")).isNull();
+        assertThat(bar.tokenRole(token("unknownApp", true))).isNull();
+    }
+
+    private static Token token(String appId, boolean allowGuestAccess) {
+        return new Token(appId, "appToken-secret", null, false, allowGuestAccess, creation, null, null);
+    }
+}
@@ -398,6 +398,25 @@ class MetadataServiceTest {
                 .hasCauseInstanceOf(TokenNotFoundException.class);
     }
 
+    @Test
+    void createTokenWithDuplicateSecret() {
+        final MetadataService mds = newMetadataService(manager);
+
+        mds.createToken(author, app1, "appToken-duplicate").join();
+        // Rejected by the commit even if the index has not been updated yet.
+        assertThatThrownBy(() -> mds.createToken(author, app2, "appToken-duplicate").join())
+                .hasCauseInstanceOf(ChangeConflictException.class);
+        assertThatThrownBy(() -> mds.fetchToken(app2).join())
+                .hasCauseInstanceOf(TokenNotFoundException.class);
+
+        // The secret can be used again after the token is purged.
+        mds.destroyToken(author, app1).join();
+        mds.purgeToken(author, app1);
+        mds.createToken(author, app2, "appToken-duplicate").join();
+        await().untilAsserted(() -> assertThat(mds.findTokenBySecret("appToken-duplicate").appId())
+                .isEqualTo(app2));
+    }
+
     @Test
     void destroyToken() {
         final MetadataService mds = newMetadataService(manager);
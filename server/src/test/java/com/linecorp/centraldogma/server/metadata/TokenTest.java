@@ -15,8 +15,7 @@
  */
 package com.linecorp.centraldogma.server.metadata;
 
-import static com.linecorp.centraldogma.common.jsonpatch.JsonPatchOperation.asJsonArray;
-import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKEN_JSON;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.tokenPath;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
@@ -27,7 +26,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -39,7 +37,6 @@ import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.Change;
 import com.linecorp.centraldogma.common.Revision;
-import com.linecorp.centraldogma.common.jsonpatch.JsonPatchOperation;
 import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.server.internal.api.sysadmin.TokenLevelRequest;
 import com.linecorp.centraldogma.server.internal.api.sysadmin.TokenService;
@@ -74,17 +71,12 @@ class TokenTest {
         final Repository dogmaRepository =
                 manager.projectManager().get(InternalProjectInitializer.INTERNAL_PROJECT_DOGMA).repos()
                        .get(Project.REPO_DOGMA);
-        final JsonPointer appIdPath = JsonPointer.compile("/appIds/" + APP_ID);
-        final JsonPointer secretPath = JsonPointer.compile("/secrets/" + APP_SECRET);
-        final Change<JsonNode> change = Change.ofJsonPatch(
-                TOKEN_JSON,
-                asJsonArray(JsonPatchOperation.testAbsence(appIdPath),
-                            JsonPatchOperation.testAbsence(secretPath),
-                            JsonPatchOperation.add(appIdPath, Jackson.readTree(tokenJson(true))),
-                            JsonPatchOperation.add(secretPath, Jackson.valueToTree(APP_ID))));
+        final Change<JsonNode> change = Change.ofJsonUpsert(tokenPath(APP_ID), tokenJson(true));
 
         dogmaRepository.commit(Revision.HEAD, System.currentTimeMillis(), AUTHOR,
                                "Add the legacy token", change).join();
+        await().untilAsserted(() -> assertThat(metadataService.getTokens().getOrDefault(APP_ID, null))
+                .isNotNull());
     }
 
     @Test
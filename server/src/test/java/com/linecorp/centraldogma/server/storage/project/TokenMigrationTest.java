@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.server.storage.project;
+
+import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKENS_MIGRATION_JSON;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKENS_PATH_PATTERN;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKEN_JSON;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.TOKEN_SECRETS_DIRECTORY;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.tokenPath;
+import static com.linecorp.centraldogma.server.metadata.MetadataService.tokenSecretPath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.Change;
+import com.linecorp.centraldogma.common.ChangeConflictException;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+import com.linecorp.centraldogma.server.metadata.MetadataService;
+import com.linecorp.centraldogma.server.metadata.Token;
+import com.linecorp.centraldogma.server.metadata.Tokens;
+import com.linecorp.centraldogma.server.metadata.UserAndTimestamp;
+import com.linecorp.centraldogma.server.storage.repository.Repository;
+import com.linecorp.centraldogma.testing.internal.ProjectManagerExtension;
+
+class TokenMigrationTest {
+
+    @RegisterExtension
+    final ProjectManagerExtension manager = new ProjectManagerExtension();
+
+    @Test
+    void migrateLegacyTokens() {
+        final Repository dogmaRepo = manager.projectManager()
+                                            .get(InternalProjectInitializer.INTERNAL_PROJECT_DOGMA)
+                                            .repos().get(Project.REPO_DOGMA);
+        final UserAndTimestamp creation = UserAndTimestamp.of(Author.SYSTEM);
+        final Token active = new Token("active", "appToken-active", null, false, false, creation,
+                                       null, null);
+        final Token inactive = new Token("inactive", "appToken-inactive", null, false, false, creation,
+                                         creation, null);
+        final Tokens legacyTokens = new Tokens(ImmutableMap.of("active", active, "inactive", inactive),
+                                               ImmutableMap.of("appToken-active", "active"));
+        dogmaRepo.commit(Revision.HEAD, System.currentTimeMillis(), Author.SYSTEM, "Add legacy tokens",
+                         Change.ofJsonUpsert(TOKEN_JSON, Jackson.valueToTree(legacyTokens))).join();
+
+        final InternalProjectInitializer initializer =
+                new InternalProjectInitializer(manager.executor(), manager.projectManager());
+        initializer.initialize();
+        assertThat(initializer.whenInitialized()).isCompleted();
+
+        // The legacy file is kept for the servers which have not been upgraded yet.
+        assertThat(dogmaRepo.getOrNull(Revision.HEAD, Query.ofJson(TOKEN_JSON)).join()).isNotNull();
+        assertThat(dogmaRepo.getOrNull(Revision.HEAD, Query.ofJson(TOKENS_MIGRATION_JSON)).join())
+                .isNotNull();
+        assertThat(dogmaRepo.find(Revision.HEAD, TOKENS_PATH_PATTERN).join())
+                .containsOnlyKeys(tokenPath("active"), tokenPath("inactive"));
+        assertThat(dogmaRepo.find(Revision.HEAD, TOKEN_SECRETS_DIRECTORY + "*.json").join())
+                .containsOnlyKeys(tokenSecretPath("appToken-active"), tokenSecretPath("appToken-inactive"));
+
+        final Tokens tokens = initializer.tokens();
+        assertThat(tokens.appIds()).containsOnlyKeys("active", "inactive");
+        assertThat(tokens.findBySecretOrDefault("appToken-active", null)).isEqualTo(active);
+        assertThat(tokens.findBySecretOrDefault("appToken-inactive", null)).isNull();
+
+        // A change of the token files does not matter while the legacy file exists.
+        dogmaRepo.commit(Revision.HEAD, System.currentTimeMillis(), Author.SYSTEM, "Remove a token",
+                         Change.ofRemoval(tokenPath("inactive"))).join();
+
+        // A server which has not been upgraded deactivates a token in the legacy file.
+        final Token deactivated = new Token("active", "appToken-active", null, false, false, creation,
+                                            creation, null);
+        dogmaRepo.commit(Revision.HEAD, System.currentTimeMillis(), Author.SYSTEM, "Deactivate a token",
+                         Change.ofJsonUpsert(TOKEN_JSON, Jackson.valueToTree(
+                                 new Tokens(ImmutableMap.of("active", deactivated, "inactive", inactive),
+                                            ImmutableMap.of())))).join();
+        await().untilAsserted(
+                () -> assertThat(initializer.tokens().findBySecretOrDefault("appToken-active", null)).isNull());
+        assertThat(initializer.tokens().appIds()).containsOnlyKeys("active", "inactive");
+
+        // The legacy file is not migrated again.
+        final Revision headRevision = dogmaRepo.normalizeNow(Revision.HEAD);
+        final InternalProjectInitializer restarted =
+                new InternalProjectInitializer(manager.executor(), manager.projectManager());
+        restarted.initialize();
+        assertThat(restarted.whenInitialized()).isCompleted();
+        assertThat(dogmaRepo.normalizeNow(Revision.HEAD)).isEqualTo(headRevision);
+        assertThat(restarted.tokens().appIds()).containsOnlyKeys("active", "inactive");
+        assertThat(restarted.tokens().findBySecretOrDefault("appToken-active", null)).isNull();
+    }
+
+    @Test
+    void updateLegacyTokensUntilMigrationIsFinalized() {
+        final Repository dogmaRepo = manager.projectManager()
+                                            .get(InternalProjectInitializer.INTERNAL_PROJECT_DOGMA)
+                                            .repos().get(Project.REPO_DOGMA);
+        final UserAndTimestamp creation = UserAndTimestamp.of(Author.SYSTEM);
+        final Token legacy = new Token("legacy", "appToken-legacy", null, false, false, creation,
+                                       null, null);
+        final Tokens legacyTokens = new Tokens(ImmutableMap.of("legacy", legacy),
+                                               ImmutableMap.of("appToken-legacy", "legacy"));
+        dogmaRepo.commit(Revision.HEAD, System.currentTimeMillis(), Author.SYSTEM, "Add legacy tokens",
+                         Change.ofJsonUpsert(TOKEN_JSON, Jackson.valueToTree(legacyTokens))).join();
+
+        final InternalProjectInitializer initializer =
+                new InternalProjectInitializer(manager.executor(), manager.projectManager());
+        initializer.initialize();
+        final MetadataService mds = new MetadataService(manager.projectManager(), manager.executor(),
+                                                        initializer);
+
+        // A change is written to the legacy file as well as the token file.
+        mds.createToken(Author.SYSTEM, "created", "appToken-created").join();
+        mds.deactivateToken(Author.SYSTEM, "legacy").join();
+        final Tokens updated = legacyTokens(dogmaRepo);
+        assertThat(updated.appIds()).containsOnlyKeys("legacy", "created");
+        assertThat(updated.secrets()).containsOnlyKeys("appToken-created");
+        assertThat(dogmaRepo.find(Revision.HEAD, TOKENS_PATH_PATTERN).join())
+                .containsOnlyKeys(tokenPath("legacy"), tokenPath("created"));
+        await().untilAsserted(() -> {
+            final Tokens tokens = initializer.tokens();
+            assertThat(tokens.findBySecretOrDefault("appToken-legacy", null)).isNull();
+            assertThat(tokens.findBySecretOrDefault("appToken-created", null)).isNotNull();
+        });
+
+        // A secret in the legacy file cannot be reused.
+        assertThatThrownBy(() -> mds.createToken(Author.SYSTEM, "duplicate", "appToken-legacy").join())
+                .hasCauseInstanceOf(ChangeConflictException.class);
+
+        // A server which has not been upgraded adds a token only to the legacy file.
+        final Token old = new Token("old", "appToken-old", null, false, false, creation, null, null);
+        dogmaRepo.commit(Revision.HEAD, System.currentTimeMillis(), Author.SYSTEM, "Add a token",
+                         Change.ofJsonUpsert(TOKEN_JSON, Jackson.valueToTree(new Tokens(
+                                 ImmutableMap.<String, Token>builder().putAll(updated.appIds())
+                                                                      .put("old", old).build(),
+                                 ImmutableMap.of("appToken-created", "created",
+                                                 "appToken-old", "old"))))).join();
+
+        mds.finalizeTokenMigration(Author.SYSTEM).join();
+        assertThat(dogmaRepo.getOrNull(Revision.HEAD, Query.ofJson(TOKEN_JSON)).join()).isNull();
+        assertThat(dogmaRepo.find(Revision.HEAD, TOKENS_PATH_PATTERN).join())
+                .containsOnlyKeys(tokenPath("legacy"), tokenPath("created"), tokenPath("old"));
+        assertThat(dogmaRepo.find(Revision.HEAD, TOKEN_SECRETS_DIRECTORY + "*.json").join())
+                .containsOnlyKeys(tokenSecretPath("appToken-legacy"), tokenSecretPath("appToken-created"),
+                                  tokenSecretPath("appToken-old"));
+        await().untilAsserted(() -> {
+            final Tokens tokens = initializer.tokens();
+            assertThat(tokens.appIds()).containsOnlyKeys("legacy", "created", "old");
+            assertThat(tokens.findBySecretOrDefault("appToken-old", null)).isEqualTo(old);
+            assertThat(tokens.findBySecretOrDefault("appToken-legacy", null)).isNull();
+        });
+
+        // The token files are updated from now on.
+        mds.deactivateToken(Author.SYSTEM, "old").join();
+        await().untilAsserted(
+                () -> assertThat(initializer.tokens().findBySecretOrDefault("appToken-old", null)).isNull());
+    }
+
+    private static Tokens legacyTokens(Repository dogmaRepo) {
+        try {
+            return Jackson.treeToValue(
+                    dogmaRepo.get(Revision.HEAD, Query.ofJson(TOKEN_JSON)).join().content(), Tokens.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.xds.endpoint.v1;
+
+import static com.linecorp.centraldogma.xds.internal.ControlPlanePlugin.XDS_CENTRAL_DOGMA_PROJECT;
+import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.JSON_MESSAGE_MARSHALLER;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.linecorp.armeria.common.CommonPools;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.centraldogma.common.Author;
+import com.linecorp.centraldogma.common.EntryNotFoundException;
+import com.linecorp.centraldogma.common.EntryType;
+import com.linecorp.centraldogma.common.Markup;
+import com.linecorp.centraldogma.common.RedundantChangeException;
+import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
+import com.linecorp.centraldogma.server.command.Command;
+import com.linecorp.centraldogma.server.command.CommandExecutor;
+import com.linecorp.centraldogma.server.command.ContentTransformer;
+import com.linecorp.centraldogma.xds.internal.XdsMessageCache;
+
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+import io.envoyproxy.envoy.config.endpoint.v3.LbEndpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LocalityLbEndpoints;
+
+/**
+ * Coalesces the registrations and deregistrations of {@link LocalityLbEndpoint}s for the same endpoint file
+ * which are requested within a short window into a single {@link Command#transform}, so that a burst of
+ * registrations creates a single commit rather than a commit per registration.
+ */
+final class EndpointRegistrationBatcher {
+
+    static final long DEFAULT_BATCH_WINDOW_MILLIS = 100;
+
+    private final CommandExecutor commandExecutor;
+    private final long batchWindowMillis;
+    private final Map<BatchKey, List<Operation>> batches = new ConcurrentHashMap<>();
+
+    EndpointRegistrationBatcher(CommandExecutor commandExecutor, long batchWindowMillis) {
+        this.commandExecutor = commandExecutor;
+        this.batchWindowMillis = batchWindowMillis;
+    }
+
+    /**
+     * Adds the registration or deregistration of the specified {@link LocalityLbEndpoint} to the batch
+     * of the endpoint file. The returned future is completed when the batch is committed.
+     */
+    CompletableFuture<Void> add(String group, String fileName, Author author,
+                                LocalityLbEndpoint localityLbEndpoint, boolean register,
+                                String commitMessage) {
+        final Operation operation = new Operation(localityLbEndpoint, register, commitMessage);
+        final BatchKey key = new BatchKey(group, fileName, author);
+        batches.compute(key, (unused, operations) -> {
+            if (operations == null) {
+                operations = new ArrayList<>();
+                CommonPools.workerGroup().schedule(() -> commit(key), batchWindowMillis,
+                                                   TimeUnit.MILLISECONDS);
+            }
+            operations.add(operation);
+            return operations;
+        });
+        return operation.future;
+    }
+
+    private void commit(BatchKey key) {
+        // Operations added after this point will be committed by the next batch.
+        final List<Operation> operations = batches.remove(key);
+        assert operations != null;
+        final BatchTransformer batchTransformer = new BatchTransformer(operations);
+        final ContentTransformer<JsonNode> transformer =
+                new ContentTransformer<>(key.fileName, EntryType.JSON, batchTransformer);
+        final String summary;
+        final String detail;
+        if (operations.size() == 1) {
+            summary = operations.get(0).commitMessage;
+            detail = "";
+        } else {
+            final long numRegistrations = operations.stream().filter(op -> op.register).count();
+            summary = "Register " + numRegistrations + " and deregister " +
+                      (operations.size() - numRegistrations) + " locality LB endpoints of " +
+                      key.group + key.fileName;
+            final StringBuilder buf = new StringBuilder();
+            operations.forEach(op -> buf.append("- ").append(op.commitMessage).append('\n'));
+            detail = buf.toString();
+        }
+
+        commandExecutor.execute(Command.transform(null, key.author, XDS_CENTRAL_DOGMA_PROJECT, key.group,
+                                                  Revision.HEAD, summary, detail, Markup.PLAINTEXT,
+                                                  transformer))
+                       .handle((unused, cause) -> {
+                           Throwable peeled = cause != null ? Exceptions.peel(cause) : null;
+                           if (peeled instanceof RedundantChangeException) {
+                               // The endpoints are already in the requested state.
+                               peeled = null;
+                           }
+                           final Throwable[] results = batchTransformer.results;
+                           for (int i = 0; i < operations.size(); i++) {
+                               final Throwable result = results != null ? results[i] : null;
+                               final Throwable operationCause = result != null ? result : peeled;
+                               if (operationCause != null) {
+                                   operations.get(i).future.completeExceptionally(operationCause);
+                               } else {
+                                   operations.get(i).future.complete(null);
+                               }
+                           }
+                           return null;
+                       });
+    }
+
+    private static final class BatchKey {
+
+        private final String group;
+        private final String fileName;
+        private final Author author;
+
+        BatchKey(String group, String fileName, Author author) {
+            this.group = group;
+            this.fileName = fileName;
+            this.author = author;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            final BatchKey that = (BatchKey) o;
+            return group.equals(that.group) && fileName.equals(that.fileName) && author.equals(that.author);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(group, fileName, author);
+        }
+    }
+
+    private static final class Operation {
+
+        private final LocalityLbEndpoint localityLbEndpoint;
+        private final boolean register;
+        private final String commitMessage;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Operation(LocalityLbEndpoint localityLbEndpoint, boolean register, String commitMessage) {
+            this.localityLbEndpoint = localityLbEndpoint;
+            this.register = register;
+            this.commitMessage = commitMessage;
+        }
+    }
+
+    private static final class BatchTransformer implements BiFunction<Revision, JsonNode, JsonNode> {
+
+        private final List<Operation> operations;
+
+        // The failures of the operations which are not applied. A failed operation doesn't fail the others.
+        @Nullable
+        private volatile Throwable[] results;
+
+        BatchTransformer(List<Operation> operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public JsonNode apply(Revision revision, JsonNode oldJsonNode) {
+            if (oldJsonNode.isNull()) {
+                throw new EntryNotFoundException();
+            }
+            final ClusterLoadAssignment.Builder clusterLoadAssignmentBuilder =
+                    toClusterLoadAssignmentBuilder(oldJsonNode);
+            final Throwable[] results = new Throwable[operations.size()];
+            boolean applied = false;
+            for (int i = 0; i < operations.size(); i++) {
+                final Operation operation = operations.get(i);
+                try {
+                    registerOrDeregister(clusterLoadAssignmentBuilder, operation.localityLbEndpoint,
+                                         operation.register);
+                    applied = true;
+                } catch (LocalityLbEndpointNotFoundException e) {
+                    results[i] = e;
+                }
+            }
+            this.results = results;
+            if (!applied) {
+                throw LocalityLbEndpointNotFoundException.INSTANCE;
+            }
+            return toJsonNode(clusterLoadAssignmentBuilder);
+        }
+    }
+
+    private static void registerOrDeregister(ClusterLoadAssignment.Builder clusterLoadAssignmentBuilder,
+                                             LocalityLbEndpoint localityLbEndpoint, boolean register) {
+        final int localityIndex =
+                findLocalityAndPriorityIndex(clusterLoadAssignmentBuilder, localityLbEndpoint);
+        if (localityIndex < 0) {
+            if (!register) {
+                throw LocalityLbEndpointNotFoundException.INSTANCE;
+            }
+            clusterLoadAssignmentBuilder.addEndpoints(
+                    LocalityLbEndpoints.newBuilder()
+                                       .setLocality(localityLbEndpoint.getLocality())
+                                       .setPriority(localityLbEndpoint.getPriority())
+                                       .addLbEndpoints(localityLbEndpoint.getLbEndpoint())
+                                       .build());
+            return;
+        }
+        final LocalityLbEndpoints targetLocalityLbEndpoints =
+                clusterLoadAssignmentBuilder.getEndpoints(localityIndex);
+        final int lbEndpointIndex = findLbEndpointIndex(targetLocalityLbEndpoints, localityLbEndpoint);
+        if (!register && lbEndpointIndex < 0) {
+            // Check before modifying the builder because the other operations in the batch are applied.
+            throw LocalityLbEndpointNotFoundException.INSTANCE;
+        }
+
+        // Remove from the endpoints. It will be added again.
+        clusterLoadAssignmentBuilder.removeEndpoints(localityIndex);
+        final LocalityLbEndpoints.Builder targetLocalityLbEndpointsBuilder =
+                targetLocalityLbEndpoints.toBuilder();
+        if (lbEndpointIndex >= 0) {
+            // When the endpoint whose address is the same as the registering endpoint exists,
+            // remove it and add the registering endpoint because the other fields may be different.
+            targetLocalityLbEndpointsBuilder.removeLbEndpoints(lbEndpointIndex);
+        }
+        if (register) {
+            targetLocalityLbEndpointsBuilder.addLbEndpoints(localityLbEndpoint.getLbEndpoint());
+        }
+        if (targetLocalityLbEndpointsBuilder.getLbEndpointsCount() > 0) {
+            clusterLoadAssignmentBuilder.addEndpoints(targetLocalityLbEndpointsBuilder.build());
+        }
+    }
+
+    private static int findLbEndpointIndex(LocalityLbEndpoints targetLocalityLbEndpoints,
+                                           LocalityLbEndpoint localityLbEndpoint) {
+        int sameLbEndpointIndex = -1;
+        final List<LbEndpoint> lbEndpointsList = targetLocalityLbEndpoints.getLbEndpointsList();
+        for (int i = 0; i < lbEndpointsList.size(); i++) {
+            final LbEndpoint lbEndpoint = lbEndpointsList.get(i);
+            if (lbEndpoint.getEndpoint().getAddress().equals(
+                    localityLbEndpoint.getLbEndpoint().getEndpoint().getAddress())) {
+                sameLbEndpointIndex = i;
+                break;
+            }
+        }
+        return sameLbEndpointIndex;
+    }
+
+    /**
+     * Find the index of the {@link LocalityLbEndpoints} that has the same locality and priority as the
+     * specified {@link LocalityLbEndpoint}.
+     * If the locality and priority are not found, return -1.
+     */
+    private static int findLocalityAndPriorityIndex(
+            ClusterLoadAssignment.Builder clusterLoadAssignmentBuilder, LocalityLbEndpoint localityLbEndpoint) {
+        int sameLocalityIndex = -1;
+
+        final List<LocalityLbEndpoints> localityLbEndpointsList =
+                clusterLoadAssignmentBuilder.getEndpointsList();
+        for (int i = 0; i < localityLbEndpointsList.size(); i++) {
+            final LocalityLbEndpoints localityLbEndpoints = localityLbEndpointsList.get(i);
+            if (localityLbEndpoints.getLocality().equals(localityLbEndpoint.getLocality()) &&
+                localityLbEndpoints.getPriority() == localityLbEndpoint.getPriority()) {
+                sameLocalityIndex = i;
+                break;
+            }
+        }
+        return sameLocalityIndex;
+    }
+
+    private static ClusterLoadAssignment.Builder toClusterLoadAssignmentBuilder(JsonNode oldJsonNode) {
+        try {
+            return XdsMessageCache.parse(oldJsonNode, ClusterLoadAssignment.getDefaultInstance())
+                                  .toBuilder();
+        } catch (Throwable t) {
+            // Should never reach here.
+            throw new Error();
+        }
+    }
+
+    private static JsonNode toJsonNode(ClusterLoadAssignment.Builder clusterLoadAssignmentBuilder) {
+        try {
+            return Jackson.readTree(JSON_MESSAGE_MARSHALLER.writeValueAsString(
+                    clusterLoadAssignmentBuilder.build()));
+        } catch (IOException e) {
+            // Should never reach here
+            throw new Error(e);
+        }
+    }
+
+    static final class LocalityLbEndpointNotFoundException extends EntryNotFoundException {
+
+        private static final long serialVersionUID = -4661118144903218907L;
+
+        static final LocalityLbEndpointNotFoundException INSTANCE = new LocalityLbEndpointNotFoundException();
+    }
+}
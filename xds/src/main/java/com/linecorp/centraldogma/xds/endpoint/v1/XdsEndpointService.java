@@ -16,40 +16,26 @@
 package com.linecorp.centraldogma.xds.endpoint.v1;
 
 import static com.linecorp.centraldogma.server.internal.admin.auth.AuthUtil.currentAuthor;
-import static com.linecorp.centraldogma.xds.internal.ControlPlanePlugin.XDS_CENTRAL_DOGMA_PROJECT;
 import static com.linecorp.centraldogma.xds.internal.ControlPlaneService.CLUSTERS_DIRECTORY;
 import static com.linecorp.centraldogma.xds.internal.ControlPlaneService.ENDPOINTS_DIRECTORY;
-import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.JSON_MESSAGE_MARSHALLER;
 import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.RESOURCE_ID_PATTERN;
 import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.RESOURCE_ID_PATTERN_STRING;
 import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.removePrefix;
 
-import java.io.IOException;
-import java.util.List;
-import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.google.protobuf.Empty;
 
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.centraldogma.common.Author;
 import com.linecorp.centraldogma.common.EntryNotFoundException;
-import com.linecorp.centraldogma.common.EntryType;
-import com.linecorp.centraldogma.common.Markup;
-import com.linecorp.centraldogma.common.Revision;
-import com.linecorp.centraldogma.internal.Jackson;
-import com.linecorp.centraldogma.server.command.Command;
-import com.linecorp.centraldogma.server.command.ContentTransformer;
+import com.linecorp.centraldogma.xds.endpoint.v1.EndpointRegistrationBatcher.LocalityLbEndpointNotFoundException;
 import com.linecorp.centraldogma.xds.endpoint.v1.XdsEndpointServiceGrpc.XdsEndpointServiceImplBase;
 import com.linecorp.centraldogma.xds.internal.XdsResourceManager;
 
 import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
-import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment.Builder;
-import io.envoyproxy.envoy.config.endpoint.v3.LbEndpoint;
-import io.envoyproxy.envoy.config.endpoint.v3.LocalityLbEndpoints;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 
@@ -62,12 +48,15 @@ public final class XdsEndpointService extends XdsEndpointServiceImplBase {
             Pattern.compile("^groups/([^/]+)/endpoints/(" + RESOURCE_ID_PATTERN_STRING + ")$");
 
     private final XdsResourceManager xdsResourceManager;
+    private final EndpointRegistrationBatcher registrationBatcher;
 
     /**
      * Creates a new instance.
      */
     public XdsEndpointService(XdsResourceManager xdsResourceManager) {
         this.xdsResourceManager = xdsResourceManager;
+        registrationBatcher = new EndpointRegistrationBatcher(
+                xdsResourceManager.commandExecutor(), EndpointRegistrationBatcher.DEFAULT_BATCH_WINDOW_MILLIS);
     }
 
     @Override
@@ -216,15 +205,9 @@ public final class XdsEndpointService extends XdsEndpointServiceImplBase {
         final String fileName = fileName(endpointId);
         final Author author = currentAuthor();
 
-        final ContentTransformer<JsonNode> transformer = new ContentTransformer<>(
-                fileName, EntryType.JSON, new RegisterOrDeregisterTransformer(localityLbEndpoint, register));
-
         xdsResourceManager.updateOrDelete(
-                responseObserver, group, endpointName, fileName, () -> xdsResourceManager
-                        .commandExecutor()
-                        .execute(Command.transform(
-                                null, author, XDS_CENTRAL_DOGMA_PROJECT, group, Revision.HEAD,
-                                commitMessage, "", Markup.PLAINTEXT, transformer))
+                responseObserver, group, endpointName, fileName, () -> registrationBatcher
+                        .add(group, fileName, author, localityLbEndpoint, register, commitMessage)
                         .handle((result, cause) -> {
                             if (cause != null) {
                                 final Throwable peeled = Exceptions.peel(cause);
@@ -236,132 +219,4 @@ public final class XdsEndpointService extends XdsEndpointServiceImplBase {
                             return null;
                         }));
     }
-
-    private static class RegisterOrDeregisterTransformer implements BiFunction<Revision, JsonNode, JsonNode> {
-
-        final LocalityLbEndpoint localityLbEndpoint;
-        private final boolean register;
-
-        RegisterOrDeregisterTransformer(LocalityLbEndpoint localityLbEndpoint, boolean register) {
-            this.localityLbEndpoint = localityLbEndpoint;
-            this.register = register;
-        }
-
-        @Override
-        public JsonNode apply(Revision revision, JsonNode oldJsonNode) {
-            if (oldJsonNode.isNull()) {
-                throw new EntryNotFoundException();
-            }
-            final ClusterLoadAssignment.Builder clusterLoadAssignmentBuilder =
-                    toClusterLoadAssignmentBuilder(oldJsonNode);
-            final int localityIndex =
-                    findLocalityAndPriorityIndex(clusterLoadAssignmentBuilder, localityLbEndpoint);
-            if (localityIndex < 0) {
-                if (register) {
-                    clusterLoadAssignmentBuilder.addEndpoints(
-                            LocalityLbEndpoints.newBuilder()
-                                               .setLocality(localityLbEndpoint.getLocality())
-                                               .setPriority(localityLbEndpoint.getPriority())
-                                               .addLbEndpoints(localityLbEndpoint.getLbEndpoint())
-                                               .build());
-                    return toJsonNode(clusterLoadAssignmentBuilder);
-                }
-                throw LocalityLbEndpointNotFoundException.INSTANCE;
-            }
-            final LocalityLbEndpoints targetLocalityLbEndpoints =
-                    clusterLoadAssignmentBuilder.getEndpoints(localityIndex);
-            // Remove from the endpoints. It will be added again.
-            clusterLoadAssignmentBuilder.removeEndpoints(localityIndex);
-
-            final int lbEndpointIndex =
-                    findLbEndpointIndex(targetLocalityLbEndpoints, localityLbEndpoint);
-            final LocalityLbEndpoints.Builder targetLocalityLbEndpointsBuilder =
-                    targetLocalityLbEndpoints.toBuilder();
-            if (register) {
-                if (lbEndpointIndex >= 0) {
-                    // When the endpoint whose address is the same as the registering endpoint exists,
-                    // remove it and add the registering endpoint because the other fields may be different.
-                    targetLocalityLbEndpointsBuilder.removeLbEndpoints(lbEndpointIndex);
-                }
-                targetLocalityLbEndpointsBuilder.addLbEndpoints(localityLbEndpoint.getLbEndpoint());
-                clusterLoadAssignmentBuilder.addEndpoints(targetLocalityLbEndpointsBuilder.build());
-            } else {
-                if (lbEndpointIndex < 0) {
-                    throw LocalityLbEndpointNotFoundException.INSTANCE;
-                }
-                targetLocalityLbEndpointsBuilder.removeLbEndpoints(lbEndpointIndex);
-                if (targetLocalityLbEndpointsBuilder.getLbEndpointsCount() > 0) {
-                    clusterLoadAssignmentBuilder.addEndpoints(targetLocalityLbEndpointsBuilder.build());
-                }
-            }
-            return toJsonNode(clusterLoadAssignmentBuilder);
-        }
-
-        private static int findLbEndpointIndex(LocalityLbEndpoints targetLocalityLbEndpoints,
-                                               LocalityLbEndpoint localityLbEndpoint) {
-            int sameLbEndpointIndex = -1;
-            final List<LbEndpoint> lbEndpointsList = targetLocalityLbEndpoints.getLbEndpointsList();
-            for (int i = 0; i < lbEndpointsList.size(); i++) {
-                final LbEndpoint lbEndpoint = lbEndpointsList.get(i);
-                if (lbEndpoint.getEndpoint().getAddress().equals(
-                        localityLbEndpoint.getLbEndpoint().getEndpoint().getAddress())) {
-                    sameLbEndpointIndex = i;
-                    break;
-                }
-            }
-            return sameLbEndpointIndex;
-        }
-
-        /**
-         * Find the index of the {@link LocalityLbEndpoints} that has the same locality and priority as the
-         * specified {@link LocalityLbEndpoint}.
-         * If the locality and priority are not found, return -1.
-         */
-        private static int findLocalityAndPriorityIndex(Builder clusterLoadAssignmentBuilder,
-                                                        LocalityLbEndpoint localityLbEndpoint) {
-            int sameLocalityIndex = -1;
-
-            final List<LocalityLbEndpoints> localityLbEndpointsList =
-                    clusterLoadAssignmentBuilder.getEndpointsList();
-            for (int i = 0; i < localityLbEndpointsList.size(); i++) {
-                final LocalityLbEndpoints localityLbEndpoints = localityLbEndpointsList.get(i);
-                if (localityLbEndpoints.getLocality().equals(localityLbEndpoint.getLocality()) &&
-                    localityLbEndpoints.getPriority() == localityLbEndpoint.getPriority()) {
-                    sameLocalityIndex = i;
-                    break;
-                }
-            }
-            return sameLocalityIndex;
-        }
-
-        private static ClusterLoadAssignment.Builder toClusterLoadAssignmentBuilder(JsonNode oldJsonNode) {
-            final Builder clusterLoadAssignmentBuilder =
-                    ClusterLoadAssignment.newBuilder();
-            try {
-                JSON_MESSAGE_MARSHALLER.mergeValue(Jackson.writeValueAsString(oldJsonNode),
-                                                   clusterLoadAssignmentBuilder);
-            } catch (Throwable t) {
-                // Should never reach here.
-                throw new Error();
-            }
-            return clusterLoadAssignmentBuilder;
-        }
-
-        private static JsonNode toJsonNode(ClusterLoadAssignment.Builder clusterLoadAssignmentBuilder) {
-            try {
-                return Jackson.readTree(JSON_MESSAGE_MARSHALLER.writeValueAsString(
-                        clusterLoadAssignmentBuilder.build()));
-            } catch (IOException e) {
-                // Should never reach here
-                throw new Error(e);
-            }
-        }
-    }
-
-    private static final class LocalityLbEndpointNotFoundException extends EntryNotFoundException {
-
-        private static final long serialVersionUID = -4661118144903218907L;
-
-        static final LocalityLbEndpointNotFoundException INSTANCE = new LocalityLbEndpointNotFoundException();
-    }
 }
@@ -33,15 +33,16 @@ import io.envoyproxy.envoy.extensions.transport_sockets.tls.v3.Secret;
 
 final class CentralDogmaSnapshot extends Snapshot {
 
-    private final SnapshotResources<Cluster> clusters;
-    private final SnapshotResources<ClusterLoadAssignment> endpoints;
-    private final SnapshotResources<Listener> listeners;
-    private final SnapshotResources<RouteConfiguration> routes;
+    private final CentralDogmaSnapshotResources<Cluster> clusters;
+    private final CentralDogmaSnapshotResources<ClusterLoadAssignment> endpoints;
+    private final CentralDogmaSnapshotResources<Listener> listeners;
+    private final CentralDogmaSnapshotResources<RouteConfiguration> routes;
     private final SnapshotResources<Secret> secrets;
 
-    CentralDogmaSnapshot(SnapshotResources<Cluster> clusters,
-                         SnapshotResources<ClusterLoadAssignment> endpoints,
-                         SnapshotResources<Listener> listeners, SnapshotResources<RouteConfiguration> routes,
+    CentralDogmaSnapshot(CentralDogmaSnapshotResources<Cluster> clusters,
+                         CentralDogmaSnapshotResources<ClusterLoadAssignment> endpoints,
+                         CentralDogmaSnapshotResources<Listener> listeners,
+                         CentralDogmaSnapshotResources<RouteConfiguration> routes,
                          SnapshotResources<Secret> secrets) {
         this.clusters = clusters;
         this.endpoints = endpoints;
@@ -51,22 +52,22 @@ final class CentralDogmaSnapshot extends Snapshot {
     }
 
     @Override
-    public SnapshotResources<Cluster> clusters() {
+    public CentralDogmaSnapshotResources<Cluster> clusters() {
         return clusters;
     }
 
     @Override
-    public SnapshotResources<ClusterLoadAssignment> endpoints() {
+    public CentralDogmaSnapshotResources<ClusterLoadAssignment> endpoints() {
         return endpoints;
     }
 
     @Override
-    public SnapshotResources<Listener> listeners() {
+    public CentralDogmaSnapshotResources<Listener> listeners() {
         return listeners;
     }
 
     @Override
-    public SnapshotResources<RouteConfiguration> routes() {
+    public CentralDogmaSnapshotResources<RouteConfiguration> routes() {
         return routes;
     }
 
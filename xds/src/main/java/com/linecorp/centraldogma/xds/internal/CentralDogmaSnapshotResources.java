@@ -17,51 +17,58 @@
 package com.linecorp.centraldogma.xds.internal;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.common.hash.HashCode;
 import com.google.common.hash.Hashing;
 import com.google.protobuf.Message;
 
 import com.linecorp.armeria.common.annotation.Nullable;
 
 import io.envoyproxy.controlplane.cache.ResourceVersionResolver;
-import io.envoyproxy.controlplane.cache.Resources;
 import io.envoyproxy.controlplane.cache.Resources.ResourceType;
 import io.envoyproxy.controlplane.cache.SnapshotResources;
 import io.envoyproxy.controlplane.cache.VersionedResource;
 
 final class CentralDogmaSnapshotResources<T extends Message> extends SnapshotResources<T> {
 
+    private static final String EMPTY_RESOURCES_VERSION = "empty_resources";
+
+    static <T extends Message> CentralDogmaSnapshotResources<T> empty(ResourceType resourceType) {
+        return new CentralDogmaSnapshotResources<>(ImmutableSortedMap.of(), resourceType);
+    }
+
     public static <T extends Message> SnapshotResources<T> create(
             Map<String, Map<String, VersionedResource<T>>> resources, ResourceType resourceType) {
-        final ImmutableMap.Builder<String, VersionedResource<T>> versionedResourcesMap = ImmutableMap.builder();
-        final ImmutableMap.Builder<String, T> resourcesMap = ImmutableMap.builder();
-        for (Map<String, VersionedResource<T>> value : resources.values()) {
-            value.values().forEach(versionedResource -> {
-                final String resourceName = Resources.getResourceName(versionedResource.resource());
-                versionedResourcesMap.put(resourceName, versionedResource);
-                resourcesMap.put(resourceName, versionedResource.resource());
-            });
-        }
-        return new CentralDogmaSnapshotResources<>(
-                versionedResourcesMap.build(), resourcesMap.build(), resourceType);
+        return CentralDogmaSnapshotResources.<T>empty(resourceType).update(resources, resources.keySet());
     }
 
+    private final ImmutableSortedMap<String, GroupResources<T>> groups;
+    private final ResourceType resourceType;
     private final Map<String, VersionedResource<T>> versionedResources;
     private final Map<String, T> resources;
     private final ResourceVersionResolver resourceVersionResolver;
     @Nullable
     private String allResourceVersion;
 
-    private CentralDogmaSnapshotResources(
-            Map<String, VersionedResource<T>> versionedResources, ImmutableMap<String, T> resources,
-            ResourceType resourceType) {
-        this.versionedResources = versionedResources;
-        this.resources = resources;
+    private CentralDogmaSnapshotResources(ImmutableSortedMap<String, GroupResources<T>> groups,
+                                          ResourceType resourceType) {
+        this.groups = groups;
+        this.resourceType = resourceType;
+        versionedResources = new GroupedResourceMap<>(groups);
+        resources = Maps.transformValues(versionedResources, VersionedResource::resource);
         resourceVersionResolver = resourceNames -> {
             if (resourceNames.isEmpty()) {
                 return allResourceOrThrow(resourceType);
@@ -97,7 +104,68 @@ final class CentralDogmaSnapshotResources<T extends Message> extends SnapshotRes
         };
     }
 
+    /**
+     * Returns a new {@link CentralDogmaSnapshotResources} whose resources of the {@code updatedGroups} are
+     * replaced with the ones in the specified {@code resources}. The resources of the other groups and
+     * their versions are shared with this instance, so the cost is proportional to the number of
+     * the resources in the updated groups rather than the number of all resources.
+     */
+    CentralDogmaSnapshotResources<T> update(Map<String, ? extends Map<String, VersionedResource<T>>> resources,
+                                            Set<String> updatedGroups) {
+        // Sort by the group names so that the resources are always sent in the same order.
+        final ImmutableSortedMap.Builder<String, GroupResources<T>> builder =
+                ImmutableSortedMap.naturalOrder();
+        groups.forEach((groupName, groupResources) -> {
+            if (!updatedGroups.contains(groupName)) {
+                builder.put(groupName, groupResources);
+            }
+        });
+        for (String groupName : updatedGroups) {
+            final Map<String, VersionedResource<T>> groupResources = resources.get(groupName);
+            if (groupResources != null && !groupResources.isEmpty()) {
+                builder.put(groupName, new GroupResources<>(groupResources));
+            }
+        }
+        return new CentralDogmaSnapshotResources<>(builder.build(), resourceType);
+    }
+
+    /**
+     * Returns a new {@link CentralDogmaSnapshotResources} which contains only the resources of
+     * the specified {@code groupNames}. The resources and the versions of the groups are shared with
+     * this instance, so the cost is proportional to the number of the specified groups.
+     */
+    CentralDogmaSnapshotResources<T> retain(Set<String> groupNames) {
+        final ImmutableSortedMap.Builder<String, GroupResources<T>> builder =
+                ImmutableSortedMap.naturalOrder();
+        for (String groupName : groupNames) {
+            final GroupResources<T> groupResources = groups.get(groupName);
+            if (groupResources != null) {
+                builder.put(groupName, groupResources);
+            }
+        }
+        return new CentralDogmaSnapshotResources<>(builder.build(), resourceType);
+    }
+
+    /**
+     * Returns {@code true} if the specified {@link CentralDogmaSnapshotResources} has the same groups
+     * whose resources are not updated since this instance was created.
+     */
+    boolean hasSameGroups(CentralDogmaSnapshotResources<T> other) {
+        if (groups.size() != other.groups.size()) {
+            return false;
+        }
+        for (Map.Entry<String, GroupResources<T>> entry : groups.entrySet()) {
+            if (other.groups.get(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private String allResourceOrThrow(ResourceType resourceType) {
+        if (groups.isEmpty()) {
+            return EMPTY_RESOURCES_VERSION;
+        }
         if (resourceType == ResourceType.CLUSTER || resourceType == ResourceType.LISTENER) {
             return allResourceVersion();
         }
@@ -108,8 +176,13 @@ final class CentralDogmaSnapshotResources<T extends Message> extends SnapshotRes
         if (allResourceVersion != null) {
             return allResourceVersion;
         }
-        return allResourceVersion = Hashing.sha256()
-                                           .hashInt(versionedResources.values().hashCode())
+        if (groups.isEmpty()) {
+            return EMPTY_RESOURCES_VERSION;
+        }
+        // Combine the versions of the groups which are calculated only when the group is updated.
+        return allResourceVersion = Hashing.combineUnordered(groups.values().stream()
+                                                                   .map(group -> group.version)
+                                                                   .collect(toImmutableList()))
                                            .toString();
     }
 
@@ -127,4 +200,107 @@ final class CentralDogmaSnapshotResources<T extends Message> extends SnapshotRes
     public ResourceVersionResolver resourceVersionResolver() {
         return resourceVersionResolver;
     }
+
+    private static final class GroupResources<T extends Message> {
+
+        private final ImmutableMap<String, VersionedResource<T>> resources;
+        private final HashCode version;
+
+        GroupResources(Map<String, VersionedResource<T>> resources) {
+            this.resources = ImmutableMap.copyOf(resources);
+            // The version of a resource is the hash of its content, so the combined hash changes
+            // whenever a resource in this group is added, updated or removed.
+            version = Hashing.combineUnordered(
+                    this.resources.values().stream()
+                                  .map(resource -> Hashing.sha256().hashString(resource.version(), UTF_8))
+                                  .collect(toImmutableList()));
+        }
+    }
+
+    /**
+     * A read-only view of the resources of all groups, which doesn't copy the resources into a new map.
+     */
+    private static final class GroupedResourceMap<T extends Message>
+            extends AbstractMap<String, VersionedResource<T>> {
+
+        private static final String GROUPS_PREFIX = "groups/";
+
+        private final ImmutableMap<String, GroupResources<T>> groups;
+        private final int size;
+
+        GroupedResourceMap(ImmutableMap<String, GroupResources<T>> groups) {
+            this.groups = groups;
+            int size = 0;
+            for (GroupResources<T> group : groups.values()) {
+                size += group.resources.size();
+            }
+            this.size = size;
+        }
+
+        @Nullable
+        @Override
+        public VersionedResource<T> get(@Nullable Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            final String resourceName = (String) key;
+            // The name of a resource starts with "groups/{group}/" so look up the group first.
+            final String groupName = groupName(resourceName);
+            if (groupName != null) {
+                final GroupResources<T> group = groups.get(groupName);
+                if (group != null) {
+                    final VersionedResource<T> resource = group.resources.get(resourceName);
+                    if (resource != null) {
+                        return resource;
+                    }
+                }
+            }
+            for (GroupResources<T> group : groups.values()) {
+                final VersionedResource<T> resource = group.resources.get(resourceName);
+                if (resource != null) {
+                    return resource;
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        private static String groupName(String resourceName) {
+            if (!resourceName.startsWith(GROUPS_PREFIX)) {
+                return null;
+            }
+            final int index = resourceName.indexOf('/', GROUPS_PREFIX.length());
+            if (index < 0) {
+                return null;
+            }
+            return resourceName.substring(GROUPS_PREFIX.length(), index);
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<String, VersionedResource<T>>> entrySet() {
+            return new AbstractSet<Entry<String, VersionedResource<T>>>() {
+                @Override
+                public Iterator<Entry<String, VersionedResource<T>>> iterator() {
+                    return Iterators.concat(Iterators.transform(groups.values().iterator(),
+                                                                group -> group.resources.entrySet()
+                                                                                        .iterator()));
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
 }
@@ -16,10 +16,13 @@
 package com.linecorp.centraldogma.xds.internal;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
 
 import io.envoyproxy.controlplane.cache.Resources.ResourceType;
 import io.envoyproxy.controlplane.cache.SnapshotResources;
@@ -40,57 +43,89 @@ final class CentralDogmaXdsResources {
     private final Map<String, Map<String, VersionedResource<Listener>>> listenerResources = new HashMap<>();
     private final Map<String, Map<String, VersionedResource<RouteConfiguration>>> routeResources =
             new HashMap<>();
-    private boolean clusterUpdated;
-    private boolean endpointUpdated;
-    private boolean listenerUpdated;
-    private boolean routeUpdated;
+
+    // The groups whose resources are changed since the last snapshot. Only the resources of these groups
+    // are copied when creating the next snapshot.
+    private final Set<String> updatedClusterGroups = new HashSet<>();
+    private final Set<String> updatedEndpointGroups = new HashSet<>();
+    private final Set<String> updatedListenerGroups = new HashSet<>();
+    private final Set<String> updatedRouteGroups = new HashSet<>();
+
+    private CentralDogmaSnapshotResources<Cluster> clusters =
+            CentralDogmaSnapshotResources.empty(ResourceType.CLUSTER);
+    private CentralDogmaSnapshotResources<ClusterLoadAssignment> endpoints =
+            CentralDogmaSnapshotResources.empty(ResourceType.ENDPOINT);
+    private CentralDogmaSnapshotResources<Listener> listeners =
+            CentralDogmaSnapshotResources.empty(ResourceType.LISTENER);
+    private CentralDogmaSnapshotResources<RouteConfiguration> routes =
+            CentralDogmaSnapshotResources.empty(ResourceType.ROUTE);
 
     private CentralDogmaSnapshot currentSnapshot;
 
+    // The snapshots for the nodes which subscribe to specific groups.
+    private final Map<Set<String>, CentralDogmaSnapshot> scopedSnapshots = new HashMap<>();
+
     CentralDogmaXdsResources() {
         final SnapshotResources<?> emptyResources = SnapshotResources.create(ImmutableList.of(),
                                                                              "empty_resources");
-        currentSnapshot = new CentralDogmaSnapshot((SnapshotResources<Cluster>) emptyResources,
-                                                   (SnapshotResources<ClusterLoadAssignment>) emptyResources,
-                                                   (SnapshotResources<Listener>) emptyResources,
-                                                   (SnapshotResources<RouteConfiguration>) emptyResources,
+        currentSnapshot = new CentralDogmaSnapshot(clusters, endpoints, listeners, routes,
                                                    (SnapshotResources<Secret>) emptyResources);
     }
 
     void setCluster(String groupName, Cluster cluster) {
-        final Map<String, VersionedResource<Cluster>> groupClusters =
-                clusterResources.computeIfAbsent(groupName, k -> new HashMap<>());
-        groupClusters.put(cluster.getName(), VersionedResource.create(cluster));
-        clusterUpdated = true;
+        if (setResource(clusterResources, groupName, cluster.getName(), cluster)) {
+            updatedClusterGroups.add(groupName);
+        }
     }
 
     void setEndpoint(String groupName, ClusterLoadAssignment endpoint) {
-        final Map<String, VersionedResource<ClusterLoadAssignment>> groupEndpoints =
-                endpointResources.computeIfAbsent(groupName, k -> new HashMap<>());
-        groupEndpoints.put(endpoint.getClusterName(), VersionedResource.create(endpoint));
-        endpointUpdated = true;
+        if (setResource(endpointResources, groupName, endpoint.getClusterName(), endpoint)) {
+            updatedEndpointGroups.add(groupName);
+        }
     }
 
     void setListener(String groupName, Listener listener) {
-        final Map<String, VersionedResource<Listener>> groupListeners =
-                listenerResources.computeIfAbsent(groupName, k -> new HashMap<>());
-        groupListeners.put(listener.getName(), VersionedResource.create(listener));
-        listenerUpdated = true;
+        if (setResource(listenerResources, groupName, listener.getName(), listener)) {
+            updatedListenerGroups.add(groupName);
+        }
     }
 
     void setRoute(String groupName, RouteConfiguration route) {
-        final Map<String, VersionedResource<RouteConfiguration>> groupRoutes =
-                routeResources.computeIfAbsent(groupName, k -> new HashMap<>());
-        groupRoutes.put(route.getName(), VersionedResource.create(route));
-        routeUpdated = true;
+        if (setResource(routeResources, groupName, route.getName(), route)) {
+            updatedRouteGroups.add(groupName);
+        }
+    }
+
+    /**
+     * Sets the specified {@code resource} and returns {@code true} if it's different from the existing one.
+     */
+    private static <T extends Message> boolean setResource(
+            Map<String, Map<String, VersionedResource<T>>> resources, String groupName,
+            String resourceName, T resource) {
+        final Map<String, VersionedResource<T>> groupResources =
+                resources.computeIfAbsent(groupName, k -> new HashMap<>());
+        final VersionedResource<T> oldResource = groupResources.get(resourceName);
+        if (oldResource != null && oldResource.resource().equals(resource)) {
+            // Keep the old version so that the clients don't receive the same resource again.
+            return false;
+        }
+        groupResources.put(resourceName, VersionedResource.create(resource));
+        return true;
+    }
+
+    private static <T extends Message> boolean removeResource(
+            Map<String, Map<String, VersionedResource<T>>> resources, String groupName, String resourceName) {
+        final Map<String, VersionedResource<T>> groupResources = resources.get(groupName);
+        if (groupResources == null) {
+            return false;
+        }
+        return groupResources.remove(resourceName) != null;
     }
 
     void removeCluster(String groupName, String path) {
-        final Map<String, VersionedResource<Cluster>> groupClusters = clusterResources.get(groupName);
-        if (groupClusters == null) {
-            return;
+        if (removeResource(clusterResources, groupName, getResourceName(groupName, path))) {
+            updatedClusterGroups.add(groupName);
         }
-        clusterUpdated |= groupClusters.remove(getResourceName(groupName, path)) != null;
     }
 
     private static String getResourceName(String groupName, String path) {
@@ -98,78 +133,114 @@ final class CentralDogmaXdsResources {
     }
 
     void removeEndpoint(String groupName, String path) {
-        final Map<String, VersionedResource<ClusterLoadAssignment>> groupEndpoints =
-                endpointResources.get(groupName);
-        if (groupEndpoints == null) {
-            return;
-        }
         // e.g. /endpoints/foo-cluster.json file with group foo -> groups/foo/clusters/foo-cluster
         // e.g. /k8s/endpoints/foo-cluster.json file with group foo -> groups/foo/k8s/clusters/foo-cluster
         final String clusterName =
                 "groups/" + groupName +
                 ENDPOINTS_PATTERN.matcher(path.substring(0, path.length() - 5) /* remove .json */)
                                  .replaceFirst("/clusters/");
-        endpointUpdated |= groupEndpoints.remove(clusterName) != null;
+        if (removeResource(endpointResources, groupName, clusterName)) {
+            updatedEndpointGroups.add(groupName);
+        }
     }
 
     void removeListener(String groupName, String path) {
-        final Map<String, VersionedResource<Listener>> groupListeners = listenerResources.get(groupName);
-        if (groupListeners == null) {
-            return;
+        if (removeResource(listenerResources, groupName, getResourceName(groupName, path))) {
+            updatedListenerGroups.add(groupName);
         }
-        listenerUpdated |= groupListeners.remove(getResourceName(groupName, path)) != null;
     }
 
     void removeRoute(String groupName, String path) {
-        final Map<String, VersionedResource<RouteConfiguration>> groupRoutes =
-                routeResources.get(groupName);
-        if (groupRoutes == null) {
-            return;
+        if (removeResource(routeResources, groupName, getResourceName(groupName, path))) {
+            updatedRouteGroups.add(groupName);
         }
-        routeUpdated |= groupRoutes.remove(getResourceName(groupName, path)) != null;
     }
 
     CentralDogmaSnapshot snapshot() {
-        final SnapshotResources<Cluster> clusters;
-        if (clusterUpdated) {
-            clusters = CentralDogmaSnapshotResources.create(clusterResources, ResourceType.CLUSTER);
-            clusterUpdated = false;
-        } else {
-            clusters = currentSnapshot.clusters();
+        if (updatedClusterGroups.isEmpty() && updatedEndpointGroups.isEmpty() &&
+            updatedListenerGroups.isEmpty() && updatedRouteGroups.isEmpty()) {
+            return currentSnapshot;
         }
-
-        final SnapshotResources<ClusterLoadAssignment> endpoints;
-        if (endpointUpdated) {
-            endpoints = CentralDogmaSnapshotResources.create(endpointResources, ResourceType.ENDPOINT);
-            endpointUpdated = false;
-        } else {
-            endpoints = currentSnapshot.endpoints();
+        if (!updatedClusterGroups.isEmpty()) {
+            clusters = clusters.update(clusterResources, updatedClusterGroups);
+            updatedClusterGroups.clear();
         }
+        if (!updatedEndpointGroups.isEmpty()) {
+            endpoints = endpoints.update(endpointResources, updatedEndpointGroups);
+            updatedEndpointGroups.clear();
+        }
+        if (!updatedListenerGroups.isEmpty()) {
+            listeners = listeners.update(listenerResources, updatedListenerGroups);
+            updatedListenerGroups.clear();
+        }
+        if (!updatedRouteGroups.isEmpty()) {
+            routes = routes.update(routeResources, updatedRouteGroups);
+            updatedRouteGroups.clear();
+        }
+        return currentSnapshot =
+                new CentralDogmaSnapshot(clusters, endpoints, listeners, routes, currentSnapshot.secrets());
+    }
 
-        final SnapshotResources<Listener> listeners;
-        if (listenerUpdated) {
-            listeners = CentralDogmaSnapshotResources.create(listenerResources, ResourceType.LISTENER);
-            listenerUpdated = false;
-        } else {
-            listeners = currentSnapshot.listeners();
+    /**
+     * Returns the {@link CentralDogmaSnapshot} which contains only the resources of the specified
+     * {@code groupNames}. The previous snapshot for the {@code groupNames} is returned if none of
+     * the groups is updated.
+     */
+    CentralDogmaSnapshot snapshot(Set<String> groupNames) {
+        snapshot();
+        final CentralDogmaSnapshot oldSnapshot = scopedSnapshots.get(groupNames);
+        if (oldSnapshot == null) {
+            final CentralDogmaSnapshot newSnapshot = new CentralDogmaSnapshot(
+                    clusters.retain(groupNames), endpoints.retain(groupNames),
+                    listeners.retain(groupNames), routes.retain(groupNames), currentSnapshot.secrets());
+            scopedSnapshots.put(groupNames, newSnapshot);
+            return newSnapshot;
         }
 
-        final SnapshotResources<RouteConfiguration> routes;
-        if (routeUpdated) {
-            routes = CentralDogmaSnapshotResources.create(routeResources, ResourceType.ROUTE);
-            routeUpdated = false;
-        } else {
-            routes = currentSnapshot.routes();
+        final CentralDogmaSnapshotResources<Cluster> scopedClusters =
+                retain(clusters, groupNames, oldSnapshot.clusters());
+        final CentralDogmaSnapshotResources<ClusterLoadAssignment> scopedEndpoints =
+                retain(endpoints, groupNames, oldSnapshot.endpoints());
+        final CentralDogmaSnapshotResources<Listener> scopedListeners =
+                retain(listeners, groupNames, oldSnapshot.listeners());
+        final CentralDogmaSnapshotResources<RouteConfiguration> scopedRoutes =
+                retain(routes, groupNames, oldSnapshot.routes());
+        if (scopedClusters == oldSnapshot.clusters() && scopedEndpoints == oldSnapshot.endpoints() &&
+            scopedListeners == oldSnapshot.listeners() && scopedRoutes == oldSnapshot.routes()) {
+            return oldSnapshot;
         }
+        final CentralDogmaSnapshot newSnapshot = new CentralDogmaSnapshot(
+                scopedClusters, scopedEndpoints, scopedListeners, scopedRoutes, currentSnapshot.secrets());
+        scopedSnapshots.put(groupNames, newSnapshot);
+        return newSnapshot;
+    }
 
-        return currentSnapshot =
-                new CentralDogmaSnapshot(clusters, endpoints, listeners, routes, currentSnapshot.secrets());
+    /**
+     * Removes the snapshot of the specified {@code groupNames} which no node subscribes to anymore.
+     */
+    void removeScopedSnapshot(Set<String> groupNames) {
+        scopedSnapshots.remove(groupNames);
+    }
+
+    private static <T extends Message> CentralDogmaSnapshotResources<T> retain(
+            CentralDogmaSnapshotResources<T> resources, Set<String> groupNames,
+            CentralDogmaSnapshotResources<T> oldResources) {
+        final CentralDogmaSnapshotResources<T> newResources = resources.retain(groupNames);
+        return newResources.hasSameGroups(oldResources) ? oldResources : newResources;
     }
 
     void removeGroup(String groupName) {
-        clusterUpdated |= clusterResources.remove(groupName) != null;
-        endpointUpdated |= endpointResources.remove(groupName) != null;
-        listenerUpdated |= listenerResources.remove(groupName) != null;
-        routeUpdated |= routeResources.remove(groupName) != null;
+        if (clusterResources.remove(groupName) != null) {
+            updatedClusterGroups.add(groupName);
+        }
+        if (endpointResources.remove(groupName) != null) {
+            updatedEndpointGroups.add(groupName);
+        }
+        if (listenerResources.remove(groupName) != null) {
+            updatedListenerGroups.add(groupName);
+        }
+        if (routeResources.remove(groupName) != null) {
+            updatedRouteGroups.add(groupName);
+        }
     }
 }
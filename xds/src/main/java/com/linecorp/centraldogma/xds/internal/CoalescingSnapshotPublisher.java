@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.xds.internal;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes xDS snapshots at most once in the specified interval. The first change after the interval
+ * is published immediately and the changes requested within the interval are published together as
+ * a single snapshot when the interval elapses.
+ */
+final class CoalescingSnapshotPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingSnapshotPublisher.class);
+
+    private final ScheduledExecutorService executor;
+    private final long minIntervalNanos;
+    private final Runnable publisher;
+    private final Timer publishTimer;
+    private final DistributionSummary coalescedChanges;
+
+    // Accessed only from the executor.
+    private boolean published;
+    private long lastPublishNanos;
+    private int pendingChanges;
+    private boolean scheduled;
+
+    CoalescingSnapshotPublisher(ScheduledExecutorService executor, long minIntervalMillis,
+                                Runnable publisher, MeterRegistry meterRegistry, String metricNamePrefix) {
+        this.executor = executor;
+        minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+        this.publisher = publisher;
+        publishTimer = Timer.builder(metricNamePrefix + "snapshot.publish.duration")
+                            .register(meterRegistry);
+        coalescedChanges = DistributionSummary.builder(metricNamePrefix + "snapshot.coalesced.changes")
+                                              .register(meterRegistry);
+    }
+
+    /**
+     * Requests to publish the current snapshot. This method must be invoked from the executor.
+     */
+    void publish() {
+        pendingChanges++;
+        if (scheduled) {
+            // The change will be published by the scheduled task.
+            return;
+        }
+        final long delayNanos = minIntervalNanos - (System.nanoTime() - lastPublishNanos);
+        if (!published || delayNanos <= 0) {
+            publishNow();
+            return;
+        }
+        scheduled = true;
+        executor.schedule(() -> {
+            scheduled = false;
+            publishNow();
+        }, delayNanos, NANOSECONDS);
+    }
+
+    private void publishNow() {
+        coalescedChanges.record(pendingChanges);
+        pendingChanges = 0;
+        final long startNanos = System.nanoTime();
+        try {
+            publisher.run();
+        } catch (Throwable t) {
+            logger.warn("Unexpected exception while publishing the xDS snapshots.", t);
+        }
+        published = true;
+        lastPublishNanos = System.nanoTime();
+        publishTimer.record(lastPublishNanos - startNanos, NANOSECONDS);
+    }
+}
@@ -26,6 +26,7 @@ import com.linecorp.centraldogma.server.plugin.AllReplicasPlugin;
 import com.linecorp.centraldogma.server.plugin.PluginContext;
 import com.linecorp.centraldogma.server.plugin.PluginInitContext;
 import com.linecorp.centraldogma.server.plugin.PluginTarget;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 import com.linecorp.centraldogma.server.storage.project.InternalProjectInitializer;
 
 public final class ControlPlanePlugin extends AllReplicasPlugin {
@@ -39,9 +40,16 @@ public final class ControlPlanePlugin extends AllReplicasPlugin {
     public void init(PluginInitContext pluginInitContext) {
         final InternalProjectInitializer projectInitializer = pluginInitContext.internalProjectInitializer();
         projectInitializer.initialize(XDS_CENTRAL_DOGMA_PROJECT);
+        final ControlPlanePluginConfig config = (ControlPlanePluginConfig)
+                pluginInitContext.config().pluginConfigMap().get(ControlPlanePluginConfig.class);
+        final long minSnapshotPublishIntervalMillis =
+                config != null ? config.minSnapshotPublishIntervalMillis()
+                               : ControlPlanePluginConfig.DEFAULT_MIN_SNAPSHOT_PUBLISH_INTERVAL_MILLIS;
+        final EphemeralStore ephemeralEndpointStore =
+                config != null && config.ephemeralEndpoints() ? pluginInitContext.ephemeralStore() : null;
         final ControlPlaneService controlPlaneService = new ControlPlaneService(
                 pluginInitContext.projectManager().get(XDS_CENTRAL_DOGMA_PROJECT),
-                pluginInitContext.meterRegistry());
+                pluginInitContext.meterRegistry(), minSnapshotPublishIntervalMillis, ephemeralEndpointStore);
         this.controlPlaneService = controlPlaneService;
         controlPlaneService.start(pluginInitContext);
     }
@@ -15,23 +15,86 @@
  */
 package com.linecorp.centraldogma.xds.internal;
 
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Preconditions.checkArgument;
+
 import javax.annotation.Nullable;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
 
 import com.linecorp.centraldogma.server.plugin.AbstractPluginConfig;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 
 /**
  * A plugin configuration for the control plane.
  */
 public final class ControlPlanePluginConfig extends AbstractPluginConfig {
 
+    static final long DEFAULT_MIN_SNAPSHOT_PUBLISH_INTERVAL_MILLIS = 100;
+
+    private final long minSnapshotPublishIntervalMillis;
+    private final boolean ephemeralEndpoints;
+
+    /**
+     * Creates a new instance.
+     */
+    public ControlPlanePluginConfig(@Nullable Boolean enabled) {
+        this(enabled, null);
+    }
+
+    /**
+     * Creates a new instance.
+     */
+    public ControlPlanePluginConfig(@Nullable Boolean enabled,
+                                    @Nullable Long minSnapshotPublishIntervalMillis) {
+        this(enabled, minSnapshotPublishIntervalMillis, null);
+    }
+
     /**
      * Creates a new instance.
      */
     @JsonCreator
-    public ControlPlanePluginConfig(@JsonProperty("enabled") @Nullable Boolean enabled) {
+    public ControlPlanePluginConfig(
+            @JsonProperty("enabled") @Nullable Boolean enabled,
+            @JsonProperty("minSnapshotPublishIntervalMillis") @Nullable Long minSnapshotPublishIntervalMillis,
+            @JsonProperty("ephemeralEndpoints") @Nullable Boolean ephemeralEndpoints) {
         super(enabled);
+        this.minSnapshotPublishIntervalMillis = firstNonNull(minSnapshotPublishIntervalMillis,
+                                                             DEFAULT_MIN_SNAPSHOT_PUBLISH_INTERVAL_MILLIS);
+        checkArgument(this.minSnapshotPublishIntervalMillis >= 0,
+                      "minSnapshotPublishIntervalMillis: %s (expected: >= 0)",
+                      this.minSnapshotPublishIntervalMillis);
+        this.ephemeralEndpoints = firstNonNull(ephemeralEndpoints, false);
+    }
+
+    /**
+     * Returns the minimum interval between the publications of the xDS snapshots in milliseconds.
+     * The changes of the groups made within the interval are published together as a single snapshot.
+     * {@code 0} means every change is published immediately.
+     */
+    @JsonProperty
+    public long minSnapshotPublishIntervalMillis() {
+        return minSnapshotPublishIntervalMillis;
+    }
+
+    /**
+     * Returns whether the endpoints aggregated from Kubernetes are stored in the
+     * {@link EphemeralStore} instead of the Git repositories of the groups. The endpoints in
+     * the {@link EphemeralStore} are replicated to all replicas but not recorded in the Git history.
+     */
+    @JsonProperty
+    public boolean ephemeralEndpoints() {
+        return ephemeralEndpoints;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("enabled", enabled())
+                          .add("minSnapshotPublishIntervalMillis", minSnapshotPublishIntervalMillis)
+                          .add("ephemeralEndpoints", ephemeralEndpoints)
+                          .toString();
     }
 }
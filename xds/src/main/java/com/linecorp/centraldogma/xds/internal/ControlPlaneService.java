@@ -15,25 +15,43 @@
  */
 package com.linecorp.centraldogma.xds.internal;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.linecorp.centraldogma.server.internal.ExecutorServiceUtil.terminate;
 import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.JSON_MESSAGE_MARSHALLER;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 import org.curioswitch.common.protobuf.json.MessageMarshaller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
 import com.google.protobuf.Message;
+import com.google.protobuf.Value;
+import com.google.protobuf.Value.KindCase;
 
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.internal.common.grpc.DefaultJsonMarshaller;
 import com.linecorp.armeria.server.grpc.GrpcService;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
 import com.linecorp.centraldogma.server.plugin.PluginInitContext;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.xds.cluster.v1.XdsClusterService;
 import com.linecorp.centraldogma.xds.endpoint.v1.XdsEndpointService;
@@ -43,24 +61,30 @@ import com.linecorp.centraldogma.xds.listener.v1.XdsListenerService;
 import com.linecorp.centraldogma.xds.route.v1.XdsRouteService;
 
 import io.envoyproxy.controlplane.cache.v3.SimpleCache;
+import io.envoyproxy.controlplane.cache.v3.Snapshot;
 import io.envoyproxy.controlplane.server.DiscoveryServerCallbacks;
 import io.envoyproxy.controlplane.server.V3DiscoveryServer;
 import io.envoyproxy.controlplane.server.exception.RequestException;
 import io.envoyproxy.envoy.config.cluster.v3.Cluster;
+import io.envoyproxy.envoy.config.core.v3.Node;
 import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
 import io.envoyproxy.envoy.config.listener.v3.Listener;
 import io.envoyproxy.envoy.config.route.v3.RouteConfiguration;
 import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryResponse;
 import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
 import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
 import io.grpc.MethodDescriptor;
 import io.grpc.MethodDescriptor.Marshaller;
 import io.grpc.MethodDescriptor.PrototypeMarshaller;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import io.netty.util.concurrent.DefaultThreadFactory;
 
-public final class ControlPlaneService extends XdsResourceWatchingService {
+public final class ControlPlaneService extends XdsResourceWatchingService<Message> {
 
     private static final Logger logger = LoggerFactory.getLogger(ControlPlaneService.class);
 
@@ -76,29 +100,111 @@ public final class ControlPlaneService extends XdsResourceWatchingService {
 
     private static final String DEFAULT_GROUP = "default_group";
 
-    // TODO(minwoox): Implement better cache implementation that updates only changed resources
-    //                instead of this snapshot based implementation.
-    private final SimpleCache<String> cache = new SimpleCache<>(node -> DEFAULT_GROUP);
+    private static final String METRIC_NAME_PREFIX = "xds.control.plane.service.";
+
+    /**
+     * The key of the node metadata which specifies the groups whose resources are sent to the node.
+     * The value is a list of the group names or a comma-separated group names. e.g.
+     * <pre>{@code
+     * node:
+     *   metadata:
+     *     centraldogma.xds.groups: [ "foo", "bar" ]
+     * }</pre>
+     * All resources are sent to a node which doesn't specify the groups. A node may subscribe to a group
+     * which doesn't exist yet. It receives the resources of the group once the group is created.
+     */
+    public static final String SUBSCRIBED_GROUPS_METADATA_KEY = "centraldogma.xds.groups";
+
+    private static final String GROUPS_PREFIX = "groups/";
+
+    @VisibleForTesting
+    static final int MAX_SCOPES = 1024;
+
+    /**
+     * The namespace of the {@link EphemeralStore} which stores the endpoints aggregated from Kubernetes when
+     * {@link ControlPlanePluginConfig#ephemeralEndpoints()} is enabled. The key of an entry is the group name
+     * followed by the path of the endpoint file. e.g. {@code foo/k8s/endpoints/foo-cluster.json}
+     */
+    public static final String EPHEMERAL_ENDPOINTS_NAMESPACE = "xds.endpoints";
+
+    private static final Splitter COMMA_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+
+    // The resources in a snapshot have their own versions which are the hashes of their contents and
+    // a snapshot shares the resources of the unchanged groups with the previous one. So both
+    // the state-of-the-world and the incremental(delta) xDS streams receive only the changed resources
+    // when they subscribe to specific resources.
+    private final SimpleCache<String> cache = new SimpleCache<>(this::nodeGroup);
+
+    // The snapshot groups of the nodes which subscribe to specific groups, keyed by the requested group names
+    // whether they exist or not. e.g. "groups/bar,groups/foo"
+    // A compound operation is done while holding the lock of the map.
+    private final Map<String, NodeScope> scopes = new ConcurrentHashMap<>();
+    // The scopes of the open xDS streams.
+    private final Map<Long, String> streamScopes = new ConcurrentHashMap<>();
 
     private final ScheduledExecutorService controlPlaneExecutor;
     // Accessed only from controlPlaneExecutor.
     private final CentralDogmaXdsResources centralDogmaXdsResources = new CentralDogmaXdsResources();
+    // The keys of the endpoints which are set from the ephemeralEndpointStore. They take precedence over
+    // the same endpoints in the Git repositories. Accessed only from controlPlaneExecutor.
+    private final Set<String> ephemeralEndpointKeys = new HashSet<>();
+    @Nullable
+    private final EphemeralStore ephemeralEndpointStore;
+    private final EphemeralStore.Listener ephemeralEndpointListener = this::onEphemeralEndpointUpdate;
     private volatile boolean stop;
 
-    ControlPlaneService(Project xdsProject, MeterRegistry meterRegistry) {
-        super(xdsProject, "xds.control.plane.service.", meterRegistry);
+    private final MeteredDiscoveryServerCallbacks meteredCallbacks;
+    private final CoalescingSnapshotPublisher snapshotPublisher;
+    private final Timer snapshotBuildTimer;
+
+    ControlPlaneService(Project xdsProject, MeterRegistry meterRegistry, long minSnapshotPublishIntervalMillis,
+                        @Nullable EphemeralStore ephemeralEndpointStore) {
+        super(xdsProject, METRIC_NAME_PREFIX, meterRegistry);
+        this.ephemeralEndpointStore = ephemeralEndpointStore;
+        meteredCallbacks = new MeteredDiscoveryServerCallbacks(meterRegistry, METRIC_NAME_PREFIX);
+        Gauge.builder(METRIC_NAME_PREFIX + "node.scopes", scopes, Map::size)
+             .register(meterRegistry);
         controlPlaneExecutor = ExecutorServiceMetrics.monitor(
                 meterRegistry,
                 Executors.newSingleThreadScheduledExecutor(
                         new DefaultThreadFactory("control-plane-executor", true)),
                 "controlPlaneExecutor");
+        snapshotPublisher = new CoalescingSnapshotPublisher(controlPlaneExecutor,
+                                                            minSnapshotPublishIntervalMillis,
+                                                            this::publishSnapshots, meterRegistry,
+                                                            METRIC_NAME_PREFIX);
+        snapshotBuildTimer = Timer.builder(METRIC_NAME_PREFIX + "snapshot.build.duration")
+                                  .register(meterRegistry);
+        snapshotResourcesGauge(meterRegistry, "cluster", snapshot -> snapshot.clusters().resources().size());
+        snapshotResourcesGauge(meterRegistry, "endpoint",
+                               snapshot -> snapshot.endpoints().resources().size());
+        snapshotResourcesGauge(meterRegistry, "listener",
+                               snapshot -> snapshot.listeners().resources().size());
+        snapshotResourcesGauge(meterRegistry, "route", snapshot -> snapshot.routes().resources().size());
+    }
+
+    private void snapshotResourcesGauge(MeterRegistry meterRegistry, String type,
+                                        ToIntFunction<Snapshot> numResources) {
+        Gauge.builder(METRIC_NAME_PREFIX + "snapshot.resources", cache, simpleCache -> {
+                 final Snapshot snapshot = simpleCache.getSnapshot(DEFAULT_GROUP);
+                 return snapshot != null ? numResources.applyAsInt(snapshot) : 0;
+             })
+             .tag("type", type)
+             .register(meterRegistry);
     }
 
     void start(PluginInitContext pluginInitContext) {
         init();
-        cache.setSnapshot(DEFAULT_GROUP, centralDogmaXdsResources.snapshot());
+        // The groups which are not initialized in time are merged in the controlPlaneExecutor, so the initial
+        // snapshot is built and set there as well not to overwrite a newer snapshot.
+        CompletableFuture.runAsync(this::publishSnapshots, controlPlaneExecutor).join();
+        if (ephemeralEndpointStore != null) {
+            ephemeralEndpointStore.addListener(EPHEMERAL_ENDPOINTS_NAMESPACE, ephemeralEndpointListener);
+        }
         final CommandExecutor commandExecutor = pluginInitContext.commandExecutor();
-        final V3DiscoveryServer server = new V3DiscoveryServer(new LoggingDiscoveryServerCallbacks(), cache);
+        final V3DiscoveryServer server = new V3DiscoveryServer(
+                ImmutableList.of(new LoggingDiscoveryServerCallbacks(), new NodeScopeTracker(),
+                                 meteredCallbacks), cache);
         final GrpcService grpcService = GrpcService.builder()
                                                    .addService(server.getClusterDiscoveryServiceImpl())
                                                    .addService(server.getEndpointDiscoveryServiceImpl())
@@ -143,6 +249,164 @@ public final class ControlPlaneService extends XdsResourceWatchingService {
         pluginInitContext.serverBuilder().service(xdsApplicationService, pluginInitContext.authService());
     }
 
+    private String nodeGroup(Node node) {
+        final Set<String> groupNames = subscribedGroups(node);
+        if (groupNames.isEmpty()) {
+            return DEFAULT_GROUP;
+        }
+        // The scope has been acquired by NodeScopeTracker which is invoked before the watch is created.
+        return scope(groupNames);
+    }
+
+    private static String scope(Set<String> groupNames) {
+        return groupNames.stream().map(groupName -> GROUPS_PREFIX + groupName)
+                         .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Adds a new scope. Must be called while holding the lock of {@link #scopes}.
+     */
+    private NodeScope addScope(String scope, Set<String> groupNames) {
+        final NodeScope nodeScope = new NodeScope(groupNames);
+        scopes.put(scope, nodeScope);
+        if (!stop) {
+            // The watches of the node are answered when the snapshot of the scope is set.
+            controlPlaneExecutor.execute(() -> {
+                if (scopes.get(scope) == nodeScope) {
+                    cache.setSnapshot(scope, centralDogmaXdsResources.snapshot(groupNames));
+                }
+            });
+        }
+        return nodeScope;
+    }
+
+    private void acquireScope(long streamId, Node node) throws RequestException {
+        if (streamScopes.containsKey(streamId)) {
+            return;
+        }
+        final Set<String> groupNames = subscribedGroups(node);
+        if (groupNames.isEmpty()) {
+            return;
+        }
+        final String scope = scope(groupNames);
+        synchronized (scopes) {
+            NodeScope nodeScope = scopes.get(scope);
+            if (nodeScope == null) {
+                if (scopes.size() >= MAX_SCOPES) {
+                    throw new RequestException(Status.RESOURCE_EXHAUSTED.withDescription(
+                            "too many distinct " + SUBSCRIBED_GROUPS_METADATA_KEY + " (max: " +
+                            MAX_SCOPES + ')'));
+                }
+                nodeScope = addScope(scope, groupNames);
+            }
+            nodeScope.numStreams++;
+            streamScopes.put(streamId, scope);
+        }
+    }
+
+    private void releaseScope(long streamId) {
+        final String scope = streamScopes.remove(streamId);
+        if (scope == null) {
+            return;
+        }
+        synchronized (scopes) {
+            final NodeScope nodeScope = scopes.get(scope);
+            if (nodeScope == null || --nodeScope.numStreams > 0) {
+                return;
+            }
+        }
+        if (!stop) {
+            // Evict the scope after the watches of the closed stream are cancelled.
+            controlPlaneExecutor.execute(this::sweepScopes);
+        }
+    }
+
+    /**
+     * Removes the scopes which no stream uses anymore. A scope whose watches are not cancelled yet is
+     * removed later. Must be called from the {@link #controlPlaneExecutor}.
+     */
+    private void sweepScopes() {
+        final List<Entry<String, NodeScope>> unused;
+        synchronized (scopes) {
+            unused = scopes.entrySet().stream()
+                           .filter(entry -> entry.getValue().numStreams == 0)
+                           .collect(toImmutableList());
+        }
+        boolean retry = false;
+        for (Entry<String, NodeScope> entry : unused) {
+            final String scope = entry.getKey();
+            final NodeScope nodeScope = entry.getValue();
+            if (!cache.clearSnapshot(scope)) {
+                // The watches of the closed streams are not cancelled yet.
+                retry = true;
+                continue;
+            }
+            final boolean removed;
+            synchronized (scopes) {
+                removed = nodeScope.numStreams == 0 && scopes.remove(scope, nodeScope);
+            }
+            if (removed) {
+                centralDogmaXdsResources.removeScopedSnapshot(nodeScope.groupNames);
+            } else {
+                // A new stream acquired the scope while clearing its snapshot.
+                cache.setSnapshot(scope, centralDogmaXdsResources.snapshot(nodeScope.groupNames));
+            }
+        }
+        if (retry && !stop) {
+            controlPlaneExecutor.schedule(this::sweepScopes, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    @VisibleForTesting
+    static Set<String> subscribedGroups(Node node) {
+        final Value value = node.getMetadata().getFieldsMap().get(SUBSCRIBED_GROUPS_METADATA_KEY);
+        if (value == null) {
+            return ImmutableSortedSet.of();
+        }
+        final ImmutableSortedSet.Builder<String> builder = ImmutableSortedSet.naturalOrder();
+        switch (value.getKindCase()) {
+            case STRING_VALUE:
+                COMMA_SPLITTER.split(value.getStringValue()).forEach(group -> addGroup(builder, group));
+                break;
+            case LIST_VALUE:
+                for (Value element : value.getListValue().getValuesList()) {
+                    if (element.getKindCase() == KindCase.STRING_VALUE) {
+                        addGroup(builder, element.getStringValue().trim());
+                    }
+                }
+                break;
+            default:
+                logger.debug("Ignoring the invalid {} of {}: {}",
+                             SUBSCRIBED_GROUPS_METADATA_KEY, node.getId(), value);
+        }
+        return builder.build();
+    }
+
+    private static void addGroup(ImmutableSortedSet.Builder<String> builder, String group) {
+        // Both "foo" and "groups/foo" are allowed.
+        final String groupName = group.startsWith(GROUPS_PREFIX) ? group.substring(GROUPS_PREFIX.length())
+                                                                 : group;
+        if (!groupName.isEmpty()) {
+            builder.add(groupName);
+        }
+    }
+
+    private void publishSnapshots() {
+        final long startNanos = System.nanoTime();
+        final CentralDogmaSnapshot snapshot = centralDogmaXdsResources.snapshot();
+        snapshotBuildTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (cache.getSnapshot(DEFAULT_GROUP) != snapshot) {
+            cache.setSnapshot(DEFAULT_GROUP, snapshot);
+        }
+        scopes.forEach((scope, nodeScope) -> {
+            final CentralDogmaSnapshot scopedSnapshot =
+                    centralDogmaXdsResources.snapshot(nodeScope.groupNames);
+            if (cache.getSnapshot(scope) != scopedSnapshot) {
+                cache.setSnapshot(scope, scopedSnapshot);
+            }
+        });
+    }
+
     @Nullable
     private static Message marshallerPrototype(Marshaller<?> marshaller) {
         if (marshaller instanceof MethodDescriptor.PrototypeMarshaller) {
@@ -164,34 +428,44 @@ public final class ControlPlaneService extends XdsResourceWatchingService {
         return PATH_PATTERN;
     }
 
+    @Nullable
     @Override
-    protected void handleXdsResource(String path, String contentAsText, String groupName)
+    protected Message parseXdsResource(String path, JsonNode content, String groupName)
             throws IOException {
         if (path.startsWith(CLUSTERS_DIRECTORY)) {
-            final Cluster.Builder builder = Cluster.newBuilder();
-            JSON_MESSAGE_MARSHALLER.mergeValue(contentAsText, builder);
-            centralDogmaXdsResources.setCluster(groupName, builder.build());
+            return XdsMessageCache.parse(content, Cluster.getDefaultInstance());
         } else if (path.startsWith(ENDPOINTS_DIRECTORY) || path.startsWith(K8S_ENDPOINTS_DIRECTORY)) {
-            final ClusterLoadAssignment.Builder builder = ClusterLoadAssignment.newBuilder();
-            JSON_MESSAGE_MARSHALLER.mergeValue(contentAsText, builder);
-            centralDogmaXdsResources.setEndpoint(groupName, builder.build());
+            return XdsMessageCache.parse(content, ClusterLoadAssignment.getDefaultInstance());
         } else if (path.startsWith(LISTENERS_DIRECTORY)) {
-            final Listener.Builder builder = Listener.newBuilder();
-            JSON_MESSAGE_MARSHALLER.mergeValue(contentAsText, builder);
-            centralDogmaXdsResources.setListener(groupName, builder.build());
+            return XdsMessageCache.parse(content, Listener.getDefaultInstance());
         } else if (path.startsWith(ROUTES_DIRECTORY)) {
-            final RouteConfiguration.Builder builder = RouteConfiguration.newBuilder();
-            JSON_MESSAGE_MARSHALLER.mergeValue(contentAsText, builder);
-            centralDogmaXdsResources.setRoute(groupName, builder.build());
+            return XdsMessageCache.parse(content, RouteConfiguration.getDefaultInstance());
         } else {
             // ignore
+            return null;
+        }
+    }
+
+    @Override
+    protected void handleXdsResource(String path, Message resource, String groupName) {
+        if (resource instanceof Cluster) {
+            centralDogmaXdsResources.setCluster(groupName, (Cluster) resource);
+        } else if (resource instanceof ClusterLoadAssignment) {
+            if (isShadowedByEphemeralEndpoint(groupName, path)) {
+                return;
+            }
+            centralDogmaXdsResources.setEndpoint(groupName, (ClusterLoadAssignment) resource);
+        } else if (resource instanceof Listener) {
+            centralDogmaXdsResources.setListener(groupName, (Listener) resource);
+        } else if (resource instanceof RouteConfiguration) {
+            centralDogmaXdsResources.setRoute(groupName, (RouteConfiguration) resource);
         }
     }
 
     @Override
     protected void onGroupRemoved(String groupName) {
         centralDogmaXdsResources.removeGroup(groupName);
-        cache.setSnapshot(DEFAULT_GROUP, centralDogmaXdsResources.snapshot());
+        snapshotPublisher.publish();
     }
 
     @Override
@@ -200,6 +474,9 @@ public final class ControlPlaneService extends XdsResourceWatchingService {
             centralDogmaXdsResources.removeCluster(groupName, path);
         } else if (path.startsWith(ENDPOINTS_DIRECTORY) ||
                    path.startsWith(K8S_ENDPOINTS_DIRECTORY)) {
+            if (isShadowedByEphemeralEndpoint(groupName, path)) {
+                return;
+            }
             centralDogmaXdsResources.removeEndpoint(groupName, path);
         } else if (path.startsWith(LISTENERS_DIRECTORY)) {
             centralDogmaXdsResources.removeListener(groupName, path);
@@ -208,9 +485,53 @@ public final class ControlPlaneService extends XdsResourceWatchingService {
         }
     }
 
+    private boolean isShadowedByEphemeralEndpoint(String groupName, String path) {
+        return path.startsWith(K8S_ENDPOINTS_DIRECTORY) && ephemeralEndpointKeys.contains(groupName + path);
+    }
+
+    private void onEphemeralEndpointUpdate(String key, @Nullable JsonNode value) {
+        if (stop) {
+            return;
+        }
+        controlPlaneExecutor.execute(() -> handleEphemeralEndpoint(key, value));
+    }
+
+    private void handleEphemeralEndpoint(String key, @Nullable JsonNode value) {
+        // e.g. foo/k8s/endpoints/foo-cluster.json
+        final int index = key.indexOf('/');
+        if (index <= 0) {
+            logger.warn("Ignoring an ephemeral endpoint with an invalid key: {}", key);
+            return;
+        }
+        final String groupName = key.substring(0, index);
+        final String path = key.substring(index);
+        if (value == null) {
+            if (ephemeralEndpointKeys.remove(key)) {
+                centralDogmaXdsResources.removeEndpoint(groupName, path);
+                snapshotPublisher.publish();
+            }
+            return;
+        }
+        if (!xdsProject().repos().exists(groupName)) {
+            // The entry of a removed group which is not cleaned up yet.
+            return;
+        }
+
+        final ClusterLoadAssignment endpoint;
+        try {
+            endpoint = XdsMessageCache.parse(value, ClusterLoadAssignment.getDefaultInstance());
+        } catch (IOException e) {
+            logger.warn("Failed to parse an ephemeral endpoint: {}, value: {}", key, value, e);
+            return;
+        }
+        ephemeralEndpointKeys.add(key);
+        centralDogmaXdsResources.setEndpoint(groupName, endpoint);
+        snapshotPublisher.publish();
+    }
+
     @Override
     protected void onDiffHandled() {
-        cache.setSnapshot(DEFAULT_GROUP, centralDogmaXdsResources.snapshot());
+        snapshotPublisher.publish();
     }
 
     @Override
@@ -220,12 +541,59 @@ public final class ControlPlaneService extends XdsResourceWatchingService {
 
     void stop() {
         stop = true;
+        if (ephemeralEndpointStore != null) {
+            ephemeralEndpointStore.removeListener(EPHEMERAL_ENDPOINTS_NAMESPACE, ephemeralEndpointListener);
+        }
+        stopGroupWorkers();
         final boolean interrupted = terminate(controlPlaneExecutor);
         if (interrupted) {
             Thread.currentThread().interrupt();
         }
     }
 
+    private static final class NodeScope {
+
+        final Set<String> groupNames;
+        // Guarded by the lock of scopes.
+        int numStreams;
+
+        NodeScope(Set<String> groupNames) {
+            this.groupNames = groupNames;
+        }
+    }
+
+    /**
+     * Tracks the scope of each xDS stream so that a scope is evicted when the last stream which uses it
+     * is closed. A stream is rejected if it requires a new scope when there are too many scopes.
+     */
+    private final class NodeScopeTracker implements DiscoveryServerCallbacks {
+
+        @Override
+        public void onV3StreamRequest(long streamId, DiscoveryRequest request) throws RequestException {
+            if (request.hasNode()) {
+                acquireScope(streamId, request.getNode());
+            }
+        }
+
+        @Override
+        public void onV3StreamDeltaRequest(long streamId, DeltaDiscoveryRequest request)
+                throws RequestException {
+            if (request.hasNode()) {
+                acquireScope(streamId, request.getNode());
+            }
+        }
+
+        @Override
+        public void onStreamClose(long streamId, String typeUrl) {
+            releaseScope(streamId);
+        }
+
+        @Override
+        public void onStreamCloseWithError(long streamId, String typeUrl, Throwable error) {
+            releaseScope(streamId);
+        }
+    }
+
     private static final class LoggingDiscoveryServerCallbacks implements DiscoveryServerCallbacks {
         @Override
         public void onV3StreamRequest(long streamId, DiscoveryRequest request) throws RequestException {
@@ -236,7 +604,12 @@ public final class ControlPlaneService extends XdsResourceWatchingService {
 
         @Override
         public void onV3StreamDeltaRequest(long streamId, DeltaDiscoveryRequest request)
-                throws RequestException {}
+                throws RequestException {
+            logger.debug("Received v3 delta stream request. streamId: {}, subscribe: {}, unsubscribe: {}, " +
+                         "response_nonce: {}, type_url: {}", streamId,
+                         request.getResourceNamesSubscribeList(), request.getResourceNamesUnsubscribeList(),
+                         request.getResponseNonce(), request.getTypeUrl());
+        }
 
         @Override
         public void onV3StreamResponse(long streamId, DiscoveryRequest request, DiscoveryResponse response) {
@@ -244,5 +617,14 @@ public final class ControlPlaneService extends XdsResourceWatchingService {
                          "response_nonce: {}, type_url: {}", streamId, response.getVersionInfo(),
                          response.getNonce(), response.getTypeUrl());
         }
+
+        @Override
+        public void onV3StreamDeltaResponse(long streamId, DeltaDiscoveryRequest request,
+                                            DeltaDiscoveryResponse response) {
+            logger.debug("Sent v3 delta stream response. streamId: {}, version: {}, resources: {}, " +
+                         "removed_resources: {}, response_nonce: {}, type_url: {}", streamId,
+                         response.getSystemVersionInfo(), response.getResourcesCount(),
+                         response.getRemovedResourcesList(), response.getNonce(), response.getTypeUrl());
+        }
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.xds.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.envoyproxy.controlplane.server.DiscoveryServerCallbacks;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryResponse;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records the number of the resources and the size of the discovery responses sent to xDS clients.
+ */
+final class MeteredDiscoveryServerCallbacks implements DiscoveryServerCallbacks {
+
+    private final MeterRegistry meterRegistry;
+    private final String metricNamePrefix;
+    private final Map<String, ResponseMeters> sotwMeters = new ConcurrentHashMap<>();
+    private final Map<String, ResponseMeters> deltaMeters = new ConcurrentHashMap<>();
+
+    MeteredDiscoveryServerCallbacks(MeterRegistry meterRegistry, String metricNamePrefix) {
+        this.meterRegistry = meterRegistry;
+        this.metricNamePrefix = metricNamePrefix;
+    }
+
+    @Override
+    public void onV3StreamRequest(long streamId, DiscoveryRequest request) {}
+
+    @Override
+    public void onV3StreamDeltaRequest(long streamId, DeltaDiscoveryRequest request) {}
+
+    @Override
+    public void onV3StreamResponse(long streamId, DiscoveryRequest request, DiscoveryResponse response) {
+        sotwMeters.computeIfAbsent(response.getTypeUrl(), typeUrl -> new ResponseMeters(typeUrl, "sotw"))
+                  .record(response.getResourcesCount(), response.getSerializedSize());
+    }
+
+    @Override
+    public void onV3StreamDeltaResponse(long streamId, DeltaDiscoveryRequest request,
+                                        DeltaDiscoveryResponse response) {
+        deltaMeters.computeIfAbsent(response.getTypeUrl(), typeUrl -> new ResponseMeters(typeUrl, "delta"))
+                   .record(response.getResourcesCount() + response.getRemovedResourcesCount(),
+                           response.getSerializedSize());
+    }
+
+    private final class ResponseMeters {
+
+        private final DistributionSummary resources;
+        private final DistributionSummary size;
+
+        ResponseMeters(String typeUrl, String protocol) {
+            // e.g. type.googleapis.com/envoy.config.cluster.v3.Cluster -> Cluster
+            final String type = typeUrl.substring(typeUrl.lastIndexOf('.') + 1);
+            resources = DistributionSummary.builder(metricNamePrefix + "response.resources")
+                                           .tags("type", type, "protocol", protocol)
+                                           .register(meterRegistry);
+            size = DistributionSummary.builder(metricNamePrefix + "response.size")
+                                      .baseUnit("bytes")
+                                      .tags("type", type, "protocol", protocol)
+                                      .register(meterRegistry);
+        }
+
+        void record(int numResources, int serializedSize) {
+            resources.record(numResources);
+            size.record(serializedSize);
+        }
+    }
+}
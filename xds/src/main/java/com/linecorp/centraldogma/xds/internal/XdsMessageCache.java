@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.xds.internal;
+
+import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.JSON_MESSAGE_MARSHALLER;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Ints;
+import com.google.protobuf.Message;
+
+/**
+ * Converts the JSON contents of xDS resources into {@link Message}s and caches the converted
+ * {@link Message}s by their contents, so that the same content is parsed only once even if it's read again
+ * at a different revision or by a different watcher. The cache is bounded by the estimated memory usage of
+ * the cached contents and {@link Message}s rather than by their number, because a resource can be large.
+ */
+public final class XdsMessageCache {
+
+    private static final long MAX_CACHED_BYTES = 64L * 1024 * 1024;
+
+    // The rough memory usage of a JsonNode and a field, excluding the text.
+    private static final int NODE_OVERHEAD_BYTES = 32;
+
+    private static final Cache<Key, Message> cache =
+            Caffeine.newBuilder()
+                    .maximumWeight(MAX_CACHED_BYTES)
+                    .weigher((Key key, Message message) -> Ints.saturatedCast(
+                            estimateSize(key.content) + message.getSerializedSize()))
+                    .build();
+
+    /**
+     * Returns the {@link Message} converted from the specified {@link JsonNode}. The {@link JsonNode} is
+     * converted directly without serializing it into a text.
+     */
+    public static <T extends Message> T parse(JsonNode content, T defaultInstance) throws IOException {
+        requireNonNull(content, "content");
+        requireNonNull(defaultInstance, "defaultInstance");
+        final Key key = new Key(defaultInstance.getClass(), content);
+        final Message cached = cache.getIfPresent(key);
+        if (cached != null) {
+            //noinspection unchecked
+            return (T) cached;
+        }
+
+        final Message.Builder builder = defaultInstance.newBuilderForType();
+        try (JsonParser parser = content.traverse()) {
+            JSON_MESSAGE_MARSHALLER.mergeValue(parser, builder);
+        }
+        //noinspection unchecked
+        final T message = (T) builder.build();
+        cache.put(key, message);
+        return message;
+    }
+
+    @VisibleForTesting
+    static long estimateSize(JsonNode node) {
+        long size = NODE_OVERHEAD_BYTES;
+        if (node.isObject()) {
+            for (final Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext();) {
+                final Map.Entry<String, JsonNode> field = it.next();
+                size += NODE_OVERHEAD_BYTES + field.getKey().length() * 2L + estimateSize(field.getValue());
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                size += estimateSize(element);
+            }
+        } else if (node.isTextual()) {
+            size += node.textValue().length() * 2L;
+        }
+        return size;
+    }
+
+    private static final class Key {
+
+        private final Class<?> type;
+        private final JsonNode content;
+        // Cache the hash code because JsonNode.hashCode() traverses the whole tree.
+        private final int hashCode;
+
+        Key(Class<?> type, JsonNode content) {
+            this.type = type;
+            this.content = content;
+            hashCode = type.hashCode() * 31 + content.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return hashCode == that.hashCode && type == that.type && content.equals(that.content);
+        }
+    }
+
+    private XdsMessageCache() {}
+}
@@ -15,21 +15,30 @@
  */
 package com.linecorp.centraldogma.xds.internal;
 
+import static com.linecorp.centraldogma.server.internal.ExecutorServiceUtil.terminate;
+
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.Sets;
 
+import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.centraldogma.common.Change;
 import com.linecorp.centraldogma.common.Entry;
 import com.linecorp.centraldogma.common.EntryType;
@@ -43,35 +52,78 @@ import com.linecorp.centraldogma.server.storage.repository.RepositoryListener;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
 
-public abstract class XdsResourceWatchingService {
+/**
+ * Watches the xDS resources in the groups of the xDS project.
+ *
+ * <p>The watches, diffs and conversions of a group are performed by one of the group workers which is
+ * chosen by the group name, so the changes of a group are processed in order while the groups are processed
+ * in parallel. Only {@link #handleXdsResource(String, Object, String)}, {@link #onFileRemoved(String, String)},
+ * {@link #onGroupRemoved(String)} and {@link #onDiffHandled()}, which merge the converted resources into
+ * the state of the service, are invoked by {@link #executor()}.
+ */
+public abstract class XdsResourceWatchingService<T> {
 
     private static final Logger logger = LoggerFactory.getLogger(XdsResourceWatchingService.class);
 
     public static final long BACKOFF_SECONDS = 10;
 
+    private static final long INIT_TIMEOUT_SECONDS = 60;
+
+    private static final int NUM_GROUP_WORKERS = Runtime.getRuntime().availableProcessors();
+
     private final Project xdsProject;
 
     private final Set<String> watchingGroups = Sets.newConcurrentHashSet();
 
+    private final ScheduledExecutorService[] groupWorkers;
+
+    private final MeterRegistry meterRegistry;
+    private final String metricNamePrefix;
+    private final Map<String, Timer> groupLagTimers = new ConcurrentHashMap<>();
+
     protected XdsResourceWatchingService(Project xdsProject, String metricNamePrefix,
                                          MeterRegistry meterRegistry) {
         this.xdsProject = xdsProject;
+        this.meterRegistry = meterRegistry;
+        this.metricNamePrefix = metricNamePrefix;
         Gauge.builder(metricNamePrefix + "watching.groups", this, self -> watchingGroups.size())
              .register(meterRegistry);
+
+        // e.g. xds-control-plane-service-group-worker
+        final String threadNamePrefix = metricNamePrefix.replace('.', '-') + "group-worker";
+        groupWorkers = new ScheduledExecutorService[NUM_GROUP_WORKERS];
+        for (int i = 0; i < groupWorkers.length; i++) {
+            groupWorkers[i] = Executors.newSingleThreadScheduledExecutor(
+                    new DefaultThreadFactory(threadNamePrefix + '-' + i, true));
+        }
     }
 
     protected Project xdsProject() {
         return xdsProject;
     }
 
+    /**
+     * Returns the {@link ScheduledExecutorService} which merges the resources of all groups.
+     */
     protected abstract ScheduledExecutorService executor();
 
     protected abstract String pathPattern();
 
-    protected abstract void handleXdsResource(String path, String contentAsText, String groupName)
+    /**
+     * Converts the specified JSON content into an xDS resource. Unlike the other methods, this method can be
+     * invoked concurrently from multiple threads, so it must not access the state of this service.
+     *
+     * @return the converted resource or {@code null} to ignore the content
+     */
+    @Nullable
+    protected abstract T parseXdsResource(String path, JsonNode content, String groupName)
             throws IOException;
 
+    protected abstract void handleXdsResource(String path, T resource, String groupName);
+
     protected abstract void onGroupRemoved(String groupName);
 
     protected abstract void onFileRemoved(String groupName, String path);
@@ -80,9 +132,15 @@ public abstract class XdsResourceWatchingService {
 
     protected abstract boolean isStopped();
 
+    private ScheduledExecutorService groupWorker(String groupName) {
+        return groupWorkers[Math.floorMod(groupName.hashCode(), groupWorkers.length)];
+    }
+
     protected void init() {
         logger.info("Initializing {}...", getClass().getSimpleName());
         final Builder<CompletableFuture<Void>> futures = ImmutableList.builder();
+        // Set when init() stops waiting for the groups. The groups merged after that publish by themselves.
+        final AtomicBoolean initWaitDone = new AtomicBoolean();
         for (Repository repository : xdsProject.repos().list().values()) {
             final String groupName = repository.name();
             if (Project.isInternalRepo(groupName)) {
@@ -93,33 +151,46 @@ public abstract class XdsResourceWatchingService {
             logger.info("Creating xDS resources from {} at revision: {}", groupName, normalizedRevision);
             final CompletableFuture<Map<String, Entry<?>>> findFuture =
                     repository.find(normalizedRevision, pathPattern());
-            futures.add(findFuture.handleAsync((entries, cause) -> {
-                if (cause != null) {
-                    throw new RuntimeException("Unexpected exception while finding " + groupName +
-                                               " at revision: " + normalizedRevision, cause);
+            // Convert the resources of the groups in parallel and merge them in the executor.
+            final CompletableFuture<Map<String, T>> parseFuture =
+                    findFuture.thenApplyAsync(entries -> parseEntries(groupName, entries),
+                                              groupWorker(groupName));
+            futures.add(parseFuture.handleAsync((resources, cause) -> {
+                if (isStopped()) {
+                    // A group which is not initialized in time may complete after the service is stopped.
+                    return null;
                 }
-                for (Entry<?> entry : entries.values()) {
-                    if (entry.type() != EntryType.JSON || !entry.hasContent()) {
-                        continue;
-                    }
-                    final String path = entry.path();
-                    final String contentAsText = entry.contentAsText();
-                    try {
-                        handleXdsResource(path, contentAsText, groupName);
-                    } catch (Throwable t) {
-                        logger.warn("Unexpected exception while building an xDS resource from {}.",
-                                    groupName + path, t);
-                    }
+                if (cause != null) {
+                    logger.warn("Unexpected exception while finding {} at revision: {}. Watching from {}.",
+                                groupName, normalizedRevision, Revision.INIT, cause);
+                    // The diff from the initial revision contains all resources of the group.
+                    watchRepository(repository, Revision.INIT);
+                    return null;
                 }
+                mergeResources(groupName, resources);
                 watchRepository(repository, normalizedRevision);
+                if (initWaitDone.get()) {
+                    onDiffHandled();
+                }
                 return null;
             }, executor()));
         }
+        final CompletableFuture<?>[] initFutures = futures.build().toArray(new CompletableFuture[0]);
         try {
-            CompletableFuture.allOf(futures.build().toArray(new CompletableFuture[0]))
-                             .get(60, TimeUnit.SECONDS);
+            CompletableFuture.allOf(initFutures).get(INIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // Do not fail the initialization. The remaining groups are added when they are ready.
+            initWaitDone.set(true);
+            // Publish the groups which are merged while setting the flag, in case they are not published yet.
+            executor().execute(this::onDiffHandled);
+            final long numPendingGroups = ImmutableList.copyOf(initFutures).stream()
+                                                       .filter(future -> !future.isDone())
+                                                       .count();
+            logger.warn("{} groups of {} are not initialized in {} seconds. " +
+                        "They will be initialized in the background.",
+                        numPendingGroups, getClass().getSimpleName(), INIT_TIMEOUT_SECONDS);
         } catch (Throwable t) {
-            throw new RuntimeException("Failed to init " + getClass().getSimpleName() + " in 60 seconds.", t);
+            throw new RuntimeException("Failed to init " + getClass().getSimpleName() + '.', t);
         }
 
         // Watch dogma repository to add newly created xDS projects.
@@ -127,6 +198,37 @@ public abstract class XdsResourceWatchingService {
         logger.info("{} initialized.", getClass().getSimpleName());
     }
 
+    private void mergeResources(String groupName, Map<String, T> resources) {
+        resources.forEach((path, resource) -> {
+            try {
+                handleXdsResource(path, resource, groupName);
+            } catch (Throwable t) {
+                logger.warn("Unexpected exception while handling an xDS resource from {}.",
+                            groupName + path, t);
+            }
+        });
+    }
+
+    private Map<String, T> parseEntries(String groupName, Map<String, Entry<?>> entries) {
+        final Map<String, T> resources = new LinkedHashMap<>();
+        for (Entry<?> entry : entries.values()) {
+            if (entry.type() != EntryType.JSON || !entry.hasContent()) {
+                continue;
+            }
+            final String path = entry.path();
+            try {
+                final T resource = parseXdsResource(path, (JsonNode) entry.content(), groupName);
+                if (resource != null) {
+                    resources.put(path, resource);
+                }
+            } catch (Throwable t) {
+                logger.warn("Unexpected exception while building an xDS resource from {}.",
+                            groupName + path, t);
+            }
+        }
+        return resources;
+    }
+
     private void watchDogmaRepository() {
         final Repository dogmaRepository = xdsProject.repos().get(Project.REPO_DOGMA);
         // TODO(minwoox): Use different file because metadata.json contains other information than repo's names.
@@ -150,6 +252,8 @@ public abstract class XdsResourceWatchingService {
     }
 
     private void watchRepository(Repository repository, Revision lastKnownRevision) {
+        final String groupName = repository.name();
+        final ScheduledExecutorService groupWorker = groupWorker(groupName);
         final CompletableFuture<Revision> watchFuture = repository.watch(lastKnownRevision, pathPattern());
         watchFuture.handleAsync((BiFunction<Revision, Throwable, Void>) (newRevision, cause) -> {
             if (isStopped()) {
@@ -158,31 +262,36 @@ public abstract class XdsResourceWatchingService {
             if (cause != null) {
                 if (cause instanceof RepositoryNotFoundException) {
                     // Repository is removed.
-                    watchingGroups.remove(repository.name());
-                    onGroupRemoved(repository.name());
+                    watchingGroups.remove(groupName);
+                    executor().execute(() -> {
+                        onGroupRemoved(groupName);
+                        removeGroupLagTimer(groupName);
+                    });
                     return null;
                 }
                 logger.warn("Unexpected exception while watching {} at {}. Try watching after {} seconds.",
-                            repository.name(), lastKnownRevision, BACKOFF_SECONDS, cause);
-                executor().schedule(() -> watchRepository(repository, lastKnownRevision),
-                                    BACKOFF_SECONDS, TimeUnit.SECONDS);
+                            groupName, lastKnownRevision, BACKOFF_SECONDS, cause);
+                groupWorker.schedule(() -> watchRepository(repository, lastKnownRevision),
+                                     BACKOFF_SECONDS, TimeUnit.SECONDS);
                 return null;
             }
+            final long watchedNanos = System.nanoTime();
             final CompletableFuture<Map<String, Change<?>>> diffFuture =
                     repository.diff(lastKnownRevision, newRevision,
                                     pathPattern(), DiffResultType.PATCH_TO_UPSERT);
-            handleDiff(repository, newRevision, diffFuture, lastKnownRevision);
+            handleDiff(repository, newRevision, diffFuture, lastKnownRevision, watchedNanos);
             return null;
-        }, executor());
+        }, groupWorker);
     }
 
     private void handleDiff(Repository repository, Revision newRevision,
-                            CompletableFuture<Map<String, Change<?>>> diffFuture, Revision lastKnownRevision) {
+                            CompletableFuture<Map<String, Change<?>>> diffFuture, Revision lastKnownRevision,
+                            long watchedNanos) {
+        final String groupName = repository.name();
         diffFuture.handleAsync((BiFunction<Map<String, Change<?>>, Throwable, Void>) (changes, cause) -> {
             if (isStopped()) {
                 return null;
             }
-            final String groupName = repository.name();
             if (cause != null) {
                 logger.warn("Unexpected exception while diffing {} from {} to {}. Watching again.",
                             groupName, lastKnownRevision, newRevision, cause);
@@ -192,19 +301,26 @@ public abstract class XdsResourceWatchingService {
 
             logger.info("Found {} changes in {} from {} to {}.",
                         changes.size(), groupName, lastKnownRevision, newRevision);
+            // Convert the changes in the group worker and merge them in the executor.
+            final Map<String, T> upserted = new LinkedHashMap<>();
+            final ImmutableList.Builder<String> removedBuilder = ImmutableList.builder();
             for (Change<?> change : changes.values()) {
                 final String path = change.path();
                 switch (change.type()) {
                     case UPSERT_JSON:
                         try {
-                            handleXdsResource(path, change.contentAsText(), groupName);
+                            final T resource = parseXdsResource(path, (JsonNode) change.content(),
+                                                                groupName);
+                            if (resource != null) {
+                                upserted.put(path, resource);
+                            }
                         } catch (Throwable t) {
-                            logger.warn("Unexpected exception while handling an xDS resource from {}.",
+                            logger.warn("Unexpected exception while building an xDS resource from {}.",
                                         groupName + path, t);
                         }
                         break;
                     case REMOVE:
-                        onFileRemoved(groupName, path);
+                        removedBuilder.add(path);
                         break;
                     default:
                         // Ignore other types of changes.
@@ -218,9 +334,55 @@ public abstract class XdsResourceWatchingService {
                         break;
                 }
             }
-            onDiffHandled();
+            final ImmutableList<String> removed = removedBuilder.build();
+            // The merges of a group are executed in order because they are submitted from the same worker.
+            executor().execute(() -> {
+                if (isStopped()) {
+                    return;
+                }
+                upserted.forEach((path, resource) -> {
+                    try {
+                        handleXdsResource(path, resource, groupName);
+                    } catch (Throwable t) {
+                        logger.warn("Unexpected exception while handling an xDS resource from {}.",
+                                    groupName + path, t);
+                    }
+                });
+                removed.forEach(path -> onFileRemoved(groupName, path));
+                onDiffHandled();
+                groupLagTimer(groupName).record(System.nanoTime() - watchedNanos, TimeUnit.NANOSECONDS);
+            });
             watchRepository(repository, newRevision);
             return null;
-        }, executor());
+        }, groupWorker(groupName));
+    }
+
+    private Timer groupLagTimer(String groupName) {
+        return groupLagTimers.computeIfAbsent(
+                groupName, unused -> Timer.builder(metricNamePrefix + "group.processing.lag")
+                                          .description("The time from when a change of a group is " +
+                                                       "detected to when it's merged into the resources")
+                                          .tag("group", groupName)
+                                          .register(meterRegistry));
+    }
+
+    private void removeGroupLagTimer(String groupName) {
+        final Timer timer = groupLagTimers.remove(groupName);
+        if (timer != null) {
+            meterRegistry.remove(timer);
+        }
+    }
+
+    /**
+     * Stops the group workers. This method must be invoked when the service is stopped.
+     */
+    protected void stopGroupWorkers() {
+        boolean interrupted = false;
+        for (ScheduledExecutorService groupWorker : groupWorkers) {
+            interrupted |= terminate(groupWorker);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -30,6 +30,8 @@ import com.linecorp.centraldogma.server.CentralDogmaConfig;
 import com.linecorp.centraldogma.server.plugin.Plugin;
 import com.linecorp.centraldogma.server.plugin.PluginContext;
 import com.linecorp.centraldogma.server.plugin.PluginTarget;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
+import com.linecorp.centraldogma.xds.internal.ControlPlanePluginConfig;
 
 /**
  * A plugin that fetches Kubernetes endpoints from Central Dogma and provides them to the control plane.
@@ -56,9 +58,14 @@ public final class XdsKubernetesEndpointFetchingPlugin implements Plugin {
         }
         context.internalProjectInitializer().initialize(XDS_CENTRAL_DOGMA_PROJECT);
 
+        final ControlPlanePluginConfig controlPlaneConfig = (ControlPlanePluginConfig)
+                context.config().pluginConfigMap().get(ControlPlanePluginConfig.class);
+        final EphemeralStore ephemeralEndpointStore =
+                controlPlaneConfig != null && controlPlaneConfig.ephemeralEndpoints() ? context.ephemeralStore()
+                                                                                      : null;
         fetchingService = new XdsKubernetesEndpointFetchingService(
                 context.projectManager().get(XDS_CENTRAL_DOGMA_PROJECT), context.commandExecutor(),
-                context.meterRegistry());
+                ephemeralEndpointStore, context.meterRegistry());
         fetchingService.start();
         return UnmodifiableFuture.completedFuture(null);
     }
@@ -17,6 +17,7 @@ package com.linecorp.centraldogma.xds.k8s.v1;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.linecorp.centraldogma.xds.internal.ControlPlanePlugin.XDS_CENTRAL_DOGMA_PROJECT;
+import static com.linecorp.centraldogma.xds.internal.ControlPlaneService.EPHEMERAL_ENDPOINTS_NAMESPACE;
 import static com.linecorp.centraldogma.xds.internal.ControlPlaneService.K8S_ENDPOINTS_DIRECTORY;
 import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.JSON_MESSAGE_MARSHALLER;
 import static com.linecorp.centraldogma.xds.k8s.v1.XdsKubernetesService.AGGREGATORS_REPLCACE_PATTERN;
@@ -42,7 +43,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.google.protobuf.InvalidProtocolBufferException;
 import com.spotify.futures.CompletableFutures;
 
 import com.linecorp.armeria.client.kubernetes.endpoints.KubernetesEndpointGroup;
@@ -54,9 +54,12 @@ import com.linecorp.centraldogma.common.ChangeConflictException;
 import com.linecorp.centraldogma.common.Markup;
 import com.linecorp.centraldogma.common.RedundantChangeException;
 import com.linecorp.centraldogma.common.Revision;
+import com.linecorp.centraldogma.internal.Jackson;
 import com.linecorp.centraldogma.server.command.Command;
 import com.linecorp.centraldogma.server.command.CommandExecutor;
+import com.linecorp.centraldogma.server.storage.ephemeral.EphemeralStore;
 import com.linecorp.centraldogma.server.storage.project.Project;
+import com.linecorp.centraldogma.xds.internal.XdsMessageCache;
 import com.linecorp.centraldogma.xds.internal.XdsResourceWatchingService;
 
 import io.envoyproxy.envoy.config.core.v3.Address;
@@ -69,12 +72,16 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import io.netty.util.concurrent.DefaultThreadFactory;
 
-final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingService {
+final class XdsKubernetesEndpointFetchingService
+        extends XdsResourceWatchingService<KubernetesEndpointAggregator> {
 
     private static final Logger logger = LoggerFactory.getLogger(XdsKubernetesEndpointFetchingService.class);
     public static final CompletableFuture<?>[] EMPTY_FUTURES = new CompletableFuture[0];
 
     private final CommandExecutor commandExecutor;
+    // Not null if the endpoints are stored in the EphemeralStore instead of the Git repositories.
+    @Nullable
+    private final EphemeralStore ephemeralEndpointStore;
 
     // Only accessed by the executorService.
     private final Map<String, Map<String, KubernetesEndpointsUpdater>> kubernetesEndpointsUpdaters =
@@ -84,9 +91,11 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
     private volatile boolean stopped;
 
     XdsKubernetesEndpointFetchingService(Project xdsProject, CommandExecutor commandExecutor,
+                                         @Nullable EphemeralStore ephemeralEndpointStore,
                                          MeterRegistry meterRegistry) {
         super(xdsProject, "xds.k8s.fetching.service.", meterRegistry);
         this.commandExecutor = commandExecutor;
+        this.ephemeralEndpointStore = ephemeralEndpointStore;
         executorService = ExecutorServiceMetrics.monitor(
                 meterRegistry, Executors.newSingleThreadScheduledExecutor(
                         new DefaultThreadFactory("k8s-plugin-executor", true)), "k8sPluginExecutor");
@@ -98,6 +107,7 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
 
     void stop() {
         stopped = true;
+        stopGroupWorkers();
         executorService.submit(() -> {
             kubernetesEndpointsUpdaters.values().forEach(map -> {
                 map.values().forEach(KubernetesEndpointsUpdater::close);
@@ -117,20 +127,20 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
         return K8S_ENDPOINT_AGGREGATORS_DIRECTORY + "**";
     }
 
+    @Nullable
     @Override
-    protected void handleXdsResource(String path, String contentAsText, String groupName)
-            throws InvalidProtocolBufferException {
-        final KubernetesEndpointAggregator.Builder aggregatorBuilder =
-                KubernetesEndpointAggregator.newBuilder();
+    protected KubernetesEndpointAggregator parseXdsResource(String path, JsonNode content, String groupName) {
         try {
-            JSON_MESSAGE_MARSHALLER.mergeValue(contentAsText, aggregatorBuilder);
+            return XdsMessageCache.parse(content, KubernetesEndpointAggregator.getDefaultInstance());
         } catch (IOException e) {
             logger.warn("Failed to parse a KubernetesEndpointAggregator at {}{}. content: {}",
-                        groupName, path, contentAsText, e);
-            return;
+                        groupName, path, content, e);
+            return null;
         }
+    }
 
-        final KubernetesEndpointAggregator aggregator = aggregatorBuilder.build();
+    @Override
+    protected void handleXdsResource(String path, KubernetesEndpointAggregator aggregator, String groupName) {
         final String aggregatorName = aggregator.getName();
 
         final Map<String, KubernetesEndpointsUpdater> updaters =
@@ -151,8 +161,8 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
             oldUpdater.close();
         }
         final KubernetesEndpointsUpdater updater =
-                new KubernetesEndpointsUpdater(commandExecutor, futures, executorService,
-                                               groupName, aggregator);
+                new KubernetesEndpointsUpdater(commandExecutor, ephemeralEndpointStore, futures,
+                                               executorService, groupName, aggregator);
         updaters.put(aggregatorName, updater);
         CompletableFuture.allOf(futures.toArray(EMPTY_FUTURES)).exceptionally(cause -> {
             logger.warn("Unexpected exception while creating a KubernetesEndpointGroup in fetching service",
@@ -171,6 +181,21 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
             updaters.values().forEach(KubernetesEndpointsUpdater::close);
             updaters.clear();
         }
+        if (ephemeralEndpointStore != null) {
+            ephemeralEndpointStore.entries(EPHEMERAL_ENDPOINTS_NAMESPACE).keySet().stream()
+                                  .filter(key -> key.startsWith(groupName + '/'))
+                                  .forEach(this::removeEphemeralEndpoint);
+        }
+    }
+
+    private void removeEphemeralEndpoint(String key) {
+        commandExecutor.execute(Command.removeEphemeralEntry(Author.SYSTEM, EPHEMERAL_ENDPOINTS_NAMESPACE, key))
+                       .handle((unused, cause) -> {
+                           if (cause != null) {
+                               logger.warn("Failed to remove the ephemeral endpoint: {}", key, cause);
+                           }
+                           return null;
+                       });
     }
 
     @Override
@@ -189,6 +214,11 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
         // Remove corresponding endpoints.
         final String endpointPath = AGGREGATORS_REPLCACE_PATTERN.matcher(path).replaceFirst("/endpoints/");
         logger.info("Removing {} from {}. aggregatorName: {}", endpointPath, groupName, aggregatorName);
+        if (ephemeralEndpointStore != null) {
+            removeEphemeralEndpoint(groupName + endpointPath);
+        }
+        // Remove the file in the repository as well because it could be pushed before the endpoints are
+        // stored in the EphemeralStore.
         commandExecutor.execute(
                 Command.push(Author.SYSTEM, XDS_CENTRAL_DOGMA_PROJECT, groupName, Revision.HEAD,
                              "Remove " + endpointPath, "",
@@ -219,6 +249,8 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
     private static class KubernetesEndpointsUpdater {
 
         private final CommandExecutor commandExecutor;
+        @Nullable
+        private final EphemeralStore ephemeralEndpointStore;
         private final List<CompletableFuture<KubernetesEndpointGroup>> kubernetesEndpointGroupFutures;
         private final ScheduledExecutorService executorService;
         private final String groupName;
@@ -228,11 +260,12 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
         private boolean closing;
 
         KubernetesEndpointsUpdater(
-                CommandExecutor commandExecutor,
+                CommandExecutor commandExecutor, @Nullable EphemeralStore ephemeralEndpointStore,
                 List<CompletableFuture<KubernetesEndpointGroup>> kubernetesEndpointGroupFutures,
                 ScheduledExecutorService executorService, String groupName,
                 KubernetesEndpointAggregator aggregator) {
             this.commandExecutor = commandExecutor;
+            this.ephemeralEndpointStore = ephemeralEndpointStore;
             this.kubernetesEndpointGroupFutures = kubernetesEndpointGroupFutures;
             this.executorService = executorService;
             this.groupName = groupName;
@@ -315,6 +348,10 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
             assert matches;
             final String aggregatorId = matcher.group(2);
             final String fileName = K8S_ENDPOINTS_DIRECTORY + aggregatorId + ".json";
+            if (ephemeralEndpointStore != null) {
+                pushEphemeralK8sEndpoints(ephemeralEndpointStore, groupName + fileName, json);
+                return;
+            }
             final Change<JsonNode> change = Change.ofJsonUpsert(fileName, json);
             commandExecutor.execute(
                     Command.push(Author.SYSTEM, XDS_CENTRAL_DOGMA_PROJECT, groupName, Revision.HEAD,
@@ -332,6 +369,29 @@ final class XdsKubernetesEndpointFetchingService extends XdsResourceWatchingServ
             });
         }
 
+        private void pushEphemeralK8sEndpoints(EphemeralStore ephemeralEndpointStore, String key,
+                                               String json) {
+            final JsonNode content;
+            try {
+                content = Jackson.readTree(json);
+            } catch (IOException e) {
+                // Should never reach here.
+                throw new Error(e);
+            }
+            if (content.equals(ephemeralEndpointStore.get(EPHEMERAL_ENDPOINTS_NAMESPACE, key))) {
+                return;
+            }
+            commandExecutor.execute(Command.updateEphemeralEntry(Author.SYSTEM, EPHEMERAL_ENDPOINTS_NAMESPACE,
+                                                                 key, content))
+                           .handle((unused, cause) -> {
+                               if (cause != null) {
+                                   logger.warn("Failed to update the ephemeral endpoint: {}", key,
+                                               Exceptions.peel(cause));
+                               }
+                               return null;
+                           });
+        }
+
         private static void addLocalityLbEndpoints(
                 ClusterLoadAssignment.Builder clusterLoadAssignmentBuilder,
                 CompletableFuture<KubernetesEndpointGroup> future,
@@ -15,8 +15,10 @@
  */
 package com.linecorp.centraldogma.xds.endpoint.v1;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.linecorp.centraldogma.xds.endpoint.v1.XdsEndpointServiceTest.assertOk;
 import static com.linecorp.centraldogma.xds.endpoint.v1.XdsEndpointServiceTest.checkEndpointsViaDiscoveryRequest;
+import static com.linecorp.centraldogma.xds.internal.ControlPlanePlugin.XDS_CENTRAL_DOGMA_PROJECT;
 import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.JSON_MESSAGE_MARSHALLER;
 import static com.linecorp.centraldogma.xds.internal.XdsTestUtil.createEndpoint;
 import static com.linecorp.centraldogma.xds.internal.XdsTestUtil.createGroup;
@@ -24,11 +26,17 @@ import static com.linecorp.centraldogma.xds.internal.XdsTestUtil.endpoint;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.protobuf.UInt32Value;
 
 import com.linecorp.armeria.common.AggregatedHttpResponse;
@@ -37,6 +45,10 @@ import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.centraldogma.client.CentralDogmaRepository;
+import com.linecorp.centraldogma.common.Entry;
+import com.linecorp.centraldogma.common.Query;
+import com.linecorp.centraldogma.common.Revision;
 import com.linecorp.centraldogma.testing.junit.CentralDogmaExtension;
 
 import io.envoyproxy.envoy.config.core.v3.Locality;
@@ -205,6 +217,54 @@ public class XdsRegisterEndpointTest {
                                     .build();
     }
 
+    @Test
+    void concurrentRegistrationsAreBatched() throws Exception {
+        final String clusterName = "groups/foo/clusters/batch-endpoint";
+        final String endpointName = "groups/foo/endpoints/batch-endpoint";
+        final Locality locality = Locality.newBuilder().setRegion("region1").setZone("zone1").build();
+        final AggregatedHttpResponse response = createEndpoint(
+                "groups/foo", "batch-endpoint",
+                loadAssignment(clusterName, locality, endpoint("127.0.0.1", 9000)), dogma.httpClient());
+        assertOk(response);
+
+        final CentralDogmaRepository repository = dogma.client().forRepo(XDS_CENTRAL_DOGMA_PROJECT, "foo");
+        final Revision headBefore = repository.normalize(Revision.HEAD).join();
+
+        final int numEndpoints = 10;
+        final List<CompletableFuture<AggregatedHttpResponse>> futures = new ArrayList<>();
+        for (int i = 1; i <= numEndpoints; i++) {
+            final LocalityLbEndpoint localityLbEndpoint =
+                    LocalityLbEndpoint.newBuilder().setLocality(locality)
+                                      .setLbEndpoint(endpoint("127.0.0.1", 9000 + i))
+                                      .build();
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return registerOrDeregister(endpointName, localityLbEndpoint, true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        for (CompletableFuture<AggregatedHttpResponse> future : futures) {
+            assertOk(future.join());
+        }
+
+        // The registrations requested within the batch window are committed together.
+        final Revision headAfter = repository.normalize(Revision.HEAD).join();
+        assertThat(headAfter.major() - headBefore.major()).isLessThan(numEndpoints);
+
+        final Entry<JsonNode> entry = repository.file(Query.ofJson("/endpoints/batch-endpoint.json"))
+                                                .get().join();
+        final ClusterLoadAssignment.Builder builder = ClusterLoadAssignment.newBuilder();
+        JSON_MESSAGE_MARSHALLER.mergeValue(entry.contentAsText(), builder);
+        assertThat(builder.getEndpointsCount()).isOne();
+        assertThat(builder.getEndpoints(0).getLbEndpointsList())
+                .containsExactlyInAnyOrderElementsOf(
+                        IntStream.rangeClosed(0, numEndpoints)
+                                 .mapToObj(i -> endpoint("127.0.0.1", 9000 + i))
+                                 .collect(toImmutableList()));
+    }
+
     @Test
     void invalidRegister() throws IOException {
         final String endpointName = "groups/foo/endpoints/non-existent/1";
@@ -18,11 +18,13 @@ package com.linecorp.centraldogma.xds.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableList;
 import org.testcontainers.shaded.com.google.common.collect.ImmutableMap;
+import org.testcontainers.shaded.com.google.common.collect.ImmutableSet;
 
 import io.envoyproxy.controlplane.cache.Resources.ResourceType;
 import io.envoyproxy.controlplane.cache.SnapshotResources;
@@ -74,4 +76,42 @@ class CentralDogmaSnapshotResourcesTest {
         assertThat(snapshotResources.version(ImmutableList.of("foo/cluster", "bar/cluster", "qux/cluster")))
                 .isEqualTo(fooBarVersion);
     }
+
+    @Test
+    void updateOnlyChangedGroups() {
+        final VersionedResource<Cluster> fooCluster =
+                VersionedResource.create(Cluster.newBuilder().setName("groups/foo/clusters/foo").build());
+        final VersionedResource<Cluster> barCluster =
+                VersionedResource.create(Cluster.newBuilder().setName("groups/bar/clusters/bar").build());
+        final Map<String, Map<String, VersionedResource<Cluster>>> resources = new HashMap<>();
+        resources.put("foo", new HashMap<>(ImmutableMap.of(fooCluster.resource().getName(), fooCluster)));
+        resources.put("bar", new HashMap<>(ImmutableMap.of(barCluster.resource().getName(), barCluster)));
+        final CentralDogmaSnapshotResources<Cluster> snapshotResources =
+                CentralDogmaSnapshotResources.<Cluster>empty(ResourceType.CLUSTER)
+                                             .update(resources, resources.keySet());
+        assertThat(snapshotResources.resources()).containsOnlyKeys("groups/foo/clusters/foo",
+                                                                   "groups/bar/clusters/bar");
+        final String allVersion = snapshotResources.version(ImmutableList.of());
+
+        // Add a new cluster to foo group and remove bar group.
+        final VersionedResource<Cluster> fooCluster2 =
+                VersionedResource.create(Cluster.newBuilder().setName("groups/foo/clusters/foo2").build());
+        resources.get("foo").put(fooCluster2.resource().getName(), fooCluster2);
+        resources.remove("bar");
+        final CentralDogmaSnapshotResources<Cluster> updated =
+                snapshotResources.update(resources, ImmutableSet.of("foo", "bar"));
+        assertThat(updated.versionedResources()).containsOnlyKeys("groups/foo/clusters/foo",
+                                                                  "groups/foo/clusters/foo2");
+        assertThat(updated.versionedResources().get("groups/bar/clusters/bar")).isNull();
+        assertThat(updated.version(ImmutableList.of())).isNotEqualTo(allVersion);
+        // The version of the unchanged resource is retained.
+        assertThat(updated.version(ImmutableList.of("groups/foo/clusters/foo")))
+                .isEqualTo(snapshotResources.version(ImmutableList.of("groups/foo/clusters/foo")));
+
+        // Updating with the same resources produces the same version.
+        resources.put("bar", new HashMap<>(ImmutableMap.of(barCluster.resource().getName(), barCluster)));
+        resources.get("foo").remove(fooCluster2.resource().getName());
+        assertThat(updated.update(resources, ImmutableSet.of("foo", "bar")).version(ImmutableList.of()))
+                .isEqualTo(allVersion);
+    }
 }
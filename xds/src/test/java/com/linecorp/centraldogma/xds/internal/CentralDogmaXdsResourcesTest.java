@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.xds.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import io.envoyproxy.envoy.config.cluster.v3.Cluster;
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+
+class CentralDogmaXdsResourcesTest {
+
+    @Test
+    void snapshotIsReusedWhenNothingChanged() {
+        final CentralDogmaXdsResources resources = new CentralDogmaXdsResources();
+        final Cluster fooCluster = Cluster.newBuilder().setName("groups/foo/clusters/foo").build();
+        final Cluster barCluster = Cluster.newBuilder().setName("groups/bar/clusters/bar").build();
+        resources.setCluster("foo", fooCluster);
+        resources.setCluster("bar", barCluster);
+        final CentralDogmaSnapshot snapshot = resources.snapshot();
+        assertThat(snapshot.clusters().resources()).containsOnlyKeys(fooCluster.getName(),
+                                                                     barCluster.getName());
+
+        // Setting the same resource again doesn't create a new snapshot.
+        resources.setCluster("foo", fooCluster.toBuilder().build());
+        assertThat(resources.snapshot()).isSameAs(snapshot);
+
+        // Only the changed type is updated.
+        resources.setEndpoint("foo", ClusterLoadAssignment.newBuilder()
+                                                          .setClusterName(fooCluster.getName())
+                                                          .build());
+        final CentralDogmaSnapshot snapshot2 = resources.snapshot();
+        assertThat(snapshot2).isNotSameAs(snapshot);
+        assertThat(snapshot2.clusters()).isSameAs(snapshot.clusters());
+        assertThat(snapshot2.endpoints().resources()).containsOnlyKeys(fooCluster.getName());
+
+        resources.removeCluster("bar", "/clusters/bar.json");
+        final CentralDogmaSnapshot snapshot3 = resources.snapshot();
+        assertThat(snapshot3.clusters().resources()).containsOnlyKeys(fooCluster.getName());
+        assertThat(snapshot3.clusters().version(ImmutableList.of(fooCluster.getName())))
+                .isEqualTo(snapshot.clusters().version(ImmutableList.of(fooCluster.getName())));
+        assertThat(snapshot3.clusters().version(ImmutableList.of()))
+                .isNotEqualTo(snapshot.clusters().version(ImmutableList.of()));
+
+        resources.removeGroup("foo");
+        final CentralDogmaSnapshot snapshot4 = resources.snapshot();
+        assertThat(snapshot4.clusters().resources()).isEmpty();
+        assertThat(snapshot4.endpoints().resources()).isEmpty();
+    }
+}
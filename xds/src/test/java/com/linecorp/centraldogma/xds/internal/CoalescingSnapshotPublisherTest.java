@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.xds.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoalescingSnapshotPublisherTest {
+
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void coalesceChangesWithinInterval() throws Exception {
+        final AtomicInteger numPublished = new AtomicInteger();
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final CoalescingSnapshotPublisher publisher = new CoalescingSnapshotPublisher(
+                executor, 1000, numPublished::incrementAndGet, meterRegistry, "xds.");
+
+        executor.submit(() -> {
+            for (int i = 0; i < 10; i++) {
+                publisher.publish();
+            }
+        }).get();
+        // The first change is published immediately.
+        assertThat(numPublished).hasValue(1);
+        // The rest of the changes are published together after the interval.
+        await().untilAsserted(() -> assertThat(numPublished).hasValue(2));
+        assertThat(meterRegistry.get("xds.snapshot.coalesced.changes").summary().totalAmount())
+                .isEqualTo(10);
+        assertThat(meterRegistry.get("xds.snapshot.publish.duration").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void publishImmediatelyWithoutInterval() throws Exception {
+        final AtomicInteger numPublished = new AtomicInteger();
+        final CoalescingSnapshotPublisher publisher = new CoalescingSnapshotPublisher(
+                executor, 0, numPublished::incrementAndGet, new SimpleMeterRegistry(), "xds.");
+        executor.submit(() -> {
+            for (int i = 0; i < 3; i++) {
+                publisher.publish();
+            }
+        }).get();
+        assertThat(numPublished).hasValue(3);
+    }
+}
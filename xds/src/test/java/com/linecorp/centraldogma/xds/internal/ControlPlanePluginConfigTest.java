@@ -53,5 +53,40 @@ class ControlPlanePluginConfigTest {
         final PluginConfig pluginConfig = config.pluginConfigMap().get(ControlPlanePluginConfig.class);
         assertThat(pluginConfig).isNotNull();
         assertThat(pluginConfig.enabled()).isFalse();
+        assertThat(((ControlPlanePluginConfig) pluginConfig).minSnapshotPublishIntervalMillis())
+                .isEqualTo(ControlPlanePluginConfig.DEFAULT_MIN_SNAPSHOT_PUBLISH_INTERVAL_MILLIS);
+        assertThat(((ControlPlanePluginConfig) pluginConfig).ephemeralEndpoints()).isFalse();
+    }
+
+    @Test
+    void minSnapshotPublishInterval() throws Exception {
+        final CentralDogmaConfig config =
+                CentralDogmaConfig.load("{\n" +
+                                        "  \"dataDir\": \"./data\",\n" +
+                                        "  \"ports\": [\n" +
+                                        "    {\n" +
+                                        "      \"localAddress\": {\n" +
+                                        "        \"host\": \"*\",\n" +
+                                        "        \"port\": 36462\n" +
+                                        "      },\n" +
+                                        "      \"protocols\": [\n" +
+                                        "        \"http\"\n" +
+                                        "      ]\n" +
+                                        "    }\n" +
+                                        "  ],\n" +
+                                        "  \"pluginConfigs\": [" +
+                                        "    {\n" +
+                                        "      \"type\": \"com.linecorp.centraldogma.xds.internal" +
+                                        ".ControlPlanePluginConfig\",\n" +
+                                        "      \"minSnapshotPublishIntervalMillis\": 500,\n" +
+                                        "      \"ephemeralEndpoints\": true" +
+                                        "    }" +
+                                        "  ]\n" +
+                                        '}');
+        final ControlPlanePluginConfig pluginConfig =
+                (ControlPlanePluginConfig) config.pluginConfigMap().get(ControlPlanePluginConfig.class);
+        assertThat(pluginConfig.enabled()).isTrue();
+        assertThat(pluginConfig.minSnapshotPublishIntervalMillis()).isEqualTo(500);
+        assertThat(pluginConfig.ephemeralEndpoints()).isTrue();
     }
 }
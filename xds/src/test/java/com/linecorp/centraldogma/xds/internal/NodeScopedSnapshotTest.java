@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.xds.internal;
+
+import static com.linecorp.centraldogma.xds.internal.ControlPlaneService.SUBSCRIBED_GROUPS_METADATA_KEY;
+import static com.linecorp.centraldogma.xds.internal.XdsTestUtil.cluster;
+import static com.linecorp.centraldogma.xds.internal.XdsTestUtil.createCluster;
+import static com.linecorp.centraldogma.xds.internal.XdsTestUtil.createGroup;
+import static com.linecorp.centraldogma.xds.internal.XdsTestUtil.updateCluster;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Any;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.ListValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.client.grpc.GrpcClients;
+import com.linecorp.centraldogma.testing.junit.CentralDogmaExtension;
+
+import io.envoyproxy.controlplane.cache.Resources;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster;
+import io.envoyproxy.envoy.config.core.v3.Node;
+import io.envoyproxy.envoy.service.cluster.v3.ClusterDiscoveryServiceGrpc.ClusterDiscoveryServiceStub;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+final class NodeScopedSnapshotTest {
+
+    @RegisterExtension
+    static final CentralDogmaExtension dogma = new CentralDogmaExtension();
+
+    @Test
+    void subscribedGroups() {
+        assertThat(ControlPlaneService.subscribedGroups(Node.getDefaultInstance())).isEmpty();
+        assertThat(ControlPlaneService.subscribedGroups(node(Value.newBuilder()
+                                                                  .setStringValue("foo, groups/bar,")
+                                                                  .build())))
+                .containsExactly("bar", "foo");
+        final ListValue listValue = ListValue.newBuilder()
+                                             .addValues(Value.newBuilder().setStringValue("groups/foo"))
+                                             .addValues(Value.newBuilder().setNumberValue(1))
+                                             .build();
+        assertThat(ControlPlaneService.subscribedGroups(node(Value.newBuilder()
+                                                                  .setListValue(listValue)
+                                                                  .build())))
+                .containsExactly("foo");
+    }
+
+    @Test
+    void onlySubscribedGroupsAreSent() throws Exception {
+        final WebClient webClient = dogma.httpClient();
+        createGroup("scoped-foo", webClient);
+        createGroup("scoped-bar", webClient);
+        final String fooClusterName = "groups/scoped-foo/clusters/foo-cluster";
+        Cluster fooCluster = cluster(fooClusterName, 1);
+        createCluster("groups/scoped-foo", "foo-cluster", fooCluster, webClient);
+        final String barClusterName = "groups/scoped-bar/clusters/bar-cluster";
+        final Cluster barCluster = cluster(barClusterName, 1);
+        createCluster("groups/scoped-bar", "bar-cluster", barCluster, webClient);
+
+        final ClusterDiscoveryServiceStub client = GrpcClients.newClient(
+                webClient.uri(), ClusterDiscoveryServiceStub.class);
+        final BlockingQueue<DiscoveryResponse> fooQueue = new LinkedBlockingQueue<>();
+        final StreamObserver<DiscoveryRequest> fooStream = client.streamClusters(observer(fooQueue));
+        final Node fooNode = node(Value.newBuilder().setStringValue("scoped-foo").build());
+        fooStream.onNext(DiscoveryRequest.newBuilder()
+                                         .setNode(fooNode)
+                                         .setTypeUrl(Resources.V3.CLUSTER_TYPE_URL)
+                                         .build());
+        DiscoveryResponse response = takeNonEmpty(fooStream, fooNode, fooQueue);
+        assertThat(clusters(response)).containsExactly(fooCluster);
+
+        // A node without the metadata receives the resources of all groups.
+        final BlockingQueue<DiscoveryResponse> allQueue = new LinkedBlockingQueue<>();
+        final StreamObserver<DiscoveryRequest> allStream = client.streamClusters(observer(allQueue));
+        allStream.onNext(DiscoveryRequest.newBuilder()
+                                         .setNode(Node.getDefaultInstance())
+                                         .setTypeUrl(Resources.V3.CLUSTER_TYPE_URL)
+                                         .build());
+        DiscoveryResponse allResponse = takeNonEmpty(allStream, Node.getDefaultInstance(), allQueue);
+        while (clusters(allResponse).size() < 2) {
+            sendAck(allStream, Node.getDefaultInstance(), allResponse);
+            allResponse = takeNonEmpty(allStream, Node.getDefaultInstance(), allQueue);
+        }
+        assertThat(clusters(allResponse)).contains(barCluster, fooCluster);
+
+        // The node which subscribes to scoped-foo doesn't receive the update of scoped-bar.
+        sendAck(fooStream, fooNode, response);
+        createCluster("groups/scoped-bar", "bar-cluster2", cluster(barClusterName + '2', 1), webClient);
+        assertThat(fooQueue.poll(1, TimeUnit.SECONDS)).isNull();
+
+        fooCluster = cluster(fooClusterName, 2);
+        updateCluster("groups/scoped-foo", "foo-cluster", fooCluster, webClient);
+        response = fooQueue.take();
+        assertThat(clusters(response)).containsExactly(fooCluster);
+        fooStream.onCompleted();
+        allStream.onCompleted();
+    }
+
+    @Test
+    void scopeIsEvictedWhenLastStreamIsClosed() throws Exception {
+        final WebClient webClient = dogma.httpClient();
+        createGroup("scoped-baz", webClient);
+        final String bazClusterName = "groups/scoped-baz/clusters/baz-cluster";
+        final Cluster bazCluster = cluster(bazClusterName, 1);
+        createCluster("groups/scoped-baz", "baz-cluster", bazCluster, webClient);
+        // Wait for the scopes of the other tests to be evicted.
+        await().untilAsserted(() -> assertThat(numScopes()).isZero());
+
+        final ClusterDiscoveryServiceStub client = GrpcClients.newClient(
+                webClient.uri(), ClusterDiscoveryServiceStub.class);
+        final BlockingQueue<DiscoveryResponse> bazQueue = new LinkedBlockingQueue<>();
+        final StreamObserver<DiscoveryRequest> bazStream = client.streamClusters(observer(bazQueue));
+        // The group which doesn't exist has no resources.
+        final Node bazNode = node(Value.newBuilder().setStringValue("scoped-baz,no-such-group").build());
+        bazStream.onNext(DiscoveryRequest.newBuilder()
+                                         .setNode(bazNode)
+                                         .setTypeUrl(Resources.V3.CLUSTER_TYPE_URL)
+                                         .build());
+        final DiscoveryResponse response = takeNonEmpty(bazStream, bazNode, bazQueue);
+        assertThat(clusters(response)).containsExactly(bazCluster);
+        assertThat(numScopes()).isOne();
+
+        bazStream.onCompleted();
+        await().untilAsserted(() -> assertThat(numScopes()).isZero());
+    }
+
+    @Test
+    void groupCreatedAfterSubscription() throws Exception {
+        final WebClient webClient = dogma.httpClient();
+        final ClusterDiscoveryServiceStub client = GrpcClients.newClient(
+                webClient.uri(), ClusterDiscoveryServiceStub.class);
+        final BlockingQueue<DiscoveryResponse> quxQueue = new LinkedBlockingQueue<>();
+        final StreamObserver<DiscoveryRequest> quxStream = client.streamClusters(observer(quxQueue));
+        final Node quxNode = node(Value.newBuilder().setStringValue("scoped-qux").build());
+        quxStream.onNext(DiscoveryRequest.newBuilder()
+                                         .setNode(quxNode)
+                                         .setTypeUrl(Resources.V3.CLUSTER_TYPE_URL)
+                                         .build());
+
+        // The node receives the resources of the group created after the stream is opened.
+        createGroup("scoped-qux", webClient);
+        final String quxClusterName = "groups/scoped-qux/clusters/qux-cluster";
+        final Cluster quxCluster = cluster(quxClusterName, 1);
+        createCluster("groups/scoped-qux", "qux-cluster", quxCluster, webClient);
+        final DiscoveryResponse response = takeNonEmpty(quxStream, quxNode, quxQueue);
+        assertThat(clusters(response)).containsExactly(quxCluster);
+        quxStream.onCompleted();
+    }
+
+    private static double numScopes() {
+        final MeterRegistry meterRegistry = dogma.dogma().meterRegistry().get();
+        final Gauge gauge = meterRegistry.find("xds.control.plane.service.node.scopes").gauge();
+        assertThat(gauge).isNotNull();
+        return gauge.value();
+    }
+
+    private static Node node(Value groups) {
+        return Node.newBuilder()
+                   .setId("foo-node")
+                   .setMetadata(Struct.newBuilder().putFields(SUBSCRIBED_GROUPS_METADATA_KEY, groups))
+                   .build();
+    }
+
+    private static StreamObserver<DiscoveryResponse> observer(BlockingQueue<DiscoveryResponse> queue) {
+        return new StreamObserver<DiscoveryResponse>() {
+            @Override
+            public void onNext(DiscoveryResponse value) {
+                queue.add(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {}
+
+            @Override
+            public void onCompleted() {}
+        };
+    }
+
+    private static DiscoveryResponse takeNonEmpty(StreamObserver<DiscoveryRequest> stream, Node node,
+                                                  BlockingQueue<DiscoveryResponse> queue)
+            throws InterruptedException {
+        DiscoveryResponse response = queue.take();
+        while (response.getResourcesList().isEmpty()) {
+            // The committed cluster is not yet available.
+            sendAck(stream, node, response);
+            response = queue.take();
+        }
+        return response;
+    }
+
+    private static List<Cluster> clusters(DiscoveryResponse response) throws InvalidProtocolBufferException {
+        final ImmutableList.Builder<Cluster> builder = ImmutableList.builder();
+        for (Any any : response.getResourcesList()) {
+            builder.add(Cluster.parseFrom(any.getValue()));
+        }
+        return builder.build();
+    }
+
+    private static void sendAck(StreamObserver<DiscoveryRequest> stream, Node node,
+                                DiscoveryResponse response) {
+        stream.onNext(DiscoveryRequest.newBuilder()
+                                      .setNode(node)
+                                      .setTypeUrl(Resources.V3.CLUSTER_TYPE_URL)
+                                      .setVersionInfo(response.getVersionInfo())
+                                      .setResponseNonce(response.getNonce())
+                                      .build());
+    }
+}
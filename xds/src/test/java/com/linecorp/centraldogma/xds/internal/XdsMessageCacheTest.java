@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.centraldogma.xds.internal;
+
+import static com.linecorp.centraldogma.xds.internal.XdsResourceManager.JSON_MESSAGE_MARSHALLER;
+import static com.linecorp.centraldogma.xds.internal.XdsTestUtil.cluster;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Strings;
+
+import com.linecorp.centraldogma.internal.Jackson;
+
+import io.envoyproxy.envoy.config.cluster.v3.Cluster;
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+
+class XdsMessageCacheTest {
+
+    @Test
+    void parseOnce() throws Exception {
+        final Cluster cluster = cluster("groups/foo/clusters/message-cache-cluster", 1);
+        final String json = JSON_MESSAGE_MARSHALLER.writeValueAsString(cluster);
+        final Cluster parsed = XdsMessageCache.parse(Jackson.readTree(json), Cluster.getDefaultInstance());
+        assertThat(parsed).isEqualTo(cluster);
+
+        // The same content is parsed only once.
+        assertThat(XdsMessageCache.parse(Jackson.readTree(json), Cluster.getDefaultInstance()))
+                .isSameAs(parsed);
+
+        // The cache is keyed by the type of the message as well.
+        final JsonNode empty = Jackson.readTree("{}");
+        assertThat(XdsMessageCache.parse(empty, Cluster.getDefaultInstance()))
+                .isEqualTo(Cluster.getDefaultInstance());
+        assertThat(XdsMessageCache.parse(empty, ClusterLoadAssignment.getDefaultInstance()))
+                .isEqualTo(ClusterLoadAssignment.getDefaultInstance());
+    }
+
+    @Test
+    void estimateSize() throws Exception {
+        final long small = XdsMessageCache.estimateSize(Jackson.readTree("{\"name\":\"a\"}"));
+        final long large = XdsMessageCache.estimateSize(
+                Jackson.readTree("{\"name\":\"" + Strings.repeat("a", 1000) + "\"}"));
+        assertThat(large - small).isEqualTo(999 * 2);
+        assertThat(XdsMessageCache.estimateSize(Jackson.readTree("[\"a\",\"a\"]")))
+                .isGreaterThan(XdsMessageCache.estimateSize(Jackson.readTree("[\"a\"]")));
+    }
+}
@@ -16,22 +16,32 @@
 package com.linecorp.centraldogma.xds.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
-import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import com.linecorp.centraldogma.client.CentralDogma;
 import com.linecorp.centraldogma.common.Change;
 import com.linecorp.centraldogma.server.storage.project.Project;
 import com.linecorp.centraldogma.testing.junit.CentralDogmaExtension;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class XdsResourceWatchingServiceTest {
 
@@ -39,6 +49,8 @@ class XdsResourceWatchingServiceTest {
     static final CentralDogmaExtension dogma = new CentralDogmaExtension();
 
     private static final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private static final List<String> handledContents = new CopyOnWriteArrayList<>();
+    private static final Set<String> mergingThreads = ConcurrentHashMap.newKeySet();
 
     @Test
     void foo() throws InterruptedException {
@@ -68,12 +80,66 @@ class XdsResourceWatchingServiceTest {
         assertThat(queue.take()).isEqualTo("bar removed");
     }
 
-    private static class TestXdsResourceWatchingService extends XdsResourceWatchingService {
+    @Test
+    void changesOfEachGroupAreMergedInOrder() {
+        final CentralDogma client = dogma.client();
+        client.createProject("parallel").join();
+        final int numGroups = 4;
+        for (int i = 0; i < numGroups; i++) {
+            client.createRepository("parallel", "group" + i).join();
+        }
+        final Project project = dogma.projectManager().get("parallel");
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final TestXdsResourceWatchingService watchingService =
+                new TestXdsResourceWatchingService(project, meterRegistry);
+        watchingService.init();
+
+        for (int revision = 1; revision <= 3; revision++) {
+            for (int i = 0; i < numGroups; i++) {
+                client.forRepo("parallel", "group" + i)
+                      .commit("Update a file", Change.ofJsonUpsert("/a.json", String.valueOf(revision)))
+                      .push().join();
+            }
+        }
 
-        private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        for (int i = 0; i < numGroups; i++) {
+            final String groupName = "group" + i;
+            await().untilAsserted(() -> {
+                final List<Integer> contents = handledContents(groupName);
+                assertThat(contents).isNotEmpty();
+                assertThat(contents.get(contents.size() - 1)).isEqualTo(3);
+            });
+            // Later changes must never be merged before earlier ones.
+            assertThat(handledContents(groupName)).isSorted();
+            final Timer lagTimer = meterRegistry.find("xds.group.processing.lag")
+                                                .tag("group", groupName)
+                                                .timer();
+            assertThat(lagTimer).isNotNull();
+            assertThat(lagTimer.count()).isPositive();
+        }
+        assertThat(mergingThreads).containsExactly(TestXdsResourceWatchingService.EXECUTOR_THREAD_NAME);
+    }
+
+    private static List<Integer> handledContents(String groupName) {
+        return handledContents.stream()
+                              .filter(content -> content.startsWith(groupName + ':'))
+                              .map(content -> Integer.parseInt(content.substring(groupName.length() + 1)))
+                              .collect(Collectors.toList());
+    }
+
+    private static class TestXdsResourceWatchingService extends XdsResourceWatchingService<JsonNode> {
+
+        static final String EXECUTOR_THREAD_NAME = "test-xds-merging-executor";
+
+        private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                task -> new Thread(task, EXECUTOR_THREAD_NAME));
 
         TestXdsResourceWatchingService(Project project) {
-            super(project, "xds.", Metrics.globalRegistry);
+            this(project, Metrics.globalRegistry);
+        }
+
+        TestXdsResourceWatchingService(Project project, MeterRegistry meterRegistry) {
+            super(project, "xds.", meterRegistry);
         }
 
         @Override
@@ -87,8 +153,17 @@ class XdsResourceWatchingServiceTest {
         }
 
         @Override
-        protected void handleXdsResource(String path, String contentAsText, String groupName)
-                throws IOException {
+        protected JsonNode parseXdsResource(String path, JsonNode content, String groupName) {
+            return content;
+        }
+
+        @Override
+        protected void handleXdsResource(String path, JsonNode resource, String groupName) {
+            mergingThreads.add(Thread.currentThread().getName());
+            if ("parallel".equals(xdsProject().name())) {
+                handledContents.add(groupName + ':' + resource.asInt());
+                return;
+            }
             queue.add("handleXdsResource: " + path);
         }
 